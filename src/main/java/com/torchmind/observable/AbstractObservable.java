@@ -19,14 +19,28 @@ package com.torchmind.observable;
 
 import com.torchmind.observable.listener.ChangeListener;
 import com.torchmind.observable.listener.ValidationListener;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 
 /**
- * Provides a basic writable observable implementation which handles all the necessary logic for
- * bindings and value storage.
+ * <p>Provides a basic writable observable implementation which handles all the necessary logic for
+ * bindings and value storage.</p>
+ *
+ * <p>Observables of this type which are bound to each other bidirectionally (directly or through
+ * other observables of this type) share a single value cell. Writing to any member of such a group
+ * stores the value once and notifies the listeners of all members in a single pass. Groups are
+ * merged when bound and split when the last binding path between two members is removed.
+ * Bidirectional bindings with other observable implementations rely on mutual listeners
+ * instead.</p>
  *
  * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
  */
@@ -36,19 +50,9 @@ public abstract class AbstractObservable<V> extends AbstractReadOnlyObservable<V
   private final ValidationListener<V> validationListener;
   private final Set<Observable<V>> bidirectionalBinding = new HashSet<>();
   private V value;
-  private boolean invalidated;
-  private final ChangeListener<V> bindingListener = (ChangeListener<V>) (property, oldValue, newValue) -> {
-    // in case our invalidation flag is set, we have already received this update and probably
-    // discovered a circular reference between this observable and the caller and thus do not need
-    // to actually perform this update
-    if (this.invalidated) {
-      return;
-    }
-
-    // otherwise we'll simply set the invalidation flag, update the value and call our subscribers
-    // before turning off the invalidation flag once again to complete the cycle
-    this.setInternal(newValue);
-  };
+  private int updates;
+  private Cell<V> cell;
+  private final ChangeListener<V> bindingListener = new BindingListener();
   private ReadOnlyObservable<? extends V> binding;
 
   public AbstractObservable(
@@ -70,6 +74,12 @@ public abstract class AbstractObservable<V> extends AbstractReadOnlyObservable<V
    */
   @Override
   public V get() {
+    Cell<V> cell = this.cell;
+
+    if (cell != null) {
+      return cell.value;
+    }
+
     return this.value;
   }
 
@@ -86,10 +96,32 @@ public abstract class AbstractObservable<V> extends AbstractReadOnlyObservable<V
     this.setInternal(value);
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void validate(V value) {
+    if (this.binding != null) {
+      throw new IllegalStateException(
+          "Cannot change observable: Value is bound to another observable");
+    }
+
+    if (this.cell != null) {
+      this.cell.validate(value);
+    } else if (this.validationListener != null) {
+      this.validationListener.validate(this, value);
+    }
+  }
+
   /**
    * Provides an internal setter for the purposes of skipping state sanity checks when necessary.
    */
   private void setInternal(V value) {
+    if (this.cell != null) {
+      this.cell.set(this, value);
+      return;
+    }
+
     // even when we receive updates from a binding, we'll validate whether this value is valid
     // Note, however, that this may cause unexpected behavior as the initial caller may not properly
     // handle the exception
@@ -97,9 +129,15 @@ public abstract class AbstractObservable<V> extends AbstractReadOnlyObservable<V
       this.validationListener.validate(this, value);
     }
 
-    // enable the invalidation flag to prevent infinite recursion in bidirectional calls and
-    // actually perform the update
-    this.invalidated = true;
+    // mark this observable invalid to prevent infinite recursion in bidirectional calls until
+    // all resulting notifications have been delivered (which happens further up the call stack
+    // when this update is caused by a relay) - the finalizer is executed regardless of
+    // the call outcome so we do not enter an entirely invalid state when people fail to respect
+    // the JavaDoc notes on this topic
+    Propagation propagation = Propagation.current();
+    int mark = propagation.mark();
+    ++this.updates;
+    propagation.finish(() -> --this.updates);
 
     V oldValue = this.value;
     this.value = value;
@@ -107,9 +145,7 @@ public abstract class AbstractObservable<V> extends AbstractReadOnlyObservable<V
     try {
       this.publishChange(oldValue, value);
     } finally {
-      // ensure our local state is changed regardless of the call outcome so we do not enter an
-      // entirely invalid state when people fail to respect the JavaDoc notes on this topic
-      this.invalidated = false;
+      propagation.run(mark);
     }
   }
 
@@ -118,7 +154,13 @@ public abstract class AbstractObservable<V> extends AbstractReadOnlyObservable<V
    */
   @Override
   public boolean isValid() {
-    return !this.invalidated;
+    Cell<V> cell = this.cell;
+
+    if (cell != null) {
+      return cell.updates == 0;
+    }
+
+    return this.updates == 0;
   }
 
   /**
@@ -163,6 +205,11 @@ public abstract class AbstractObservable<V> extends AbstractReadOnlyObservable<V
       return;
     }
 
+    if (observable instanceof AbstractObservable) {
+      this.link((AbstractObservable<V>) observable);
+      return;
+    }
+
     // register the binding locally (to ensure it stays loaded with weak registrations) and register
     // our local change listener
     this.bidirectionalBinding.add(observable);
@@ -178,6 +225,24 @@ public abstract class AbstractObservable<V> extends AbstractReadOnlyObservable<V
     observable.bindBidirectionallyTo(this);
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Optional<ReadOnlyObservable<? extends V>> getBinding() {
+    return Optional.ofNullable(this.binding);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Set<Observable<V>> getBidirectionalBindings() {
+    return Collections.unmodifiableSet(this.bidirectionalBinding);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -248,6 +313,11 @@ public abstract class AbstractObservable<V> extends AbstractReadOnlyObservable<V
    */
   @Override
   public void unbindBidirectional(@NonNull Observable<V> observable) {
+    if (observable instanceof AbstractObservable) {
+      this.unlink((AbstractObservable<V>) observable);
+      return;
+    }
+
     observable.removeListener(this.bindingListener);
     this.bidirectionalBinding.remove(observable);
 
@@ -257,4 +327,226 @@ public abstract class AbstractObservable<V> extends AbstractReadOnlyObservable<V
       observable.unbindBidirectional(this);
     }
   }
+
+  /**
+   * Binds this observable to another observable of this type by merging their value cells.
+   */
+  private void link(@NonNull AbstractObservable<V> observable) {
+    if (observable.binding != null) {
+      throw new IllegalStateException(
+          "Cannot bind to observable: Already in another binding relationship");
+    }
+
+    Cell<V> cell = this.cell;
+    Cell<V> other = observable.cell;
+
+    // observables which already share a cell are connected through another path and merely gain
+    // an additional edge
+    if (cell == null || cell != other) {
+      V oldValue = this.get();
+      V newValue = observable.get();
+
+      // this side assumes the value of the passed observable and is thus validated (as a whole)
+      // before any state is changed
+      if (cell != null) {
+        cell.validate(newValue);
+      } else if (this.validationListener != null) {
+        this.validationListener.validate(this, newValue);
+      }
+
+      List<AbstractObservable<V>> members =
+          cell != null ? new ArrayList<>(cell.members) : Collections.singletonList(this);
+      Cell.merge(this, observable).value = newValue;
+
+      for (AbstractObservable<V> member : members) {
+        member.publishChange(oldValue, newValue);
+      }
+    }
+
+    this.bidirectionalBinding.add(observable);
+    observable.bidirectionalBinding.add(this);
+  }
+
+  /**
+   * Removes the binding between this observable and another observable of this type and splits
+   * their value cell if no other path connects them.
+   */
+  private void unlink(@NonNull AbstractObservable<V> observable) {
+    if (!this.bidirectionalBinding.remove(observable)) {
+      return;
+    }
+
+    observable.bidirectionalBinding.remove(this);
+    Cell<V> cell = this.cell;
+
+    // collect all observables which remain reachable from this observable
+    Set<AbstractObservable<V>> component = Collections.newSetFromMap(new IdentityHashMap<>());
+    Deque<AbstractObservable<V>> queue = new ArrayDeque<>();
+    component.add(this);
+    queue.add(this);
+
+    while (!queue.isEmpty()) {
+      for (Observable<V> neighbour : queue.poll().bidirectionalBinding) {
+        if (neighbour instanceof AbstractObservable) {
+          AbstractObservable<V> member = (AbstractObservable<V>) neighbour;
+
+          if (member.cell == cell && component.add(member)) {
+            queue.add(member);
+          }
+        }
+      }
+    }
+
+    if (!component.contains(observable)) {
+      cell.split(component);
+    }
+  }
+
+  /**
+   * Relays the changes of a bound observable to this observable.
+   */
+  private final class BindingListener implements ChangeListener<V>, Propagation.Relay {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onChange(@NonNull ReadOnlyObservable<? extends V> property, V oldValue,
+        V newValue) {
+      // in case our invalidation flag is set, we have already received this update and probably
+      // discovered a circular reference between this observable and the caller and thus do not
+      // need to actually perform this update
+      if (!AbstractObservable.this.isValid()) {
+        return;
+      }
+
+      // otherwise we'll simply set the invalidation flag, update the value and call our
+      // subscribers before turning off the invalidation flag once again to complete the cycle
+      AbstractObservable.this.setInternal(newValue);
+    }
+  }
+
+  /**
+   * Stores the value of a group of bidirectionally bound observables.
+   */
+  private static final class Cell<V> {
+
+    private final List<AbstractObservable<V>> members = new ArrayList<>();
+    private V value;
+    private int updates;
+
+    /**
+     * Merges the cells of two observables (or creates a new cell when neither is part of a group)
+     * by moving the members of the smaller cell into the larger cell.
+     */
+    @NonNull
+    private static <V> Cell<V> merge(@NonNull AbstractObservable<V> observable1,
+        @NonNull AbstractObservable<V> observable2) {
+      Cell<V> cell1 = observable1.cell;
+      Cell<V> cell2 = observable2.cell;
+
+      if (cell1 == null && cell2 == null) {
+        Cell<V> cell = new Cell<>();
+        cell.adopt(observable1);
+        cell.adopt(observable2);
+        return cell;
+      }
+
+      if (cell1 == null) {
+        cell2.adopt(observable1);
+        return cell2;
+      }
+
+      if (cell2 == null) {
+        cell1.adopt(observable2);
+        return cell1;
+      }
+
+      Cell<V> target = cell1.members.size() >= cell2.members.size() ? cell1 : cell2;
+      Cell<V> source = target == cell1 ? cell2 : cell1;
+      source.members.forEach(target::adopt);
+      return target;
+    }
+
+    /**
+     * Adds an observable to this cell.
+     */
+    private void adopt(@NonNull AbstractObservable<V> observable) {
+      observable.cell = this;
+      this.members.add(observable);
+    }
+
+    /**
+     * Moves the passed members into a separate cell. Members which end up on their own leave
+     * their cell and store the current value themselves.
+     */
+    private void split(@NonNull Set<AbstractObservable<V>> component) {
+      Cell<V> cell = component.size() == 1 ? null : new Cell<>();
+
+      this.members.removeIf((m) -> {
+        if (!component.contains(m)) {
+          return false;
+        }
+
+        m.value = this.value;
+        m.cell = cell;
+
+        if (cell != null) {
+          cell.members.add(m);
+          cell.value = this.value;
+        }
+
+        return true;
+      });
+
+      if (this.members.size() == 1) {
+        AbstractObservable<V> member = this.members.remove(0);
+        member.value = this.value;
+        member.cell = null;
+      }
+    }
+
+    /**
+     * Validates a value against the validation listeners of all members.
+     */
+    private void validate(V value) {
+      for (AbstractObservable<V> member : this.members) {
+        if (member.validationListener != null) {
+          member.validationListener.validate(member, value);
+        }
+      }
+    }
+
+    /**
+     * Stores a new value and notifies the listeners of all members (starting with the member
+     * which has been written to).
+     */
+    private void set(@NonNull AbstractObservable<V> origin, V value) {
+      this.validate(value);
+
+      // the cell remains invalid until the notifications of all members have been delivered
+      Propagation propagation = Propagation.current();
+      int mark = propagation.mark();
+      ++this.updates;
+      propagation.finish(() -> --this.updates);
+
+      V oldValue = this.value;
+      this.value = value;
+
+      List<AbstractObservable<V>> members = new ArrayList<>(this.members.size());
+      members.add(origin);
+
+      for (AbstractObservable<V> member : this.members) {
+        if (member != origin) {
+          members.add(member);
+        }
+      }
+
+      // members are published through a single notification as the changes of each member are
+      // delivered before the next member is published (even when this update is caused by a
+      // relay and is thus merely pushed onto the propagation)
+      propagation.push(members.iterator(), (m) -> m.publishChange(oldValue, value));
+      propagation.run(mark);
+    }
+  }
 }
@@ -18,11 +18,11 @@
 package com.torchmind.observable;
 
 import com.torchmind.observable.listener.ChangeListener;
+import com.torchmind.observable.listener.InvalidationListener;
+import com.torchmind.observable.listener.ReferenceMode;
+import com.torchmind.observable.listener.Subscription;
+import com.torchmind.observable.utility.ListenerRegistry;
 import java.util.Collections;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.Set;
-import java.util.WeakHashMap;
 import edu.umd.cs.findbugs.annotations.NonNull;
 
 /**
@@ -32,29 +32,113 @@ import edu.umd.cs.findbugs.annotations.NonNull;
  * based on complex logic and houses the necessary logic for registering and calling change
  * listeners.</p>
  *
- * <p>Note that this implementation stores subscribed listeners in a weak set. As such, instances
- * which are held by no other object will automatically be removed from the list without leaking
- * any memory. Due to this implementation, manual disposal is not necessary.</p>
+ * <p>Notifications are delivered iteratively rather than recursively. Observables which are
+ * changed by a listener still notify their listeners before their setter returns (and relay
+ * failures to it) while listeners which merely relay a notification to another observable (see
+ * {@link #relay(InvalidationListener)}) hand their notifications to the delivery which invoked
+ * them. As such, chains of bindings of arbitrary length do not grow the call stack.</p>
+ *
+ * <p>Note that this implementation references subscribed listeners weakly unless a different
+ * {@link ReferenceMode} is requested. As such, instances which are held by no other object will
+ * automatically be removed from the list without leaking any memory. Due to this implementation,
+ * manual disposal is not necessary. Listeners which are registered with
+ * {@link ReferenceMode#STRONG}, however, are retained until they are removed explicitly.</p>
  *
  * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
  */
 public abstract class AbstractReadOnlyObservable<V> implements ReadOnlyObservable<V> {
 
-  private final Set<ChangeListener<? super V>> listeners = Collections
-      .newSetFromMap(new WeakHashMap<>());
+  private final ListenerRegistry<ChangeListener<? super V>> listeners = new ListenerRegistry<>();
+  private final ListenerRegistry<InvalidationListener> invalidationListeners =
+      new ListenerRegistry<>();
+  private EqualityStrategy<? super V> equalityStrategy = EqualityStrategy.equality();
 
   /**
    * Publishes a change to all listeners which are currently registered with this observable.
    */
   protected void publishChange(V oldValue, V newValue) {
-    // in case the values are considered equal (either by being the same object in memory or by
-    // being equal in value as indicated by their equals and hashCode methods), we are simply going
-    // to ignore this call as third parties do not need to know about every call
-    if (Objects.equals(oldValue, newValue)) {
+    // in case the values are considered equal by our strategy (by default either by being the
+    // same object in memory or by being equal in value as indicated by their equals and hashCode
+    // methods), we are simply going to ignore this call as third parties do not need to know about
+    // every call
+    if (this.equalityStrategy.isEqual(oldValue, newValue)) {
       return;
     }
 
-    this.listeners.forEach((l) -> l.onChange(this, oldValue, newValue));
+    // invalidation listeners are pushed last and are thus notified before change listeners
+    Propagation propagation = Propagation.current();
+    int mark = propagation.mark();
+    propagation.push(this.listeners.iterator(), (l) -> l.onChange(this, oldValue, newValue));
+    this.publishInvalidation();
+    propagation.run(mark);
+  }
+
+  /**
+   * Publishes an invalidation to all invalidation listeners which are currently registered with
+   * this observable.
+   */
+  protected void publishInvalidation() {
+    Propagation propagation = Propagation.current();
+    int mark = propagation.mark();
+    propagation.push(this.invalidationListeners.iterator(), (l) -> l.onInvalidation(this));
+    propagation.run(mark);
+  }
+
+  /**
+   * Publishes an invalidation to all invalidation listeners which are currently registered with
+   * this observable and executes the passed action once they (and all listeners which are notified
+   * as a result) have been notified.
+   *
+   * <p>The continuation is considered a relay (see {@link #relay(InvalidationListener)}) and is
+   * thus expected to publish notifications as the very last step of its execution.</p>
+   */
+  protected void publishInvalidation(@NonNull Runnable continuation) {
+    Propagation propagation = Propagation.current();
+    int mark = propagation.mark();
+    propagation.push(Collections.singleton(new RelayContinuation(continuation)).iterator(),
+        Runnable::run);
+    this.publishInvalidation();
+    propagation.run(mark);
+  }
+
+  /**
+   * <p>Marks an invalidation listener which does nothing but publish a notification on behalf of
+   * another observable as the very last step of its execution (such as the listener which
+   * invalidates a binding when one of its dependencies changes).</p>
+   *
+   * <p>Notifications which are published by relays are delivered by the delivery which invoked
+   * the relay rather than before the relay returns. As such, relays do not grow the call stack
+   * when they are chained. Listeners which execute further logic once their notification has been
+   * published must not be marked as relays as they would otherwise observe observables which have
+   * yet to notify their listeners.</p>
+   */
+  @NonNull
+  protected static InvalidationListener relay(@NonNull InvalidationListener listener) {
+    return new RelayInvalidationListener(listener);
+  }
+
+  /**
+   * Evaluates whether one or more change listeners are currently registered with this observable.
+   */
+  protected boolean hasChangeListeners() {
+    return !this.listeners.isEmpty();
+  }
+
+  /**
+   * Retrieves the strategy which decides whether a new value constitutes a change.
+   */
+  @NonNull
+  public EqualityStrategy<? super V> getEqualityStrategy() {
+    return this.equalityStrategy;
+  }
+
+  /**
+   * <p>Replaces the strategy which decides whether a new value constitutes a change.</p>
+   *
+   * <p>By default, values are compared using {@link Object#equals(Object)}.</p>
+   */
+  public void setEqualityStrategy(@NonNull EqualityStrategy<? super V> equalityStrategy) {
+    this.equalityStrategy = equalityStrategy;
   }
 
   /**
@@ -62,7 +146,16 @@ public abstract class AbstractReadOnlyObservable<V> implements ReadOnlyObservabl
    */
   @Override
   public void registerListener(@NonNull ChangeListener<? super V> listener) {
-    this.listeners.add(listener);
+    this.listeners.register(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerListener(@NonNull ChangeListener<? super V> listener,
+      @NonNull ReferenceMode mode) {
+    this.listeners.register(listener, mode);
   }
 
   /**
@@ -72,4 +165,108 @@ public abstract class AbstractReadOnlyObservable<V> implements ReadOnlyObservabl
   public void removeListener(@NonNull ChangeListener<? super V> listener) {
     this.listeners.remove(listener);
   }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull ChangeListener<? super V> listener) {
+    return this.listeners.subscribe(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull ChangeListener<? super V> listener,
+      @NonNull ReferenceMode mode) {
+    return this.listeners.subscribe(listener, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerListener(@NonNull InvalidationListener listener) {
+    this.invalidationListeners.register(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerListener(@NonNull InvalidationListener listener,
+      @NonNull ReferenceMode mode) {
+    this.invalidationListeners.register(listener, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void removeListener(@NonNull InvalidationListener listener) {
+    this.invalidationListeners.remove(listener);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull InvalidationListener listener) {
+    return this.invalidationListeners.subscribe(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull InvalidationListener listener,
+      @NonNull ReferenceMode mode) {
+    return this.invalidationListeners.subscribe(listener, mode);
+  }
+
+  /**
+   * Relays invalidations to a listener which has been marked as a relay.
+   */
+  private static final class RelayInvalidationListener implements InvalidationListener,
+      Propagation.Relay {
+
+    private final InvalidationListener listener;
+
+    private RelayInvalidationListener(@NonNull InvalidationListener listener) {
+      this.listener = listener;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onInvalidation(@NonNull ReadOnlyObservable<?> observable) {
+      this.listener.onInvalidation(observable);
+    }
+  }
+
+  /**
+   * Executes a continuation which has been marked as a relay.
+   */
+  private static final class RelayContinuation implements Runnable, Propagation.Relay {
+
+    private final Runnable continuation;
+
+    private RelayContinuation(@NonNull Runnable continuation) {
+      this.continuation = continuation;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void run() {
+      this.continuation.run();
+    }
+  }
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable;
+
+import java.util.Comparator;
+import java.util.Objects;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Decides whether a new value constitutes a change to the value it replaces.</p>
+ *
+ * <p>Observables use their strategy to suppress notifications for values which are considered
+ * equal to the value they replace. Note that the new value is stored regardless of the
+ * outcome.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@FunctionalInterface
+public interface EqualityStrategy<V> {
+
+  /**
+   * Retrieves a strategy which considers two values equal when they are equal in value as
+   * indicated by their {@link Object#equals(Object)} method (this is the default strategy).
+   */
+  @NonNull
+  static <V> EqualityStrategy<V> equality() {
+    return Objects::equals;
+  }
+
+  /**
+   * Retrieves a strategy which considers two values equal only when they refer to the same
+   * object in memory (e.g. values are never compared deeply).
+   */
+  @NonNull
+  static <V> EqualityStrategy<V> identity() {
+    return (oldValue, newValue) -> oldValue == newValue;
+  }
+
+  /**
+   * Retrieves a strategy which never considers two values equal (e.g. every update is published
+   * to listeners).
+   */
+  @NonNull
+  static <V> EqualityStrategy<V> never() {
+    return (oldValue, newValue) -> false;
+  }
+
+  /**
+   * Retrieves a strategy which considers two non-null values equal when the passed comparator
+   * considers them equal. Null values are only considered equal to each other.
+   */
+  @NonNull
+  static <V> EqualityStrategy<V> comparing(@NonNull Comparator<? super V> comparator) {
+    return (oldValue, newValue) -> {
+      if (oldValue == null || newValue == null) {
+        return oldValue == newValue;
+      }
+
+      return comparator.compare(oldValue, newValue) == 0;
+    };
+  }
+
+  /**
+   * <p>Retrieves a strategy which considers two numbers equal when their difference does not
+   * exceed the passed tolerance. Null values are only considered equal to each other while
+   * {@code NaN} is considered equal to itself.</p>
+   *
+   * <p>Note that values are compared to the value they replace. As such, a value which changes
+   * gradually in steps below the tolerance will not cause any notifications.</p>
+   *
+   * @throws IllegalArgumentException when the tolerance is negative or not a number.
+   */
+  @NonNull
+  static <N extends Number> EqualityStrategy<N> tolerance(double epsilon) {
+    if (!(epsilon >= 0)) {
+      throw new IllegalArgumentException("Tolerance must be positive or zero: " + epsilon);
+    }
+
+    return (oldValue, newValue) -> {
+      if (oldValue == null || newValue == null) {
+        return oldValue == newValue;
+      }
+
+      double a = oldValue.doubleValue();
+      double b = newValue.doubleValue();
+
+      return Double.compare(a, b) == 0 || Math.abs(a - b) <= epsilon;
+    };
+  }
+
+  /**
+   * Evaluates whether the passed new value is considered equal to the value it replaces.
+   */
+  boolean isEqual(V oldValue, V newValue);
+}
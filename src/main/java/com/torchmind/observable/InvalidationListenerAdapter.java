@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable;
+
+import com.torchmind.observable.listener.ChangeListener;
+import com.torchmind.observable.listener.InvalidationListener;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Adapts an invalidation listener to the change listener specification for observables which
+ * do not maintain invalidation listeners of their own.</p>
+ *
+ * <p>Adapters are considered equal when they wrap the same listener. As such, listeners may be
+ * removed by passing a new adapter for the same listener to
+ * {@link ReadOnlyObservable#removeListener(ChangeListener)} while duplicate registrations are
+ * ignored as they would be for the listener itself.</p>
+ *
+ * <p>Note that adapted listeners are notified along with every change (rather than once per
+ * invalidation) and cause observables which compute their values lazily to evaluate them.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+final class InvalidationListenerAdapter implements ChangeListener<Object> {
+
+  private final InvalidationListener listener;
+
+  InvalidationListenerAdapter(@NonNull InvalidationListener listener) {
+    this.listener = listener;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void onChange(@NonNull ReadOnlyObservable<?> property, Object oldValue,
+      Object newValue) {
+    this.listener.onInvalidation(property);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || this.getClass() != o.getClass()) {
+      return false;
+    }
+
+    return this.listener.equals(((InvalidationListenerAdapter) o).listener);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int hashCode() {
+    return this.listener.hashCode();
+  }
+}
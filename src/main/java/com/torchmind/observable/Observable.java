@@ -17,6 +17,9 @@
 
 package com.torchmind.observable;
 
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
 import edu.umd.cs.findbugs.annotations.NonNull;
 
@@ -46,6 +49,25 @@ public interface Observable<V> extends ReadOnlyObservable<V> {
    */
   void set(V value);
 
+  /**
+   * <p>Evaluates whether the passed value would be accepted by {@link #set(Object)} without
+   * changing this observable.</p>
+   *
+   * <p>This allows callers to verify a set of values before updating multiple observables (and
+   * thus notifying their listeners).</p>
+   *
+   * @throws IllegalArgumentException when the backing validation listener deems the passed value
+   * to be invalid.
+   * @throws IllegalStateException when a unidirectional binding prevents the caller from changing
+   * this observable value.
+   */
+  default void validate(V value) {
+    if (this.getBinding().isPresent()) {
+      throw new IllegalStateException(
+          "Cannot change observable: Value is bound to another observable");
+    }
+  }
+
   /**
    * <p>Evaluates whether this observable is in a valid state.</p>
    *
@@ -79,6 +101,29 @@ public interface Observable<V> extends ReadOnlyObservable<V> {
    */
   void bindBidirectionallyTo(@NonNull Observable<V> observable);
 
+  /**
+   * <p>Retrieves the observable this observable is currently bound to through a unidirectional
+   * binding (if any).</p>
+   *
+   * <p>Implementations which do not expose their binding relationships return an empty
+   * optional.</p>
+   */
+  @NonNull
+  default Optional<ReadOnlyObservable<? extends V>> getBinding() {
+    return Optional.empty();
+  }
+
+  /**
+   * <p>Retrieves an unmodifiable view of all observables this observable currently shares its
+   * value with through bidirectional bindings.</p>
+   *
+   * <p>Implementations which do not expose their binding relationships return an empty set.</p>
+   */
+  @NonNull
+  default Set<Observable<V>> getBidirectionalBindings() {
+    return Collections.emptySet();
+  }
+
   /**
    * Evaluates whether this observable is bound to another observable either uni- or
    * bidirectionally.
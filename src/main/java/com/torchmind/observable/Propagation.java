@@ -0,0 +1,178 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Delivers notifications to listeners without growing the call stack with every observable a
+ * change passes through.</p>
+ *
+ * <p>Each thread keeps its own stack of pending notifications. Every publication marks the stack
+ * before pushing its notifications and delivers all notifications above its mark (including the
+ * notifications which are published by listeners in the meantime) before it returns. Since the
+ * most recently published notification is always delivered first, listeners are notified in the
+ * very same (depth-first) order as they would be when notifications were delivered recursively.
+ * As such, an observable which is changed by a listener has notified all of its listeners (and
+ * thus updated all of its dependents) by the time its setter returns, while failures are relayed
+ * to the setter which caused them.</p>
+ *
+ * <p>Listeners which merely relay a notification to another observable (such as the listeners of
+ * unidirectional bindings) are marked as {@link Relay relays}. Notifications which are published
+ * by a relay are not delivered by the relay itself but by the delivery which invoked the relay
+ * (as nothing is executed after the relay returns). As such, chains of bindings of arbitrary
+ * length do not grow the call stack.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+final class Propagation {
+
+  private static final ThreadLocal<Propagation> CURRENT = ThreadLocal.withInitial(Propagation::new);
+
+  private final Deque<Notification<?>> pending = new ArrayDeque<>();
+  private boolean relaying;
+
+  private Propagation() {
+  }
+
+  /**
+   * Retrieves the propagation of the calling thread.
+   */
+  @NonNull
+  static Propagation current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Retrieves a mark which identifies the notifications which are currently pending (e.g. the
+   * notifications which are not delivered by a call to {@link #run(int)} with this mark).
+   */
+  int mark() {
+    return this.pending.size();
+  }
+
+  /**
+   * Schedules the delivery of a notification to the passed listeners.
+   */
+  <L> void push(@NonNull Iterator<L> listeners, @NonNull Consumer<? super L> action) {
+    if (listeners.hasNext()) {
+      this.pending.push(new Notification<>(this, listeners, action, false));
+    }
+  }
+
+  /**
+   * <p>Schedules the execution of an action once all notifications which are pushed after this
+   * call have been delivered.</p>
+   *
+   * <p>Unlike notifications, finalizers are executed even when a listener fails (and all other
+   * notifications above the same mark are discarded).</p>
+   */
+  void finish(@NonNull Runnable action) {
+    this.pending.push(new Notification<>(this, Collections.singleton(action).iterator(),
+        Runnable::run, true));
+  }
+
+  /**
+   * Delivers all notifications which have been pushed since the passed mark was retrieved unless
+   * the calling thread is currently executing a relay (in which case the notifications are
+   * delivered along with the notification which invoked the relay).
+   */
+  void run(int mark) {
+    if (this.relaying) {
+      return;
+    }
+
+    try {
+      while (this.pending.size() > mark) {
+        // exhausted notifications are always located at the top of the stack as delivering a
+        // notification is the only way to push new notifications
+        if (!this.pending.peek().deliver()) {
+          this.pending.pop();
+        }
+      }
+    } catch (RuntimeException | Error ex) {
+      // notifications which are still pending when a listener fails are discarded as they would
+      // have been skipped by a recursive delivery as well while finalizers are executed in order to
+      // restore the state of the observables which registered them - notifications below the mark
+      // belong to the callers further up the stack which are notified of the failure instead
+      while (this.pending.size() > mark) {
+        Notification<?> notification = this.pending.pop();
+
+        if (notification.finalizer) {
+          notification.deliver();
+        }
+      }
+
+      throw ex;
+    }
+  }
+
+  /**
+   * Marks listeners which do nothing but publish a notification on behalf of another observable
+   * as the very last step of their execution.
+   */
+  interface Relay {
+  }
+
+  /**
+   * Represents a notification which is pending delivery to one or more listeners.
+   */
+  private static final class Notification<L> {
+
+    private final Propagation propagation;
+    private final Iterator<L> listeners;
+    private final Consumer<? super L> action;
+    private final boolean finalizer;
+
+    private Notification(@NonNull Propagation propagation, @NonNull Iterator<L> listeners,
+        @NonNull Consumer<? super L> action, boolean finalizer) {
+      this.propagation = propagation;
+      this.listeners = listeners;
+      this.action = action;
+      this.finalizer = finalizer;
+    }
+
+    /**
+     * Delivers this notification to its next listener.
+     *
+     * @return true if listeners remain, false otherwise.
+     */
+    private boolean deliver() {
+      if (!this.listeners.hasNext()) {
+        return false;
+      }
+
+      L listener = this.listeners.next();
+      boolean relaying = this.propagation.relaying;
+      this.propagation.relaying = listener instanceof Relay;
+
+      try {
+        this.action.accept(listener);
+      } finally {
+        this.propagation.relaying = relaying;
+      }
+
+      return true;
+    }
+  }
+}
@@ -18,6 +18,9 @@
 package com.torchmind.observable;
 
 import com.torchmind.observable.listener.ChangeListener;
+import com.torchmind.observable.listener.InvalidationListener;
+import com.torchmind.observable.listener.ReferenceMode;
+import com.torchmind.observable.listener.Subscription;
 import java.util.Optional;
 import java.util.function.Supplier;
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -86,6 +89,21 @@ public interface ReadOnlyObservable<V> {
    */
   void registerListener(@NonNull ChangeListener<? super V> listener);
 
+  /**
+   * <p>Registers a new listener with this observable which is retained according to the passed
+   * reference mode.</p>
+   *
+   * <p>When the passed listener is already registered with this observable at the time of the
+   * method call (regardless of its reference mode), the call will be ignored and cause no
+   * modification of the observable state. Implementations which do not support reference modes
+   * retain the listener as they would when registered through
+   * {@link #registerListener(ChangeListener)}.</p>
+   */
+  default void registerListener(@NonNull ChangeListener<? super V> listener,
+      @NonNull ReferenceMode mode) {
+    this.registerListener(listener);
+  }
+
   /**
    * <p>Removes a previously registered from this observable and thus prevents it from receiving
    * future updates from this observable when its exposed value changes.</p>
@@ -94,4 +112,107 @@ public interface ReadOnlyObservable<V> {
    * ignored and cause no modification to the observable state.</p>
    */
   void removeListener(@NonNull ChangeListener<? super V> listener);
+
+  /**
+   * <p>Registers a new listener with this observable and returns a handle which removes exactly
+   * this registration when closed.</p>
+   *
+   * <p>Unlike {@link #registerListener(ChangeListener)}, every call creates a separate
+   * registration (e.g. a listener which is subscribed twice is notified twice). Implementations
+   * which maintain their own listener storage remove subscriptions in constant time while this
+   * default implementation falls back to {@link #removeListener(ChangeListener)}.</p>
+   *
+   * <p>The listener is retained according to the passed reference mode. Implementations which do
+   * not support reference modes retain the listener as they would when subscribed through
+   * {@link #subscribe(ChangeListener)}.</p>
+   */
+  @NonNull
+  default Subscription subscribe(@NonNull ChangeListener<? super V> listener,
+      @NonNull ReferenceMode mode) {
+    return this.subscribe(listener);
+  }
+
+  /**
+   * <p>Registers a new listener with this observable and returns a handle which removes exactly
+   * this registration when closed.</p>
+   *
+   * <p>Unlike {@link #registerListener(ChangeListener)}, every call creates a separate
+   * registration (e.g. a listener which is subscribed twice is notified twice). Implementations
+   * which maintain their own listener storage remove subscriptions in constant time while this
+   * default implementation falls back to {@link #removeListener(ChangeListener)}.</p>
+   */
+  @NonNull
+  default Subscription subscribe(@NonNull ChangeListener<? super V> listener) {
+    this.registerListener(listener);
+    return Subscription.of(() -> this.removeListener(listener));
+  }
+
+  /**
+   * <p>Registers a new listener with this observable which is invoked whenever this observable is
+   * invalidated (e.g. its exposed value may have changed).</p>
+   *
+   * <p>Unlike change listeners, invalidation listeners do not require this observable to compute
+   * or retrieve its value. When the passed listener is already registered with this observable at
+   * the time of the method call, the call will be ignored and cause no modification of the
+   * observable state.</p>
+   *
+   * <p>This default implementation adapts the listener to a change listener (which is notified
+   * along with every change and thus requires the value of this observable to be computed).
+   * Implementations should maintain invalidation listeners of their own instead.</p>
+   */
+  default void registerListener(@NonNull InvalidationListener listener) {
+    this.registerListener(new InvalidationListenerAdapter(listener));
+  }
+
+  /**
+   * <p>Registers a new invalidation listener with this observable which is retained according to
+   * the passed reference mode.</p>
+   *
+   * <p>Implementations which do not support reference modes retain the listener as they would
+   * when registered through {@link #registerListener(InvalidationListener)}.</p>
+   */
+  default void registerListener(@NonNull InvalidationListener listener,
+      @NonNull ReferenceMode mode) {
+    this.registerListener(listener);
+  }
+
+  /**
+   * <p>Removes a previously registered invalidation listener from this observable.</p>
+   *
+   * <p>When the passed listener is not yet registered with this observable, the call will be
+   * ignored and cause no modification to the observable state.</p>
+   *
+   * <p>This default implementation removes the change listener which has been registered in
+   * place of the passed listener by {@link #registerListener(InvalidationListener)}.</p>
+   */
+  default void removeListener(@NonNull InvalidationListener listener) {
+    this.removeListener(new InvalidationListenerAdapter(listener));
+  }
+
+  /**
+   * <p>Registers a new invalidation listener with this observable and returns a handle which
+   * removes exactly this registration when closed.</p>
+   *
+   * <p>The listener is retained according to the passed reference mode. Implementations which do
+   * not support reference modes retain the listener as they would when subscribed through
+   * {@link #subscribe(InvalidationListener)}.</p>
+   */
+  @NonNull
+  default Subscription subscribe(@NonNull InvalidationListener listener,
+      @NonNull ReferenceMode mode) {
+    return this.subscribe(listener);
+  }
+
+  /**
+   * <p>Registers a new invalidation listener with this observable and returns a handle which
+   * removes exactly this registration when closed.</p>
+   *
+   * <p>Every call creates a separate registration. This default implementation falls back to
+   * {@link #removeListener(InvalidationListener)}.</p>
+   */
+  @NonNull
+  default Subscription subscribe(@NonNull InvalidationListener listener) {
+    this.registerListener(listener);
+    return Subscription.of(() -> this.removeListener(listener));
+  }
 }
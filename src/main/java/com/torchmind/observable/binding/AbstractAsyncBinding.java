@@ -0,0 +1,143 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.binding;
+
+import com.torchmind.observable.ReadOnlyObservable;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Provides an abstract implementation for asynchronous bindings.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+abstract class AbstractAsyncBinding<V> extends AbstractBinding<V> implements AsyncBinding<V> {
+
+  private final Executor executor;
+  private final AtomicLong requested = new AtomicLong();
+  private volatile long completed;
+
+  AbstractAsyncBinding(@NonNull Set<ReadOnlyObservable<?>> dependencies,
+      @NonNull Executor executor) {
+    super(dependencies);
+    this.executor = executor;
+
+    this.invalidate();
+  }
+
+  /**
+   * Prepares a computation on the thread which changed a dependency (e.g. by capturing the current
+   * values of all dependencies) and returns the logic to be executed asynchronously.
+   */
+  @NonNull
+  protected abstract Supplier<V> prepare();
+
+  /**
+   * <p>Schedules a new computation and returns the most recently completed value without
+   * blocking.</p>
+   *
+   * <p>The result of the scheduled computation is published once it completes.</p>
+   */
+  @Override
+  protected V compute() {
+    this.invalidate();
+
+    // asynchronous bindings never turn stale and thus retrieve their stored value directly
+    return super.get();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void dispose() {
+    super.dispose();
+
+    // supersede all pending computations so that their results are discarded
+    synchronized (this) {
+      this.completed = this.requested.incrementAndGet();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isComputing() {
+    return this.completed != this.requested.get();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void invalidate() {
+    if (this.isDisposed()) {
+      return;
+    }
+
+    long generation = this.requested.incrementAndGet();
+    Supplier<V> supplier = this.prepare();
+
+    try {
+      this.executor.execute(() -> this.run(generation, supplier));
+    } catch (RuntimeException ex) {
+      this.complete(generation);
+      throw ex;
+    }
+  }
+
+  /**
+   * Executes a computation unless it has been superseded.
+   */
+  private void run(long generation, @NonNull Supplier<V> supplier) {
+    if (this.requested.get() != generation) {
+      return;
+    }
+
+    V value;
+
+    try {
+      value = supplier.get();
+    } catch (RuntimeException | Error ex) {
+      this.complete(generation);
+      throw ex;
+    }
+
+    synchronized (this) {
+      if (this.requested.get() == generation) {
+        // the computation is marked as completed first so that listeners which receive the
+        // result do not observe a pending computation
+        this.completed = generation;
+        this.set(value);
+      }
+    }
+  }
+
+  /**
+   * Marks a computation as completed unless it has been superseded.
+   */
+  private synchronized void complete(long generation) {
+    if (this.requested.get() == generation) {
+      this.completed = generation;
+    }
+  }
+}
@@ -20,26 +20,55 @@ package com.torchmind.observable.binding;
 import com.torchmind.observable.AbstractObservable;
 import com.torchmind.observable.ReadOnlyObservable;
 import com.torchmind.observable.listener.ChangeListener;
+import com.torchmind.observable.listener.InvalidationListener;
+import com.torchmind.observable.listener.ReferenceMode;
+import com.torchmind.observable.listener.Subscription;
+import com.torchmind.observable.utility.ReferenceCleaner;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Supplier;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 
 /**
- * Provides an abstract implementation for bindings.
+ * <p>Provides an abstract implementation for bindings.</p>
+ *
+ * <p>Bindings are evaluated lazily: When a dependency is invalidated, the binding turns stale and
+ * notifies its invalidation listeners once. Its value is only re-computed when it is retrieved or
+ * when change listeners (which require the new value) are registered with the binding. As such,
+ * a graph of bindings which is only observed through invalidation listeners is invalidated without
+ * a single call to {@link #compute()}.</p>
+ *
+ * <p>The listener which is registered with each dependency only refers to its binding weakly. When
+ * a binding becomes unreachable without being disposed, its listener is removed from all
+ * dependencies by the shared {@link ReferenceCleaner}.</p>
+ *
+ * <p>Bindings which have been enrolled with a {@link ParallelEvaluator} defer their evaluation to
+ * the evaluator while it is propagating changes on the calling thread.</p>
  *
  * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
  */
 abstract class AbstractBinding<V> extends AbstractObservable<V> implements Binding<V> {
 
-  private final Set<ReadOnlyObservable<?>> dependencies;
+  private volatile Set<ReadOnlyObservable<?>> dependencies;
+  private volatile boolean disposed;
+  private volatile ParallelEvaluator evaluator;
+  private boolean stale;
+  private boolean announced;
 
-  private final ChangeListener<Object> changeListener = (property, oldValue, newValue) -> this
-      .invalidate();
+  private final InvalidationListener changeListener = relay(new DependencyListener(this));
+  private final ReferenceCleaner.Cleanable cleanable;
 
   AbstractBinding(@NonNull Set<ReadOnlyObservable<?>> dependencies) {
     this.dependencies = dependencies;
-    dependencies.forEach((d) -> d.registerListener(this.changeListener));
+
+    List<Subscription> subscriptions = new ArrayList<>(dependencies.size());
+    dependencies.forEach((d) -> subscriptions.add(d.subscribe(this.changeListener)));
+
+    this.cleanable = ReferenceCleaner.getDefault().register(this, new Release(subscriptions));
   }
 
   /**
@@ -56,6 +85,161 @@ abstract class AbstractBinding<V> extends AbstractObservable<V> implements Bindi
    */
   protected abstract V compute();
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public V get() {
+    this.evaluate();
+    return super.get();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerListener(@NonNull ChangeListener<? super V> listener) {
+    this.evaluate();
+    super.registerListener(listener);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerListener(@NonNull ChangeListener<? super V> listener,
+      @NonNull ReferenceMode mode) {
+    this.evaluate();
+    super.registerListener(listener, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull ChangeListener<? super V> listener) {
+    this.evaluate();
+    return super.subscribe(listener);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull ChangeListener<? super V> listener,
+      @NonNull ReferenceMode mode) {
+    this.evaluate();
+    return super.subscribe(listener, mode);
+  }
+
+  /**
+   * Re-computes the value of this binding if it is stale (e.g. before a change listener is
+   * registered as it would otherwise not be notified until the value is retrieved).
+   */
+  private void evaluate() {
+    if (this.stale) {
+      this.refresh();
+    }
+  }
+
+  /**
+   * Re-computes the value of this binding immediately and publishes the result.
+   */
+  void refresh() {
+    // listeners have already been notified of the invalidation when this binding turned stale and
+    // will thus not be notified again when the new value is published
+    this.announced = this.stale;
+    this.stale = false;
+
+    try {
+      this.set(this.compute());
+    } finally {
+      this.announced = false;
+    }
+  }
+
+  /**
+   * Publishes a value which has been computed on behalf of this binding (e.g. by a
+   * {@link ParallelEvaluator}).
+   */
+  void refresh(V value) {
+    this.announced = this.stale;
+    this.stale = false;
+
+    try {
+      this.set(value);
+    } finally {
+      this.announced = false;
+    }
+  }
+
+  /**
+   * Evaluates whether this binding has been invalidated since its value was last computed.
+   */
+  boolean isStale() {
+    return this.stale;
+  }
+
+  /**
+   * Retrieves the evaluator this binding has been enrolled with (if any).
+   */
+  @Nullable
+  ParallelEvaluator getEvaluator() {
+    return this.evaluator;
+  }
+
+  /**
+   * Enrolls this binding with the passed evaluator or withdraws it from its current evaluator.
+   */
+  void setEvaluator(@Nullable ParallelEvaluator evaluator) {
+    this.evaluator = evaluator;
+  }
+
+  /**
+   * Hands the evaluation of this binding to its evaluator if it is currently propagating changes
+   * on the calling thread.
+   *
+   * @return true if the evaluation has been deferred, false otherwise.
+   */
+  private boolean defer() {
+    ParallelEvaluator evaluator = this.evaluator;
+    return evaluator != null && evaluator.defer(this);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void publishInvalidation() {
+    if (!this.announced) {
+      super.publishInvalidation();
+    }
+  }
+
+  /**
+   * Handles a change within one of the dependencies of this binding.
+   */
+  void onDependencyChange(@NonNull ReadOnlyObservable<?> dependency) {
+    this.invalidate();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void dispose() {
+    // stale bindings are evaluated one last time so that they retain their actual last value
+    if (!this.disposed) {
+      this.evaluate();
+    }
+
+    this.disposed = true;
+    this.dependencies = Collections.emptySet();
+    this.cleanable.clean();
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -70,7 +254,86 @@ abstract class AbstractBinding<V> extends AbstractObservable<V> implements Bindi
    */
   @Override
   public void invalidate() {
-    V value = this.compute();
-    this.set(value);
+    if (this.disposed) {
+      return;
+    }
+
+    // change listeners expect to receive the new value and thus force an immediate evaluation
+    // (once all invalidation listeners have been notified)
+    boolean eager = this.hasChangeListeners();
+
+    if (this.stale) {
+      if (eager && !this.defer()) {
+        this.refresh();
+      }
+    } else {
+      this.stale = true;
+
+      if (eager && !this.defer()) {
+        super.publishInvalidation(this::evaluate);
+      } else {
+        super.publishInvalidation();
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isDisposed() {
+    return this.disposed;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isValid() {
+    return !this.stale && super.isValid();
+  }
+
+  /**
+   * Forwards dependency invalidations to a binding without keeping it reachable.
+   */
+  private static final class DependencyListener implements InvalidationListener {
+
+    private final WeakReference<AbstractBinding<?>> binding;
+
+    private DependencyListener(@NonNull AbstractBinding<?> binding) {
+      this.binding = new WeakReference<>(binding);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onInvalidation(@NonNull ReadOnlyObservable<?> observable) {
+      AbstractBinding<?> binding = this.binding.get();
+
+      if (binding != null && !binding.disposed) {
+        binding.onDependencyChange(observable);
+      }
+    }
+  }
+
+  /**
+   * Closes the subscriptions of a binding with all of its dependencies.
+   */
+  private static final class Release implements Runnable {
+
+    private final List<Subscription> subscriptions;
+
+    private Release(@NonNull List<Subscription> subscriptions) {
+      this.subscriptions = subscriptions;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void run() {
+      this.subscriptions.forEach(Subscription::close);
+    }
   }
 }
@@ -0,0 +1,557 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.binding;
+
+import com.torchmind.observable.ReadOnlyObservable;
+import com.torchmind.observable.primitive.ReadOnlyNumberObservable;
+import java.util.Arrays;
+import java.util.Collections;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Provides an abstract implementation for bindings which compute a statistic over a sliding
+ * window of updates to a numeric observable.</p>
+ *
+ * <p>Samples are kept within a primitive ring buffer and are passed to the implementation in the
+ * order of their arrival as they enter and leave the window. Null and NaN values are ignored. An
+ * empty window evaluates to NaN.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+abstract class AbstractStatisticBinding extends AbstractDoubleBinding {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final ReadOnlyNumberObservable<?> observable;
+  private final int count;
+  private final long duration;
+  private double[] values;
+  private long[] timestamps;
+  private int head;
+  private int size;
+
+  AbstractStatisticBinding(@NonNull ReadOnlyNumberObservable<?> observable,
+      @NonNull Window window) {
+    super(Collections.singleton(observable));
+    this.observable = observable;
+    this.count = window.getCount();
+    this.duration = window.getDuration();
+
+    if (this.count != 0) {
+      this.values = new double[this.count];
+    } else {
+      this.values = new double[INITIAL_CAPACITY];
+      this.timestamps = new long[INITIAL_CAPACITY];
+    }
+  }
+
+  /**
+   * Records the current value of the source observable and re-evaluates the binding.
+   */
+  void initialize() {
+    this.sample();
+    this.invalidate();
+  }
+
+  /**
+   * Handles a sample entering the window.
+   */
+  protected abstract void add(double value);
+
+  /**
+   * Handles a sample leaving the window (samples leave in the order they entered).
+   */
+  protected abstract void remove(double value);
+
+  /**
+   * Retrieves the current result of the statistic.
+   */
+  protected abstract double result();
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected Double compute() {
+    if (this.duration != 0) {
+      this.evict(System.nanoTime());
+    }
+
+    return this.result();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  void onDependencyChange(@NonNull ReadOnlyObservable<?> dependency) {
+    this.sample();
+    this.invalidate();
+  }
+
+  /**
+   * Appends the current value of the source observable to the window.
+   */
+  private void sample() {
+    Number number = this.observable.get();
+
+    if (number == null) {
+      return;
+    }
+
+    double value = number.doubleValue();
+
+    if (Double.isNaN(value)) {
+      return;
+    }
+
+    if (this.duration != 0) {
+      long now = System.nanoTime();
+      this.evict(now);
+
+      if (this.size == this.values.length) {
+        this.grow();
+      }
+
+      this.timestamps[(this.head + this.size) % this.values.length] = now;
+    } else if (this.size == this.count) {
+      this.removeOldest();
+    }
+
+    this.values[(this.head + this.size) % this.values.length] = value;
+    ++this.size;
+    this.add(value);
+  }
+
+  /**
+   * Removes all samples which have left the time window.
+   */
+  private void evict(long now) {
+    while (this.size != 0 && now - this.timestamps[this.head] >= this.duration) {
+      this.removeOldest();
+    }
+  }
+
+  /**
+   * Removes the oldest sample from the window.
+   */
+  private void removeOldest() {
+    double value = this.values[this.head];
+    this.head = (this.head + 1) % this.values.length;
+    --this.size;
+    this.remove(value);
+  }
+
+  /**
+   * Doubles the capacity of a time window.
+   */
+  private void grow() {
+    int capacity = this.values.length;
+    double[] values = new double[capacity * 2];
+    long[] timestamps = new long[capacity * 2];
+
+    for (int i = 0; i < this.size; ++i) {
+      values[i] = this.values[(this.head + i) % capacity];
+      timestamps[i] = this.timestamps[(this.head + i) % capacity];
+    }
+
+    this.values = values;
+    this.timestamps = timestamps;
+    this.head = 0;
+  }
+
+  /**
+   * Computes the arithmetic mean or the sample variance using Welford's algorithm (extended to
+   * support the removal of samples).
+   */
+  static final class Moments extends AbstractStatisticBinding {
+
+    private final boolean variance;
+    private long n;
+    private double mean;
+    private double m2;
+
+    Moments(@NonNull ReadOnlyNumberObservable<?> observable, @NonNull Window window,
+        boolean variance) {
+      super(observable, window);
+      this.variance = variance;
+      this.initialize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void add(double value) {
+      ++this.n;
+      double delta = value - this.mean;
+      this.mean += delta / this.n;
+      this.m2 += delta * (value - this.mean);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void remove(double value) {
+      if (--this.n == 0) {
+        this.mean = 0;
+        this.m2 = 0;
+        return;
+      }
+
+      double delta = value - this.mean;
+      this.mean -= delta / this.n;
+      this.m2 = Math.max(0, this.m2 - delta * (value - this.mean));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected double result() {
+      if (this.n == 0) {
+        return Double.NaN;
+      }
+
+      if (this.variance) {
+        return this.n < 2 ? 0 : this.m2 / (this.n - 1);
+      }
+
+      return this.mean;
+    }
+  }
+
+  /**
+   * Computes the minimum or maximum using a monotonic deque (e.g. each sample is added and removed
+   * at most once).
+   */
+  static final class Extremum extends AbstractStatisticBinding {
+
+    private final boolean maximum;
+    private double[] values = new double[INITIAL_CAPACITY];
+    private long[] sequences = new long[INITIAL_CAPACITY];
+    private int head;
+    private int size;
+    private long added;
+    private long removed;
+
+    Extremum(@NonNull ReadOnlyNumberObservable<?> observable, @NonNull Window window,
+        boolean maximum) {
+      super(observable, window);
+      this.maximum = maximum;
+      this.initialize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void add(double value) {
+      int capacity = this.values.length;
+
+      while (this.size != 0) {
+        double last = this.values[(this.head + this.size - 1) % capacity];
+
+        if (this.maximum ? last > value : last < value) {
+          break;
+        }
+
+        --this.size;
+      }
+
+      if (this.size == capacity) {
+        double[] values = new double[capacity * 2];
+        long[] sequences = new long[capacity * 2];
+
+        for (int i = 0; i < this.size; ++i) {
+          values[i] = this.values[(this.head + i) % capacity];
+          sequences[i] = this.sequences[(this.head + i) % capacity];
+        }
+
+        this.values = values;
+        this.sequences = sequences;
+        this.head = 0;
+        capacity *= 2;
+      }
+
+      int index = (this.head + this.size) % capacity;
+      this.values[index] = value;
+      this.sequences[index] = this.added++;
+      ++this.size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void remove(double value) {
+      long sequence = this.removed++;
+
+      if (this.size != 0 && this.sequences[this.head] == sequence) {
+        this.head = (this.head + 1) % this.values.length;
+        --this.size;
+      }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected double result() {
+      if (this.size == 0) {
+        return Double.NaN;
+      }
+
+      return this.values[this.head];
+    }
+  }
+
+  /**
+   * <p>Computes a quantile (using the nearest rank method) by partitioning the window into two
+   * indexed heaps.</p>
+   *
+   * <p>The lower (max) heap holds the smallest ceil(q * n) samples and thus exposes the quantile
+   * at its top while the upper (min) heap holds the remaining samples. Updates are performed in
+   * O(log n).</p>
+   */
+  static final class Quantile extends AbstractStatisticBinding {
+
+    private final double quantile;
+    private final Heap lower = new Heap(true);
+    private final Heap upper = new Heap(false);
+
+    private double[] nodeValues = new double[INITIAL_CAPACITY];
+    private Heap[] nodeHeaps = new Heap[INITIAL_CAPACITY];
+    private int[] nodePositions = new int[INITIAL_CAPACITY];
+    private int nodes;
+    private int[] free = new int[INITIAL_CAPACITY];
+    private int freeSize;
+
+    private int[] queue = new int[INITIAL_CAPACITY];
+    private int queueHead;
+    private int queueSize;
+
+    Quantile(@NonNull ReadOnlyNumberObservable<?> observable, @NonNull Window window,
+        double quantile) {
+      super(observable, window);
+      this.quantile = quantile;
+      this.initialize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void add(double value) {
+      int node = this.allocate(value);
+
+      if (this.queueSize == this.queue.length) {
+        int[] queue = new int[this.queue.length * 2];
+
+        for (int i = 0; i < this.queueSize; ++i) {
+          queue[i] = this.queue[(this.queueHead + i) % this.queue.length];
+        }
+
+        this.queue = queue;
+        this.queueHead = 0;
+      }
+
+      this.queue[(this.queueHead + this.queueSize++) % this.queue.length] = node;
+
+      if (this.lower.size == 0 || value <= this.nodeValues[this.lower.top()]) {
+        this.lower.push(node);
+      } else {
+        this.upper.push(node);
+      }
+
+      this.rebalance();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void remove(double value) {
+      int node = this.queue[this.queueHead];
+      this.queueHead = (this.queueHead + 1) % this.queue.length;
+      --this.queueSize;
+
+      this.nodeHeaps[node].removeAt(this.nodePositions[node]);
+      this.nodeHeaps[node] = null;
+      this.free[this.freeSize++] = node;
+
+      this.rebalance();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected double result() {
+      if (this.lower.size == 0) {
+        return Double.NaN;
+      }
+
+      return this.nodeValues[this.lower.top()];
+    }
+
+    /**
+     * Allocates a node for the passed value.
+     */
+    private int allocate(double value) {
+      int node;
+
+      if (this.freeSize != 0) {
+        node = this.free[--this.freeSize];
+      } else {
+        if (this.nodes == this.nodeValues.length) {
+          int capacity = this.nodes * 2;
+
+          this.nodeValues = Arrays.copyOf(this.nodeValues, capacity);
+          this.nodeHeaps = Arrays.copyOf(this.nodeHeaps, capacity);
+          this.nodePositions = Arrays.copyOf(this.nodePositions, capacity);
+          this.free = Arrays.copyOf(this.free, capacity);
+        }
+
+        node = this.nodes++;
+      }
+
+      this.nodeValues[node] = value;
+      return node;
+    }
+
+    /**
+     * Moves samples between both heaps until the lower heap holds exactly ceil(q * n) samples.
+     */
+    private void rebalance() {
+      int total = this.lower.size + this.upper.size;
+
+      if (total == 0) {
+        return;
+      }
+
+      int rank = Math.max(1, (int) Math.ceil(this.quantile * total));
+
+      while (this.lower.size > rank) {
+        this.upper.push(this.lower.pop());
+      }
+      while (this.lower.size < rank) {
+        this.lower.push(this.upper.pop());
+      }
+    }
+
+    /**
+     * Represents a binary heap of nodes which tracks the position of each node.
+     */
+    private final class Heap {
+
+      private final boolean maximum;
+      private int[] elements = new int[INITIAL_CAPACITY];
+      private int size;
+
+      private Heap(boolean maximum) {
+        this.maximum = maximum;
+      }
+
+      private int top() {
+        return this.elements[0];
+      }
+
+      private int pop() {
+        int node = this.elements[0];
+        this.removeAt(0);
+        return node;
+      }
+
+      private void push(int node) {
+        if (this.size == this.elements.length) {
+          this.elements = Arrays.copyOf(this.elements, this.size * 2);
+        }
+
+        Quantile.this.nodeHeaps[node] = this;
+        this.place(this.size, node);
+        this.siftUp(this.size++);
+      }
+
+      private void removeAt(int index) {
+        int last = this.elements[--this.size];
+
+        if (index != this.size) {
+          this.place(index, last);
+          this.siftDown(index);
+          this.siftUp(Quantile.this.nodePositions[last]);
+        }
+      }
+
+      private boolean precedes(int a, int b) {
+        double valueA = Quantile.this.nodeValues[a];
+        double valueB = Quantile.this.nodeValues[b];
+        return this.maximum ? valueA > valueB : valueA < valueB;
+      }
+
+      private void place(int index, int node) {
+        this.elements[index] = node;
+        Quantile.this.nodePositions[node] = index;
+      }
+
+      private void siftUp(int index) {
+        int node = this.elements[index];
+
+        while (index > 0) {
+          int parent = (index - 1) >>> 1;
+
+          if (!this.precedes(node, this.elements[parent])) {
+            break;
+          }
+
+          this.place(index, this.elements[parent]);
+          index = parent;
+        }
+
+        this.place(index, node);
+      }
+
+      private void siftDown(int index) {
+        int node = this.elements[index];
+
+        while (true) {
+          int child = 2 * index + 1;
+
+          if (child >= this.size) {
+            break;
+          }
+
+          if (child + 1 < this.size && this.precedes(this.elements[child + 1],
+              this.elements[child])) {
+            ++child;
+          }
+
+          if (!this.precedes(this.elements[child], node)) {
+            break;
+          }
+
+          this.place(index, this.elements[child]);
+          index = child;
+        }
+
+        this.place(index, node);
+      }
+    }
+  }
+}
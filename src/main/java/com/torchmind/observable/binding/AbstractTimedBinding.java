@@ -0,0 +1,325 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.binding;
+
+import com.torchmind.observable.ReadOnlyObservable;
+import com.torchmind.observable.utility.TimerWheel;
+import java.util.Collections;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * <p>Provides an abstract implementation for bindings which mirror the value of a single
+ * observable but delay or drop updates based on time.</p>
+ *
+ * <p>Timed bindings share a single {@link TimerWheel} and keep at most one pending timeout at any
+ * given time regardless of the rate at which their source changes.</p>
+ *
+ * <p>Updates are published using the passed executor (which is expected to execute tasks
+ * sequentially and in order) or exclusively on the timer thread when no executor is passed. As
+ * such, timed bindings are never modified by multiple threads at the same time unless the passed
+ * executor permits it.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+abstract class AbstractTimedBinding<V> extends AbstractBinding<V> {
+
+  private final ReadOnlyObservable<? extends V> observable;
+  private final TimerWheel timer;
+  private final Executor executor;
+  private TimerWheel.Timeout timeout;
+
+  AbstractTimedBinding(@NonNull ReadOnlyObservable<? extends V> observable,
+      @NonNull TimerWheel timer, @Nullable Executor executor) {
+    super(Collections.singleton(observable));
+    this.observable = observable;
+    this.timer = timer;
+    this.executor = executor;
+
+    this.update();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected V compute() {
+    return this.observable.get();
+  }
+
+  /**
+   * Handles a change of the source observable.
+   *
+   * @param now the current time (in nanoseconds).
+   * @return true if the change is to be published immediately, false otherwise.
+   */
+  protected abstract boolean onChange(long now);
+
+  /**
+   * Handles the expiration of a previously scheduled timeout.
+   *
+   * @param now the current time (in nanoseconds).
+   * @return true if the current value is to be published, false otherwise.
+   */
+  protected abstract boolean onTimeout(long now);
+
+  /**
+   * Schedules a timeout unless one is already pending.
+   */
+  protected void schedule(long delay) {
+    if (this.timeout != null || this.isDisposed()) {
+      return;
+    }
+
+    this.timeout = this.timer.schedule(this::expire, delay, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void dispose() {
+    super.dispose();
+
+    synchronized (this) {
+      if (this.timeout != null) {
+        this.timeout.cancel();
+        this.timeout = null;
+      }
+    }
+  }
+
+  /**
+   * Handles the expiration of the pending timeout.
+   */
+  private void expire() {
+    boolean publish;
+
+    synchronized (this) {
+      this.timeout = null;
+      publish = this.onTimeout(System.nanoTime());
+    }
+
+    if (publish) {
+      if (this.executor == null) {
+        this.update();
+      } else {
+        this.executor.execute(this::update);
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void invalidate() {
+    if (this.isDisposed()) {
+      return;
+    }
+
+    boolean publish;
+
+    synchronized (this) {
+      publish = this.onChange(System.nanoTime());
+    }
+
+    if (!publish) {
+      // lazy sources only notify their dependents once until they are evaluated again and thus
+      // need to be re-validated in order to report any subsequent changes
+      this.observable.get();
+      return;
+    }
+
+    // the value is captured immediately as the update may be published at a later time
+    V value = this.compute();
+
+    if (this.executor == null) {
+      this.timer.schedule(() -> this.publish(value), 0, TimeUnit.NANOSECONDS);
+    } else {
+      this.executor.execute(() -> this.publish(value));
+    }
+  }
+
+  /**
+   * Publishes a previously captured value.
+   */
+  private void publish(V value) {
+    if (!this.isDisposed()) {
+      this.set(value);
+    }
+  }
+
+  /**
+   * Re-evaluates the value of this binding.
+   */
+  private void update() {
+    if (!this.isDisposed()) {
+      this.refresh();
+    }
+  }
+
+  /**
+   * Provides a binding which publishes the latest value once its source has not changed for a
+   * certain amount of time.
+   */
+  static final class Debounce<V> extends AbstractTimedBinding<V> {
+
+    private final long delay;
+    private long deadline;
+
+    Debounce(@NonNull ReadOnlyObservable<? extends V> observable, long delay,
+        @NonNull TimerWheel timer, @Nullable Executor executor) {
+      super(observable, timer, executor);
+      this.delay = delay;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean onChange(long now) {
+      // rather than replacing the pending timeout on every change, the deadline is pushed back and
+      // the timeout re-schedules itself upon expiration until the source has settled
+      this.deadline = now + this.delay;
+      this.schedule(this.delay);
+      return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean onTimeout(long now) {
+      long remaining = this.deadline - now;
+
+      if (remaining > 0) {
+        this.schedule(remaining);
+        return false;
+      }
+
+      return true;
+    }
+  }
+
+  /**
+   * Provides a binding which publishes at most a certain amount of updates within each interval
+   * and publishes the latest value at the end of an interval in which updates have been dropped.
+   */
+  static final class Throttle<V> extends AbstractTimedBinding<V> {
+
+    private final int updates;
+    private final long interval;
+    private long windowStart = System.nanoTime();
+    private int count;
+    private boolean dirty;
+
+    Throttle(@NonNull ReadOnlyObservable<? extends V> observable, int updates, long interval,
+        @NonNull TimerWheel timer, @Nullable Executor executor) {
+      super(observable, timer, executor);
+      this.updates = updates;
+      this.interval = interval;
+    }
+
+    /**
+     * Verifies the parameters of a throttled binding.
+     */
+    static void checkParameters(int updates, long interval) {
+      if (updates <= 0) {
+        throw new IllegalArgumentException("Amount of updates must be positive: " + updates);
+      }
+      if (interval <= 0) {
+        throw new IllegalArgumentException("Interval must be positive: " + interval);
+      }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean onChange(long now) {
+      if (now - this.windowStart >= this.interval) {
+        this.windowStart = now;
+        this.count = 0;
+      }
+
+      if (this.count < this.updates) {
+        ++this.count;
+        return true;
+      }
+
+      this.dirty = true;
+      this.schedule(this.windowStart + this.interval - now);
+      return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean onTimeout(long now) {
+      if (!this.dirty) {
+        return false;
+      }
+
+      this.dirty = false;
+      this.windowStart = now;
+      this.count = 1;
+      return true;
+    }
+  }
+
+  /**
+   * Provides a binding which publishes the latest value at fixed periods (given that its source
+   * has changed since the last period).
+   */
+  static final class Sample<V> extends AbstractTimedBinding<V> {
+
+    private final long period;
+    private final long origin = System.nanoTime();
+    private boolean dirty;
+
+    Sample(@NonNull ReadOnlyObservable<? extends V> observable, long period,
+        @NonNull TimerWheel timer, @Nullable Executor executor) {
+      super(observable, timer, executor);
+      this.period = period;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean onChange(long now) {
+      this.dirty = true;
+      this.schedule(this.period - (now - this.origin) % this.period);
+      return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean onTimeout(long now) {
+      boolean dirty = this.dirty;
+      this.dirty = false;
+      return dirty;
+    }
+  }
+}
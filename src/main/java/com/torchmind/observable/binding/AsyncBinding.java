@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.binding;
+
+import com.torchmind.observable.ReadOnlyObservable;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Provides a binding which computes its value using an executor rather than the thread which
+ * changed one of its dependencies.</p>
+ *
+ * <p>Whenever a dependency changes, a new computation is submitted. Computations which have been
+ * superseded by a newer change are skipped when they have not started yet and their results are
+ * discarded otherwise. As a result, only the result of the most recent computation is published
+ * (on the thread which computed it). Until the first computation completes, the binding evaluates
+ * to null.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public interface AsyncBinding<V> extends Binding<V> {
+
+  /**
+   * <p>Creates a binding which evaluates the passed supplier using the passed executor.</p>
+   *
+   * <p>Note that the supplier is invoked on a different thread than the one which changed the
+   * dependencies and thus needs to access them in a thread safe manner (e.g. by relying on
+   * concurrent observables only).</p>
+   */
+  @NonNull
+  static <V> AsyncBinding<V> create(@NonNull Supplier<V> supplier, @NonNull Executor executor,
+      ReadOnlyObservable<?>... observables) {
+    return new AbstractAsyncBinding<V>(new HashSet<>(Arrays.asList(observables)), executor) {
+      @NonNull
+      @Override
+      protected Supplier<V> prepare() {
+        return supplier;
+      }
+    };
+  }
+
+  /**
+   * <p>Creates a binding which maps the value of the passed observable using the passed executor.
+   * </p>
+   *
+   * <p>The input value is retrieved on the thread which changed the observable and is passed to
+   * the function as is. As such, the observable itself is never accessed concurrently.</p>
+   */
+  @NonNull
+  static <I, O> AsyncBinding<O> map(@NonNull Function<I, O> function,
+      @NonNull ReadOnlyObservable<I> observable, @NonNull Executor executor) {
+    return new AbstractAsyncBinding<O>(new HashSet<>(Arrays.asList(observable)), executor) {
+      @NonNull
+      @Override
+      protected Supplier<O> prepare() {
+        I value = observable.get();
+        return () -> function.apply(value);
+      }
+    };
+  }
+
+  /**
+   * Evaluates whether a computation is currently pending (e.g. the exposed value does not reflect
+   * the latest state of the dependencies yet).
+   */
+  boolean isComputing();
+}
@@ -18,9 +18,13 @@
 package com.torchmind.observable.binding;
 
 import com.torchmind.observable.ReadOnlyObservable;
+import com.torchmind.observable.concurrent.AbstractConcurrentBinding;
+import com.torchmind.observable.utility.TimerWheel;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiPredicate;
 import java.util.function.BooleanSupplier;
 import java.util.function.Function;
@@ -53,6 +57,25 @@ public interface Binding<V> extends ReadOnlyObservable<V> {
     };
   }
 
+  /**
+   * <p>Creates a thread safe binding using the passed supplier and list of dependencies.</p>
+   *
+   * <p>The supplier may be invoked by multiple threads at once and is expected to be free of side
+   * effects.</p>
+   *
+   * @see AbstractConcurrentBinding
+   */
+  @NonNull
+  static <V> Binding<V> createConcurrent(@NonNull Supplier<V> supplier,
+      ReadOnlyObservable<?>... observables) {
+    return new AbstractConcurrentBinding<V>(new HashSet<>(Arrays.asList(observables))) {
+      @Override
+      protected V compute() {
+        return supplier.get();
+      }
+    };
+  }
+
   /**
    * <p>Maps an original value to another using complex logic.</p>
    *
@@ -91,6 +114,131 @@ public interface Binding<V> extends ReadOnlyObservable<V> {
     return create(() -> supplier.getAsBoolean() ? value1 : value2);
   }
 
+  /**
+   * <p>Creates a binding which adopts the value of the passed observable once it has not changed
+   * for the specified delay.</p>
+   *
+   * <p>Updates are published on the thread of the shared {@link TimerWheel}.</p>
+   *
+   * <p><strong>Note that timed bindings are not thread safe:</strong> As updates are published on
+   * the timer thread, the value and listeners of this binding (as well as the passed observable
+   * which is read when the value is adopted) are accessed concurrently with the threads which use
+   * them. Listeners thus need to synchronize accordingly. Applications which confine their
+   * observables to a single thread (such as an event loop) should pass an executor which
+   * publishes updates on that thread instead.</p>
+   */
+  @NonNull
+  static <V> Binding<V> debounce(@NonNull ReadOnlyObservable<? extends V> observable, long delay,
+      @NonNull TimeUnit unit) {
+    if (delay <= 0) {
+      throw new IllegalArgumentException("Delay must be positive: " + delay);
+    }
+
+    return new AbstractTimedBinding.Debounce<>(observable, unit.toNanos(delay),
+        TimerWheel.getDefault(), null);
+  }
+
+  /**
+   * <p>Creates a binding which adopts the value of the passed observable once it has not changed
+   * for the specified delay.</p>
+   *
+   * <p>Updates are published using the passed executor which is expected to execute tasks
+   * sequentially and in the order of their submission.</p>
+   */
+  @NonNull
+  static <V> Binding<V> debounce(@NonNull ReadOnlyObservable<? extends V> observable, long delay,
+      @NonNull TimeUnit unit, @NonNull Executor executor) {
+    if (delay <= 0) {
+      throw new IllegalArgumentException("Delay must be positive: " + delay);
+    }
+
+    return new AbstractTimedBinding.Debounce<>(observable, unit.toNanos(delay),
+        TimerWheel.getDefault(), executor);
+  }
+
+  /**
+   * <p>Creates a binding which adopts at most the specified amount of values of the passed
+   * observable within each interval. When values are dropped, the latest value is adopted at the
+   * end of the interval.</p>
+   *
+   * <p>Updates are published on the thread of the shared {@link TimerWheel} (e.g. values which are
+   * adopted immediately are published with a delay of up to a single tick).</p>
+   *
+   * <p><strong>Note that timed bindings are not thread safe:</strong> As updates are published on
+   * the timer thread, the value and listeners of this binding (as well as the passed observable
+   * which is read when the value is adopted) are accessed concurrently with the threads which use
+   * them. Listeners thus need to synchronize accordingly. Applications which confine their
+   * observables to a single thread (such as an event loop) should pass an executor which
+   * publishes updates on that thread instead.</p>
+   */
+  @NonNull
+  static <V> Binding<V> throttle(@NonNull ReadOnlyObservable<? extends V> observable, int updates,
+      long interval, @NonNull TimeUnit unit) {
+    AbstractTimedBinding.Throttle.checkParameters(updates, interval);
+    return new AbstractTimedBinding.Throttle<>(observable, updates, unit.toNanos(interval),
+        TimerWheel.getDefault(), null);
+  }
+
+  /**
+   * <p>Creates a binding which adopts at most the specified amount of values of the passed
+   * observable within each interval. When values are dropped, the latest value is adopted at the
+   * end of the interval.</p>
+   *
+   * <p>Updates are published using the passed executor which is expected to execute tasks
+   * sequentially and in the order of their submission. Note that values which are adopted
+   * immediately are submitted on the thread which changed the observable while the latest value
+   * is submitted on the thread of the shared {@link TimerWheel}.</p>
+   */
+  @NonNull
+  static <V> Binding<V> throttle(@NonNull ReadOnlyObservable<? extends V> observable, int updates,
+      long interval, @NonNull TimeUnit unit, @NonNull Executor executor) {
+    AbstractTimedBinding.Throttle.checkParameters(updates, interval);
+    return new AbstractTimedBinding.Throttle<>(observable, updates, unit.toNanos(interval),
+        TimerWheel.getDefault(), executor);
+  }
+
+  /**
+   * <p>Creates a binding which adopts the latest value of the passed observable at fixed periods
+   * (given that it has changed within the respective period).</p>
+   *
+   * <p>Updates are published on the thread of the shared {@link TimerWheel}.</p>
+   *
+   * <p><strong>Note that timed bindings are not thread safe:</strong> As updates are published on
+   * the timer thread, the value and listeners of this binding (as well as the passed observable
+   * which is read when the value is adopted) are accessed concurrently with the threads which use
+   * them. Listeners thus need to synchronize accordingly. Applications which confine their
+   * observables to a single thread (such as an event loop) should pass an executor which
+   * publishes updates on that thread instead.</p>
+   */
+  @NonNull
+  static <V> Binding<V> sample(@NonNull ReadOnlyObservable<? extends V> observable, long period,
+      @NonNull TimeUnit unit) {
+    if (period <= 0) {
+      throw new IllegalArgumentException("Period must be positive: " + period);
+    }
+
+    return new AbstractTimedBinding.Sample<>(observable, unit.toNanos(period),
+        TimerWheel.getDefault(), null);
+  }
+
+  /**
+   * <p>Creates a binding which adopts the latest value of the passed observable at fixed periods
+   * (given that it has changed within the respective period).</p>
+   *
+   * <p>Updates are published using the passed executor which is expected to execute tasks
+   * sequentially and in the order of their submission.</p>
+   */
+  @NonNull
+  static <V> Binding<V> sample(@NonNull ReadOnlyObservable<? extends V> observable, long period,
+      @NonNull TimeUnit unit, @NonNull Executor executor) {
+    if (period <= 0) {
+      throw new IllegalArgumentException("Period must be positive: " + period);
+    }
+
+    return new AbstractTimedBinding.Sample<>(observable, unit.toNanos(period),
+        TimerWheel.getDefault(), executor);
+  }
+
   /**
    * Converts the logic of this binding into a standard Java supplier.
    */
@@ -98,7 +246,23 @@ public interface Binding<V> extends ReadOnlyObservable<V> {
   Supplier<V> asSupplier();
 
   /**
-   * Retrieves a list of observables that this binding relies upon.
+   * <p>Releases this binding (e.g. removes its listeners from all dependencies and releases all
+   * references to them). Once disposed, a binding retains its last value and no longer reacts to
+   * changes or invalidation.</p>
+   *
+   * <p>Bindings which become unreachable without being disposed are released automatically once
+   * they have been collected. Disposing bindings explicitly, however, guarantees that they stop
+   * reacting to changes immediately.</p>
+   *
+   * <p>This default implementation does nothing and is provided for implementations which do not
+   * retain any resources.</p>
+   */
+  default void dispose() {
+  }
+
+  /**
+   * Retrieves a list of observables that this binding relies upon (or an empty set if this binding
+   * has been disposed).
    */
   @NonNull
   Set<ReadOnlyObservable<?>> getDependencies();
@@ -107,4 +271,14 @@ public interface Binding<V> extends ReadOnlyObservable<V> {
    * Forces this binding to re-evaluate its state based on the properties of its dependencies.
    */
   void invalidate();
+
+  /**
+   * <p>Evaluates whether this binding has been disposed.</p>
+   *
+   * <p>This default implementation always returns false (as bindings which do not override
+   * {@link #dispose()} are never disposed).</p>
+   */
+  default boolean isDisposed() {
+    return false;
+  }
 }
@@ -18,6 +18,8 @@
 package com.torchmind.observable.binding;
 
 import com.torchmind.observable.ReadOnlyObservable;
+import com.torchmind.observable.collection.ObservableSet;
+import com.torchmind.observable.concurrent.primitive.AbstractConcurrentBooleanBinding;
 import com.torchmind.observable.primitive.ReadOnlyBooleanObservable;
 import java.util.Arrays;
 import java.util.Collections;
@@ -51,6 +53,38 @@ public interface BooleanBinding extends Binding<Boolean>, ReadOnlyBooleanObserva
     };
   }
 
+  /**
+   * <p>Creates a thread safe binding using the passed supplier and list of dependencies.</p>
+   *
+   * <p>The supplier may be invoked by multiple threads at once and is expected to be free of side
+   * effects.</p>
+   *
+   * @see com.torchmind.observable.concurrent.AbstractConcurrentBinding
+   */
+  @NonNull
+  static BooleanBinding createConcurrent(@NonNull BooleanSupplier supplier,
+      ReadOnlyObservable<?>... observables) {
+    return new AbstractConcurrentBooleanBinding(new HashSet<>(Arrays.asList(observables))) {
+      @Override
+      protected Boolean compute() {
+        return supplier.getAsBoolean();
+      }
+    };
+  }
+
+  // Collections
+
+  /**
+   * <p>Creates a binding which evaluates whether the passed set contains the passed element.</p>
+   *
+   * <p>The binding is only invalidated when the element is added to or removed from the set and
+   * is re-evaluated through a single hash lookup.</p>
+   */
+  @NonNull
+  static <E> BooleanBinding contains(@NonNull ObservableSet<E> set, E element) {
+    return new ContainsBinding<>(set, element);
+  }
+
   /**
    * Combines the two supplied boolean bindings using a binary and operation.
    */
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.binding;
+
+import com.torchmind.observable.ReadOnlyObservable;
+import com.torchmind.observable.collection.ObservableSet;
+import com.torchmind.observable.collection.SetChangeListener;
+import com.torchmind.observable.listener.ReferenceMode;
+import com.torchmind.observable.listener.Subscription;
+import java.util.Collections;
+import java.util.Set;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Provides a binding which evaluates whether an observable set contains a certain
+ * element.</p>
+ *
+ * <p>The set is observed through an element listener rather than a regular dependency. As such,
+ * this binding is only invalidated when its element is actually added or removed and the cost of
+ * a modification of the set does not grow with the amount of membership bindings.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+final class ContainsBinding<E> extends AbstractBooleanBinding {
+
+  private final ObservableSet<E> set;
+  private final E element;
+  private final SetChangeListener<E> listener = (s, c) -> this.invalidate();
+  private final Subscription subscription;
+
+  ContainsBinding(@NonNull ObservableSet<E> set, E element) {
+    super(Collections.emptySet());
+    this.set = set;
+    this.element = element;
+
+    // the set references the listener weakly and thus does not keep this binding reachable
+    this.subscription = set.subscribeElement(element, this.listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected Boolean compute() {
+    return this.set.contains(this.element);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Set<ReadOnlyObservable<?>> getDependencies() {
+    if (this.isDisposed()) {
+      return Collections.emptySet();
+    }
+
+    return Collections.singleton(this.set);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void dispose() {
+    super.dispose();
+    this.subscription.close();
+  }
+}
@@ -18,7 +18,10 @@
 package com.torchmind.observable.binding;
 
 import com.torchmind.observable.ReadOnlyObservable;
+import com.torchmind.observable.collection.ObservableDoubleArray;
+import com.torchmind.observable.concurrent.primitive.AbstractConcurrentDoubleBinding;
 import com.torchmind.observable.primitive.ReadOnlyDoubleObservable;
+import com.torchmind.observable.primitive.ReadOnlyNumberObservable;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.function.DoubleSupplier;
@@ -48,4 +51,152 @@ public interface DoubleBinding extends NumberBinding<Double>, ReadOnlyDoubleObse
       }
     };
   }
+
+  /**
+   * <p>Creates a thread safe binding using the passed supplier and list of dependencies.</p>
+   *
+   * <p>The supplier may be invoked by multiple threads at once and is expected to be free of side
+   * effects.</p>
+   *
+   * @see com.torchmind.observable.concurrent.AbstractConcurrentBinding
+   */
+  @NonNull
+  static DoubleBinding createConcurrent(@NonNull DoubleSupplier supplier,
+      ReadOnlyObservable<?>... observables) {
+    return new AbstractConcurrentDoubleBinding(new HashSet<>(Arrays.asList(observables))) {
+      @Override
+      protected Double compute() {
+        return supplier.getAsDouble();
+      }
+    };
+  }
+
+  // Statistics
+
+  /**
+   * Creates a binding which computes the arithmetic mean of all values within the specified
+   * window.
+   */
+  @NonNull
+  static DoubleBinding mean(@NonNull ReadOnlyNumberObservable<?> observable,
+      @NonNull Window window) {
+    return new AbstractStatisticBinding.Moments(observable, window, false);
+  }
+
+  /**
+   * Creates a binding which computes the sample variance of all values within the specified
+   * window.
+   */
+  @NonNull
+  static DoubleBinding variance(@NonNull ReadOnlyNumberObservable<?> observable,
+      @NonNull Window window) {
+    return new AbstractStatisticBinding.Moments(observable, window, true);
+  }
+
+  /**
+   * Creates a binding which computes the smallest value within the specified window.
+   */
+  @NonNull
+  static DoubleBinding min(@NonNull ReadOnlyNumberObservable<?> observable,
+      @NonNull Window window) {
+    return new AbstractStatisticBinding.Extremum(observable, window, false);
+  }
+
+  /**
+   * Creates a binding which computes the largest value within the specified window.
+   */
+  @NonNull
+  static DoubleBinding max(@NonNull ReadOnlyNumberObservable<?> observable,
+      @NonNull Window window) {
+    return new AbstractStatisticBinding.Extremum(observable, window, true);
+  }
+
+  /**
+   * Creates a binding which computes the specified quantile (e.g. 0.5 for the median) of all
+   * values within the specified window using the nearest rank method.
+   */
+  @NonNull
+  static DoubleBinding quantile(@NonNull ReadOnlyNumberObservable<?> observable, double quantile,
+      @NonNull Window window) {
+    if (!(quantile >= 0 && quantile <= 1)) {
+      throw new IllegalArgumentException("Quantile must be within [0, 1]: " + quantile);
+    }
+
+    return new AbstractStatisticBinding.Quantile(observable, window, quantile);
+  }
+
+  /**
+   * Creates a binding which computes the exponentially weighted moving average of all values using
+   * the specified smoothing factor (where larger factors favor recent values).
+   */
+  @NonNull
+  static DoubleBinding ewma(@NonNull ReadOnlyNumberObservable<?> observable, double alpha) {
+    if (!(alpha > 0 && alpha <= 1)) {
+      throw new IllegalArgumentException("Smoothing factor must be within (0, 1]: " + alpha);
+    }
+
+    return new ExponentialAverageBinding(observable, alpha);
+  }
+
+  // Arrays
+
+  /**
+   * Creates a binding which computes the sum of all elements within the passed array.
+   */
+  @NonNull
+  static DoubleBinding sum(@NonNull ObservableDoubleArray array) {
+    return sum(array, 0, Integer.MAX_VALUE);
+  }
+
+  /**
+   * <p>Creates a binding which computes the sum of all elements within {@code [from, to)} of the
+   * passed array.</p>
+   *
+   * <p>The range is clamped to the bounds of the array (e.g. it may extend beyond its current
+   * size).</p>
+   */
+  @NonNull
+  static DoubleBinding sum(@NonNull ObservableDoubleArray array, int from, int to) {
+    return new DoubleRangeBinding.Sum(array, from, to);
+  }
+
+  /**
+   * Creates a binding which computes the smallest element within the passed array.
+   */
+  @NonNull
+  static DoubleBinding min(@NonNull ObservableDoubleArray array) {
+    return min(array, 0, Integer.MAX_VALUE);
+  }
+
+  /**
+   * <p>Creates a binding which computes the smallest element within {@code [from, to)} of the
+   * passed array.</p>
+   *
+   * <p>The range is clamped to the bounds of the array (e.g. it may extend beyond its current
+   * size). An empty range evaluates to NaN.</p>
+   */
+  @NonNull
+  static DoubleBinding min(@NonNull ObservableDoubleArray array, int from, int to) {
+    return new DoubleRangeBinding.Extremum(array, from, to, false);
+  }
+
+  /**
+   * Creates a binding which computes the largest element within the passed array.
+   */
+  @NonNull
+  static DoubleBinding max(@NonNull ObservableDoubleArray array) {
+    return max(array, 0, Integer.MAX_VALUE);
+  }
+
+  /**
+   * <p>Creates a binding which computes the largest element within {@code [from, to)} of the
+   * passed array.</p>
+   *
+   * <p>The range is clamped to the bounds of the array (e.g. it may extend beyond its current
+   * size). An empty range evaluates to NaN.</p>
+   */
+  @NonNull
+  static DoubleBinding max(@NonNull ObservableDoubleArray array, int from, int to) {
+    return new DoubleRangeBinding.Extremum(array, from, to, true);
+  }
 }
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.binding;
+
+import com.torchmind.observable.ReadOnlyObservable;
+import com.torchmind.observable.collection.DoubleArrayChangeListener;
+import com.torchmind.observable.collection.ObservableDoubleArray;
+import com.torchmind.observable.listener.ReferenceMode;
+import com.torchmind.observable.listener.Subscription;
+import java.util.Collections;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Provides an abstract implementation for bindings which aggregate a range of elements within
+ * an observable double array.</p>
+ *
+ * <p>The aggregate is updated incrementally from the ranges which are published by the array and
+ * is only re-computed from scratch when an update cannot be derived from the modified range alone
+ * (for instance, when the array is resized). The range is clamped to the bounds of the array and
+ * an empty range evaluates to zero (sums) or NaN (extrema).</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+abstract class DoubleRangeBinding extends AbstractDoubleBinding {
+
+  private final ObservableDoubleArray array;
+  private final int from;
+  private final int to;
+  private final DoubleArrayChangeListener listener = this::onArrayChange;
+  private final Subscription subscription;
+  private boolean dirty = true;
+  double value;
+
+  DoubleRangeBinding(@NonNull ObservableDoubleArray array, int from, int to) {
+    super(Collections.singleton(array));
+
+    if (from < 0 || from > to) {
+      throw new IndexOutOfBoundsException("Illegal range: [" + from + ", " + to + ")");
+    }
+
+    this.array = array;
+    this.from = from;
+    this.to = to;
+
+    // the array references the listener weakly and thus does not keep this binding reachable
+    this.subscription = array.subscribe(this.listener, ReferenceMode.WEAK);
+    this.invalidate();
+  }
+
+  /**
+   * Computes the aggregate of the passed range from scratch.
+   */
+  protected abstract double aggregate(@NonNull ObservableDoubleArray array, int from, int to);
+
+  /**
+   * <p>Updates the aggregate with the elements within {@code [from, to)} which have replaced the
+   * passed values (starting at the passed offset).</p>
+   *
+   * @return false if the aggregate needs to be re-computed from scratch.
+   */
+  protected abstract boolean update(@NonNull ObservableDoubleArray array, int from, int to,
+      @NonNull double[] removed, int offset);
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected Double compute() {
+    if (this.dirty) {
+      int to = Math.min(this.to, this.array.size());
+      int from = Math.min(this.from, to);
+
+      this.value = this.aggregate(this.array, from, to);
+      this.dirty = false;
+    }
+
+    return this.value;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  void onDependencyChange(@NonNull ReadOnlyObservable<?> dependency) {
+    // invalidations are issued by the array listener once the aggregate has been updated
+  }
+
+  /**
+   * Handles a modification of the source array.
+   */
+  private void onArrayChange(@NonNull ObservableDoubleArray array, int from, int to,
+      @NonNull double[] removed) {
+    if (removed.length != to - from) {
+      this.dirty = true;
+      this.invalidate();
+      return;
+    }
+
+    int lower = Math.max(this.from, from);
+    int upper = Math.min(this.to, to);
+    if (lower >= upper) {
+      return;
+    }
+
+    if (!this.dirty && !this.update(array, lower, upper, removed, lower - from)) {
+      this.dirty = true;
+    }
+
+    this.invalidate();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void dispose() {
+    super.dispose();
+    this.subscription.close();
+  }
+
+  /**
+   * <p>Computes the sum of a range.</p>
+   *
+   * <p>Since incremental updates would accumulate rounding errors over time, the sum is
+   * re-computed (once it is requested) whenever an element within the range is modified.</p>
+   */
+  static final class Sum extends DoubleRangeBinding {
+
+    Sum(@NonNull ObservableDoubleArray array, int from, int to) {
+      super(array, from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected double aggregate(@NonNull ObservableDoubleArray array, int from, int to) {
+      double result = 0;
+
+      for (int i = from; i < to; ++i) {
+        result += array.get(i);
+      }
+
+      return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean update(@NonNull ObservableDoubleArray array, int from, int to,
+        @NonNull double[] removed, int offset) {
+      return false;
+    }
+  }
+
+  /**
+   * Computes the minimum or maximum of a range.
+   */
+  static final class Extremum extends DoubleRangeBinding {
+
+    private final boolean maximum;
+
+    Extremum(@NonNull ObservableDoubleArray array, int from, int to, boolean maximum) {
+      super(array, from, to);
+      this.maximum = maximum;
+    }
+
+    /**
+     * Evaluates whether the first value takes precedence over the second value.
+     */
+    private boolean precedes(double value1, double value2) {
+      return this.maximum ? Double.compare(value1, value2) > 0 : Double.compare(value1, value2) < 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected double aggregate(@NonNull ObservableDoubleArray array, int from, int to) {
+      if (from == to) {
+        return Double.NaN;
+      }
+
+      double result = array.get(from);
+
+      for (int i = from + 1; i < to; ++i) {
+        double value = array.get(i);
+
+        if (this.precedes(value, result)) {
+          result = value;
+        }
+      }
+
+      return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean update(@NonNull ObservableDoubleArray array, int from, int to,
+        @NonNull double[] removed, int offset) {
+      double candidate = this.aggregate(array, from, to);
+
+      // when the new elements contain an equal or better candidate, it replaces the current
+      // extremum regardless of the values it replaced
+      if (!this.precedes(this.value, candidate)) {
+        this.value = candidate;
+        return true;
+      }
+
+      // otherwise we will only need to re-compute the aggregate when the current extremum has
+      // been replaced
+      for (int i = 0; i < to - from; ++i) {
+        if (Double.compare(removed[offset + i], this.value) == 0) {
+          return false;
+        }
+      }
+
+      return true;
+    }
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.binding;
+
+import com.torchmind.observable.ReadOnlyObservable;
+import com.torchmind.observable.primitive.ReadOnlyNumberObservable;
+import java.util.Collections;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Provides a binding which computes the exponentially weighted moving average of a numeric
+ * observable (ignoring null and NaN values).
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+final class ExponentialAverageBinding extends AbstractDoubleBinding {
+
+  private final ReadOnlyNumberObservable<?> observable;
+  private final double alpha;
+  private double average = Double.NaN;
+
+  ExponentialAverageBinding(@NonNull ReadOnlyNumberObservable<?> observable, double alpha) {
+    super(Collections.singleton(observable));
+    this.observable = observable;
+    this.alpha = alpha;
+
+    this.onDependencyChange(observable);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected Double compute() {
+    return this.average;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  void onDependencyChange(@NonNull ReadOnlyObservable<?> dependency) {
+    Number number = this.observable.get();
+
+    if (number != null && !Double.isNaN(number.doubleValue())) {
+      double value = number.doubleValue();
+
+      if (Double.isNaN(this.average)) {
+        this.average = value;
+      } else {
+        this.average += this.alpha * (value - this.average);
+      }
+    }
+
+    this.invalidate();
+  }
+}
@@ -18,6 +18,7 @@
 package com.torchmind.observable.binding;
 
 import com.torchmind.observable.ReadOnlyObservable;
+import com.torchmind.observable.concurrent.primitive.AbstractConcurrentFloatBinding;
 import com.torchmind.observable.primitive.ReadOnlyFloatObservable;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -48,4 +49,23 @@ public interface FloatBinding extends NumberBinding<Float>, ReadOnlyFloatObserva
       }
     };
   }
+
+  /**
+   * <p>Creates a thread safe binding using the passed supplier and list of dependencies.</p>
+   *
+   * <p>The supplier may be invoked by multiple threads at once and is expected to be free of side
+   * effects.</p>
+   *
+   * @see com.torchmind.observable.concurrent.AbstractConcurrentBinding
+   */
+  @NonNull
+  static FloatBinding createConcurrent(@NonNull Supplier<Float> supplier,
+      ReadOnlyObservable<?>... observables) {
+    return new AbstractConcurrentFloatBinding(new HashSet<>(Arrays.asList(observables))) {
+      @Override
+      protected Float compute() {
+        return supplier.get();
+      }
+    };
+  }
 }
@@ -18,6 +18,8 @@
 package com.torchmind.observable.binding;
 
 import com.torchmind.observable.ReadOnlyObservable;
+import com.torchmind.observable.collection.ObservableIntegerArray;
+import com.torchmind.observable.concurrent.primitive.AbstractConcurrentIntegerBinding;
 import com.torchmind.observable.primitive.ReadOnlyIntegerObservable;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -48,4 +50,85 @@ public interface IntegerBinding extends NumberBinding<Integer>, ReadOnlyIntegerO
       }
     };
   }
+
+  /**
+   * <p>Creates a thread safe binding using the passed supplier and list of dependencies.</p>
+   *
+   * <p>The supplier may be invoked by multiple threads at once and is expected to be free of side
+   * effects.</p>
+   *
+   * @see com.torchmind.observable.concurrent.AbstractConcurrentBinding
+   */
+  @NonNull
+  static IntegerBinding createConcurrent(@NonNull IntSupplier supplier,
+      ReadOnlyObservable<?>... observables) {
+    return new AbstractConcurrentIntegerBinding(new HashSet<>(Arrays.asList(observables))) {
+      @Override
+      protected Integer compute() {
+        return supplier.getAsInt();
+      }
+    };
+  }
+
+  // Arrays
+
+  /**
+   * Creates a binding which computes the sum of all elements within the passed array.
+   */
+  @NonNull
+  static IntegerBinding sum(@NonNull ObservableIntegerArray array) {
+    return sum(array, 0, Integer.MAX_VALUE);
+  }
+
+  /**
+   * <p>Creates a binding which computes the sum of all elements within {@code [from, to)} of the
+   * passed array.</p>
+   *
+   * <p>The range is clamped to the bounds of the array (e.g. it may extend beyond its current
+   * size).</p>
+   */
+  @NonNull
+  static IntegerBinding sum(@NonNull ObservableIntegerArray array, int from, int to) {
+    return new IntegerRangeBinding.Sum(array, from, to);
+  }
+
+  /**
+   * Creates a binding which computes the smallest element within the passed array.
+   */
+  @NonNull
+  static IntegerBinding min(@NonNull ObservableIntegerArray array) {
+    return min(array, 0, Integer.MAX_VALUE);
+  }
+
+  /**
+   * <p>Creates a binding which computes the smallest element within {@code [from, to)} of the
+   * passed array.</p>
+   *
+   * <p>The range is clamped to the bounds of the array (e.g. it may extend beyond its current
+   * size). An empty range evaluates to zero.</p>
+   */
+  @NonNull
+  static IntegerBinding min(@NonNull ObservableIntegerArray array, int from, int to) {
+    return new IntegerRangeBinding.Extremum(array, from, to, false);
+  }
+
+  /**
+   * Creates a binding which computes the largest element within the passed array.
+   */
+  @NonNull
+  static IntegerBinding max(@NonNull ObservableIntegerArray array) {
+    return max(array, 0, Integer.MAX_VALUE);
+  }
+
+  /**
+   * <p>Creates a binding which computes the largest element within {@code [from, to)} of the
+   * passed array.</p>
+   *
+   * <p>The range is clamped to the bounds of the array (e.g. it may extend beyond its current
+   * size). An empty range evaluates to zero.</p>
+   */
+  @NonNull
+  static IntegerBinding max(@NonNull ObservableIntegerArray array, int from, int to) {
+    return new IntegerRangeBinding.Extremum(array, from, to, true);
+  }
 }
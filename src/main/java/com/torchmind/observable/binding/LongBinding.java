@@ -18,6 +18,8 @@
 package com.torchmind.observable.binding;
 
 import com.torchmind.observable.ReadOnlyObservable;
+import com.torchmind.observable.collection.ObservableLongArray;
+import com.torchmind.observable.concurrent.primitive.AbstractConcurrentLongBinding;
 import com.torchmind.observable.primitive.ReadOnlyLongObservable;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -48,4 +50,85 @@ public interface LongBinding extends NumberBinding<Long>, ReadOnlyLongObservable
       }
     };
   }
+
+  /**
+   * <p>Creates a thread safe binding using the passed supplier and list of dependencies.</p>
+   *
+   * <p>The supplier may be invoked by multiple threads at once and is expected to be free of side
+   * effects.</p>
+   *
+   * @see com.torchmind.observable.concurrent.AbstractConcurrentBinding
+   */
+  @NonNull
+  static LongBinding createConcurrent(@NonNull LongSupplier supplier,
+      ReadOnlyObservable<?>... observables) {
+    return new AbstractConcurrentLongBinding(new HashSet<>(Arrays.asList(observables))) {
+      @Override
+      protected Long compute() {
+        return supplier.getAsLong();
+      }
+    };
+  }
+
+  // Arrays
+
+  /**
+   * Creates a binding which computes the sum of all elements within the passed array.
+   */
+  @NonNull
+  static LongBinding sum(@NonNull ObservableLongArray array) {
+    return sum(array, 0, Integer.MAX_VALUE);
+  }
+
+  /**
+   * <p>Creates a binding which computes the sum of all elements within {@code [from, to)} of the
+   * passed array.</p>
+   *
+   * <p>The range is clamped to the bounds of the array (e.g. it may extend beyond its current
+   * size).</p>
+   */
+  @NonNull
+  static LongBinding sum(@NonNull ObservableLongArray array, int from, int to) {
+    return new LongRangeBinding.Sum(array, from, to);
+  }
+
+  /**
+   * Creates a binding which computes the smallest element within the passed array.
+   */
+  @NonNull
+  static LongBinding min(@NonNull ObservableLongArray array) {
+    return min(array, 0, Integer.MAX_VALUE);
+  }
+
+  /**
+   * <p>Creates a binding which computes the smallest element within {@code [from, to)} of the
+   * passed array.</p>
+   *
+   * <p>The range is clamped to the bounds of the array (e.g. it may extend beyond its current
+   * size). An empty range evaluates to zero.</p>
+   */
+  @NonNull
+  static LongBinding min(@NonNull ObservableLongArray array, int from, int to) {
+    return new LongRangeBinding.Extremum(array, from, to, false);
+  }
+
+  /**
+   * Creates a binding which computes the largest element within the passed array.
+   */
+  @NonNull
+  static LongBinding max(@NonNull ObservableLongArray array) {
+    return max(array, 0, Integer.MAX_VALUE);
+  }
+
+  /**
+   * <p>Creates a binding which computes the largest element within {@code [from, to)} of the
+   * passed array.</p>
+   *
+   * <p>The range is clamped to the bounds of the array (e.g. it may extend beyond its current
+   * size). An empty range evaluates to zero.</p>
+   */
+  @NonNull
+  static LongBinding max(@NonNull ObservableLongArray array, int from, int to) {
+    return new LongRangeBinding.Extremum(array, from, to, true);
+  }
 }
@@ -0,0 +1,367 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.binding;
+
+import com.torchmind.observable.ReadOnlyObservable;
+import com.torchmind.observable.concurrent.AbstractConcurrentReadOnlyObservable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Evaluates independent bindings concurrently when a change fans out to multiple bindings.</p>
+ *
+ * <p>Regular bindings which are observed by change listeners are re-computed one after another
+ * on the thread which modified their dependencies. Bindings which have been enrolled with an
+ * evaluator instead defer their evaluation while changes are propagated through
+ * {@link #propagate(Runnable)}: Once the passed action returns, the deferred bindings are split
+ * into rounds of bindings which do not (transitively) depend on each other. Each round is
+ * computed using a {@link ForkJoinPool} while its results are published on the calling thread in
+ * the order in which the bindings have been invalidated. Bindings which depend on other deferred
+ * bindings are evaluated in a later round.</p>
+ *
+ * <p>Since bindings are computed on the threads of the pool, all observables a binding
+ * (transitively) depends on are expected to be thread-safe. Bindings which depend on other
+ * observables (such as {@link com.torchmind.observable.SimpleObservable}) are rejected when they
+ * are enrolled. Lazily evaluated bindings in between are evaluated on the calling thread before
+ * the bindings which depend on them are computed.</p>
+ *
+ * <p>Note that bindings are only evaluated concurrently when their invalidation is propagated
+ * by the thread which called {@link #propagate(Runnable)} before the method returns. Changes which
+ * are published from within a listener while another change is being propagated may thus be
+ * evaluated sequentially.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class ParallelEvaluator {
+
+  private static final ThreadLocal<Scope> SCOPE = new ThreadLocal<>();
+
+  private final ForkJoinPool pool;
+
+  public ParallelEvaluator() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  public ParallelEvaluator(@NonNull ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  /**
+   * <p>Enrolls a binding with this evaluator.</p>
+   *
+   * <p>Bindings are enrolled with at most one evaluator at a time and are thus withdrawn from
+   * their previous evaluator (if any).</p>
+   *
+   * @return the passed binding.
+   * @throws IllegalArgumentException when the binding is not supported or depends on an
+   *     observable which is not thread-safe.
+   */
+  @NonNull
+  public <B extends Binding<?>> B enroll(@NonNull B binding) {
+    if (!(binding instanceof AbstractBinding) || binding instanceof AbstractAsyncBinding
+        || binding instanceof AbstractTimedBinding) {
+      throw new IllegalArgumentException(
+          "Unsupported binding: " + binding.getClass().getName());
+    }
+
+    checkThreadSafety(binding);
+    ((AbstractBinding<?>) binding).setEvaluator(this);
+    return binding;
+  }
+
+  /**
+   * Withdraws a binding from this evaluator (bindings which have not been enrolled with this
+   * evaluator are ignored).
+   */
+  public void withdraw(@NonNull Binding<?> binding) {
+    if (binding instanceof AbstractBinding
+        && ((AbstractBinding<?>) binding).getEvaluator() == this) {
+      ((AbstractBinding<?>) binding).setEvaluator(null);
+    }
+  }
+
+  /**
+   * <p>Executes the passed action and evaluates all enrolled bindings which have been invalidated
+   * as a result.</p>
+   *
+   * <p>When called while this evaluator is already propagating changes on the calling thread, the
+   * bindings which are invalidated by the action are evaluated along with all other bindings once
+   * the outermost call completes.</p>
+   */
+  public void propagate(@NonNull Runnable action) {
+    Scope previous = SCOPE.get();
+
+    if (previous != null && previous.evaluator == this) {
+      action.run();
+      return;
+    }
+
+    Scope scope = new Scope(this);
+    SCOPE.set(scope);
+
+    try {
+      action.run();
+      this.flush(scope);
+    } finally {
+      if (previous == null) {
+        SCOPE.remove();
+      } else {
+        SCOPE.set(previous);
+      }
+    }
+  }
+
+  /**
+   * Retrieves the pool which is used to compute bindings.
+   */
+  @NonNull
+  public ForkJoinPool getPool() {
+    return this.pool;
+  }
+
+  /**
+   * Defers the evaluation of a binding until the current propagation completes.
+   *
+   * @return true if this evaluator is propagating changes on the calling thread, false otherwise.
+   */
+  boolean defer(@NonNull AbstractBinding<?> binding) {
+    Scope scope = SCOPE.get();
+
+    if (scope == null || scope.evaluator != this) {
+      return false;
+    }
+
+    scope.pending.add(binding);
+    return true;
+  }
+
+  /**
+   * Evaluates all deferred bindings in rounds of independent bindings until no further bindings
+   * are invalidated.
+   */
+  private void flush(@NonNull Scope scope) {
+    while (!scope.pending.isEmpty()) {
+      Set<AbstractBinding<?>> deferred = Collections.newSetFromMap(new IdentityHashMap<>());
+      List<AbstractBinding<?>> candidates = new ArrayList<>(scope.pending);
+      scope.pending.clear();
+
+      // bindings which have already been evaluated (e.g. as they were retrieved by a listener)
+      // do not need to be computed again
+      for (AbstractBinding<?> binding : candidates) {
+        if (binding.isStale() && !binding.isDisposed()) {
+          deferred.add(binding);
+        }
+      }
+
+      List<Task<?>> round = new ArrayList<>();
+      for (AbstractBinding<?> binding : candidates) {
+        if (!deferred.contains(binding)) {
+          continue;
+        }
+
+        if (dependsOn(binding, deferred)) {
+          scope.pending.add(binding);
+        } else {
+          round.add(new Task<>(binding));
+        }
+      }
+
+      this.evaluate(round);
+
+      // bindings which have been invalidated again while earlier results were published are
+      // left stale as their computed value is already outdated
+      for (Task<?> task : round) {
+        if (!scope.pending.contains(task.binding)) {
+          task.publish();
+        }
+      }
+    }
+  }
+
+  /**
+   * Computes the values of a round of independent bindings.
+   */
+  private void evaluate(@NonNull List<Task<?>> round) {
+    // lazily evaluated dependencies are not safe for concurrent use and are thus evaluated upfront
+    for (Task<?> task : round) {
+      for (ReadOnlyObservable<?> dependency : task.binding.getDependencies()) {
+        if (dependency instanceof Binding) {
+          dependency.get();
+        }
+      }
+    }
+
+    if (round.size() == 1) {
+      round.get(0).compute();
+    } else if (!round.isEmpty()) {
+      this.pool.invoke(new Evaluation(round, 0, round.size()));
+    }
+  }
+
+  /**
+   * Evaluates whether the passed binding (transitively) depends on one of the passed bindings.
+   */
+  private static boolean dependsOn(@NonNull AbstractBinding<?> binding,
+      @NonNull Set<AbstractBinding<?>> bindings) {
+    Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    Deque<AbstractBinding<?>> pending = new ArrayDeque<>();
+    pending.push(binding);
+
+    while (!pending.isEmpty()) {
+      for (ReadOnlyObservable<?> dependency : pending.pop().getDependencies()) {
+        if (!(dependency instanceof AbstractBinding) || !visited.add(dependency)) {
+          continue;
+        }
+
+        AbstractBinding<?> current = (AbstractBinding<?>) dependency;
+
+        if (bindings.contains(current)) {
+          return true;
+        }
+
+        // bindings which are up to date do not depend on any stale bindings
+        if (current.isStale()) {
+          pending.push(current);
+        }
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Ensures that all observables the passed binding (transitively) depends on are thread-safe.
+   */
+  private static void checkThreadSafety(@NonNull Binding<?> binding) {
+    Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    Deque<Binding<?>> pending = new ArrayDeque<>();
+    pending.push(binding);
+
+    while (!pending.isEmpty()) {
+      for (ReadOnlyObservable<?> dependency : pending.pop().getDependencies()) {
+        if (!visited.add(dependency)) {
+          continue;
+        }
+
+        if (dependency instanceof Binding) {
+          pending.push((Binding<?>) dependency);
+        } else if (!(dependency instanceof AbstractConcurrentReadOnlyObservable)) {
+          throw new IllegalArgumentException(
+              "Binding depends on observable which is not thread-safe: " + dependency.getClass()
+                  .getName());
+        }
+      }
+    }
+  }
+
+  /**
+   * Represents the bindings which have been deferred while changes are propagated on a thread.
+   */
+  private static final class Scope {
+
+    private final ParallelEvaluator evaluator;
+    private final Set<AbstractBinding<?>> pending = new LinkedHashSet<>();
+
+    private Scope(@NonNull ParallelEvaluator evaluator) {
+      this.evaluator = evaluator;
+    }
+  }
+
+  /**
+   * Represents the evaluation of a single binding within a round.
+   */
+  private static final class Task<V> {
+
+    private final AbstractBinding<V> binding;
+    private V value;
+
+    private Task(@NonNull AbstractBinding<V> binding) {
+      this.binding = binding;
+    }
+
+    /**
+     * Computes the new value of the binding.
+     */
+    private void compute() {
+      this.value = this.binding.compute();
+    }
+
+    /**
+     * Publishes the previously computed value unless the binding has been evaluated in the
+     * meantime.
+     */
+    private void publish() {
+      if (this.binding.isStale()) {
+        this.binding.refresh(this.value);
+      }
+    }
+  }
+
+  /**
+   * Computes a range of tasks by recursively splitting it until each task is computed by a
+   * dedicated fork join task.
+   */
+  private static final class Evaluation extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<Task<?>> tasks;
+    private final int from;
+    private final int to;
+
+    private Evaluation(@NonNull List<Task<?>> tasks, int from, int to) {
+      this.tasks = tasks;
+      this.from = from;
+      this.to = to;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void compute() {
+      if (this.to - this.from == 1) {
+        this.tasks.get(this.from).compute();
+        return;
+      }
+
+      int middle = (this.from + this.to) >>> 1;
+      Evaluation upper = new Evaluation(this.tasks, middle, this.to);
+      upper.fork();
+
+      // the upper half is awaited even when the lower half fails as its bindings would otherwise
+      // still be computed while the failure is relayed to the propagating thread
+      try {
+        new Evaluation(this.tasks, this.from, middle).compute();
+      } finally {
+        upper.quietlyJoin();
+      }
+
+      upper.join();
+    }
+  }
+}
@@ -18,6 +18,7 @@
 package com.torchmind.observable.binding;
 
 import com.torchmind.observable.ReadOnlyObservable;
+import com.torchmind.observable.concurrent.primitive.AbstractConcurrentShortBinding;
 import com.torchmind.observable.primitive.ReadOnlyShortObservable;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -48,4 +49,23 @@ public interface ShortBinding extends NumberBinding<Short>, ReadOnlyShortObserva
       }
     };
   }
+
+  /**
+   * <p>Creates a thread safe binding using the passed supplier and list of dependencies.</p>
+   *
+   * <p>The supplier may be invoked by multiple threads at once and is expected to be free of side
+   * effects.</p>
+   *
+   * @see com.torchmind.observable.concurrent.AbstractConcurrentBinding
+   */
+  @NonNull
+  static ShortBinding createConcurrent(@NonNull Supplier<Short> supplier,
+      ReadOnlyObservable<?>... observables) {
+    return new AbstractConcurrentShortBinding(new HashSet<>(Arrays.asList(observables))) {
+      @Override
+      protected Short compute() {
+        return supplier.get();
+      }
+    };
+  }
 }
@@ -0,0 +1,650 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.binding;
+
+import com.torchmind.observable.AbstractReadOnlyObservable;
+import com.torchmind.observable.ReadOnlyObservable;
+import com.torchmind.observable.listener.InvalidationListener;
+import com.torchmind.observable.listener.ReferenceMode;
+import com.torchmind.observable.listener.Subscription;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Provides a recalculation engine which maintains a graph of interdependent formulas (e.g.
+ * cells).</p>
+ *
+ * <p>Unlike regular bindings, cells are not re-computed as their dependencies notify them of
+ * changes. Instead, modified cells are marked dirty and are re-computed in topological levels:
+ * The level of a cell exceeds the levels of all cells it depends on and as such, cells within the
+ * same level are independent of each other. Levels which contain a large amount of dirty cells
+ * are evaluated in parallel using a {@link ForkJoinPool}. Cells whose value did not change do not
+ * cause their dependents to be re-computed.</p>
+ *
+ * <p>Once a recalculation has completed, all modified cells publish their new values in
+ * topological order on the thread which triggered the recalculation. As such, listeners never
+ * observe a partially recalculated sheet.</p>
+ *
+ * <p>Cells may depend on other cells of the same sheet as well as on arbitrary observables which
+ * act as inputs to the sheet. Circular dependencies are rejected when a cell is defined. Since
+ * formulas are evaluated concurrently, they are expected to be free of side effects. Inputs are
+ * evaluated on the calling thread before any formula which depends on them is evaluated and may
+ * thus be regular (lazily evaluated) bindings. Cells which are reached through such bindings are
+ * considered dependencies as well: They are evaluated on a lower level and the bindings which
+ * lead to them are invalidated when they change (as cells publish their values only once the
+ * recalculation has completed).</p>
+ *
+ * <p>Note that this implementation is not thread-safe (e.g. cells are expected to be defined and
+ * inputs are expected to be modified by a single thread at a time).</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class Spreadsheet {
+
+  /**
+   * Defines the amount of cells within a level which are evaluated sequentially by a single task
+   * (levels which do not exceed this size are evaluated on the calling thread).
+   */
+  private static final int BATCH_SIZE = 256;
+
+  private final ForkJoinPool pool;
+  private final List<Cell<?>> dirty = new ArrayList<>();
+  private boolean automatic = true;
+  private boolean recalculating;
+  private boolean evaluating;
+
+  public Spreadsheet() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  public Spreadsheet(@NonNull ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  /**
+   * Creates a new cell which has yet to be defined and evaluates to null until then.
+   */
+  @NonNull
+  public <V> Cell<V> cell() {
+    return new Cell<>(this);
+  }
+
+  /**
+   * Creates a new cell which is computed using the passed formula and dependencies.
+   *
+   * @throws IllegalArgumentException when the passed dependencies form a cycle.
+   */
+  @NonNull
+  public <V> Cell<V> cell(@NonNull Supplier<V> formula, ReadOnlyObservable<?>... dependencies) {
+    Cell<V> cell = this.cell();
+    cell.define(formula, dependencies);
+    return cell;
+  }
+
+  /**
+   * Evaluates whether this sheet is recalculated whenever a cell is marked dirty.
+   */
+  public boolean isAutomatic() {
+    return this.automatic;
+  }
+
+  /**
+   * <p>Selects whether this sheet is recalculated whenever a cell is marked dirty.</p>
+   *
+   * <p>When automatic recalculation is disabled, dirty cells retain their previous values until
+   * {@link #recalculate()} is invoked. This permits a large amount of inputs to be modified at
+   * once without recalculating their common dependents repeatedly. Re-enabling automatic
+   * recalculation recalculates all cells which have been marked dirty in the meantime.</p>
+   */
+  public void setAutomatic(boolean automatic) {
+    this.automatic = automatic;
+
+    if (automatic) {
+      this.recalculate();
+    }
+  }
+
+  /**
+   * Marks the passed cell dirty and recalculates the sheet (if permitted).
+   */
+  private void markDirty(@NonNull Cell<?> cell) {
+    if (!cell.dirty) {
+      cell.dirty = true;
+      this.dirty.add(cell);
+    }
+
+    if (this.automatic) {
+      this.recalculate();
+    }
+  }
+
+  /**
+   * <p>Re-computes all dirty cells along with all cells which depend on a cell whose value has
+   * changed.</p>
+   *
+   * <p>When a formula fails, the recalculation is aborted and the exception is re-thrown. Cells
+   * which have been evaluated up to this point (including the cells which share a level with the
+   * failing cell) publish their values while the remaining cells and the dependents of all changed
+   * cells stay dirty.</p>
+   *
+   * @throws IllegalStateException when invoked from within a formula.
+   */
+  public void recalculate() {
+    if (this.evaluating) {
+      throw new IllegalStateException("Cannot recalculate from within a formula");
+    }
+
+    // listeners which modify inputs while a recalculation is being published merely mark cells
+    // dirty as they will be picked up by the recalculation which is already in progress
+    if (this.recalculating) {
+      return;
+    }
+
+    this.recalculating = true;
+
+    try {
+      while (!this.dirty.isEmpty()) {
+        this.pass();
+      }
+    } finally {
+      this.recalculating = false;
+    }
+  }
+
+  /**
+   * Re-computes all cells which are currently dirty and publishes their values.
+   */
+  private void pass() {
+    List<List<Cell<?>>> levels = new ArrayList<>();
+    this.dirty.forEach((c) -> schedule(levels, c));
+    this.dirty.clear();
+
+    List<Cell<?>> changed = new ArrayList<>();
+
+    try {
+      // dependents are scheduled on higher levels which may not exist yet
+      for (int i = 0; i < levels.size(); ++i) {
+        List<Cell<?>> level = levels.get(i);
+        if (level.isEmpty()) {
+          continue;
+        }
+
+        try {
+          this.evaluate(level);
+        } finally {
+          // cells which have been evaluated before a formula of the same level failed are
+          // published along with their dependents being marked dirty (and thus retained)
+          for (Cell<?> cell : level) {
+            if (!cell.changed) {
+              continue;
+            }
+
+            changed.add(cell);
+            cell.dependents.forEach((d) -> {
+              if (!d.dirty) {
+                d.dirty = true;
+                schedule(levels, d);
+              }
+            });
+          }
+        }
+      }
+    } finally {
+      // cells which have been skipped by a failing formula are retained for the next pass
+      levels.forEach((l) -> l.forEach((c) -> {
+        if (c.dirty) {
+          this.dirty.add(c);
+        }
+      }));
+
+      changed.forEach(Cell::publish);
+    }
+  }
+
+  /**
+   * Appends the passed cell to its level.
+   */
+  private static void schedule(@NonNull List<List<Cell<?>>> levels, @NonNull Cell<?> cell) {
+    while (levels.size() <= cell.level) {
+      levels.add(new ArrayList<>());
+    }
+
+    levels.get(cell.level).add(cell);
+  }
+
+  /**
+   * Evaluates all cells within the passed level.
+   */
+  private void evaluate(@NonNull List<Cell<?>> level) {
+    // inputs are evaluated upfront as lazily evaluated bindings are not safe for concurrent use
+    for (Cell<?> cell : level) {
+      // bindings which lead to cells have yet to observe the changes of this recalculation as
+      // cells publish their values once it has completed
+      for (Cell<?> dependency : cell.indirect) {
+        if (dependency.changed) {
+          cell.bindings.forEach(Binding::invalidate);
+          break;
+        }
+      }
+
+      cell.inputs.forEach(ReadOnlyObservable::get);
+    }
+
+    this.evaluating = true;
+
+    try {
+      if (level.size() <= BATCH_SIZE) {
+        level.forEach(Cell::evaluate);
+      } else {
+        this.pool.invoke(new Evaluation(level, 0, level.size()));
+      }
+    } finally {
+      this.evaluating = false;
+    }
+  }
+
+  /**
+   * <p>Ensures that no cycle is formed when the passed cell adopts the passed dependencies.</p>
+   *
+   * <p>A cycle is formed when one of the dependencies is the passed cell or one of its (transitive)
+   * dependents. Dependencies which are bindings of their own are searched for cells as they may
+   * depend on cells without being part of this sheet.</p>
+   */
+  private void checkCycles(@NonNull Cell<?> cell,
+      @NonNull Set<ReadOnlyObservable<?>> dependencies) {
+    Set<Object> dependents = Collections.newSetFromMap(new IdentityHashMap<>());
+    Deque<Cell<?>> pendingCells = new ArrayDeque<>();
+    pendingCells.push(cell);
+
+    while (!pendingCells.isEmpty()) {
+      Cell<?> current = pendingCells.pop();
+
+      if (dependents.add(current)) {
+        current.dependents.forEach(pendingCells::push);
+      }
+    }
+
+    Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    Deque<ReadOnlyObservable<?>> pending = new ArrayDeque<>(dependencies);
+
+    while (!pending.isEmpty()) {
+      ReadOnlyObservable<?> current = pending.pop();
+
+      if (dependents.contains(current)) {
+        throw new IllegalArgumentException("Circular dependency: " + current + " depends on "
+            + cell);
+      }
+
+      if (!visited.add(current) || current instanceof Cell) {
+        continue;
+      }
+
+      if (current instanceof Binding) {
+        pending.addAll(((Binding<?>) current).getDependencies());
+      }
+    }
+  }
+
+  /**
+   * Collects the cells of this sheet which are reached through the passed inputs (e.g. bindings
+   * which depend on cells) along with the bindings which lead to them (ordered from the cells
+   * towards the inputs).
+   */
+  private void collect(@NonNull List<ReadOnlyObservable<?>> inputs,
+      @NonNull List<Cell<?>> cells, @NonNull List<Binding<?>> bindings) {
+    Map<ReadOnlyObservable<?>, List<Binding<?>>> dependents = new IdentityHashMap<>();
+    Deque<ReadOnlyObservable<?>> pending = new ArrayDeque<>(inputs);
+
+    inputs.forEach((i) -> dependents.put(i, new ArrayList<>()));
+
+    while (!pending.isEmpty()) {
+      ReadOnlyObservable<?> current = pending.poll();
+
+      if (current instanceof Cell) {
+        if (((Cell<?>) current).sheet == this) {
+          cells.add((Cell<?>) current);
+        }
+
+        continue;
+      }
+
+      if (current instanceof Binding) {
+        for (ReadOnlyObservable<?> dependency : ((Binding<?>) current).getDependencies()) {
+          dependents.computeIfAbsent(dependency, (d) -> {
+            pending.add(d);
+            return new ArrayList<>();
+          }).add((Binding<?>) current);
+        }
+      }
+    }
+
+    // walk back from the cells in order to skip bindings which do not lead to any cell
+    Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    Deque<ReadOnlyObservable<?>> path = new ArrayDeque<>(cells);
+
+    while (!path.isEmpty()) {
+      for (Binding<?> binding : dependents.get(path.poll())) {
+        if (visited.add(binding)) {
+          bindings.add(binding);
+          path.add(binding);
+        }
+      }
+    }
+  }
+
+  /**
+   * Re-computes the levels of the passed cell and its dependents.
+   */
+  private static void updateLevels(@NonNull Cell<?> cell) {
+    Deque<Cell<?>> pending = new ArrayDeque<>();
+    pending.add(cell);
+
+    while (!pending.isEmpty()) {
+      Cell<?> current = pending.poll();
+
+      int level = 0;
+      for (Cell<?> dependency : current.cells) {
+        level = Math.max(level, dependency.level + 1);
+      }
+      for (Cell<?> dependency : current.indirect) {
+        level = Math.max(level, dependency.level + 1);
+      }
+
+      if (current == cell || current.level != level) {
+        current.level = level;
+        pending.addAll(current.dependents);
+      }
+    }
+  }
+
+  /**
+   * Represents a formula within a sheet.
+   */
+  public static final class Cell<V> extends AbstractReadOnlyObservable<V> implements Binding<V> {
+
+    private final Spreadsheet sheet;
+    private final InvalidationListener listener = (o) -> this.invalidate();
+    private final Set<Cell<?>> dependents = new LinkedHashSet<>();
+
+    private Set<ReadOnlyObservable<?>> dependencies = Collections.emptySet();
+    private List<Cell<?>> cells = Collections.emptyList();
+    private List<Cell<?>> indirect = Collections.emptyList();
+    private List<Binding<?>> bindings = Collections.emptyList();
+    private List<ReadOnlyObservable<?>> inputs = Collections.emptyList();
+    private List<Subscription> subscriptions = Collections.emptyList();
+    private Supplier<V> formula;
+    private boolean disposed;
+
+    private V value;
+    private V previous;
+    private boolean changed;
+    private boolean dirty;
+    private int level;
+
+    private Cell(@NonNull Spreadsheet sheet) {
+      this.sheet = sheet;
+    }
+
+    /**
+     * Retrieves the sheet which evaluates this cell.
+     */
+    @NonNull
+    public Spreadsheet getSpreadsheet() {
+      return this.sheet;
+    }
+
+    /**
+     * <p>Retrieves the topological level of this cell.</p>
+     *
+     * <p>Cells which solely depend on inputs reside on level zero while all other cells reside one
+     * level above the highest level of the cells they depend on (directly or through
+     * bindings).</p>
+     */
+    public int getLevel() {
+      return this.level;
+    }
+
+    /**
+     * <p>Replaces the formula and dependencies of this cell.</p>
+     *
+     * <p>The cell is marked dirty and is thus recalculated along with its dependents.</p>
+     *
+     * @throws IllegalArgumentException when the passed dependencies form a cycle.
+     * @throws IllegalStateException when this cell has been disposed or when invoked from within a
+     * formula.
+     */
+    public void define(@NonNull Supplier<V> formula, ReadOnlyObservable<?>... dependencies) {
+      if (this.disposed) {
+        throw new IllegalStateException("Cannot define a disposed cell");
+      }
+      if (this.sheet.evaluating) {
+        throw new IllegalStateException("Cannot define a cell from within a formula");
+      }
+
+      Set<ReadOnlyObservable<?>> declared = new LinkedHashSet<>(Arrays.asList(dependencies));
+      this.sheet.checkCycles(this, declared);
+      this.detach();
+
+      List<Cell<?>> cells = new ArrayList<>();
+      List<ReadOnlyObservable<?>> inputs = new ArrayList<>();
+      List<Subscription> subscriptions = new ArrayList<>();
+
+      for (ReadOnlyObservable<?> dependency : declared) {
+        if (dependency instanceof Cell && ((Cell<?>) dependency).sheet == this.sheet) {
+          Cell<?> cell = (Cell<?>) dependency;
+
+          cells.add(cell);
+          cell.dependents.add(this);
+        } else {
+          // the input references the listener weakly and thus does not keep this cell reachable
+          inputs.add(dependency);
+          subscriptions.add(dependency.subscribe(this.listener, ReferenceMode.WEAK));
+        }
+      }
+
+      List<Cell<?>> indirect = new ArrayList<>();
+      List<Binding<?>> bindings = new ArrayList<>();
+      this.sheet.collect(inputs, indirect, bindings);
+      indirect.forEach((c) -> c.dependents.add(this));
+
+      this.formula = formula;
+      this.dependencies = declared;
+      this.cells = cells;
+      this.indirect = indirect;
+      this.bindings = bindings;
+      this.inputs = inputs;
+      this.subscriptions = subscriptions;
+
+      updateLevels(this);
+      this.sheet.markDirty(this);
+    }
+
+    /**
+     * Removes this cell from the graph and releases its subscriptions.
+     */
+    private void detach() {
+      this.subscriptions.forEach(Subscription::close);
+      this.cells.forEach((c) -> c.dependents.remove(this));
+      this.indirect.forEach((c) -> c.dependents.remove(this));
+
+      this.dependencies = Collections.emptySet();
+      this.cells = Collections.emptyList();
+      this.indirect = Collections.emptyList();
+      this.bindings = Collections.emptyList();
+      this.inputs = Collections.emptyList();
+      this.subscriptions = Collections.emptyList();
+    }
+
+    /**
+     * Computes the new value of this cell.
+     */
+    private void evaluate() {
+      this.changed = false;
+
+      if (this.formula != null) {
+        V value = this.formula.get();
+
+        if (!this.getEqualityStrategy().isEqual(this.value, value)) {
+          this.previous = this.value;
+          this.value = value;
+          this.changed = true;
+        }
+      }
+
+      this.dirty = false;
+    }
+
+    /**
+     * Publishes the value which has been computed by the most recent recalculation.
+     */
+    private void publish() {
+      V previous = this.previous;
+      this.previous = null;
+      this.changed = false;
+
+      this.publishChange(previous, this.value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V get() {
+      return this.value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    public Supplier<V> asSupplier() {
+      return this::get;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    public Set<ReadOnlyObservable<?>> getDependencies() {
+      return Collections.unmodifiableSet(this.dependencies);
+    }
+
+    /**
+     * <p>{@inheritDoc}</p>
+     *
+     * <p>The cell is marked dirty and is thus recalculated along with its dependents.</p>
+     */
+    @Override
+    public void invalidate() {
+      if (!this.disposed) {
+        this.sheet.markDirty(this);
+      }
+    }
+
+    /**
+     * <p>{@inheritDoc}</p>
+     *
+     * <p>Disposed cells retain their last value and are no longer recalculated. Cells which
+     * depend on a disposed cell continue to evaluate its last value.</p>
+     */
+    @Override
+    public void dispose() {
+      this.disposed = true;
+      this.formula = null;
+      this.detach();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isDisposed() {
+      return this.disposed;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+      return "Cell{" +
+          "level=" + this.level +
+          ", value=" + this.value +
+          "}";
+    }
+  }
+
+  /**
+   * Evaluates a range of cells within a level by splitting it into batches.
+   */
+  private static final class Evaluation extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<Cell<?>> cells;
+    private final int from;
+    private final int to;
+
+    private Evaluation(@NonNull List<Cell<?>> cells, int from, int to) {
+      this.cells = cells;
+      this.from = from;
+      this.to = to;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void compute() {
+      if (this.to - this.from <= BATCH_SIZE) {
+        for (int i = this.from; i < this.to; ++i) {
+          this.cells.get(i).evaluate();
+        }
+        return;
+      }
+
+      int middle = (this.from + this.to) >>> 1;
+      Evaluation upper = new Evaluation(this.cells, middle, this.to);
+      upper.fork();
+
+      // the upper half is awaited even when the lower half fails as the evaluated cells are
+      // inspected once the level has been evaluated
+      try {
+        new Evaluation(this.cells, this.from, middle).compute();
+      } finally {
+        upper.quietlyJoin();
+      }
+
+      upper.join();
+    }
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.binding;
+
+import java.util.concurrent.TimeUnit;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Defines the range of samples which is considered by a statistics binding (e.g. the last N
+ * updates or all updates within the last T milliseconds).
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class Window {
+
+  private final int count;
+  private final long duration;
+
+  private Window(int count, long duration) {
+    this.count = count;
+    this.duration = duration;
+  }
+
+  /**
+   * Creates a window which considers the specified amount of most recent updates.
+   */
+  @NonNull
+  public static Window ofCount(int count) {
+    if (count <= 0) {
+      throw new IllegalArgumentException("Window size must be positive: " + count);
+    }
+
+    return new Window(count, 0);
+  }
+
+  /**
+   * <p>Creates a window which considers all updates within the specified duration.</p>
+   *
+   * <p>Note that expired samples are evicted when a new update is received or when the binding is
+   * explicitly invalidated.</p>
+   */
+  @NonNull
+  public static Window ofTime(long duration, @NonNull TimeUnit unit) {
+    if (duration <= 0) {
+      throw new IllegalArgumentException("Window duration must be positive: " + duration);
+    }
+
+    return new Window(0, unit.toNanos(duration));
+  }
+
+  /**
+   * Retrieves the maximum amount of samples within this window (or zero if the window is time
+   * based).
+   */
+  int getCount() {
+    return this.count;
+  }
+
+  /**
+   * Retrieves the duration of this window in nanoseconds (or zero if the window is count based).
+   */
+  long getDuration() {
+    return this.duration;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || this.getClass() != o.getClass()) {
+      return false;
+    }
+    Window window = (Window) o;
+    return this.count == window.count && this.duration == window.duration;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int hashCode() {
+    return 31 * this.count + Long.hashCode(this.duration);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String toString() {
+    if (this.count != 0) {
+      return "Window{count=" + this.count + "}";
+    }
+
+    return "Window{duration=" + this.duration + "ns}";
+  }
+}
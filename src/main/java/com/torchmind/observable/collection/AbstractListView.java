@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import com.torchmind.observable.listener.ReferenceMode;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Provides a base to read-only lists which are derived from another observable list and
+ * maintained incrementally as the source list changes.</p>
+ *
+ * <p>The source list references views weakly. As such, views which are no longer referenced are
+ * garbage collected without requiring manual disposal.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+abstract class AbstractListView<S, E> extends AbstractObservableList<E> {
+
+  final ObservableList<S> source;
+  private final ListChangeListener<S> sourceListener =
+      (list, change) -> this.onSourceChange(change);
+
+  AbstractListView(@NonNull ObservableList<S> source) {
+    this.source = source;
+  }
+
+  /**
+   * Starts listening for changes of the source list (the view is expected to be initialized at
+   * the time of this call).
+   */
+  void attach() {
+    this.source.registerListener(this.sourceListener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * Handles a modification of the source list.
+   */
+  abstract void onSourceChange(@NonNull ListChange<? extends S> change);
+
+  /**
+   * Creates a builder which publishes its changes through this view.
+   */
+  @NonNull
+  ListChangeBuilder<E> createBuilder() {
+    return new ListChangeBuilder<>((change) -> {
+      ++this.modCount;
+      this.publishChange(change);
+    });
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import com.torchmind.observable.ReadOnlyObservable;
+import com.torchmind.observable.listener.ChangeListener;
+import com.torchmind.observable.listener.InvalidationListener;
+import com.torchmind.observable.listener.ReferenceMode;
+import com.torchmind.observable.listener.Subscription;
+import java.util.function.Consumer;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Provides a base to observable arrays which manages their listeners.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+abstract class AbstractObservableArray<A, L> implements ReadOnlyObservable<A> {
+
+  private final CollectionListeners<A, L> listeners = new CollectionListeners<>();
+
+  /**
+   * Evaluates whether one or more listeners are currently registered with this array.
+   */
+  boolean hasListeners() {
+    return !this.listeners.isEmpty();
+  }
+
+  /**
+   * Publishes a change to all listeners which are currently registered with this array.
+   */
+  void publishChange(@NonNull A array, @NonNull Consumer<? super L> action) {
+    this.listeners.publish(this, array, action);
+  }
+
+  /**
+   * Ensures that the passed range lies within an array of the passed length.
+   *
+   * @throws IndexOutOfBoundsException when the range exceeds the array bounds.
+   */
+  static void checkRange(int offset, int length, int arrayLength) {
+    if (offset < 0 || length < 0 || offset > arrayLength - length) {
+      throw new IndexOutOfBoundsException(
+          "Range [" + offset + ", " + offset + " + " + length + ") exceeds array of length "
+              + arrayLength);
+    }
+  }
+
+  /**
+   * Registers a new listener with this array which is retained according to the passed reference
+   * mode.
+   */
+  public void registerListener(@NonNull L listener, @NonNull ReferenceMode mode) {
+    this.listeners.register(listener, mode);
+  }
+
+  /**
+   * Removes a previously registered listener from this array.
+   */
+  public void removeListener(@NonNull L listener) {
+    this.listeners.remove(listener);
+  }
+
+  /**
+   * Registers a new listener with this array which is retained according to the passed reference
+   * mode and returns a handle which removes exactly this registration when closed.
+   */
+  @NonNull
+  public Subscription subscribe(@NonNull L listener, @NonNull ReferenceMode mode) {
+    return this.listeners.subscribe(listener, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerListener(@NonNull ChangeListener<? super A> listener) {
+    this.listeners.register(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerListener(@NonNull ChangeListener<? super A> listener,
+      @NonNull ReferenceMode mode) {
+    this.listeners.register(listener, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void removeListener(@NonNull ChangeListener<? super A> listener) {
+    this.listeners.remove(listener);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull ChangeListener<? super A> listener) {
+    return this.listeners.subscribe(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull ChangeListener<? super A> listener,
+      @NonNull ReferenceMode mode) {
+    return this.listeners.subscribe(listener, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerListener(@NonNull InvalidationListener listener) {
+    this.listeners.register(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerListener(@NonNull InvalidationListener listener,
+      @NonNull ReferenceMode mode) {
+    this.listeners.register(listener, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void removeListener(@NonNull InvalidationListener listener) {
+    this.listeners.remove(listener);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull InvalidationListener listener) {
+    return this.listeners.subscribe(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull InvalidationListener listener,
+      @NonNull ReferenceMode mode) {
+    return this.listeners.subscribe(listener, mode);
+  }
+}
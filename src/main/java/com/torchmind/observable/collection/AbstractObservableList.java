@@ -0,0 +1,176 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import com.torchmind.observable.listener.ChangeListener;
+import com.torchmind.observable.listener.InvalidationListener;
+import com.torchmind.observable.listener.ReferenceMode;
+import com.torchmind.observable.listener.Subscription;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.List;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Provides a base to observable lists which manages their listeners.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+abstract class AbstractObservableList<E> extends AbstractList<E> implements ObservableList<E> {
+
+  private final CollectionListeners<List<E>, ListChangeListener<? super E>> listeners =
+      new CollectionListeners<>();
+
+  /**
+   * Publishes a change to all listeners which are currently registered with this list.
+   */
+  protected void publishChange(@NonNull ListChange<E> change) {
+    this.listeners.publish(this, this, (l) -> l.onChange(this, change));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean setAll(@NonNull Collection<? extends E> elements) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void update(int from, int to) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerListener(@NonNull ListChangeListener<? super E> listener,
+      @NonNull ReferenceMode mode) {
+    this.listeners.register(listener, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void removeListener(@NonNull ListChangeListener<? super E> listener) {
+    this.listeners.remove(listener);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull ListChangeListener<? super E> listener,
+      @NonNull ReferenceMode mode) {
+    return this.listeners.subscribe(listener, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerListener(@NonNull ChangeListener<? super List<E>> listener) {
+    this.listeners.register(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerListener(@NonNull ChangeListener<? super List<E>> listener,
+      @NonNull ReferenceMode mode) {
+    this.listeners.register(listener, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void removeListener(@NonNull ChangeListener<? super List<E>> listener) {
+    this.listeners.remove(listener);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull ChangeListener<? super List<E>> listener) {
+    return this.listeners.subscribe(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull ChangeListener<? super List<E>> listener,
+      @NonNull ReferenceMode mode) {
+    return this.listeners.subscribe(listener, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerListener(@NonNull InvalidationListener listener) {
+    this.listeners.register(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerListener(@NonNull InvalidationListener listener,
+      @NonNull ReferenceMode mode) {
+    this.listeners.register(listener, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void removeListener(@NonNull InvalidationListener listener) {
+    this.listeners.remove(listener);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull InvalidationListener listener) {
+    return this.listeners.subscribe(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull InvalidationListener listener,
+      @NonNull ReferenceMode mode) {
+    return this.listeners.subscribe(listener, mode);
+  }
+}
@@ -0,0 +1,391 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import com.torchmind.observable.listener.ChangeListener;
+import com.torchmind.observable.listener.InvalidationListener;
+import com.torchmind.observable.listener.ReferenceMode;
+import com.torchmind.observable.listener.Subscription;
+import com.torchmind.observable.utility.ListenerRegistry;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * <p>Provides a base to observable maps which wrap an existing map implementation.</p>
+ *
+ * <p>Replacing a value with an equal value is not considered a modification and will thus not be
+ * published to any listeners.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+abstract class AbstractObservableMap<K, V> extends AbstractMap<K, V> implements
+    ObservableMap<K, V> {
+
+  private final CollectionListeners<Map<K, V>, MapChangeListener<? super K, ? super V>> listeners =
+      new CollectionListeners<>();
+  private final KeyListenerIndex<K, MapChangeListener<? super K, ? super V>> keyListeners;
+  final Map<K, V> elements;
+  private Set<Entry<K, V>> entrySet;
+
+  AbstractObservableMap(@NonNull Map<K, V> elements,
+      @NonNull Map<K, ListenerRegistry<MapChangeListener<? super K, ? super V>>> index) {
+    this.elements = elements;
+    this.keyListeners = new KeyListenerIndex<>(index);
+  }
+
+  /**
+   * Publishes a change of the value of the passed key to all listeners of this map and the key.
+   */
+  void publishChange(K key, @Nullable V removed, @Nullable V added, boolean wasRemoved,
+      boolean wasAdded) {
+    // the change record is only allocated when somebody is actually interested in it
+    if (this.listeners.isEmpty() && this.keyListeners.isEmpty()) {
+      return;
+    }
+
+    MapChange<K, V> change = new MapChange<>(key, removed, added, wasRemoved, wasAdded);
+    this.listeners.publish(this, this, (l) -> l.onChange(this, change),
+        () -> this.keyListeners.forEach(key, (l) -> l.onChange(this, change)));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int size() {
+    return this.elements.size();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean containsKey(Object key) {
+    return this.elements.containsKey(key);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean containsValue(Object value) {
+    return this.elements.containsValue(value);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public V get(Object key) {
+    return this.elements.get(key);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public V put(K key, V value) {
+    V previous = this.elements.get(key);
+    boolean present = previous != null || this.elements.containsKey(key);
+    this.elements.put(key, value);
+
+    if (!present || !Objects.equals(previous, value)) {
+      this.publishChange(key, previous, value, present, true);
+    }
+
+    return previous;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public V remove(Object key) {
+    V previous = this.elements.get(key);
+    if (previous == null && !this.elements.containsKey(key)) {
+      return null;
+    }
+
+    this.elements.remove(key);
+
+    @SuppressWarnings("unchecked")
+    K k = (K) key;
+    this.publishChange(k, previous, null, true, false);
+    return previous;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void clear() {
+    if (this.listeners.isEmpty() && this.keyListeners.isEmpty()) {
+      this.elements.clear();
+      return;
+    }
+
+    // listeners are notified once the map has been cleared as they may choose to modify it again
+    List<Entry<K, V>> removed = new ArrayList<>(this.elements.size());
+    this.elements.forEach((k, v) -> removed.add(new SimpleImmutableEntry<>(k, v)));
+    this.elements.clear();
+    removed.forEach((e) -> this.publishChange(e.getKey(), e.getValue(), null, true, false));
+  }
+
+  /**
+   * Removes the entry which has been returned by the passed iterator most recently.
+   */
+  void removeEntry(@NonNull Iterator<Entry<K, V>> iterator, @NonNull Entry<K, V> entry) {
+    K key = entry.getKey();
+    V value = entry.getValue();
+
+    iterator.remove();
+    this.publishChange(key, value, null, true, false);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Set<Entry<K, V>> entrySet() {
+    if (this.entrySet == null) {
+      this.entrySet = new EntrySet();
+    }
+
+    return this.entrySet;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerListener(@NonNull MapChangeListener<? super K, ? super V> listener,
+      @NonNull ReferenceMode mode) {
+    this.listeners.register(listener, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void removeListener(@NonNull MapChangeListener<? super K, ? super V> listener) {
+    this.listeners.remove(listener);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull MapChangeListener<? super K, ? super V> listener,
+      @NonNull ReferenceMode mode) {
+    return this.listeners.subscribe(listener, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerKeyListener(K key,
+      @NonNull MapChangeListener<? super K, ? super V> listener, @NonNull ReferenceMode mode) {
+    this.keyListeners.register(key, listener, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void removeKeyListener(K key,
+      @NonNull MapChangeListener<? super K, ? super V> listener) {
+    this.keyListeners.remove(key, listener);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribeKey(K key,
+      @NonNull MapChangeListener<? super K, ? super V> listener, @NonNull ReferenceMode mode) {
+    return this.keyListeners.subscribe(key, listener, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerListener(@NonNull ChangeListener<? super Map<K, V>> listener) {
+    this.listeners.register(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerListener(@NonNull ChangeListener<? super Map<K, V>> listener,
+      @NonNull ReferenceMode mode) {
+    this.listeners.register(listener, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void removeListener(@NonNull ChangeListener<? super Map<K, V>> listener) {
+    this.listeners.remove(listener);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull ChangeListener<? super Map<K, V>> listener) {
+    return this.listeners.subscribe(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull ChangeListener<? super Map<K, V>> listener,
+      @NonNull ReferenceMode mode) {
+    return this.listeners.subscribe(listener, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerListener(@NonNull InvalidationListener listener) {
+    this.listeners.register(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerListener(@NonNull InvalidationListener listener,
+      @NonNull ReferenceMode mode) {
+    this.listeners.register(listener, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void removeListener(@NonNull InvalidationListener listener) {
+    this.listeners.remove(listener);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull InvalidationListener listener) {
+    return this.listeners.subscribe(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull InvalidationListener listener,
+      @NonNull ReferenceMode mode) {
+    return this.listeners.subscribe(listener, mode);
+  }
+
+  /**
+   * Exposes the entries of the backing map while routing modifications through this map.
+   */
+  private final class EntrySet extends AbstractSet<Entry<K, V>> {
+
+    @Override
+    public int size() {
+      return AbstractObservableMap.this.elements.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      if (!(o instanceof Entry)) {
+        return false;
+      }
+
+      Entry<?, ?> entry = (Entry<?, ?>) o;
+      Map<K, V> elements = AbstractObservableMap.this.elements;
+      V value = elements.get(entry.getKey());
+      return Objects.equals(value, entry.getValue())
+          && (value != null || elements.containsKey(entry.getKey()));
+    }
+
+    @Override
+    public void clear() {
+      AbstractObservableMap.this.clear();
+    }
+
+    @NonNull
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+      Iterator<Entry<K, V>> iterator = AbstractObservableMap.this.elements.entrySet().iterator();
+
+      return new Iterator<Entry<K, V>>() {
+        private Entry<K, V> current;
+
+        @Override
+        public boolean hasNext() {
+          return iterator.hasNext();
+        }
+
+        @Override
+        public Entry<K, V> next() {
+          Entry<K, V> entry = iterator.next();
+          this.current = entry;
+
+          return new SimpleEntry<K, V>(entry) {
+            @Override
+            public V setValue(V value) {
+              super.setValue(value);
+              return AbstractObservableMap.this.put(this.getKey(), value);
+            }
+          };
+        }
+
+        @Override
+        public void remove() {
+          if (this.current == null) {
+            throw new IllegalStateException();
+          }
+
+          AbstractObservableMap.this.removeEntry(iterator, this.current);
+          this.current = null;
+        }
+      };
+    }
+  }
+}
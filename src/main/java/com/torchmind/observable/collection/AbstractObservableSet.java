@@ -0,0 +1,229 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import com.torchmind.observable.listener.ChangeListener;
+import com.torchmind.observable.listener.InvalidationListener;
+import com.torchmind.observable.listener.ReferenceMode;
+import com.torchmind.observable.listener.Subscription;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Set;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Provides a base to observable sets which manages their listeners.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+abstract class AbstractObservableSet<E> extends AbstractSet<E> implements ObservableSet<E> {
+
+  private final CollectionListeners<Set<E>, SetChangeListener<? super E>> listeners =
+      new CollectionListeners<>();
+  private final KeyListenerIndex<E, SetChangeListener<? super E>> elementListeners =
+      new KeyListenerIndex<>(new HashMap<>());
+
+  /**
+   * <p>Evaluates whether at least one listener is registered with this set or one of its
+   * elements.</p>
+   *
+   * <p>Implementations may skip recording the elements of a change entirely when no listeners
+   * are present.</p>
+   */
+  boolean hasListeners() {
+    return !this.listeners.isEmpty() || !this.elementListeners.isEmpty();
+  }
+
+  /**
+   * Publishes a change to all listeners of this set and the affected elements.
+   */
+  void publishChange(@NonNull Collection<E> added, @NonNull Collection<E> removed) {
+    if ((added.isEmpty() && removed.isEmpty()) || !this.hasListeners()) {
+      return;
+    }
+
+    SetChange<E> change = new SetChange<>(added, removed);
+    this.listeners.publish(this, this, (l) -> l.onChange(this, change), () -> {
+      if (this.elementListeners.isEmpty()) {
+        return;
+      }
+
+      added.forEach((e) -> this.publishElementChange(e, Collections.singleton(e),
+          Collections.emptySet()));
+      removed.forEach((e) -> this.publishElementChange(e, Collections.emptySet(),
+          Collections.singleton(e)));
+    });
+  }
+
+  /**
+   * Notifies the listeners of a single element (if any).
+   */
+  private void publishElementChange(E element, @NonNull Collection<E> added,
+      @NonNull Collection<E> removed) {
+    if (!this.elementListeners.isObserved(element)) {
+      return;
+    }
+
+    SetChange<E> change = new SetChange<>(added, removed);
+    this.elementListeners.forEach(element, (l) -> l.onChange(this, change));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerListener(@NonNull SetChangeListener<? super E> listener,
+      @NonNull ReferenceMode mode) {
+    this.listeners.register(listener, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void removeListener(@NonNull SetChangeListener<? super E> listener) {
+    this.listeners.remove(listener);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull SetChangeListener<? super E> listener,
+      @NonNull ReferenceMode mode) {
+    return this.listeners.subscribe(listener, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerElementListener(E element, @NonNull SetChangeListener<? super E> listener,
+      @NonNull ReferenceMode mode) {
+    this.elementListeners.register(element, listener, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void removeElementListener(E element, @NonNull SetChangeListener<? super E> listener) {
+    this.elementListeners.remove(element, listener);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribeElement(E element, @NonNull SetChangeListener<? super E> listener,
+      @NonNull ReferenceMode mode) {
+    return this.elementListeners.subscribe(element, listener, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerListener(@NonNull ChangeListener<? super Set<E>> listener) {
+    this.listeners.register(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerListener(@NonNull ChangeListener<? super Set<E>> listener,
+      @NonNull ReferenceMode mode) {
+    this.listeners.register(listener, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void removeListener(@NonNull ChangeListener<? super Set<E>> listener) {
+    this.listeners.remove(listener);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull ChangeListener<? super Set<E>> listener) {
+    return this.listeners.subscribe(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull ChangeListener<? super Set<E>> listener,
+      @NonNull ReferenceMode mode) {
+    return this.listeners.subscribe(listener, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerListener(@NonNull InvalidationListener listener) {
+    this.listeners.register(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerListener(@NonNull InvalidationListener listener,
+      @NonNull ReferenceMode mode) {
+    this.listeners.register(listener, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void removeListener(@NonNull InvalidationListener listener) {
+    this.listeners.remove(listener);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull InvalidationListener listener) {
+    return this.listeners.subscribe(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull InvalidationListener listener,
+      @NonNull ReferenceMode mode) {
+    return this.listeners.subscribe(listener, mode);
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Describes an aggregate (such as a count or sum) which is maintained incrementally as elements
+ * are added to and removed from a group.</p>
+ *
+ * <p>The contribution of every element is extracted once when the element joins its group and
+ * is retained until the element leaves the group again. As such, aggregates remain correct even
+ * when elements are modified in-place before they are removed.</p>
+ *
+ * @param <E> the element type.
+ * @param <C> the type of contribution which is retained for every element.
+ * @param <R> the aggregate type.
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public interface Aggregator<E, C, R> {
+
+  /**
+   * <p>Creates an aggregator from the passed functions.</p>
+   *
+   * <p>The passed functions are expected to be side effect free as aggregates are immutable
+   * values.</p>
+   */
+  @NonNull
+  static <E, C, R> Aggregator<E, C, R> of(R identity,
+      @NonNull Function<? super E, ? extends C> contribution,
+      @NonNull BiFunction<? super R, ? super C, ? extends R> add,
+      @NonNull BiFunction<? super R, ? super C, ? extends R> remove) {
+    return new Aggregator<E, C, R>() {
+      @Override
+      public C contribution(E element) {
+        return contribution.apply(element);
+      }
+
+      @Override
+      public R identity() {
+        return identity;
+      }
+
+      @Override
+      public R add(R aggregate, C contribution) {
+        return add.apply(aggregate, contribution);
+      }
+
+      @Override
+      public R remove(R aggregate, C contribution) {
+        return remove.apply(aggregate, contribution);
+      }
+    };
+  }
+
+  /**
+   * Creates an aggregator which counts the elements within a group.
+   */
+  @NonNull
+  static <E> Aggregator<E, Integer, Integer> counting() {
+    return of(0, (e) -> 1, Integer::sum, (a, c) -> a - c);
+  }
+
+  /**
+   * Creates an aggregator which computes the sum of an integer property of the elements within a
+   * group.
+   */
+  @NonNull
+  static <E> Aggregator<E, Integer, Integer> summingInt(@NonNull ToIntFunction<? super E> mapper) {
+    return of(0, mapper::applyAsInt, Integer::sum, (a, c) -> a - c);
+  }
+
+  /**
+   * Creates an aggregator which computes the sum of a long property of the elements within a
+   * group.
+   */
+  @NonNull
+  static <E> Aggregator<E, Long, Long> summingLong(@NonNull ToLongFunction<? super E> mapper) {
+    return of(0L, mapper::applyAsLong, Long::sum, (a, c) -> a - c);
+  }
+
+  /**
+   * <p>Creates an aggregator which computes the sum of a double property of the elements within a
+   * group.</p>
+   *
+   * <p>Since removals subtract the contribution of an element from the sum, the aggregate may
+   * accumulate rounding errors over time.</p>
+   */
+  @NonNull
+  static <E> Aggregator<E, Double, Double> summingDouble(
+      @NonNull ToDoubleFunction<? super E> mapper) {
+    return of(0.0, mapper::applyAsDouble, Double::sum, (a, c) -> a - c);
+  }
+
+  /**
+   * Extracts the contribution of an element which joins a group.
+   */
+  C contribution(E element);
+
+  /**
+   * Retrieves the aggregate of an empty group.
+   */
+  R identity();
+
+  /**
+   * Computes the aggregate of a group after an element with the passed contribution has joined.
+   */
+  R add(R aggregate, C contribution);
+
+  /**
+   * Computes the aggregate of a group after an element with the passed contribution has left.
+   */
+  R remove(R aggregate, C contribution);
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import com.torchmind.observable.ReadOnlyObservable;
+import com.torchmind.observable.listener.ChangeListener;
+import com.torchmind.observable.listener.InvalidationListener;
+import com.torchmind.observable.listener.ReferenceMode;
+import com.torchmind.observable.listener.Subscription;
+import com.torchmind.observable.utility.ListenerRegistry;
+import java.util.function.Consumer;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * <p>Manages the listeners of an observable collection.</p>
+ *
+ * <p>Besides the collection specific listeners, collections accept change and invalidation
+ * listeners in order to be usable as dependencies of bindings. Change listeners receive the
+ * collection itself as their old and new value.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+final class CollectionListeners<C, L> {
+
+  private final ListenerRegistry<L> listeners = new ListenerRegistry<>();
+  private final ListenerRegistry<ChangeListener<? super C>> changeListeners =
+      new ListenerRegistry<>();
+  private final ListenerRegistry<InvalidationListener> invalidationListeners =
+      new ListenerRegistry<>();
+
+  /**
+   * Notifies all listeners of a change to the passed collection.
+   */
+  void publish(@NonNull ReadOnlyObservable<C> collection, @NonNull C value,
+      @NonNull Consumer<? super L> action) {
+    this.publish(collection, value, action, null);
+  }
+
+  /**
+   * Notifies all listeners of a change to the passed collection and executes the passed action
+   * after the collection specific listeners have been notified.
+   */
+  void publish(@NonNull ReadOnlyObservable<C> collection, @NonNull C value,
+      @NonNull Consumer<? super L> action, @Nullable Runnable then) {
+    this.invalidationListeners.forEach((l) -> l.onInvalidation(collection));
+    this.listeners.forEach(action);
+    if (then != null) {
+      then.run();
+    }
+    this.changeListeners.forEach((l) -> l.onChange(collection, value, value));
+  }
+
+  /**
+   * Evaluates whether no listeners are registered with the collection.
+   */
+  boolean isEmpty() {
+    return this.listeners.isEmpty() && this.changeListeners.isEmpty()
+        && this.invalidationListeners.isEmpty();
+  }
+
+  void register(@NonNull L listener, @NonNull ReferenceMode mode) {
+    this.listeners.register(listener, mode);
+  }
+
+  void remove(@NonNull L listener) {
+    this.listeners.remove(listener);
+  }
+
+  @NonNull
+  Subscription subscribe(@NonNull L listener, @NonNull ReferenceMode mode) {
+    return this.listeners.subscribe(listener, mode);
+  }
+
+  void register(@NonNull ChangeListener<? super C> listener, @NonNull ReferenceMode mode) {
+    this.changeListeners.register(listener, mode);
+  }
+
+  void remove(@NonNull ChangeListener<? super C> listener) {
+    this.changeListeners.remove(listener);
+  }
+
+  @NonNull
+  Subscription subscribe(@NonNull ChangeListener<? super C> listener,
+      @NonNull ReferenceMode mode) {
+    return this.changeListeners.subscribe(listener, mode);
+  }
+
+  void register(@NonNull InvalidationListener listener, @NonNull ReferenceMode mode) {
+    this.invalidationListeners.register(listener, mode);
+  }
+
+  void remove(@NonNull InvalidationListener listener) {
+    this.invalidationListeners.remove(listener);
+  }
+
+  @NonNull
+  Subscription subscribe(@NonNull InvalidationListener listener, @NonNull ReferenceMode mode) {
+    return this.invalidationListeners.subscribe(listener, mode);
+  }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Provides a thread safe observable map which is backed by a concurrent hash table.</p>
+ *
+ * <p>Values are retrieved without acquiring any locks. Modifications of a key are serialized
+ * through one of a fixed set of locks (which is selected based on the hash code of the key) and
+ * are published while this lock is held. As such, listeners observe the modifications of a
+ * single key in the order in which they have been applied while modifications of unrelated keys
+ * are applied and published in parallel.</p>
+ *
+ * <p>Similar to {@link ConcurrentHashMap}, this implementation does not permit null keys or
+ * values. Note that great care should be taken when modifying other keys from within a listener
+ * as locks are acquired in the order of modification.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class ConcurrentObservableMap<K, V> extends AbstractObservableMap<K, V> implements
+    ConcurrentMap<K, V> {
+
+  private final ReentrantLock[] locks;
+
+  public ConcurrentObservableMap(int initialCapacity, int concurrencyLevel) {
+    super(new ConcurrentHashMap<>(initialCapacity), new ConcurrentHashMap<>());
+
+    if (concurrencyLevel <= 0) {
+      throw new IllegalArgumentException(
+          "Illegal concurrency level: " + concurrencyLevel + " (must be positive)");
+    }
+
+    // the amount of locks is rounded up to the next power of two in order to select locks through
+    // a bit mask
+    int count = Integer.highestOneBit(Math.min(concurrencyLevel, 1 << 16) * 2 - 1);
+    this.locks = new ReentrantLock[count];
+    for (int i = 0; i < count; ++i) {
+      this.locks[i] = new ReentrantLock();
+    }
+  }
+
+  public ConcurrentObservableMap(int initialCapacity) {
+    this(initialCapacity, Runtime.getRuntime().availableProcessors() * 4);
+  }
+
+  public ConcurrentObservableMap() {
+    this(16);
+  }
+
+  public ConcurrentObservableMap(@NonNull Map<? extends K, ? extends V> elements) {
+    this(Math.max(16, elements.size()));
+    this.elements.putAll(elements);
+  }
+
+  /**
+   * Executes the passed action while holding the lock which is responsible for the passed key.
+   */
+  private <R> R locked(@NonNull Object key, @NonNull Supplier<R> action) {
+    int hash = key.hashCode();
+    ReentrantLock lock = this.locks[(hash ^ (hash >>> 16)) & (this.locks.length - 1)];
+
+    lock.lock();
+    try {
+      return action.get();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public V put(@NonNull K key, @NonNull V value) {
+    Objects.requireNonNull(value, "value");
+    return this.locked(key, () -> super.put(key, value));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public V remove(@NonNull Object key) {
+    return this.locked(key, () -> super.remove(key));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void clear() {
+    // keys are removed one by one in order to publish their removal in order with concurrent
+    // modifications of the same key
+    for (K key : this.elements.keySet()) {
+      this.remove(key);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  void removeEntry(@NonNull Iterator<Entry<K, V>> iterator, @NonNull Entry<K, V> entry) {
+    this.remove(entry.getKey(), entry.getValue());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public V putIfAbsent(@NonNull K key, @NonNull V value) {
+    Objects.requireNonNull(value, "value");
+    return this.locked(key, () -> {
+      V previous = this.elements.get(key);
+
+      if (previous == null) {
+        super.put(key, value);
+      }
+
+      return previous;
+    });
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean remove(@NonNull Object key, Object value) {
+    return this.locked(key, () -> {
+      if (value == null || !value.equals(this.elements.get(key))) {
+        return false;
+      }
+
+      super.remove(key);
+      return true;
+    });
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean replace(@NonNull K key, @NonNull V oldValue, @NonNull V newValue) {
+    Objects.requireNonNull(oldValue, "oldValue");
+    Objects.requireNonNull(newValue, "newValue");
+    return this.locked(key, () -> {
+      if (!oldValue.equals(this.elements.get(key))) {
+        return false;
+      }
+
+      super.put(key, newValue);
+      return true;
+    });
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public V replace(@NonNull K key, @NonNull V value) {
+    Objects.requireNonNull(value, "value");
+    return this.locked(key, () -> {
+      if (!this.elements.containsKey(key)) {
+        return null;
+      }
+
+      return super.put(key, value);
+    });
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public V computeIfAbsent(@NonNull K key,
+      @NonNull Function<? super K, ? extends V> mappingFunction) {
+    Objects.requireNonNull(mappingFunction, "mappingFunction");
+
+    // present values are returned without acquiring the lock
+    V value = this.elements.get(key);
+    if (value != null) {
+      return value;
+    }
+
+    return this.locked(key, () -> {
+      V previous = this.elements.get(key);
+      if (previous != null) {
+        return previous;
+      }
+
+      V computed = mappingFunction.apply(key);
+      if (computed != null) {
+        super.put(key, computed);
+      }
+
+      return computed;
+    });
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public V computeIfPresent(@NonNull K key,
+      @NonNull BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+    Objects.requireNonNull(remappingFunction, "remappingFunction");
+    return this.locked(key, () -> {
+      V previous = this.elements.get(key);
+      if (previous == null) {
+        return null;
+      }
+
+      return this.apply(key, remappingFunction.apply(key, previous));
+    });
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public V compute(@NonNull K key,
+      @NonNull BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+    Objects.requireNonNull(remappingFunction, "remappingFunction");
+    return this.locked(key,
+        () -> this.apply(key, remappingFunction.apply(key, this.elements.get(key))));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public V merge(@NonNull K key, @NonNull V value,
+      @NonNull BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+    Objects.requireNonNull(value, "value");
+    Objects.requireNonNull(remappingFunction, "remappingFunction");
+    return this.locked(key, () -> {
+      V previous = this.elements.get(key);
+      return this.apply(key,
+          previous == null ? value : remappingFunction.apply(previous, value));
+    });
+  }
+
+  /**
+   * Associates the passed key with the passed value or removes it when the value is null.
+   */
+  private V apply(@NonNull K key, V value) {
+    if (value == null) {
+      super.remove(key);
+    } else {
+      super.put(key, value);
+    }
+
+    return value;
+  }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import com.torchmind.observable.listener.ReferenceMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Retains the key and value which have been derived from every element of an observable list
+ * or set and reports elements which join or leave the collection to a handler.</p>
+ *
+ * <p>As the derived keys and values are retained, elements which are modified in-place (or
+ * removed after having been modified) are reported with the key and value they have originally
+ * been reported with. Derived collections are thus able to locate the group of an element without
+ * searching.</p>
+ *
+ * <p>The source collection references trackers weakly. As such, derived collections which are no
+ * longer referenced are garbage collected without requiring manual disposal.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+abstract class ElementTracker<E, K, T> {
+
+  private final Function<? super E, ? extends K> key;
+  private final Function<? super E, ? extends T> value;
+  final Handler<K, T> handler;
+
+  private ElementTracker(@NonNull Function<? super E, ? extends K> key,
+      @NonNull Function<? super E, ? extends T> value, @NonNull Handler<K, T> handler) {
+    this.key = key;
+    this.value = value;
+    this.handler = handler;
+  }
+
+  /**
+   * Creates a tracker for the passed list and reports all of its current elements.
+   */
+  @NonNull
+  static <E, K, T> ElementTracker<E, K, T> of(@NonNull ObservableList<E> source,
+      @NonNull Function<? super E, ? extends K> key,
+      @NonNull Function<? super E, ? extends T> value, @NonNull Handler<K, T> handler) {
+    return new ListTracker<>(source, key, value, handler);
+  }
+
+  /**
+   * Creates a tracker for the passed set and reports all of its current elements.
+   */
+  @NonNull
+  static <E, K, T> ElementTracker<E, K, T> of(@NonNull ObservableSet<E> source,
+      @NonNull Function<? super E, ? extends K> key,
+      @NonNull Function<? super E, ? extends T> value, @NonNull Handler<K, T> handler) {
+    return new SetTracker<>(source, key, value, handler);
+  }
+
+  /**
+   * Derives a new member from the passed element and reports it to the handler.
+   */
+  @NonNull
+  Member<K, T> add(E element) {
+    Member<K, T> member = new Member<>(this.key.apply(element), this.value.apply(element));
+    this.handler.onAdd(member);
+    return member;
+  }
+
+  /**
+   * Receives the members which join or leave a tracked collection.
+   */
+  interface Handler<K, T> {
+
+    /**
+     * Handles a member which has joined the collection.
+     */
+    void onAdd(@NonNull Member<K, T> member);
+
+    /**
+     * Handles a member which has left the collection.
+     */
+    void onRemove(@NonNull Member<K, T> member);
+
+    /**
+     * Handles the completion of a modification (e.g. once all members which are affected by a
+     * bulk operation have been reported).
+     */
+    void onCommit();
+  }
+
+  /**
+   * Represents the key and value which have been derived from a single element.
+   */
+  static final class Member<K, T> {
+
+    final K key;
+    final T value;
+
+    private Member(K key, T value) {
+      this.key = key;
+      this.value = value;
+    }
+  }
+
+  /**
+   * Tracks the elements of a list by their position.
+   */
+  private static final class ListTracker<E, K, T> extends ElementTracker<E, K, T> {
+
+    private final ObservableList<E> source;
+    private final IndexedTree<Member<K, T>> members = new IndexedTree<>();
+    private final ListChangeListener<E> listener = (list, change) -> this.onChange(change);
+
+    private ListTracker(@NonNull ObservableList<E> source,
+        @NonNull Function<? super E, ? extends K> key,
+        @NonNull Function<? super E, ? extends T> value, @NonNull Handler<K, T> handler) {
+      super(key, value, handler);
+      this.source = source;
+
+      for (E element : source) {
+        this.members.insert(this.members.size(), this.add(element), false);
+      }
+      handler.onCommit();
+
+      source.registerListener(this.listener, ReferenceMode.WEAK);
+    }
+
+    private void onChange(@NonNull ListChange<? extends E> change) {
+      for (ListChange.Entry<? extends E> entry : change.getEntries()) {
+        int from = entry.getFrom();
+        int to = entry.getTo();
+
+        if (entry.wasPermuted()) {
+          // members are merely relocated as reordering does not alter the collection
+          List<Member<K, T>> members = new ArrayList<>(to - from);
+          for (int i = from; i < to; ++i) {
+            members.add(this.members.get(i).value);
+          }
+
+          for (int i = 0; i < members.size(); ++i) {
+            this.members.get(entry.getPermutation(from + i)).value = members.get(i);
+          }
+        } else if (entry.wasUpdated()) {
+          for (int i = from; i < to; ++i) {
+            IndexedTree.Node<Member<K, T>> node = this.members.get(i);
+
+            this.handler.onRemove(node.value);
+            node.value = this.add(this.source.get(i));
+          }
+        } else {
+          for (int i = 0; i < entry.getRemovedSize(); ++i) {
+            IndexedTree.Node<Member<K, T>> node = this.members.get(from);
+
+            this.handler.onRemove(node.value);
+            this.members.remove(node);
+          }
+
+          for (int i = from; i < to; ++i) {
+            this.members.insert(i, this.add(this.source.get(i)), false);
+          }
+        }
+      }
+
+      this.handler.onCommit();
+    }
+  }
+
+  /**
+   * Tracks the elements of a set through a hash index.
+   */
+  private static final class SetTracker<E, K, T> extends ElementTracker<E, K, T> {
+
+    private final Map<E, Member<K, T>> members = new HashMap<>();
+    private final SetChangeListener<E> listener = (set, change) -> this.onChange(change);
+
+    private SetTracker(@NonNull ObservableSet<E> source,
+        @NonNull Function<? super E, ? extends K> key,
+        @NonNull Function<? super E, ? extends T> value, @NonNull Handler<K, T> handler) {
+      super(key, value, handler);
+
+      for (E element : source) {
+        this.members.put(element, this.add(element));
+      }
+      handler.onCommit();
+
+      source.registerListener(this.listener, ReferenceMode.WEAK);
+    }
+
+    private void onChange(@NonNull SetChange<? extends E> change) {
+      for (E element : change.getRemoved()) {
+        Member<K, T> member = this.members.remove(element);
+
+        if (member != null) {
+          this.handler.onRemove(member);
+        }
+      }
+
+      for (E element : change.getAdded()) {
+        this.members.put(element, this.add(element));
+      }
+
+      this.handler.onCommit();
+    }
+  }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import com.torchmind.observable.ReadOnlyObservable;
+import com.torchmind.observable.listener.InvalidationListener;
+import com.torchmind.observable.listener.ReferenceMode;
+import com.torchmind.observable.listener.Subscription;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * <p>Provides a view which exposes the elements of its source list which satisfy a
+ * condition.</p>
+ *
+ * <p>The elements of the source list are kept within an indexed tree in which elements that
+ * satisfy the condition are marked. Insertions and removals within the source list as well as
+ * changes to the condition of a single element are thus applied in logarithmic time.</p>
+ *
+ * <p>Conditions are either expressed as a predicate (which is re-evaluated for all elements when
+ * one of its dependencies is invalidated) or as an observable per element (which is re-evaluated
+ * for its respective element only).</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+final class FilteredList<E> extends AbstractListView<E, E> {
+
+  private final IndexedTree<Item> tree = new IndexedTree<>();
+  private final Predicate<? super E> predicate;
+  private final Function<? super E, ? extends ReadOnlyObservable<Boolean>> condition;
+  private final InvalidationListener dependencyListener = (o) -> this.refilter();
+
+  FilteredList(@NonNull ObservableList<E> source, @NonNull Predicate<? super E> predicate,
+      @NonNull ReadOnlyObservable<?>... dependencies) {
+    super(source);
+    this.predicate = predicate;
+    this.condition = null;
+
+    this.initialize();
+    for (ReadOnlyObservable<?> dependency : dependencies) {
+      dependency.registerListener(this.dependencyListener, ReferenceMode.WEAK);
+    }
+  }
+
+  FilteredList(@NonNull ObservableList<E> source,
+      @NonNull Function<? super E, ? extends ReadOnlyObservable<Boolean>> condition) {
+    super(source);
+    this.predicate = null;
+    this.condition = condition;
+
+    this.initialize();
+  }
+
+  private void initialize() {
+    for (int i = 0; i < this.source.size(); ++i) {
+      this.insert(i, this.source.get(i), null);
+    }
+
+    this.attach();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public E get(int index) {
+    if (index < 0 || index >= this.tree.weight()) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.tree.weight());
+    }
+
+    return this.tree.getMarked(index).value.element;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int size() {
+    return this.tree.weight();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  void onSourceChange(@NonNull ListChange<? extends E> change) {
+    ListChangeBuilder<E> builder = this.createBuilder();
+
+    for (ListChange.Entry<? extends E> entry : change.getEntries()) {
+      int from = entry.getFrom();
+      int to = entry.getTo();
+
+      if (entry.wasPermuted()) {
+        this.permute(entry, builder);
+      } else if (entry.wasUpdated()) {
+        for (int i = from; i < to; ++i) {
+          this.evaluate(this.tree.get(i).value, builder, true);
+        }
+      } else {
+        for (int i = 0; i < entry.getRemovedSize(); ++i) {
+          IndexedTree.Node<Item> node = this.tree.get(from);
+
+          if (node.isMarked()) {
+            builder.remove(this.tree.markedIndexOf(node), node.value.element);
+          }
+
+
+          node.value.close();
+          this.tree.remove(node);
+        }
+
+        for (int i = from; i < to; ++i) {
+          this.insert(i, this.source.get(i), builder);
+        }
+      }
+    }
+
+    builder.publish();
+  }
+
+  /**
+   * Re-arranges the elements within a permuted range of the source list.
+   */
+  private void permute(@NonNull ListChange.Entry<?> entry, @NonNull ListChangeBuilder<E> builder) {
+    int from = entry.getFrom();
+    int to = entry.getTo();
+
+    List<Item> items = new ArrayList<>(to - from);
+    for (int i = from; i < to; ++i) {
+      items.add(this.tree.get(i).value);
+    }
+
+    // the marked elements within the range retain their marks and are thus simply moved between
+    // the nodes of the tree
+    int offset = this.tree.markedBefore(from);
+    int[] positions = new int[to - from];
+    int count = 0;
+    for (int i = 0; i < items.size(); ++i) {
+      positions[i] = items.get(i).node.isMarked() ? count++ : -1;
+    }
+
+    int[] marked = new int[to - from];
+    for (int i = 0; i < items.size(); ++i) {
+      marked[entry.getPermutation(from + i) - from] = positions[i];
+    }
+
+    int[] permutation = new int[count];
+    int index = 0;
+    boolean identity = true;
+    for (int position : marked) {
+      if (position != -1) {
+        identity &= position == index;
+        permutation[position] = offset + index++;
+      }
+    }
+
+    if (!identity) {
+      builder.permute(offset, offset + count, permutation);
+    }
+
+    for (int i = 0; i < items.size(); ++i) {
+      Item item = items.get(i);
+      IndexedTree.Node<Item> node = this.tree.get(entry.getPermutation(from + i));
+
+      this.tree.setMarked(node, positions[i] != -1);
+      node.value = item;
+      item.node = node;
+    }
+  }
+
+  /**
+   * Re-evaluates the condition for all elements (e.g. when a dependency of the predicate has
+   * been invalidated).
+   */
+  private void refilter() {
+    ListChangeBuilder<E> builder = this.createBuilder();
+
+    for (int i = 0; i < this.tree.size(); ++i) {
+      this.evaluate(this.tree.get(i).value, builder, false);
+    }
+
+    builder.publish();
+  }
+
+  /**
+   * Re-evaluates the condition of a single element and records the resulting modification.
+   */
+  private void evaluate(@NonNull Item item, @NonNull ListChangeBuilder<E> builder,
+      boolean updated) {
+    IndexedTree.Node<Item> node = item.node;
+    boolean previous = node.isMarked();
+    boolean current = this.test(item);
+
+    if (previous) {
+      int index = this.tree.markedIndexOf(node);
+
+      if (!current) {
+        builder.remove(index, item.element);
+        this.tree.setMarked(node, false);
+      } else if (updated) {
+        builder.update(index);
+      }
+    } else if (current) {
+      builder.add(this.tree.markedIndexOf(node));
+      this.tree.setMarked(node, true);
+    }
+  }
+
+  /**
+   * Handles an invalidation of the condition of a single element.
+   */
+  private void onConditionChange(@NonNull Item item) {
+    if (item.node == null) {
+      return;
+    }
+
+    ListChangeBuilder<E> builder = this.createBuilder();
+    this.evaluate(item, builder, false);
+    builder.publish();
+  }
+
+  /**
+   * Inserts an element of the source list at the passed index and records its insertion into
+   * this view with the passed builder (if any).
+   */
+  private void insert(int index, E element, @Nullable ListChangeBuilder<E> builder) {
+    Item item = new Item(element);
+
+    if (this.condition != null) {
+      item.condition = this.condition.apply(element);
+      item.subscription = item.condition.subscribe(item.listener, ReferenceMode.WEAK);
+    }
+
+    boolean marked = this.test(item);
+    if (marked && builder != null) {
+      builder.add(this.tree.markedBefore(index));
+    }
+
+    item.node = this.tree.insert(index, item, marked);
+  }
+
+  /**
+   * Evaluates whether the passed element satisfies the condition of this view.
+   */
+  private boolean test(@NonNull Item item) {
+    if (item.condition == null) {
+      return this.predicate.test(item.element);
+    }
+
+    return Boolean.TRUE.equals(item.condition.get());
+  }
+
+  /**
+   * Represents a single element of the source list along with its condition.
+   */
+  private final class Item {
+
+    private final E element;
+    private final InvalidationListener listener = (o) -> FilteredList.this.onConditionChange(this);
+    private IndexedTree.Node<Item> node;
+    private ReadOnlyObservable<Boolean> condition;
+    private Subscription subscription;
+
+    private Item(E element) {
+      this.element = element;
+    }
+
+    /**
+     * Stops listening for changes of the condition of this element.
+     */
+    private void close() {
+      if (this.subscription != null) {
+        this.subscription.close();
+      }
+
+      this.node = null;
+    }
+  }
+}
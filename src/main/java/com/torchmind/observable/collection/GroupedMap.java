@@ -0,0 +1,188 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Provides a read-only map which exposes the aggregate of every group of elements within an
+ * observable list or set.</p>
+ *
+ * <p>Elements which join or leave the source only update the aggregate of their own group. Groups
+ * which are affected by a single modification of the source are published once the modification
+ * has been applied entirely and groups which become empty are removed from the map.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+final class GroupedMap<E, K, C, R> extends AbstractObservableMap<K, R> implements
+    ElementTracker.Handler<K, C> {
+
+  private final Aggregator<? super E, C, R> aggregator;
+  private final Map<K, Group> groups = new HashMap<>();
+  private final List<Group> modified = new ArrayList<>();
+  // the source references the tracker weakly and thus relies on this map to retain it
+  private final ElementTracker<E, K, C> tracker;
+
+  GroupedMap(@NonNull ObservableList<E> source, @NonNull Function<? super E, ? extends K> key,
+      @NonNull Aggregator<? super E, C, R> aggregator) {
+    super(new HashMap<>(), new HashMap<>());
+    this.aggregator = aggregator;
+    this.tracker = ElementTracker.of(source, key, aggregator::contribution, this);
+  }
+
+  GroupedMap(@NonNull ObservableSet<E> source, @NonNull Function<? super E, ? extends K> key,
+      @NonNull Aggregator<? super E, C, R> aggregator) {
+    super(new HashMap<>(), new HashMap<>());
+    this.aggregator = aggregator;
+    this.tracker = ElementTracker.of(source, key, aggregator::contribution, this);
+  }
+
+  /**
+   * Retrieves the group of the passed key and records its current state (if it has not been
+   * modified as part of the current change yet).
+   */
+  @NonNull
+  private Group modify(K key) {
+    Group group = this.groups.get(key);
+    if (group == null) {
+      group = new Group(key, this.aggregator.identity());
+      this.groups.put(key, group);
+    }
+
+    if (!group.modified) {
+      group.modified = true;
+      group.previous = group.aggregate;
+      group.present = group.size != 0;
+      this.modified.add(group);
+    }
+
+    return group;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void onAdd(@NonNull ElementTracker.Member<K, C> member) {
+    Group group = this.modify(member.key);
+
+    ++group.size;
+    group.aggregate = this.aggregator.add(group.aggregate, member.value);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void onRemove(@NonNull ElementTracker.Member<K, C> member) {
+    Group group = this.modify(member.key);
+
+    --group.size;
+    group.aggregate = this.aggregator.remove(group.aggregate, member.value);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void onCommit() {
+    // listeners may access the map and are thus notified once all groups have been updated
+    List<Group> modified = new ArrayList<>(this.modified);
+    this.modified.clear();
+
+    for (Group group : modified) {
+      group.modified = false;
+
+      if (group.size == 0) {
+        this.groups.remove(group.key);
+        this.elements.remove(group.key);
+      } else {
+        this.elements.put(group.key, group.aggregate);
+      }
+    }
+
+    for (Group group : modified) {
+      if (group.size == 0) {
+        if (group.present) {
+          this.publishChange(group.key, group.previous, null, true, false);
+        }
+      } else if (!group.present || !Objects.equals(group.previous, group.aggregate)) {
+        this.publishChange(group.key, group.previous, group.aggregate, group.present, true);
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public R put(K key, R value) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public R remove(Object key) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void clear() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  void removeEntry(@NonNull Iterator<Entry<K, R>> iterator, @NonNull Entry<K, R> entry) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Represents the aggregate of a single group along with its state prior to the current
+   * modification.
+   */
+  private final class Group {
+
+    private final K key;
+    private R aggregate;
+    private int size;
+
+    private boolean modified;
+    private boolean present;
+    private R previous;
+
+    private Group(K key, R aggregate) {
+      this.key = key;
+      this.aggregate = aggregate;
+    }
+  }
+}
@@ -0,0 +1,369 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import java.util.function.ToIntFunction;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * <p>Provides a balanced tree which orders its nodes by their position rather than a key.</p>
+ *
+ * <p>The tree is implemented as a randomized treap. Each node keeps track of the size of its
+ * subtree as well as the number of marked nodes within its subtree and references its parent.
+ * Nodes may thus be inserted or removed at arbitrary positions, located by their (marked) index
+ * and asked for their (marked) index in expected logarithmic time.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+final class IndexedTree<T> {
+
+  private Node<T> root;
+  private int seed = 0x2545F491;
+
+  /**
+   * Retrieves the number of nodes within this tree.
+   */
+  int size() {
+    return size(this.root);
+  }
+
+  /**
+   * Retrieves the number of marked nodes within this tree.
+   */
+  int weight() {
+    return weight(this.root);
+  }
+
+  /**
+   * Retrieves the node at the passed index.
+   */
+  @NonNull
+  Node<T> get(int index) {
+    Node<T> node = this.root;
+
+    while (true) {
+      int left = size(node.left);
+
+      if (index < left) {
+        node = node.left;
+      } else if (index == left) {
+        return node;
+      } else {
+        index -= left + 1;
+        node = node.right;
+      }
+    }
+  }
+
+  /**
+   * Retrieves the marked node at the passed index (e.g. skipping all unmarked nodes).
+   */
+  @NonNull
+  Node<T> getMarked(int index) {
+    Node<T> node = this.root;
+
+    while (true) {
+      int left = weight(node.left);
+
+      if (index < left) {
+        node = node.left;
+      } else if (index == left && node.marked) {
+        return node;
+      } else {
+        index -= left + (node.marked ? 1 : 0);
+        node = node.right;
+      }
+    }
+  }
+
+  /**
+   * Retrieves the index of the passed node.
+   */
+  int indexOf(@NonNull Node<T> node) {
+    int index = size(node.left);
+
+    while (node.parent != null) {
+      if (node == node.parent.right) {
+        index += size(node.parent.left) + 1;
+      }
+
+      node = node.parent;
+    }
+
+    return index;
+  }
+
+  /**
+   * Retrieves the number of marked nodes which precede the passed node.
+   */
+  int markedIndexOf(@NonNull Node<T> node) {
+    int index = weight(node.left);
+
+    while (node.parent != null) {
+      if (node == node.parent.right) {
+        index += weight(node.parent.left) + (node.parent.marked ? 1 : 0);
+      }
+
+      node = node.parent;
+    }
+
+    return index;
+  }
+
+  /**
+   * Retrieves the number of marked nodes within the first nodes of this tree.
+   */
+  int markedBefore(int index) {
+    Node<T> node = this.root;
+    int result = 0;
+
+    while (node != null) {
+      int left = size(node.left);
+
+      if (index <= left) {
+        node = node.left;
+      } else {
+        result += weight(node.left) + (node.marked ? 1 : 0);
+        index -= left + 1;
+        node = node.right;
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * <p>Locates the index at which a new node is to be inserted in order to retain the order of a
+   * sorted tree.</p>
+   *
+   * <p>The passed function compares the new value with the value of an existing node and returns
+   * a negative integer when the new value is to be placed before the existing value. As such, new
+   * values are placed after all equal values.</p>
+   */
+  int search(@NonNull ToIntFunction<? super T> comparison) {
+    Node<T> node = this.root;
+    int index = 0;
+
+    while (node != null) {
+      if (comparison.applyAsInt(node.value) < 0) {
+        node = node.left;
+      } else {
+        index += size(node.left) + 1;
+        node = node.right;
+      }
+    }
+
+    return index;
+  }
+
+  /**
+   * Inserts a new node at the passed index.
+   */
+  @NonNull
+  Node<T> insert(int index, T value, boolean marked) {
+    Node<T> node = new Node<>(value, marked, this.nextPriority());
+
+    if (this.root == null) {
+      this.root = node;
+      return node;
+    }
+
+    // descends to the leaf position of the new node while accounting for it along the way
+    Node<T> parent = this.root;
+    while (true) {
+      ++parent.size;
+      if (marked) {
+        ++parent.weight;
+      }
+
+      int left = size(parent.left);
+      if (index <= left) {
+        if (parent.left == null) {
+          parent.left = node;
+          break;
+        }
+
+        parent = parent.left;
+      } else {
+        index -= left + 1;
+
+        if (parent.right == null) {
+          parent.right = node;
+          break;
+        }
+
+        parent = parent.right;
+      }
+    }
+
+    node.parent = parent;
+    while (node.parent != null && node.parent.priority < node.priority) {
+      this.rotateUp(node);
+    }
+
+    return node;
+  }
+
+  /**
+   * Removes the passed node from this tree.
+   */
+  void remove(@NonNull Node<T> node) {
+    // the node is rotated down until it turns into a leaf which can simply be detached
+    while (node.left != null || node.right != null) {
+      Node<T> child;
+
+      if (node.left == null) {
+        child = node.right;
+      } else if (node.right == null) {
+        child = node.left;
+      } else {
+        child = node.left.priority > node.right.priority ? node.left : node.right;
+      }
+
+      this.rotateUp(child);
+    }
+
+    Node<T> parent = node.parent;
+    if (parent == null) {
+      this.root = null;
+      return;
+    }
+
+    if (parent.left == node) {
+      parent.left = null;
+    } else {
+      parent.right = null;
+    }
+    node.parent = null;
+
+    for (; parent != null; parent = parent.parent) {
+      --parent.size;
+      if (node.marked) {
+        --parent.weight;
+      }
+    }
+  }
+
+  /**
+   * Changes the mark of the passed node.
+   */
+  void setMarked(@NonNull Node<T> node, boolean marked) {
+    if (node.marked == marked) {
+      return;
+    }
+
+    node.marked = marked;
+    for (Node<T> current = node; current != null; current = current.parent) {
+      current.weight += marked ? 1 : -1;
+    }
+  }
+
+  /**
+   * Rotates the passed node above its parent.
+   */
+  private void rotateUp(@NonNull Node<T> node) {
+    Node<T> parent = node.parent;
+    Node<T> grandparent = parent.parent;
+
+    if (parent.left == node) {
+      parent.left = node.right;
+      if (node.right != null) {
+        node.right.parent = parent;
+      }
+      node.right = parent;
+    } else {
+      parent.right = node.left;
+      if (node.left != null) {
+        node.left.parent = parent;
+      }
+      node.left = parent;
+    }
+
+    parent.parent = node;
+    node.parent = grandparent;
+
+    if (grandparent == null) {
+      this.root = node;
+    } else if (grandparent.left == parent) {
+      grandparent.left = node;
+    } else {
+      grandparent.right = node;
+    }
+
+    parent.update();
+    node.update();
+  }
+
+  /**
+   * Generates a pseudo random priority for a new node.
+   */
+  private int nextPriority() {
+    int x = this.seed;
+    x ^= x << 13;
+    x ^= x >>> 17;
+    x ^= x << 5;
+    this.seed = x;
+    return x;
+  }
+
+  private static int size(@Nullable Node<?> node) {
+    return node == null ? 0 : node.size;
+  }
+
+  private static int weight(@Nullable Node<?> node) {
+    return node == null ? 0 : node.weight;
+  }
+
+  /**
+   * Represents a single node within the tree.
+   */
+  static final class Node<T> {
+
+    T value;
+    private final int priority;
+    private boolean marked;
+    private Node<T> parent;
+    private Node<T> left;
+    private Node<T> right;
+    private int size = 1;
+    private int weight;
+
+    private Node(T value, boolean marked, int priority) {
+      this.value = value;
+      this.marked = marked;
+      this.priority = priority;
+      this.weight = marked ? 1 : 0;
+    }
+
+    /**
+     * Evaluates whether this node is marked.
+     */
+    boolean isMarked() {
+      return this.marked;
+    }
+
+    /**
+     * Re-computes the aggregates of this node from its children.
+     */
+    private void update() {
+      this.size = 1 + size(this.left) + size(this.right);
+      this.weight = (this.marked ? 1 : 0) + weight(this.left) + weight(this.right);
+    }
+  }
+}
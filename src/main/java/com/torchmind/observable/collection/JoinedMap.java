@@ -0,0 +1,256 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Provides a read-only map which joins the elements of two observable collections by a common
+ * key.</p>
+ *
+ * <p>The elements of both collections are indexed by their key. Every key which is shared by at
+ * least one element of each collection is mapped to the result of a combiner which receives all
+ * matching elements of either side. When an element joins or leaves one of the collections, only
+ * the combination of its own key is re-computed.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+final class JoinedMap<L, R, K, V> extends AbstractObservableMap<K, V> {
+
+  private final BiFunction<? super Collection<L>, ? super Collection<R>, ? extends V> combiner;
+  private final Map<K, Group> groups = new HashMap<>();
+  private final List<Group> modified = new ArrayList<>();
+  // the sources reference the trackers weakly and thus rely on this map to retain them
+  private final ElementTracker<L, K, L> left;
+  private final ElementTracker<R, K, R> right;
+
+  JoinedMap(@NonNull ObservableList<L> left, @NonNull ObservableList<R> right,
+      @NonNull Function<? super L, ? extends K> leftKey,
+      @NonNull Function<? super R, ? extends K> rightKey,
+      @NonNull BiFunction<? super Collection<L>, ? super Collection<R>, ? extends V> combiner) {
+    super(new HashMap<>(), new HashMap<>());
+    this.combiner = combiner;
+    this.left = ElementTracker.of(left, leftKey, Function.identity(), new Side<>(true));
+    this.right = ElementTracker.of(right, rightKey, Function.identity(), new Side<>(false));
+  }
+
+  JoinedMap(@NonNull ObservableSet<L> left, @NonNull ObservableSet<R> right,
+      @NonNull Function<? super L, ? extends K> leftKey,
+      @NonNull Function<? super R, ? extends K> rightKey,
+      @NonNull BiFunction<? super Collection<L>, ? super Collection<R>, ? extends V> combiner) {
+    super(new HashMap<>(), new HashMap<>());
+    this.combiner = combiner;
+    this.left = ElementTracker.of(left, leftKey, Function.identity(), new Side<>(true));
+    this.right = ElementTracker.of(right, rightKey, Function.identity(), new Side<>(false));
+  }
+
+  /**
+   * Retrieves the group of the passed key and records its current state (if it has not been
+   * modified as part of the current change yet).
+   */
+  @NonNull
+  private Group modify(K key) {
+    Group group = this.groups.get(key);
+    if (group == null) {
+      group = new Group(key);
+      this.groups.put(key, group);
+    }
+
+    if (!group.modified) {
+      group.modified = true;
+      group.present = group.isMatched();
+      group.previous = this.elements.get(key);
+      this.modified.add(group);
+    }
+
+    return group;
+  }
+
+  /**
+   * Re-computes the combination of all groups which have been modified and notifies listeners of
+   * any changes.
+   */
+  private void commit() {
+    // listeners may access the map and are thus notified once all groups have been updated
+    List<Group> modified = new ArrayList<>(this.modified);
+    this.modified.clear();
+
+    for (Group group : modified) {
+      group.modified = false;
+
+      if (group.isMatched()) {
+        this.elements.put(group.key, this.combiner.apply(group.left.view, group.right.view));
+      } else {
+        this.elements.remove(group.key);
+
+        if (group.left.members.isEmpty() && group.right.members.isEmpty()) {
+          this.groups.remove(group.key);
+        }
+      }
+    }
+
+    for (Group group : modified) {
+      if (!group.isMatched()) {
+        if (group.present) {
+          this.publishChange(group.key, group.previous, null, true, false);
+        }
+        continue;
+      }
+
+      V value = this.elements.get(group.key);
+      if (!group.present || !Objects.equals(group.previous, value)) {
+        this.publishChange(group.key, group.previous, value, group.present, true);
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public V put(K key, V value) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public V remove(Object key) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void clear() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  void removeEntry(@NonNull Iterator<Entry<K, V>> iterator, @NonNull Entry<K, V> entry) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Maintains the groups of one side of the join.
+   */
+  private final class Side<T> implements ElementTracker.Handler<K, T> {
+
+    private final boolean left;
+
+    private Side(boolean left) {
+      this.left = left;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Members<T> members(@NonNull Group group) {
+      return (Members<T>) (this.left ? group.left : group.right);
+    }
+
+    @Override
+    public void onAdd(@NonNull ElementTracker.Member<K, T> member) {
+      this.members(JoinedMap.this.modify(member.key)).members.add(member);
+    }
+
+    @Override
+    public void onRemove(@NonNull ElementTracker.Member<K, T> member) {
+      this.members(JoinedMap.this.modify(member.key)).members.remove(member);
+    }
+
+    @Override
+    public void onCommit() {
+      JoinedMap.this.commit();
+    }
+  }
+
+  /**
+   * Represents the elements of a single key along with the state of its combination prior to the
+   * current modification.
+   */
+  private final class Group {
+
+    private final K key;
+    private final Members<L> left = new Members<>();
+    private final Members<R> right = new Members<>();
+
+    private boolean modified;
+    private boolean present;
+    private V previous;
+
+    private Group(K key) {
+      this.key = key;
+    }
+
+    /**
+     * Evaluates whether both sides contain at least one element of this group.
+     */
+    private boolean isMatched() {
+      return !this.left.members.isEmpty() && !this.right.members.isEmpty();
+    }
+  }
+
+  /**
+   * Retains the members of one side of a group and exposes their elements.
+   */
+  private static final class Members<T> {
+
+    // members are compared by identity and are thus removed in constant time
+    private final Set<ElementTracker.Member<?, T>> members = new LinkedHashSet<>();
+    private final Collection<T> view = new AbstractCollection<T>() {
+      @Override
+      public int size() {
+        return Members.this.members.size();
+      }
+
+      @NonNull
+      @Override
+      public Iterator<T> iterator() {
+        Iterator<ElementTracker.Member<?, T>> iterator = Members.this.members.iterator();
+
+        return new Iterator<T>() {
+          @Override
+          public boolean hasNext() {
+            return iterator.hasNext();
+          }
+
+          @Override
+          public T next() {
+            return iterator.next().value;
+          }
+        };
+      }
+    };
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import com.torchmind.observable.listener.ReferenceMode;
+import com.torchmind.observable.listener.Subscription;
+import com.torchmind.observable.utility.ListenerRegistry;
+import java.util.Map;
+import java.util.function.Consumer;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Indexes listeners by the key they observe.</p>
+ *
+ * <p>Only keys which are actually observed are present within the index. Registries are created
+ * when the first listener of a key is registered and are discarded once their last listener has
+ * been removed (or garbage collected). All modifications of the index are performed through
+ * {@link Map#compute(Object, java.util.function.BiFunction)} and are thus atomic when the index
+ * is backed by a concurrent map.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+final class KeyListenerIndex<K, L> {
+
+  private final Map<K, ListenerRegistry<L>> registries;
+
+  KeyListenerIndex(@NonNull Map<K, ListenerRegistry<L>> registries) {
+    this.registries = registries;
+  }
+
+  /**
+   * Evaluates whether no key is currently observed.
+   */
+  boolean isEmpty() {
+    return this.registries.isEmpty();
+  }
+
+  /**
+   * Evaluates whether at least one listener is registered with the passed key.
+   */
+  boolean isObserved(Object key) {
+    return this.registries.containsKey(key);
+  }
+
+  /**
+   * Passes every listener of the passed key to the passed action.
+   */
+  void forEach(Object key, @NonNull Consumer<? super L> action) {
+    ListenerRegistry<L> registry = this.registries.get(key);
+
+    if (registry == null) {
+      return;
+    }
+
+    registry.forEach(action);
+
+    // weakly referenced listeners may have been collected in the meantime
+    if (registry.isEmpty()) {
+      this.prune(key);
+    }
+  }
+
+  void register(K key, @NonNull L listener, @NonNull ReferenceMode mode) {
+    this.registries.compute(key, (k, r) -> {
+      if (r == null) {
+        r = new ListenerRegistry<>();
+      }
+
+      r.register(listener, mode);
+      return r;
+    });
+  }
+
+  void remove(Object key, @NonNull L listener) {
+    this.registries.computeIfPresent(this.cast(key), (k, r) -> {
+      r.remove(listener);
+      return r.isEmpty() ? null : r;
+    });
+  }
+
+  @NonNull
+  Subscription subscribe(K key, @NonNull L listener, @NonNull ReferenceMode mode) {
+    Subscription[] subscription = new Subscription[1];
+    this.registries.compute(key, (k, r) -> {
+      if (r == null) {
+        r = new ListenerRegistry<>();
+      }
+
+      subscription[0] = r.subscribe(listener, mode);
+      return r;
+    });
+
+    Subscription registration = subscription[0];
+    return new Subscription() {
+      @Override
+      public void close() {
+        registration.close();
+        KeyListenerIndex.this.prune(key);
+      }
+
+      @Override
+      public boolean isActive() {
+        return registration.isActive();
+      }
+    };
+  }
+
+  /**
+   * Removes the registry of the passed key when it no longer contains any listeners.
+   */
+  private void prune(Object key) {
+    this.registries.computeIfPresent(this.cast(key), (k, r) -> r.isEmpty() ? null : r);
+  }
+
+  @SuppressWarnings("unchecked")
+  private K cast(Object key) {
+    return (K) key;
+  }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Describes a modification of an observable list as a sequence of ranges.</p>
+ *
+ * <p>Each entry describes a single contiguous modification (e.g. an insertion, removal,
+ * replacement, permutation or in-place update of a range of elements). Entries are ordered by
+ * their position within the list and their indices are relative to the state of the list after
+ * all preceding entries have been applied. As such, listeners may replay a change by applying its
+ * entries in order.</p>
+ *
+ * <p>Bulk operations are reported as a single change which consists of one entry per affected
+ * range rather than one change per element.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class ListChange<E> {
+
+  private final List<Entry<E>> entries;
+
+  ListChange(@NonNull List<Entry<E>> entries) {
+    this.entries = Collections.unmodifiableList(entries);
+  }
+
+  /**
+   * Creates a change which consists of a single entry.
+   */
+  @NonNull
+  static <E> ListChange<E> of(@NonNull Entry<E> entry) {
+    return new ListChange<>(Collections.singletonList(entry));
+  }
+
+  /**
+   * Retrieves an ordered list of modified ranges.
+   */
+  @NonNull
+  public List<Entry<E>> getEntries() {
+    return this.entries;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String toString() {
+    return "ListChange{entries=" + this.entries + "}";
+  }
+
+  /**
+   * <p>Describes a single contiguous modification within a list.</p>
+   *
+   * <p>The range {@code [from, to)} identifies the elements which have been added (or replaced,
+   * permuted or updated) and is relative to the state of the list after this entry has been
+   * applied. The elements which have previously been located at {@code from} are exposed through
+   * {@link #getRemoved()}.</p>
+   */
+  public static final class Entry<E> {
+
+    private final int from;
+    private final int to;
+    private final List<E> removed;
+    private final int[] permutation;
+    private final boolean updated;
+
+    private Entry(int from, int to, @NonNull List<E> removed, int[] permutation,
+        boolean updated) {
+      this.from = from;
+      this.to = to;
+      this.removed = removed;
+      this.permutation = permutation;
+      this.updated = updated;
+    }
+
+    /**
+     * Creates an entry which describes the insertion of elements at {@code [from, to)}.
+     */
+    @NonNull
+    static <E> Entry<E> added(int from, int to) {
+      return new Entry<>(from, to, Collections.emptyList(), null, false);
+    }
+
+    /**
+     * Creates an entry which describes the removal of the passed elements at the given index.
+     */
+    @NonNull
+    static <E> Entry<E> removed(int index, @NonNull List<E> removed) {
+      return new Entry<>(index, index, Collections.unmodifiableList(removed), null, false);
+    }
+
+    /**
+     * Creates an entry which describes the replacement of the passed elements with the elements
+     * at {@code [from, to)}.
+     */
+    @NonNull
+    static <E> Entry<E> replaced(int from, int to, @NonNull List<E> removed) {
+      return new Entry<>(from, to, Collections.unmodifiableList(removed), null, false);
+    }
+
+    /**
+     * Creates an entry which describes the reordering of the elements at {@code [from, to)}
+     * where the element previously located at {@code from + i} is now located at
+     * {@code permutation[i]}.
+     */
+    @NonNull
+    static <E> Entry<E> permuted(int from, int to, @NonNull int[] permutation) {
+      return new Entry<>(from, to, Collections.emptyList(), permutation, false);
+    }
+
+    /**
+     * Creates an entry which describes an in-place modification of the elements at
+     * {@code [from, to)}.
+     */
+    @NonNull
+    static <E> Entry<E> updated(int from, int to) {
+      return new Entry<>(from, to, Collections.emptyList(), null, true);
+    }
+
+    /**
+     * Creates a copy of this entry which exposes the removed elements through the passed
+     * function.
+     */
+    @NonNull
+    <R> Entry<R> map(@NonNull Function<? super E, ? extends R> function) {
+      List<R> removed = this.removed.isEmpty() ? Collections.emptyList()
+          : new MappedList.View<>(this.removed, function);
+      return new Entry<>(this.from, this.to, removed, this.permutation, this.updated);
+    }
+
+    /**
+     * Retrieves the index of the first element within this range.
+     */
+    public int getFrom() {
+      return this.from;
+    }
+
+    /**
+     * Retrieves the index after the last element within this range.
+     */
+    public int getTo() {
+      return this.to;
+    }
+
+    /**
+     * Retrieves the number of elements which have been added as part of this entry.
+     */
+    public int getAddedSize() {
+      return this.wasPermuted() || this.updated ? 0 : this.to - this.from;
+    }
+
+    /**
+     * Retrieves an unmodifiable list of elements which have been removed as part of this entry.
+     */
+    @NonNull
+    public List<E> getRemoved() {
+      return this.removed;
+    }
+
+    /**
+     * Retrieves the number of elements which have been removed as part of this entry.
+     */
+    public int getRemovedSize() {
+      return this.removed.size();
+    }
+
+    /**
+     * <p>Retrieves the new index of the element which was previously located at the passed
+     * index.</p>
+     *
+     * @throws IllegalStateException when this entry does not describe a permutation.
+     * @throws IndexOutOfBoundsException when the index is outside of this range.
+     */
+    public int getPermutation(int index) {
+      if (this.permutation == null) {
+        throw new IllegalStateException("Entry does not describe a permutation");
+      }
+      if (index < this.from || index >= this.to) {
+        throw new IndexOutOfBoundsException(
+            "Index " + index + " is outside of range [" + this.from + ", " + this.to + ")");
+      }
+
+      return this.permutation[index - this.from];
+    }
+
+    /**
+     * Evaluates whether elements have been added as part of this entry.
+     */
+    public boolean wasAdded() {
+      return this.getAddedSize() != 0;
+    }
+
+    /**
+     * Evaluates whether elements have been removed as part of this entry.
+     */
+    public boolean wasRemoved() {
+      return !this.removed.isEmpty();
+    }
+
+    /**
+     * Evaluates whether elements have been replaced (e.g. removed and added) as part of this
+     * entry.
+     */
+    public boolean wasReplaced() {
+      return this.wasAdded() && this.wasRemoved();
+    }
+
+    /**
+     * Evaluates whether the elements within this range have been reordered.
+     */
+    public boolean wasPermuted() {
+      return this.permutation != null;
+    }
+
+    /**
+     * Evaluates whether the elements within this range have been modified in-place.
+     */
+    public boolean wasUpdated() {
+      return this.updated;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+      return "Entry{" +
+          "from=" + this.from +
+          ", to=" + this.to +
+          ", removed=" + this.removed +
+          ", permutation=" + Arrays.toString(this.permutation) +
+          ", updated=" + this.updated +
+          "}";
+    }
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Accumulates single element modifications into list changes.</p>
+ *
+ * <p>Modifications are expected to be recorded before they are applied to the list. They are
+ * coalesced with the preceding entry when they directly follow its range (e.g. a sequence of
+ * insertions or removals at consecutive positions is reported as a single entry). When a
+ * modification precedes the range of the preceding entry, all modifications which have been
+ * recorded so far are published as a separate change first in order to retain the order of
+ * entries within a change.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+final class ListChangeBuilder<E> {
+
+  private final Consumer<ListChange<E>> publisher;
+  private List<ListChange.Entry<E>> entries = new ArrayList<>();
+  private boolean open;
+  private boolean updated;
+  private int from;
+  private int to;
+  private List<E> removed;
+
+  ListChangeBuilder(@NonNull Consumer<ListChange<E>> publisher) {
+    this.publisher = publisher;
+  }
+
+  /**
+   * Records the insertion of an element at the passed index.
+   */
+  void add(int index) {
+    if (!this.open || this.updated || index != this.to) {
+      this.begin(index, false);
+    }
+
+    ++this.to;
+  }
+
+  /**
+   * Records the removal of the passed element from the passed index.
+   */
+  void remove(int index, E element) {
+    // removing the element which directly follows the current range extends the range of
+    // elements which have been replaced
+    if (!this.open || this.updated || index != this.to) {
+      this.begin(index, false);
+    }
+
+    this.removed.add(element);
+  }
+
+  /**
+   * Records an in-place modification of the element at the passed index.
+   */
+  void update(int index) {
+    if (!this.open || !this.updated || index != this.to) {
+      this.begin(index, true);
+    }
+
+    ++this.to;
+  }
+
+  /**
+   * Records a permutation of the passed range.
+   */
+  void permute(int from, int to, @NonNull int[] permutation) {
+    this.flush(from);
+    this.entries.add(ListChange.Entry.permuted(from, to, permutation));
+    this.to = to;
+  }
+
+  /**
+   * Publishes all modifications which have been recorded so far (if any).
+   */
+  void publish() {
+    this.flush(Integer.MAX_VALUE);
+
+    if (this.entries.isEmpty()) {
+      return;
+    }
+
+    List<ListChange.Entry<E>> entries = this.entries;
+    this.entries = new ArrayList<>();
+    this.to = 0;
+    this.publisher.accept(new ListChange<>(entries));
+  }
+
+  private void begin(int index, boolean updated) {
+    this.flush(index);
+
+    this.open = true;
+    this.updated = updated;
+    this.from = index;
+    this.to = index;
+    this.removed = updated ? null : new ArrayList<>();
+  }
+
+  /**
+   * Closes the current entry and publishes all entries when the passed index precedes its end.
+   */
+  private void flush(int index) {
+    if (this.open) {
+      if (this.updated) {
+        this.entries.add(ListChange.Entry.updated(this.from, this.to));
+      } else {
+        this.entries.add(ListChange.Entry.replaced(this.from, this.to, this.removed));
+      }
+
+      this.open = false;
+    }
+
+    if (index < this.to) {
+      this.publish();
+    }
+  }
+}
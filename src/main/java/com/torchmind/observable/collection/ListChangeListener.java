@@ -0,0 +1,39 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Provides a base to listeners which wish to be notified of structural modifications to an
+ * observable list.</p>
+ *
+ * <p>Unlike change listeners, list change listeners receive a description of the modified ranges
+ * and are thus able to update derived state without inspecting the entire list.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@FunctionalInterface
+public interface ListChangeListener<E> {
+
+  /**
+   * Contains custom logic which is invoked when the list, to which this listener is attached, has
+   * been modified.
+   */
+  void onChange(@NonNull ObservableList<? extends E> list, @NonNull ListChange<? extends E> change);
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Provides a base to listeners which wish to be notified of modifications to an observable
+ * long array.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@FunctionalInterface
+public interface LongArrayChangeListener {
+
+  /**
+   * <p>Contains custom logic which is invoked when the elements within {@code [from, to)} of the
+   * array, to which this listener is attached, have been modified.</p>
+   *
+   * <p>The passed array contains the values which were previously located at
+   * {@code [from, from + removed.length)}. Its length differs from the length of the modified
+   * range only when the array has been resized. It is shared between all listeners and must thus
+   * not be modified.</p>
+   */
+  void onChange(@NonNull ObservableLongArray array, int from, int to, @NonNull long[] removed);
+}
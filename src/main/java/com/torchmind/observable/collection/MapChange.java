@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * <p>Describes a modification of the value which is associated with a single key within an
+ * observable map.</p>
+ *
+ * <p>Since maps permit null values, the presence of a previous or new value is indicated through
+ * {@link #wasRemoved()} and {@link #wasAdded()} respectively.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class MapChange<K, V> {
+
+  private final K key;
+  private final V removed;
+  private final V added;
+  private final boolean wasRemoved;
+  private final boolean wasAdded;
+
+  MapChange(K key, @Nullable V removed, @Nullable V added, boolean wasRemoved,
+      boolean wasAdded) {
+    this.key = key;
+    this.removed = removed;
+    this.added = added;
+    this.wasRemoved = wasRemoved;
+    this.wasAdded = wasAdded;
+  }
+
+  /**
+   * Retrieves the key whose value has been modified.
+   */
+  public K getKey() {
+    return this.key;
+  }
+
+  /**
+   * Retrieves the value which was previously associated with the key (if any).
+   */
+  @Nullable
+  public V getRemoved() {
+    return this.removed;
+  }
+
+  /**
+   * Retrieves the value which is now associated with the key (if any).
+   */
+  @Nullable
+  public V getAdded() {
+    return this.added;
+  }
+
+  /**
+   * Evaluates whether a value has been associated with the key.
+   */
+  public boolean wasAdded() {
+    return this.wasAdded;
+  }
+
+  /**
+   * Evaluates whether a previously associated value has been removed or replaced.
+   */
+  public boolean wasRemoved() {
+    return this.wasRemoved;
+  }
+
+  /**
+   * Evaluates whether a previously associated value has been replaced.
+   */
+  public boolean wasReplaced() {
+    return this.wasAdded && this.wasRemoved;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String toString() {
+    return "MapChange{" +
+        "key=" + this.key +
+        ", removed=" + this.removed +
+        ", added=" + this.added +
+        ", wasRemoved=" + this.wasRemoved +
+        ", wasAdded=" + this.wasAdded +
+        "}";
+  }
+}
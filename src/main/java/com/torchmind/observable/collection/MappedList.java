@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Function;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Provides a view which exposes the elements of its source list through a mapping
+ * function.</p>
+ *
+ * <p>Elements are mapped when they are accessed rather than stored. Changes of the source list
+ * are thus forwarded as is without any further processing. The mapping function should be cheap
+ * and free of side effects as it may be invoked repeatedly for the same element.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+final class MappedList<S, E> extends AbstractListView<S, E> {
+
+  private final Function<? super S, ? extends E> function;
+
+  MappedList(@NonNull ObservableList<S> source,
+      @NonNull Function<? super S, ? extends E> function) {
+    super(source);
+    this.function = function;
+    this.attach();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public E get(int index) {
+    return this.function.apply(this.source.get(index));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int size() {
+    return this.source.size();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  void onSourceChange(@NonNull ListChange<? extends S> change) {
+    List<ListChange.Entry<E>> entries = new ArrayList<>(change.getEntries().size());
+    change.getEntries().forEach((e) -> entries.add(e.map(this.function)));
+
+    ++this.modCount;
+    this.publishChange(new ListChange<>(entries));
+  }
+
+  /**
+   * Exposes the elements of a list through a mapping function.
+   */
+  static final class View<S, E> extends AbstractList<E> implements RandomAccess {
+
+    private final List<? extends S> list;
+    private final Function<? super S, ? extends E> function;
+
+    View(@NonNull List<? extends S> list, @NonNull Function<? super S, ? extends E> function) {
+      this.list = list;
+      this.function = function;
+    }
+
+    @Override
+    public E get(int index) {
+      return this.function.apply(this.list.get(index));
+    }
+
+    @Override
+    public int size() {
+      return this.list.size();
+    }
+  }
+}
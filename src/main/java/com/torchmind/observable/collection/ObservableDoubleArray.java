@@ -0,0 +1,145 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import com.torchmind.observable.ReadOnlyObservable;
+import com.torchmind.observable.listener.ReferenceMode;
+import com.torchmind.observable.listener.Subscription;
+import java.nio.DoubleBuffer;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Represents an array of primitive double values which notifies third parties of modifications
+ * to its elements.</p>
+ *
+ * <p>Modifications are published as ranges along with the values which have been replaced. Arrays
+ * act as observables which expose themselves as their value and may thus be used as a dependency
+ * of bindings.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public interface ObservableDoubleArray extends ReadOnlyObservable<ObservableDoubleArray> {
+
+  /**
+   * Returns this array.
+   */
+  @NonNull
+  @Override
+  default ObservableDoubleArray get() {
+    return this;
+  }
+
+  /**
+   * Retrieves the number of elements within this array.
+   */
+  int size();
+
+  /**
+   * Retrieves the element at the passed index.
+   *
+   * @throws IndexOutOfBoundsException when the index exceeds the bounds of this array.
+   */
+  double get(int index);
+
+  /**
+   * Replaces the element at the passed index.
+   *
+   * @throws IndexOutOfBoundsException when the index exceeds the bounds of this array.
+   */
+  void set(int index, double value);
+
+  /**
+   * <p>Replaces the contents of this array with the passed values.</p>
+   *
+   * <p>When the length of the passed array matches the size of this array, only the range of
+   * elements which actually differ is published. Otherwise, this array is resized and its entire
+   * contents are published as replaced.</p>
+   */
+  void setAll(@NonNull double[] values);
+
+  /**
+   * <p>Copies a range of elements from the passed array into this array.</p>
+   *
+   * <p>Only the smallest range which contains all elements which actually differ is
+   * published.</p>
+   *
+   * @throws IndexOutOfBoundsException when the range exceeds the bounds of either array.
+   */
+  void copyFrom(@NonNull double[] source, int sourceOffset, int destinationOffset, int length);
+
+  /**
+   * Copies a range of elements from this array into the passed array.
+   *
+   * @throws IndexOutOfBoundsException when the range exceeds the bounds of either array.
+   */
+  void copyTo(int sourceOffset, @NonNull double[] destination, int destinationOffset, int length);
+
+  /**
+   * Retrieves a copy of the elements within this array.
+   */
+  @NonNull
+  double[] toArray();
+
+  /**
+   * <p>Retrieves a read-only view of this array.</p>
+   *
+   * <p>The view shares its storage with this array and thus reflects all subsequent modifications
+   * without copying any elements. When the array is resized, however, previously retrieved views
+   * continue to reflect its old contents.</p>
+   */
+  @NonNull
+  DoubleBuffer view();
+
+  /**
+   * <p>Registers a new listener with this array which is invoked whenever its elements are
+   * modified.</p>
+   *
+   * <p>When the passed listener is already registered with this array at the time of the method
+   * call, the call will be ignored and cause no modification of the array state.</p>
+   */
+  default void registerListener(@NonNull DoubleArrayChangeListener listener) {
+    this.registerListener(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * Registers a new listener with this array which is retained according to the passed reference
+   * mode.
+   */
+  void registerListener(@NonNull DoubleArrayChangeListener listener, @NonNull ReferenceMode mode);
+
+  /**
+   * Removes a previously registered listener from this array.
+   */
+  void removeListener(@NonNull DoubleArrayChangeListener listener);
+
+  /**
+   * Registers a new listener with this array and returns a handle which removes exactly this
+   * registration when closed.
+   */
+  @NonNull
+  default Subscription subscribe(@NonNull DoubleArrayChangeListener listener) {
+    return this.subscribe(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * Registers a new listener with this array which is retained according to the passed reference
+   * mode and returns a handle which removes exactly this registration when closed.
+   */
+  @NonNull
+  Subscription subscribe(@NonNull DoubleArrayChangeListener listener, @NonNull ReferenceMode mode);
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import com.torchmind.observable.ReadOnlyObservable;
+import com.torchmind.observable.listener.ReferenceMode;
+import com.torchmind.observable.listener.Subscription;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * <p>Represents a list which notifies third parties of modifications to its contents.</p>
+ *
+ * <p>Structural modifications are published to {@link ListChangeListener list change listeners}
+ * as ranges. In addition, lists act as observables which expose themselves as their value and may
+ * thus be used as a dependency of bindings. Change listeners receive the list itself as their old
+ * and new value.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public interface ObservableList<E> extends List<E>, ReadOnlyObservable<List<E>> {
+
+  /**
+   * Returns this list.
+   */
+  @NonNull
+  @Override
+  default List<E> get() {
+    return this;
+  }
+
+  /**
+   * <p>Replaces the contents of this list with the passed elements (optional operation).</p>
+   *
+   * <p>Unlike a call to {@link #clear()} followed by {@link #addAll(Collection)}, this operation
+   * is published as a single replacement.</p>
+   *
+   * @return true if the list has been modified.
+   */
+  boolean setAll(@NonNull Collection<? extends E> elements);
+
+  /**
+   * <p>Notifies listeners of an in-place modification of the elements within the passed range
+   * (optional operation).</p>
+   *
+   * <p>This method is provided for lists of mutable elements whose state has been altered without
+   * replacing them.</p>
+   *
+   * @throws IndexOutOfBoundsException when the passed range exceeds the bounds of this list.
+   */
+  void update(int from, int to);
+
+  /**
+   * <p>Creates a read-only view which exposes all elements of this list which satisfy the passed
+   * predicate.</p>
+   *
+   * <p>The view is updated incrementally as this list changes. When one of the passed
+   * dependencies is invalidated, the predicate is re-evaluated for all elements while only the
+   * elements which have changed their state are published.</p>
+   */
+  @NonNull
+  default ObservableList<E> filtered(@NonNull Predicate<? super E> predicate,
+      @NonNull ReadOnlyObservable<?>... dependencies) {
+    return new FilteredList<>(this, predicate, dependencies);
+  }
+
+  /**
+   * <p>Creates a read-only view which exposes all elements of this list whose condition (as
+   * provided by the passed function) evaluates to true.</p>
+   *
+   * <p>The view observes the condition of every element individually. When a condition changes,
+   * only the respective element is re-evaluated.</p>
+   */
+  @NonNull
+  default ObservableList<E> filteredBy(
+      @NonNull Function<? super E, ? extends ReadOnlyObservable<Boolean>> condition) {
+    return new FilteredList<>(this, condition);
+  }
+
+  /**
+   * <p>Creates a read-only view which exposes all elements of this list in the order imposed by
+   * the passed comparator (or their natural order when null is passed).</p>
+   *
+   * <p>The view is updated incrementally as this list changes. Elements which are modified
+   * in-place (as indicated through {@link #update(int, int)}) are moved to their new position
+   * when necessary.</p>
+   */
+  @NonNull
+  default ObservableList<E> sorted(@Nullable Comparator<? super E> comparator) {
+    return new SortedList<>(this, comparator);
+  }
+
+  /**
+   * <p>Creates a read-only view which exposes all elements of this list through the passed
+   * function.</p>
+   *
+   * <p>Elements are mapped whenever they are accessed. As such, the passed function should be
+   * cheap and free of side effects.</p>
+   */
+  @NonNull
+  default <R> ObservableList<R> mapped(@NonNull Function<? super E, ? extends R> function) {
+    return new MappedList<>(this, function);
+  }
+
+  /**
+   * <p>Creates a read-only map which groups the elements of this list by the passed key function
+   * and exposes the aggregate of every group.</p>
+   *
+   * <p>The map is updated incrementally as this list changes: An element which joins or leaves
+   * this list only updates the aggregate of its own group. The key and contribution of every
+   * element are retained until it leaves again and groups without elements are removed.</p>
+   */
+  @NonNull
+  default <K, C, R> ObservableMap<K, R> groupBy(@NonNull Function<? super E, ? extends K> key,
+      @NonNull Aggregator<? super E, C, R> aggregator) {
+    return new GroupedMap<>(this, key, aggregator);
+  }
+
+  /**
+   * <p>Creates a read-only map which joins the elements of this list with the elements of the
+   * passed list through a hash index of their respective keys.</p>
+   *
+   * <p>Every key which is shared by elements of both lists is mapped to the result of the passed
+   * combiner which receives all matching elements of either side. When an element joins or
+   * leaves one of the lists, only the combination of its own key is re-computed. The collections
+   * which are passed to the combiner are only valid for the duration of the call.</p>
+   */
+  @NonNull
+  default <F, K, R> ObservableMap<K, R> join(@NonNull ObservableList<F> other,
+      @NonNull Function<? super E, ? extends K> key,
+      @NonNull Function<? super F, ? extends K> otherKey,
+      @NonNull BiFunction<? super Collection<E>, ? super Collection<F>, ? extends R> combiner) {
+    return new JoinedMap<>(this, other, key, otherKey, combiner);
+  }
+
+  /**
+   * <p>Registers a new listener with this list which is invoked whenever its contents are
+   * modified.</p>
+   *
+   * <p>When the passed listener is already registered with this list at the time of the method
+   * call, the call will be ignored and cause no modification of the list state.</p>
+   */
+  default void registerListener(@NonNull ListChangeListener<? super E> listener) {
+    this.registerListener(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * Registers a new listener with this list which is retained according to the passed reference
+   * mode.
+   */
+  void registerListener(@NonNull ListChangeListener<? super E> listener,
+      @NonNull ReferenceMode mode);
+
+  /**
+   * Removes a previously registered listener from this list.
+   */
+  void removeListener(@NonNull ListChangeListener<? super E> listener);
+
+  /**
+   * Registers a new listener with this list and returns a handle which removes exactly this
+   * registration when closed.
+   */
+  @NonNull
+  default Subscription subscribe(@NonNull ListChangeListener<? super E> listener) {
+    return this.subscribe(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * Registers a new listener with this list which is retained according to the passed reference
+   * mode and returns a handle which removes exactly this registration when closed.
+   */
+  @NonNull
+  Subscription subscribe(@NonNull ListChangeListener<? super E> listener,
+      @NonNull ReferenceMode mode);
+}
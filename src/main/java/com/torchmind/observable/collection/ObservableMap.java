@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import com.torchmind.observable.ReadOnlyObservable;
+import com.torchmind.observable.listener.ReferenceMode;
+import com.torchmind.observable.listener.Subscription;
+import java.util.Map;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Represents a map which notifies third parties of modifications to its values.</p>
+ *
+ * <p>Listeners may either observe the entire map or a single key. Listeners of a key are located
+ * through a hash index when a value is modified and are thus notified in constant time regardless
+ * of the amount of keys within the map or the amount of keys which are observed.</p>
+ *
+ * <p>In addition, maps act as observables which expose themselves as their value and may thus be
+ * used as a dependency of bindings. Change listeners receive the map itself as their old and new
+ * value.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public interface ObservableMap<K, V> extends Map<K, V>, ReadOnlyObservable<Map<K, V>> {
+
+  /**
+   * Returns this map.
+   */
+  @NonNull
+  @Override
+  default Map<K, V> get() {
+    return this;
+  }
+
+  /**
+   * <p>Registers a new listener with this map which is invoked whenever a value is modified.</p>
+   *
+   * <p>When the passed listener is already registered with this map at the time of the method
+   * call, the call will be ignored and cause no modification of the map state.</p>
+   */
+  default void registerListener(@NonNull MapChangeListener<? super K, ? super V> listener) {
+    this.registerListener(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * Registers a new listener with this map which is retained according to the passed reference
+   * mode.
+   */
+  void registerListener(@NonNull MapChangeListener<? super K, ? super V> listener,
+      @NonNull ReferenceMode mode);
+
+  /**
+   * Removes a previously registered listener from this map.
+   */
+  void removeListener(@NonNull MapChangeListener<? super K, ? super V> listener);
+
+  /**
+   * Registers a new listener with this map and returns a handle which removes exactly this
+   * registration when closed.
+   */
+  @NonNull
+  default Subscription subscribe(@NonNull MapChangeListener<? super K, ? super V> listener) {
+    return this.subscribe(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * Registers a new listener with this map which is retained according to the passed reference
+   * mode and returns a handle which removes exactly this registration when closed.
+   */
+  @NonNull
+  Subscription subscribe(@NonNull MapChangeListener<? super K, ? super V> listener,
+      @NonNull ReferenceMode mode);
+
+  /**
+   * <p>Registers a new listener with this map which is invoked whenever the value of the passed
+   * key is modified.</p>
+   *
+   * <p>When the passed listener is already registered with the passed key at the time of the
+   * method call, the call will be ignored and cause no modification of the map state.</p>
+   */
+  default void registerKeyListener(K key,
+      @NonNull MapChangeListener<? super K, ? super V> listener) {
+    this.registerKeyListener(key, listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * Registers a new listener with the passed key which is retained according to the passed
+   * reference mode.
+   */
+  void registerKeyListener(K key, @NonNull MapChangeListener<? super K, ? super V> listener,
+      @NonNull ReferenceMode mode);
+
+  /**
+   * Removes a previously registered listener from the passed key.
+   */
+  void removeKeyListener(K key, @NonNull MapChangeListener<? super K, ? super V> listener);
+
+  /**
+   * Registers a new listener with the passed key and returns a handle which removes exactly this
+   * registration when closed.
+   */
+  @NonNull
+  default Subscription subscribeKey(K key,
+      @NonNull MapChangeListener<? super K, ? super V> listener) {
+    return this.subscribeKey(key, listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * Registers a new listener with the passed key which is retained according to the passed
+   * reference mode and returns a handle which removes exactly this registration when closed.
+   */
+  @NonNull
+  Subscription subscribeKey(K key, @NonNull MapChangeListener<? super K, ? super V> listener,
+      @NonNull ReferenceMode mode);
+}
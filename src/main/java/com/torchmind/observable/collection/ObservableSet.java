@@ -0,0 +1,167 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import com.torchmind.observable.ReadOnlyObservable;
+import com.torchmind.observable.listener.ReferenceMode;
+import com.torchmind.observable.listener.Subscription;
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Represents a set which notifies third parties of elements which are added or removed.</p>
+ *
+ * <p>Listeners may either observe the entire set or a single element. Listeners of an element
+ * are located through a hash index and are thus notified in constant time regardless of the
+ * amount of elements within the set or the amount of elements which are observed. Bulk
+ * operations notify the listeners of the set once while the listeners of each affected element
+ * receive a change which solely describes their element.</p>
+ *
+ * <p>In addition, sets act as observables which expose themselves as their value and may thus be
+ * used as a dependency of bindings. Change listeners receive the set itself as their old and new
+ * value.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public interface ObservableSet<E> extends Set<E>, ReadOnlyObservable<Set<E>> {
+
+  /**
+   * Returns this set.
+   */
+  @NonNull
+  @Override
+  default Set<E> get() {
+    return this;
+  }
+
+  /**
+   * <p>Creates a read-only map which groups the elements of this set by the passed key function
+   * and exposes the aggregate of every group.</p>
+   *
+   * <p>The map is updated incrementally as this set changes: An element which joins or leaves
+   * this set only updates the aggregate of its own group. The key and contribution of every
+   * element are retained until it leaves again and groups without elements are removed.</p>
+   */
+  @NonNull
+  default <K, C, R> ObservableMap<K, R> groupBy(@NonNull Function<? super E, ? extends K> key,
+      @NonNull Aggregator<? super E, C, R> aggregator) {
+    return new GroupedMap<>(this, key, aggregator);
+  }
+
+  /**
+   * <p>Creates a read-only map which joins the elements of this set with the elements of the
+   * passed set through a hash index of their respective keys.</p>
+   *
+   * <p>Every key which is shared by elements of both sets is mapped to the result of the passed
+   * combiner which receives all matching elements of either side. When an element joins or
+   * leaves one of the sets, only the combination of its own key is re-computed. The collections
+   * which are passed to the combiner are only valid for the duration of the call.</p>
+   */
+  @NonNull
+  default <F, K, R> ObservableMap<K, R> join(@NonNull ObservableSet<F> other,
+      @NonNull Function<? super E, ? extends K> key,
+      @NonNull Function<? super F, ? extends K> otherKey,
+      @NonNull BiFunction<? super Collection<E>, ? super Collection<F>, ? extends R> combiner) {
+    return new JoinedMap<>(this, other, key, otherKey, combiner);
+  }
+
+  /**
+   * <p>Registers a new listener with this set which is invoked whenever elements are added or
+   * removed.</p>
+   *
+   * <p>When the passed listener is already registered with this set at the time of the method
+   * call, the call will be ignored and cause no modification of the set state.</p>
+   */
+  default void registerListener(@NonNull SetChangeListener<? super E> listener) {
+    this.registerListener(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * Registers a new listener with this set which is retained according to the passed reference
+   * mode.
+   */
+  void registerListener(@NonNull SetChangeListener<? super E> listener,
+      @NonNull ReferenceMode mode);
+
+  /**
+   * Removes a previously registered listener from this set.
+   */
+  void removeListener(@NonNull SetChangeListener<? super E> listener);
+
+  /**
+   * Registers a new listener with this set and returns a handle which removes exactly this
+   * registration when closed.
+   */
+  @NonNull
+  default Subscription subscribe(@NonNull SetChangeListener<? super E> listener) {
+    return this.subscribe(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * Registers a new listener with this set which is retained according to the passed reference
+   * mode and returns a handle which removes exactly this registration when closed.
+   */
+  @NonNull
+  Subscription subscribe(@NonNull SetChangeListener<? super E> listener,
+      @NonNull ReferenceMode mode);
+
+  /**
+   * <p>Registers a new listener with this set which is invoked whenever the passed element is
+   * added or removed.</p>
+   *
+   * <p>When the passed listener is already registered with the passed element at the time of the
+   * method call, the call will be ignored and cause no modification of the set state.</p>
+   */
+  default void registerElementListener(E element,
+      @NonNull SetChangeListener<? super E> listener) {
+    this.registerElementListener(element, listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * Registers a new listener with the passed element which is retained according to the passed
+   * reference mode.
+   */
+  void registerElementListener(E element, @NonNull SetChangeListener<? super E> listener,
+      @NonNull ReferenceMode mode);
+
+  /**
+   * Removes a previously registered listener from the passed element.
+   */
+  void removeElementListener(E element, @NonNull SetChangeListener<? super E> listener);
+
+  /**
+   * Registers a new listener with the passed element and returns a handle which removes exactly
+   * this registration when closed.
+   */
+  @NonNull
+  default Subscription subscribeElement(E element,
+      @NonNull SetChangeListener<? super E> listener) {
+    return this.subscribeElement(element, listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * Registers a new listener with the passed element which is retained according to the passed
+   * reference mode and returns a handle which removes exactly this registration when closed.
+   */
+  @NonNull
+  Subscription subscribeElement(E element, @NonNull SetChangeListener<? super E> listener,
+      @NonNull ReferenceMode mode);
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import java.util.Collection;
+import java.util.Collections;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Describes the elements which have been added to or removed from an observable set as part of
+ * a single operation.</p>
+ *
+ * <p>Bulk operations (such as {@link java.util.Set#addAll(Collection)} or
+ * {@link java.util.Set#retainAll(Collection)}) are described by a single change which contains
+ * all elements which have actually been added or removed. Elements which were already present (or
+ * absent) are not part of the change.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class SetChange<E> {
+
+  private final Collection<E> added;
+  private final Collection<E> removed;
+
+  SetChange(@NonNull Collection<E> added, @NonNull Collection<E> removed) {
+    this.added = Collections.unmodifiableCollection(added);
+    this.removed = Collections.unmodifiableCollection(removed);
+  }
+
+  /**
+   * Retrieves the elements which have been added to the set.
+   */
+  @NonNull
+  public Collection<E> getAdded() {
+    return this.added;
+  }
+
+  /**
+   * Retrieves the elements which have been removed from the set.
+   */
+  @NonNull
+  public Collection<E> getRemoved() {
+    return this.removed;
+  }
+
+  /**
+   * Evaluates whether at least one element has been added to the set.
+   */
+  public boolean wasAdded() {
+    return !this.added.isEmpty();
+  }
+
+  /**
+   * Evaluates whether at least one element has been removed from the set.
+   */
+  public boolean wasRemoved() {
+    return !this.removed.isEmpty();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String toString() {
+    return "SetChange{" +
+        "added=" + this.added +
+        ", removed=" + this.removed +
+        "}";
+  }
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * <p>Provides an observable list which is backed by an array.</p>
+ *
+ * <p>Every modification is published as exactly one change. Bulk operations such as
+ * {@link #addAll(Collection)}, {@link #removeIf(Predicate)} or {@link #sort(Comparator)} are thus
+ * reported as a single change which describes all affected ranges.</p>
+ *
+ * <p>Note that this implementation is not thread-safe.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class SimpleObservableList<E> extends AbstractObservableList<E> implements RandomAccess {
+
+  private ArrayList<E> elements;
+
+  public SimpleObservableList() {
+    this.elements = new ArrayList<>();
+  }
+
+  public SimpleObservableList(@NonNull Collection<? extends E> elements) {
+    this.elements = new ArrayList<>(elements);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public E get(int index) {
+    return this.elements.get(index);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int size() {
+    return this.elements.size();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public E set(int index, E element) {
+    E previous = this.elements.set(index, element);
+    this.publishChange(ListChange.of(
+        ListChange.Entry.replaced(index, index + 1, Collections.singletonList(previous))));
+    return previous;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void add(int index, E element) {
+    this.elements.add(index, element);
+    ++this.modCount;
+    this.publishChange(ListChange.of(ListChange.Entry.added(index, index + 1)));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean addAll(@NonNull Collection<? extends E> c) {
+    return this.addAll(this.elements.size(), c);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean addAll(int index, @NonNull Collection<? extends E> c) {
+    int size = this.elements.size();
+    if (!this.elements.addAll(index, c)) {
+      return false;
+    }
+
+    ++this.modCount;
+    this.publishChange(ListChange.of(
+        ListChange.Entry.added(index, index + this.elements.size() - size)));
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public E remove(int index) {
+    E previous = this.elements.remove(index);
+    ++this.modCount;
+    this.publishChange(
+        ListChange.of(ListChange.Entry.removed(index, Collections.singletonList(previous))));
+    return previous;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void removeRange(int fromIndex, int toIndex) {
+    if (fromIndex >= toIndex) {
+      return;
+    }
+
+    List<E> range = this.elements.subList(fromIndex, toIndex);
+    List<E> removed = new ArrayList<>(range);
+    range.clear();
+    ++this.modCount;
+    this.publishChange(ListChange.of(ListChange.Entry.removed(fromIndex, removed)));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void clear() {
+    if (this.elements.isEmpty()) {
+      return;
+    }
+
+    // the backing array is handed to the listeners as is and thus does not need to be copied
+    List<E> removed = this.elements;
+    this.elements = new ArrayList<>();
+    ++this.modCount;
+    this.publishChange(ListChange.of(ListChange.Entry.removed(0, removed)));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean setAll(@NonNull Collection<? extends E> elements) {
+    ArrayList<E> replacement = new ArrayList<>(elements);
+    if (this.elements.isEmpty() && replacement.isEmpty()) {
+      return false;
+    }
+
+    List<E> removed = this.elements;
+    this.elements = replacement;
+    ++this.modCount;
+    this.publishChange(
+        ListChange.of(ListChange.Entry.replaced(0, replacement.size(), removed)));
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean removeIf(@NonNull Predicate<? super E> filter) {
+    Objects.requireNonNull(filter, "filter");
+
+    // the filter is evaluated for all elements before modifying the list in order to leave it
+    // untouched when the filter fails
+    int size = this.elements.size();
+    BitSet matches = new BitSet(size);
+    for (int i = 0; i < size; ++i) {
+      if (filter.test(this.elements.get(i))) {
+        matches.set(i);
+      }
+    }
+    if (matches.isEmpty()) {
+      return false;
+    }
+
+    // compacts the array in place while recording every removed run as a separate entry
+    List<ListChange.Entry<E>> entries = new ArrayList<>();
+    List<E> run = null;
+    int target = 0;
+    for (int i = 0; i < size; ++i) {
+      E element = this.elements.get(i);
+
+      if (matches.get(i)) {
+        if (run == null) {
+          run = new ArrayList<>();
+          entries.add(ListChange.Entry.removed(target, run));
+        }
+
+        run.add(element);
+        continue;
+      }
+
+      run = null;
+      this.elements.set(target++, element);
+    }
+
+    this.elements.subList(target, size).clear();
+    ++this.modCount;
+    this.publishChange(new ListChange<>(entries));
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean removeAll(@NonNull Collection<?> c) {
+    Objects.requireNonNull(c, "c");
+    return this.removeIf(c::contains);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean retainAll(@NonNull Collection<?> c) {
+    Objects.requireNonNull(c, "c");
+    return this.removeIf((e) -> !c.contains(e));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void replaceAll(@NonNull UnaryOperator<E> operator) {
+    Objects.requireNonNull(operator, "operator");
+
+    int size = this.elements.size();
+    if (size == 0) {
+      return;
+    }
+
+    List<E> removed = new ArrayList<>(this.elements);
+    for (int i = 0; i < size; ++i) {
+      this.elements.set(i, operator.apply(removed.get(i)));
+    }
+
+    this.publishChange(ListChange.of(ListChange.Entry.replaced(0, size, removed)));
+  }
+
+  /**
+   * <p>Sorts this list according to the passed comparator.</p>
+   *
+   * <p>The sort is stable and published as a permutation of the smallest range which contains
+   * all elements which have changed their position.</p>
+   */
+  @Override
+  public void sort(@Nullable Comparator<? super E> c) {
+    int size = this.elements.size();
+
+    // sorts the indices rather than the elements in order to derive the permutation
+    Integer[] order = new Integer[size];
+    for (int i = 0; i < size; ++i) {
+      order[i] = i;
+    }
+
+    @SuppressWarnings("unchecked")
+    Comparator<? super E> comparator =
+        c != null ? c : (a, b) -> ((Comparable<? super E>) a).compareTo(b);
+    Arrays.sort(order,
+        (a, b) -> comparator.compare(this.elements.get(a), this.elements.get(b)));
+
+    int from = 0;
+    while (from < size && order[from] == from) {
+      ++from;
+    }
+    if (from == size) {
+      return;
+    }
+
+    int to = size;
+    while (order[to - 1] == to - 1) {
+      --to;
+    }
+
+    List<E> previous = new ArrayList<>(this.elements.subList(from, to));
+    int[] permutation = new int[to - from];
+    for (int i = from; i < to; ++i) {
+      this.elements.set(i, previous.get(order[i] - from));
+      permutation[order[i] - from] = i;
+    }
+
+    ++this.modCount;
+    this.publishChange(ListChange.of(ListChange.Entry.permuted(from, to, permutation)));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void update(int from, int to) {
+    if (from < 0 || to > this.elements.size() || from > to) {
+      throw new IndexOutOfBoundsException(
+          "Range [" + from + ", " + to + ") exceeds list of size " + this.elements.size());
+    }
+    if (from == to) {
+      return;
+    }
+
+    this.publishChange(ListChange.of(ListChange.Entry.updated(from, to)));
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Provides an observable array which stores its elements within a primitive long array.</p>
+ *
+ * <p>Note that this implementation is not thread-safe.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class SimpleObservableLongArray extends
+    AbstractObservableArray<ObservableLongArray, LongArrayChangeListener> implements
+    ObservableLongArray {
+
+  private long[] elements;
+
+  public SimpleObservableLongArray(int size) {
+    this.elements = new long[size];
+  }
+
+  public SimpleObservableLongArray(@NonNull long[] values) {
+    this.elements = values.clone();
+  }
+
+  /**
+   * Publishes a change to all listeners which are currently registered with this array.
+   */
+  protected void publishChange(int from, int to, @NonNull long[] removed) {
+    this.publishChange(this, (l) -> l.onChange(this, from, to, removed));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int size() {
+    return this.elements.length;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long get(int index) {
+    return this.elements[index];
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void set(int index, long value) {
+    long previous = this.elements[index];
+    if (previous == value) {
+      return;
+    }
+
+    this.elements[index] = value;
+    this.publishChange(index, index + 1, new long[]{previous});
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void setAll(@NonNull long[] values) {
+    if (values.length == this.elements.length) {
+      this.copyFrom(values, 0, 0, values.length);
+      return;
+    }
+
+    // the previous array is handed to the listeners as is and thus does not need to be copied
+    long[] previous = this.elements;
+    this.elements = values.clone();
+    this.publishChange(0, this.elements.length, previous);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void copyFrom(@NonNull long[] source, int sourceOffset, int destinationOffset,
+      int length) {
+    checkRange(sourceOffset, length, source.length);
+    checkRange(destinationOffset, length, this.elements.length);
+
+    if (!this.hasListeners()) {
+      System.arraycopy(source, sourceOffset, this.elements, destinationOffset, length);
+      return;
+    }
+
+    // narrows the published range to the elements which actually differ
+    int first = 0;
+    while (first < length
+        && this.elements[destinationOffset + first] == source[sourceOffset + first]) {
+      ++first;
+    }
+    if (first == length) {
+      return;
+    }
+
+    int last = length;
+    while (this.elements[destinationOffset + last - 1] == source[sourceOffset + last - 1]) {
+      --last;
+    }
+
+    int from = destinationOffset + first;
+    int to = destinationOffset + last;
+    long[] removed = Arrays.copyOfRange(this.elements, from, to);
+    System.arraycopy(source, sourceOffset + first, this.elements, from, to - from);
+    this.publishChange(from, to, removed);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void copyTo(int sourceOffset, @NonNull long[] destination, int destinationOffset,
+      int length) {
+    checkRange(sourceOffset, length, this.elements.length);
+    checkRange(destinationOffset, length, destination.length);
+
+    System.arraycopy(this.elements, sourceOffset, destination, destinationOffset, length);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public long[] toArray() {
+    return this.elements.clone();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public LongBuffer view() {
+    return LongBuffer.wrap(this.elements).asReadOnlyBuffer();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String toString() {
+    return "SimpleObservableLongArray{elements=" + Arrays.toString(this.elements) + "}";
+  }
+}
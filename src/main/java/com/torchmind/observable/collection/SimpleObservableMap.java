@@ -0,0 +1,40 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import java.util.HashMap;
+import java.util.Map;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Provides an observable map which is backed by a hash table.</p>
+ *
+ * <p>Note that this implementation is not thread-safe.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class SimpleObservableMap<K, V> extends AbstractObservableMap<K, V> {
+
+  public SimpleObservableMap() {
+    super(new HashMap<>(), new HashMap<>());
+  }
+
+  public SimpleObservableMap(@NonNull Map<? extends K, ? extends V> elements) {
+    super(new HashMap<>(elements), new HashMap<>());
+  }
+}
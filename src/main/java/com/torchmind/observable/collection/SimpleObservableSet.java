@@ -0,0 +1,491 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * <p>Provides an observable set which is backed by an open addressing hash table.</p>
+ *
+ * <p>Elements are stored directly within a single array and collisions are resolved through
+ * linear probing. Removals shift the subsequent elements of a cluster back into place rather than
+ * leaving tombstones behind. As such, lookups never degrade as elements are added and removed
+ * over time. The table is resized whenever it becomes more than half full.</p>
+ *
+ * <p>Bulk operations (such as {@link #addAll(Collection)}, {@link #removeAll(Collection)} or
+ * {@link #retainAll(Collection)}) are published as a single change. Element listeners are only
+ * notified when their respective element has actually been added or removed.</p>
+ *
+ * <p>Note that this implementation is not thread-safe.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class SimpleObservableSet<E> extends AbstractObservableSet<E> {
+
+  private static final int DEFAULT_CAPACITY = 16;
+  private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+  /**
+   * Represents null elements within the table (where null denotes a free slot).
+   */
+  private static final Object NULL = new Object();
+
+  private Object[] table;
+  private int size;
+  private int modCount;
+
+  public SimpleObservableSet() {
+    this.table = new Object[DEFAULT_CAPACITY];
+  }
+
+  public SimpleObservableSet(@NonNull Collection<? extends E> elements) {
+    this();
+
+    this.reserve(elements.size());
+    elements.forEach((e) -> this.insert(mask(e)));
+  }
+
+  @NonNull
+  private static Object mask(@Nullable Object element) {
+    return element == null ? NULL : element;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <E> E unmask(@NonNull Object element) {
+    return element == NULL ? null : (E) element;
+  }
+
+  /**
+   * Computes the preferred slot of the passed (masked) element.
+   */
+  private int slot(@NonNull Object element) {
+    // spreads the hash as linear probing is sensitive to clustered hash codes
+    int hash = element.hashCode() * 0x9E3779B9;
+    return (hash ^ (hash >>> 16)) & (this.table.length - 1);
+  }
+
+  /**
+   * Locates the slot which contains the passed (masked) element.
+   *
+   * @return a slot or -1 if the element is not part of this set.
+   */
+  private int find(@NonNull Object element) {
+    Object[] table = this.table;
+    int mask = table.length - 1;
+
+    for (int i = this.slot(element); ; i = (i + 1) & mask) {
+      Object current = table[i];
+
+      if (current == null) {
+        return -1;
+      }
+      if (current == element || current.equals(element)) {
+        return i;
+      }
+    }
+  }
+
+  /**
+   * Inserts the passed (masked) element unless it is already present.
+   *
+   * @return true if the element has been added.
+   */
+  private boolean insert(@NonNull Object element) {
+    Object[] table = this.table;
+    int mask = table.length - 1;
+    int i = this.slot(element);
+
+    for (Object current; (current = table[i]) != null; i = (i + 1) & mask) {
+      if (current == element || current.equals(element)) {
+        return false;
+      }
+    }
+
+    table[i] = element;
+    ++this.modCount;
+
+    if (++this.size > table.length >>> 1 && table.length < MAXIMUM_CAPACITY) {
+      this.resize(table.length << 1);
+    }
+
+    return true;
+  }
+
+  /**
+   * Removes the element within the passed slot.
+   */
+  private void delete(int slot, @Nullable Consumer<Object> wrapped) {
+    --this.size;
+    ++this.modCount;
+
+    this.shift(slot, wrapped);
+  }
+
+  /**
+   * <p>Frees the passed slot by shifting the subsequent elements of its cluster back towards
+   * their preferred slots.</p>
+   *
+   * <p>Elements which are moved from the beginning of the table to its end are passed to the
+   * supplied consumer (if any) as iterators would otherwise skip them.</p>
+   */
+  private void shift(int last, @Nullable Consumer<Object> wrapped) {
+    Object[] table = this.table;
+    int mask = table.length - 1;
+
+    for (; ; ) {
+      int i = (last + 1) & mask;
+      Object current;
+
+      for (; ; ) {
+        if ((current = table[i]) == null) {
+          table[last] = null;
+          return;
+        }
+
+        // elements may only be moved when their preferred slot lies outside of (last, i]
+        int slot = this.slot(current);
+        if (last <= i ? last >= slot || slot > i : last >= slot && slot > i) {
+          break;
+        }
+
+        i = (i + 1) & mask;
+      }
+
+      if (i < last && wrapped != null) {
+        wrapped.accept(current);
+      }
+
+      table[last] = current;
+      last = i;
+    }
+  }
+
+  /**
+   * Ensures that the table is capable of holding the passed amount of elements without being
+   * resized.
+   */
+  private void reserve(int expected) {
+    int capacity = this.table.length;
+
+    while (capacity >>> 1 < expected && capacity < MAXIMUM_CAPACITY) {
+      capacity <<= 1;
+    }
+
+    if (capacity != this.table.length) {
+      this.resize(capacity);
+    }
+  }
+
+  /**
+   * Re-distributes all elements within a new table of the passed capacity.
+   */
+  private void resize(int capacity) {
+    Object[] previous = this.table;
+    Object[] table = new Object[capacity];
+    int mask = capacity - 1;
+    this.table = table;
+
+    for (Object element : previous) {
+      if (element == null) {
+        continue;
+      }
+
+      int i = this.slot(element);
+      while (table[i] != null) {
+        i = (i + 1) & mask;
+      }
+
+      table[i] = element;
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean contains(Object o) {
+    return this.find(mask(o)) != -1;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean add(E e) {
+    if (!this.insert(mask(e))) {
+      return false;
+    }
+
+    if (this.hasListeners()) {
+      this.publishChange(Collections.singletonList(e), Collections.emptyList());
+    }
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean remove(Object o) {
+    int slot = this.find(mask(o));
+    if (slot == -1) {
+      return false;
+    }
+
+    E element = unmask(this.table[slot]);
+    this.delete(slot, null);
+
+    if (this.hasListeners()) {
+      this.publishChange(Collections.emptyList(), Collections.singletonList(element));
+    }
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean addAll(@NonNull Collection<? extends E> c) {
+    this.reserve(this.size + c.size());
+
+    List<E> added = this.hasListeners() ? new ArrayList<>() : null;
+    boolean modified = false;
+
+    for (E element : c) {
+      if (this.insert(mask(element))) {
+        modified = true;
+
+        if (added != null) {
+          added.add(element);
+        }
+      }
+    }
+
+    if (added != null) {
+      this.publishChange(added, Collections.emptyList());
+    }
+    return modified;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean removeAll(@NonNull Collection<?> c) {
+    Objects.requireNonNull(c);
+
+    // small collections are cheaper to look up within this set than vice versa
+    if (c.size() >= this.size) {
+      return this.removeIf(c::contains);
+    }
+
+    List<E> removed = this.hasListeners() ? new ArrayList<>() : null;
+    boolean modified = false;
+
+    for (Object element : c) {
+      int slot = this.find(mask(element));
+
+      if (slot != -1) {
+        if (removed != null) {
+          removed.add(unmask(this.table[slot]));
+        }
+
+        this.delete(slot, null);
+        modified = true;
+      }
+    }
+
+    if (removed != null) {
+      this.publishChange(Collections.emptyList(), removed);
+    }
+    return modified;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean retainAll(@NonNull Collection<?> c) {
+    Objects.requireNonNull(c);
+    return this.removeIf((e) -> !c.contains(e));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean removeIf(@NonNull Predicate<? super E> filter) {
+    // matching elements are located before the table is modified as removals relocate elements
+    List<Object> matches = new ArrayList<>();
+    for (Object element : this.table) {
+      if (element != null && filter.test(unmask(element))) {
+        matches.add(element);
+      }
+    }
+
+    if (matches.isEmpty()) {
+      return false;
+    }
+
+    List<E> removed = new ArrayList<>(matches.size());
+    for (Object element : matches) {
+      this.delete(this.find(element), null);
+      removed.add(unmask(element));
+    }
+
+    this.publishChange(Collections.emptyList(), removed);
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void clear() {
+    if (this.size == 0) {
+      return;
+    }
+
+    List<E> removed = Collections.emptyList();
+    if (this.hasListeners()) {
+      removed = new ArrayList<>(this.size);
+
+      for (Object element : this.table) {
+        if (element != null) {
+          removed.add(unmask(element));
+        }
+      }
+    }
+
+    this.table = new Object[DEFAULT_CAPACITY];
+    this.size = 0;
+    ++this.modCount;
+
+    this.publishChange(Collections.emptyList(), removed);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Iterator<E> iterator() {
+    return new Cursor();
+  }
+
+  /**
+   * <p>Iterates over the table from its end towards its beginning.</p>
+   *
+   * <p>Removing an element through the iterator shifts subsequent elements of the same cluster
+   * into slots which have already been visited. Elements which originate from the beginning of
+   * the table (e.g. clusters which wrap around the end of the table) have not been visited yet
+   * and are thus remembered and returned once the remaining table has been traversed.</p>
+   */
+  private final class Cursor implements Iterator<E> {
+
+    private int index = SimpleObservableSet.this.table.length;
+    private int remaining = SimpleObservableSet.this.size;
+    private int expectedModCount = SimpleObservableSet.this.modCount;
+    private int last = -1;
+    private Object current;
+    private List<Object> wrapped;
+
+    @Override
+    public boolean hasNext() {
+      return this.remaining != 0;
+    }
+
+    @Override
+    public E next() {
+      this.checkModification();
+
+      if (this.remaining == 0) {
+        throw new NoSuchElementException();
+      }
+      --this.remaining;
+
+      Object[] table = SimpleObservableSet.this.table;
+      while (--this.index >= 0) {
+        if (table[this.index] != null) {
+          this.last = this.index;
+          this.current = table[this.index];
+          return unmask(this.current);
+        }
+      }
+
+      this.index = -1;
+      this.last = -1;
+      this.current = this.wrapped.remove(this.wrapped.size() - 1);
+      return unmask(this.current);
+    }
+
+    @Override
+    public void remove() {
+      if (this.current == null) {
+        throw new IllegalStateException();
+      }
+      this.checkModification();
+
+      SimpleObservableSet<E> set = SimpleObservableSet.this;
+      if (this.last != -1) {
+        set.delete(this.last, (e) -> {
+          if (this.wrapped == null) {
+            this.wrapped = new ArrayList<>(2);
+          }
+
+          this.wrapped.add(e);
+        });
+      } else {
+        set.delete(set.find(this.current), null);
+      }
+
+      E element = unmask(this.current);
+      this.current = null;
+      this.expectedModCount = set.modCount;
+
+      if (set.hasListeners()) {
+        set.publishChange(Collections.emptyList(), Collections.singletonList(element));
+      }
+    }
+
+    private void checkModification() {
+      if (this.expectedModCount != SimpleObservableSet.this.modCount) {
+        throw new ConcurrentModificationException();
+      }
+    }
+  }
+}
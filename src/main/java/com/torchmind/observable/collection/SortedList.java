@@ -0,0 +1,265 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * <p>Provides a view which exposes the elements of its source list in the order imposed by a
+ * comparator.</p>
+ *
+ * <p>Elements are kept within two indexed trees which are ordered by the source list and the
+ * comparator respectively and reference each other. Insertions and removals within the source
+ * list are thus applied in logarithmic time. Elements which compare equal are kept in the order
+ * in which they have been added to the view.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+final class SortedList<E> extends AbstractListView<E, E> {
+
+  private final IndexedTree<Item<E>> sourceTree = new IndexedTree<>();
+  private final IndexedTree<Item<E>> sortedTree = new IndexedTree<>();
+  private final Comparator<? super E> comparator;
+
+  @SuppressWarnings("unchecked")
+  SortedList(@NonNull ObservableList<E> source, @Nullable Comparator<? super E> comparator) {
+    super(source);
+    this.comparator =
+        comparator != null ? comparator : (a, b) -> ((Comparable<? super E>) a).compareTo(b);
+
+    List<Item<E>> items = new ArrayList<>(source.size());
+    for (E element : source) {
+      Item<E> item = new Item<>(element);
+      item.sourceNode = this.sourceTree.insert(items.size(), item, false);
+      items.add(item);
+    }
+
+    items.sort((a, b) -> this.comparator.compare(a.element, b.element));
+    for (Item<E> item : items) {
+      item.sortedNode = this.sortedTree.insert(this.sortedTree.size(), item, false);
+    }
+
+    this.attach();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public E get(int index) {
+    if (index < 0 || index >= this.sortedTree.size()) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.sortedTree.size());
+    }
+
+    return this.sortedTree.get(index).value.element;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int size() {
+    return this.sortedTree.size();
+  }
+
+  /**
+   * <p>{@inheritDoc}</p>
+   *
+   * <p>The source tree is updated entry by entry while this view is updated once all entries
+   * have been applied: Removed (and displaced) elements are removed in the order of their
+   * position within this view before added (and displaced) elements are inserted in the order
+   * imposed by the comparator. Most changes are thus published as a single change.</p>
+   */
+  @Override
+  void onSourceChange(@NonNull ListChange<? extends E> change) {
+    List<Item<E>> removed = new ArrayList<>();
+    List<Item<E>> added = new ArrayList<>();
+    Set<Item<E>> updated = new LinkedHashSet<>();
+
+    for (ListChange.Entry<? extends E> entry : change.getEntries()) {
+      int from = entry.getFrom();
+      int to = entry.getTo();
+
+      if (entry.wasPermuted()) {
+        // the order of this view does not depend on the order of the source list
+        List<Item<E>> items = new ArrayList<>(to - from);
+        for (int i = from; i < to; ++i) {
+          items.add(this.sourceTree.get(i).value);
+        }
+
+        for (int i = 0; i < items.size(); ++i) {
+          IndexedTree.Node<Item<E>> node = this.sourceTree.get(entry.getPermutation(from + i));
+          node.value = items.get(i);
+          node.value.sourceNode = node;
+        }
+      } else if (entry.wasUpdated()) {
+        for (int i = from; i < to; ++i) {
+          Item<E> item = this.sourceTree.get(i).value;
+
+          if (item.sortedNode != null) {
+            updated.add(item);
+          }
+        }
+      } else {
+        for (int i = 0; i < entry.getRemovedSize(); ++i) {
+          Item<E> item = this.sourceTree.get(from).value;
+          this.sourceTree.remove(item.sourceNode);
+
+          // elements which have been added as part of the same change are simply discarded
+          if (item.sortedNode == null) {
+            added.remove(item);
+          } else {
+            updated.remove(item);
+            removed.add(item);
+          }
+        }
+
+        for (int i = from; i < to; ++i) {
+          Item<E> item = new Item<>(this.source.get(i));
+          item.sourceNode = this.sourceTree.insert(i, item, false);
+          added.add(item);
+        }
+      }
+    }
+
+    List<Item<E>> displaced = this.displace(updated, removed);
+    removed.addAll(displaced);
+    added.addAll(displaced);
+
+    ListChangeBuilder<E> builder = this.createBuilder();
+
+    removed.sort(Comparator.comparingInt((item) -> this.sortedTree.indexOf(item.sortedNode)));
+    for (Item<E> item : removed) {
+      builder.remove(this.sortedTree.indexOf(item.sortedNode), item.element);
+      this.sortedTree.remove(item.sortedNode);
+    }
+
+    added.sort((a, b) -> this.comparator.compare(a.element, b.element));
+    for (Item<E> item : added) {
+      int index = this.search(item.element);
+
+      builder.add(index);
+      item.sortedNode = this.sortedTree.insert(index, item, false);
+    }
+
+    updated.removeAll(displaced);
+    int[] indices = new int[updated.size()];
+    int i = 0;
+    for (Item<E> item : updated) {
+      indices[i++] = this.sortedTree.indexOf(item.sortedNode);
+    }
+
+    Arrays.sort(indices);
+    for (int index : indices) {
+      builder.update(index);
+    }
+
+    builder.publish();
+  }
+
+  /**
+   * <p>Identifies the updated elements which violate the order of this view and thus need to be
+   * moved to a different position.</p>
+   *
+   * <p>Each updated element is compared against its closest neighbours which are neither removed
+   * nor displaced. Since displacing an element alters the neighbours of the surrounding
+   * elements, those are re-evaluated until the remaining elements are in order.</p>
+   */
+  @NonNull
+  private List<Item<E>> displace(@NonNull Set<Item<E>> updated, @NonNull List<Item<E>> removed) {
+    List<Item<E>> displaced = new ArrayList<>();
+    Set<Item<E>> excluded = new HashSet<>(removed);
+    Deque<Item<E>> pending = new ArrayDeque<>(updated);
+
+    while (!pending.isEmpty()) {
+      Item<E> item = pending.poll();
+
+      if (excluded.contains(item)) {
+        continue;
+      }
+
+      int index = this.sortedTree.indexOf(item.sortedNode);
+      Item<E> previous = this.neighbour(index, -1, excluded);
+      Item<E> next = this.neighbour(index, 1, excluded);
+
+      if ((previous == null || this.comparator.compare(previous.element, item.element) <= 0)
+          && (next == null || this.comparator.compare(next.element, item.element) >= 0)) {
+        continue;
+      }
+
+      excluded.add(item);
+      displaced.add(item);
+
+      if (previous != null && updated.contains(previous)) {
+        pending.add(previous);
+      }
+      if (next != null && updated.contains(next)) {
+        pending.add(next);
+      }
+    }
+
+    return displaced;
+  }
+
+  /**
+   * Retrieves the closest element in the passed direction which has not been excluded.
+   */
+  @Nullable
+  private Item<E> neighbour(int index, int direction, @NonNull Set<Item<E>> excluded) {
+    for (int i = index + direction; i >= 0 && i < this.sortedTree.size(); i += direction) {
+      Item<E> item = this.sortedTree.get(i).value;
+
+      if (!excluded.contains(item)) {
+        return item;
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Locates the index at which the passed element is to be inserted into this view.
+   */
+  private int search(E element) {
+    return this.sortedTree.search((item) -> this.comparator.compare(element, item.element));
+  }
+
+  /**
+   * Represents a single element along with its nodes within both trees.
+   */
+  private static final class Item<E> {
+
+    private final E element;
+    private IndexedTree.Node<Item<E>> sourceNode;
+    private IndexedTree.Node<Item<E>> sortedNode;
+
+    private Item(E element) {
+      this.element = element;
+    }
+  }
+}
@@ -21,7 +21,9 @@ import com.torchmind.observable.Observable;
 import com.torchmind.observable.ReadOnlyObservable;
 import com.torchmind.observable.listener.ChangeListener;
 import com.torchmind.observable.listener.ValidationListener;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -100,10 +102,37 @@ public abstract class AbstractBlockingObservable<V> extends
     this.setInternal(value);
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void validate(V value) {
+    if (this.binding != null) {
+      throw new IllegalStateException(
+          "Cannot change observable: Value is bound to another observable");
+    }
+
+    if (this.validationListener != null) {
+      this.validationListener.validate(this, value);
+    }
+  }
+
+  /**
+   * <p>Retrieves the lock which guards the value and bindings of this observable.</p>
+   *
+   * <p>Implementations may acquire the write lock in order to perform compound operations
+   * (such as checking an external condition before calling {@link #setInternal(Object)})
+   * atomically with respect to all other modifications. The lock is reentrant.</p>
+   */
+  @NonNull
+  protected ReadWriteLock getLock() {
+    return this.lock;
+  }
+
   /**
    * Provides an internal setter for the purposes of skipping state sanity checks when necessary.
    */
-  private void setInternal(V value) {
+  protected void setInternal(V value) {
     this.lock.writeLock().lock();
 
     try {
@@ -210,6 +239,36 @@ public abstract class AbstractBlockingObservable<V> extends
     }
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Optional<ReadOnlyObservable<? extends V>> getBinding() {
+    this.lock.readLock().lock();
+
+    try {
+      return Optional.ofNullable(this.binding);
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Set<Observable<V>> getBidirectionalBindings() {
+    this.lock.readLock().lock();
+
+    try {
+      return Collections.unmodifiableSet(new HashSet<>(this.bidirectionalBinding));
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -0,0 +1,318 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.concurrent;
+
+import com.torchmind.observable.ReadOnlyObservable;
+import com.torchmind.observable.binding.Binding;
+import com.torchmind.observable.listener.ChangeListener;
+import com.torchmind.observable.listener.InvalidationListener;
+import com.torchmind.observable.listener.ReferenceMode;
+import com.torchmind.observable.listener.Subscription;
+import com.torchmind.observable.utility.ReferenceCleaner;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Provides a thread safe abstract implementation for bindings.</p>
+ *
+ * <p>Each invalidation of a dependency advances the version of the binding while its value is
+ * stored along with the version it has been computed for. As such, retrieving the value of a
+ * binding which is up to date does not acquire any locks. Stale bindings are re-computed by the
+ * thread which retrieves their value or, when change listeners are registered, by the thread
+ * which invalidated them. Invalidations which occur while the binding is being re-computed are
+ * coalesced into a single additional computation.</p>
+ *
+ * <p>A computed value is only adopted when none of the dependencies has been invalidated while it
+ * was being computed. Otherwise, the computation is repeated as it may have observed a mix of
+ * outdated and updated values. As such, dependencies are expected to publish their invalidations
+ * once their new value may be retrieved (as is the case with {@link AbstractBlockingObservable}).
+ * Note that heavily contended bindings may thus be computed multiple times before a value is
+ * adopted.</p>
+ *
+ * <p>Invalidation listeners are notified when the binding turns stale. Change listeners are
+ * notified in the order in which values are adopted.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public abstract class AbstractConcurrentBinding<V> extends AbstractConcurrentReadOnlyObservable<V>
+    implements Binding<V> {
+
+  private final AtomicLong version = new AtomicLong(1);
+  private final AtomicInteger pending = new AtomicInteger();
+  private final Object lock = new Object();
+  private volatile State<V> state = new State<>(null, 0);
+  private volatile Set<ReadOnlyObservable<?>> dependencies;
+  private volatile boolean disposed;
+
+  private final DependencyListener dependencyListener = new DependencyListener(this);
+  private final ReferenceCleaner.Cleanable cleanable;
+
+  public AbstractConcurrentBinding(@NonNull Set<ReadOnlyObservable<?>> dependencies) {
+    this.dependencies = dependencies;
+
+    List<Subscription> subscriptions = new ArrayList<>(dependencies.size());
+    dependencies.forEach((d) -> subscriptions.add(d.subscribe(this.dependencyListener)));
+
+    this.cleanable = ReferenceCleaner.getDefault().register(this, new Release(subscriptions));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Supplier<V> asSupplier() {
+    return this::get;
+  }
+
+  /**
+   * Computes the output value of this binding (may be called by multiple threads at once).
+   */
+  protected abstract V compute();
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public V get() {
+    State<V> state = this.state;
+
+    if (state.version == this.version.get()) {
+      return state.value;
+    }
+
+    return this.refresh();
+  }
+
+  /**
+   * Re-computes the value of this binding until a value has been computed without any of its
+   * dependencies being invalidated in the meantime.
+   */
+  private V refresh() {
+    while (true) {
+      long version = this.version.get();
+      V value = this.compute();
+
+      synchronized (this.lock) {
+        if (this.version.get() != version) {
+          continue;
+        }
+
+        State<V> previous = this.state;
+
+        // another thread has already adopted a value for this version
+        if (previous.version == version) {
+          return previous.value;
+        }
+
+        this.state = new State<>(value, version);
+        this.publishChange(previous.value, value);
+        return value;
+      }
+    }
+  }
+
+  /**
+   * Re-computes the value of this binding on behalf of its change listeners unless another thread
+   * is already doing so (in which case the other thread will compute the value again once it
+   * completes its current computation).
+   */
+  private void drain() {
+    if (this.pending.getAndIncrement() != 0) {
+      return;
+    }
+
+    do {
+      this.pending.set(1);
+
+      if (!this.disposed) {
+        this.get();
+      }
+    } while (!this.pending.compareAndSet(1, 0));
+  }
+
+  /**
+   * <p>{@inheritDoc}</p>
+   *
+   * <p>Invalidation listeners have already been notified when this binding turned stale and are
+   * thus not notified again when the new value is published.</p>
+   */
+  @Override
+  protected void publishInvalidation() {
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerListener(@NonNull ChangeListener<? super V> listener) {
+    this.get();
+    super.registerListener(listener);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerListener(@NonNull ChangeListener<? super V> listener,
+      @NonNull ReferenceMode mode) {
+    this.get();
+    super.registerListener(listener, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull ChangeListener<? super V> listener) {
+    this.get();
+    return super.subscribe(listener);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull ChangeListener<? super V> listener,
+      @NonNull ReferenceMode mode) {
+    this.get();
+    return super.subscribe(listener, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void dispose() {
+    // stale bindings are evaluated one last time so that they retain their actual last value
+    if (!this.disposed) {
+      this.get();
+    }
+
+    this.disposed = true;
+    this.dependencies = Collections.emptySet();
+    this.cleanable.clean();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Set<ReadOnlyObservable<?>> getDependencies() {
+    return Collections.unmodifiableSet(this.dependencies);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void invalidate() {
+    if (this.disposed) {
+      return;
+    }
+
+    long version = this.version.incrementAndGet();
+
+    // listeners are only notified when the binding turns stale as they would otherwise be
+    // notified once for every concurrent invalidation
+    if (this.state.version == version - 1) {
+      super.publishInvalidation();
+    }
+
+    // change listeners expect to receive the new value and thus force an immediate evaluation
+    if (this.hasChangeListeners()) {
+      this.drain();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isDisposed() {
+    return this.disposed;
+  }
+
+  /**
+   * Represents a computed value along with the version of the binding it has been computed for.
+   */
+  private static final class State<V> {
+
+    private final V value;
+    private final long version;
+
+    private State(V value, long version) {
+      this.value = value;
+      this.version = version;
+    }
+  }
+
+  /**
+   * Forwards dependency invalidations to a binding without keeping it reachable.
+   */
+  private static final class DependencyListener implements InvalidationListener {
+
+    private final WeakReference<AbstractConcurrentBinding<?>> binding;
+
+    private DependencyListener(@NonNull AbstractConcurrentBinding<?> binding) {
+      this.binding = new WeakReference<>(binding);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onInvalidation(@NonNull ReadOnlyObservable<?> observable) {
+      AbstractConcurrentBinding<?> binding = this.binding.get();
+
+      if (binding != null) {
+        binding.invalidate();
+      }
+    }
+  }
+
+  /**
+   * Closes the subscriptions of a binding with all of its dependencies.
+   */
+  private static final class Release implements Runnable {
+
+    private final List<Subscription> subscriptions;
+
+    private Release(@NonNull List<Subscription> subscriptions) {
+      this.subscriptions = subscriptions;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void run() {
+      this.subscriptions.forEach(Subscription::close);
+    }
+  }
+}
@@ -17,47 +17,95 @@
 
 package com.torchmind.observable.concurrent;
 
+import com.torchmind.observable.EqualityStrategy;
 import com.torchmind.observable.ReadOnlyObservable;
 import com.torchmind.observable.listener.ChangeListener;
-import com.torchmind.observable.utility.WeakCopyOnWriteSet;
+import com.torchmind.observable.listener.InvalidationListener;
+import com.torchmind.observable.listener.ReferenceMode;
+import com.torchmind.observable.listener.Subscription;
+import com.torchmind.observable.utility.ListenerRegistry;
 import edu.umd.cs.findbugs.annotations.NonNull;
-import java.util.Objects;
-import java.util.Set;
 
 /**
  * <p>Provides a basic thread safe implementation for observable properties.</p>
  *
- * <p>Note that this implementation relies upon {@link java.util.concurrent.CopyOnWriteArraySet} for
- * its internal registration of listeners. This implementation is the most suited for environments
- * which rarely register or remove listeners. Note, however, that other backing implementations may
- * be more suited for environments which rapidly alter the listener set.</p>
+ * <p>Note that this implementation relies upon a
+ * {@link com.torchmind.observable.utility.ListenerRegistry} for its internal registration of
+ * listeners. Notifications iterate over an immutable snapshot of the registered listeners while
+ * subscriptions are added and removed in amortized constant time.</p>
  *
  * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
  */
 public abstract class AbstractConcurrentReadOnlyObservable<V> implements ReadOnlyObservable<V> {
 
-  private final Set<ChangeListener<? super V>> listeners = new WeakCopyOnWriteSet<>();
+  private final ListenerRegistry<ChangeListener<? super V>> listeners = new ListenerRegistry<>();
+  private final ListenerRegistry<InvalidationListener> invalidationListeners =
+      new ListenerRegistry<>();
+  private volatile EqualityStrategy<? super V> equalityStrategy = EqualityStrategy.equality();
 
   /**
    * Publishes a change to all listeners which are currently registered with this observable.
    */
   protected void publishChange(V oldValue, V newValue) {
-    // in case the values are considered equal (either by being the same object in memory or by
-    // being equal in value as indicated by their equals and hashCode methods), we are simply going
-    // to ignore this call as third parties do not need to know about every call
-    if (Objects.equals(oldValue, newValue)) {
+    // in case the values are considered equal by our strategy (by default either by being the
+    // same object in memory or by being equal in value as indicated by their equals and hashCode
+    // methods), we are simply going to ignore this call as third parties do not need to know about
+    // every call
+    if (this.equalityStrategy.isEqual(oldValue, newValue)) {
       return;
     }
 
+    this.publishInvalidation();
     this.listeners.forEach((l) -> l.onChange(this, oldValue, newValue));
   }
 
+  /**
+   * Publishes an invalidation to all invalidation listeners which are currently registered with
+   * this observable.
+   */
+  protected void publishInvalidation() {
+    this.invalidationListeners.forEach((l) -> l.onInvalidation(this));
+  }
+
+  /**
+   * Evaluates whether one or more change listeners are currently registered with this observable.
+   */
+  protected boolean hasChangeListeners() {
+    return !this.listeners.isEmpty();
+  }
+
+  /**
+   * Retrieves the strategy which decides whether a new value constitutes a change.
+   */
+  @NonNull
+  public EqualityStrategy<? super V> getEqualityStrategy() {
+    return this.equalityStrategy;
+  }
+
+  /**
+   * <p>Replaces the strategy which decides whether a new value constitutes a change.</p>
+   *
+   * <p>By default, values are compared using {@link Object#equals(Object)}.</p>
+   */
+  public void setEqualityStrategy(@NonNull EqualityStrategy<? super V> equalityStrategy) {
+    this.equalityStrategy = equalityStrategy;
+  }
+
   /**
    * {@inheritDoc}
    */
   @Override
   public void registerListener(@NonNull ChangeListener<? super V> listener) {
-    this.listeners.add(listener);
+    this.listeners.register(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerListener(@NonNull ChangeListener<? super V> listener,
+      @NonNull ReferenceMode mode) {
+    this.listeners.register(listener, mode);
   }
 
   /**
@@ -67,4 +115,67 @@ public abstract class AbstractConcurrentReadOnlyObservable<V> implements ReadOnl
   public void removeListener(@NonNull ChangeListener<? super V> listener) {
     this.listeners.remove(listener);
   }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull ChangeListener<? super V> listener) {
+    return this.listeners.subscribe(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull ChangeListener<? super V> listener,
+      @NonNull ReferenceMode mode) {
+    return this.listeners.subscribe(listener, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerListener(@NonNull InvalidationListener listener) {
+    this.invalidationListeners.register(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerListener(@NonNull InvalidationListener listener,
+      @NonNull ReferenceMode mode) {
+    this.invalidationListeners.register(listener, mode);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void removeListener(@NonNull InvalidationListener listener) {
+    this.invalidationListeners.remove(listener);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull InvalidationListener listener) {
+    return this.invalidationListeners.subscribe(listener, ReferenceMode.WEAK);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public Subscription subscribe(@NonNull InvalidationListener listener,
+      @NonNull ReferenceMode mode) {
+    return this.invalidationListeners.subscribe(listener, mode);
+  }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.concurrent;
+
+import com.torchmind.observable.ReadOnlyObservable;
+import java.util.Objects;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Represents a single change of an observable value in the form of an immutable object.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class ChangeEvent<V> {
+
+  private final ReadOnlyObservable<? extends V> observable;
+  private final V oldValue;
+  private final V newValue;
+
+  public ChangeEvent(@NonNull ReadOnlyObservable<? extends V> observable, V oldValue,
+      V newValue) {
+    this.observable = observable;
+    this.oldValue = oldValue;
+    this.newValue = newValue;
+  }
+
+  /**
+   * Retrieves the observable which has changed its value.
+   */
+  @NonNull
+  public ReadOnlyObservable<? extends V> getObservable() {
+    return this.observable;
+  }
+
+  /**
+   * Retrieves the value of the observable before the change.
+   */
+  public V getOldValue() {
+    return this.oldValue;
+  }
+
+  /**
+   * Retrieves the value of the observable after the change.
+   */
+  public V getNewValue() {
+    return this.newValue;
+  }
+
+  /**
+   * Merges this event with a subsequent event into a single event which spans both changes.
+   */
+  @NonNull
+  public ChangeEvent<V> merge(@NonNull ChangeEvent<V> next) {
+    return new ChangeEvent<>(this.observable, this.oldValue, next.newValue);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || this.getClass() != o.getClass()) {
+      return false;
+    }
+    ChangeEvent<?> that = (ChangeEvent<?>) o;
+    return this.observable == that.observable
+        && Objects.equals(this.oldValue, that.oldValue)
+        && Objects.equals(this.newValue, that.newValue);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int hashCode() {
+    return Objects.hash(System.identityHashCode(this.observable), this.oldValue, this.newValue);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String toString() {
+    return "ChangeEvent{oldValue=" + this.oldValue + ", newValue=" + this.newValue + "}";
+  }
+}
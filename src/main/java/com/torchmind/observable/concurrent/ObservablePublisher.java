@@ -0,0 +1,373 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.concurrent;
+
+import com.torchmind.observable.ReadOnlyObservable;
+import com.torchmind.observable.listener.ChangeListener;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Exposes the changes of an observable to reactive streams in the form of a
+ * {@link Flow.Publisher}.</p>
+ *
+ * <p>Every subscriber is assigned a bounded buffer. Changes are only delivered when the subscriber
+ * has signalled demand through {@link Flow.Subscription#request(long)} and are otherwise retained
+ * within said buffer. Once the buffer is full, the configured {@link OverflowStrategy} decides
+ * whether changes are dropped, merged or whether the thread which changed the observable is
+ * blocked until the subscriber catches up. Blocking is not permitted for observables which notify
+ * their listeners while holding a lock (such as {@link AbstractBlockingObservable}) as subscribers
+ * which access the observable would otherwise never catch up.</p>
+ *
+ * <p>Changes are delivered through the passed executor while the publisher ensures that signals
+ * to the same subscriber are never issued concurrently. The publisher only listens to its
+ * observable while at least one subscriber is present.</p>
+ *
+ * <p>Note that this type is only available on Java 9 and newer.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ * @see ObservableSubscriber for the reverse direction.
+ */
+public class ObservablePublisher<V> implements Flow.Publisher<ChangeEvent<V>>, AutoCloseable {
+
+  /**
+   * Defines the default size of per-subscriber buffers.
+   */
+  public static final int DEFAULT_BUFFER_SIZE = Flow.defaultBufferSize();
+
+  private final ReadOnlyObservable<V> observable;
+  private final int bufferSize;
+  private final OverflowStrategy strategy;
+  private final Executor executor;
+  private final List<ChangeSubscription> subscriptions = new CopyOnWriteArrayList<>();
+  private final ChangeListener<V> listener = (property, oldValue, newValue) -> {
+    ChangeEvent<V> event = new ChangeEvent<>(property, oldValue, newValue);
+    this.subscriptions.forEach((s) -> s.offer(event));
+  };
+  private boolean closed;
+
+  public ObservablePublisher(@NonNull ReadOnlyObservable<V> observable, int bufferSize,
+      @NonNull OverflowStrategy strategy, @NonNull Executor executor) {
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+    }
+
+    // listeners of blocking observables are invoked while the write lock is held and thus cannot
+    // wait for subscribers which may retrieve the value of the observable
+    if (strategy == OverflowStrategy.BLOCK && observable instanceof AbstractBlockingObservable) {
+      throw new IllegalArgumentException(
+          "Cannot block on overflow: Observable notifies its listeners while holding a lock");
+    }
+
+    this.observable = observable;
+    this.bufferSize = bufferSize;
+    this.strategy = strategy;
+    this.executor = executor;
+  }
+
+  public ObservablePublisher(@NonNull ReadOnlyObservable<V> observable,
+      @NonNull OverflowStrategy strategy) {
+    this(observable, DEFAULT_BUFFER_SIZE, strategy, ForkJoinPool.commonPool());
+  }
+
+  public ObservablePublisher(@NonNull ReadOnlyObservable<V> observable) {
+    this(observable, OverflowStrategy.DROP_OLDEST);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void subscribe(@NonNull Flow.Subscriber<? super ChangeEvent<V>> subscriber) {
+    ChangeSubscription subscription = new ChangeSubscription(subscriber);
+
+    synchronized (this) {
+      if (this.closed) {
+        subscription.completed = true;
+      } else {
+        if (this.subscriptions.isEmpty()) {
+          this.observable.registerListener(this.listener);
+        }
+
+        this.subscriptions.add(subscription);
+      }
+    }
+
+    subscriber.onSubscribe(subscription);
+    subscription.schedule();
+  }
+
+  /**
+   * Removes a subscription and stops listening to the observable when no subscriptions remain.
+   */
+  private synchronized void remove(@NonNull ChangeSubscription subscription) {
+    if (this.subscriptions.remove(subscription) && this.subscriptions.isEmpty()) {
+      this.observable.removeListener(this.listener);
+    }
+  }
+
+  /**
+   * Retrieves the amount of subscribers which are currently subscribed to this publisher.
+   */
+  public int getSubscriberCount() {
+    return this.subscriptions.size();
+  }
+
+  /**
+   * Stops listening to the observable and completes all subscriptions once their buffered
+   * changes have been delivered.
+   */
+  @Override
+  public void close() {
+    synchronized (this) {
+      if (this.closed) {
+        return;
+      }
+
+      this.closed = true;
+    }
+
+    this.subscriptions.forEach(ChangeSubscription::complete);
+  }
+
+  /**
+   * Represents the relationship between this publisher and a single subscriber.
+   */
+  private final class ChangeSubscription implements Flow.Subscription, Runnable {
+
+    private final Flow.Subscriber<? super ChangeEvent<V>> subscriber;
+    private final ArrayDeque<ChangeEvent<V>> buffer = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = this.lock.newCondition();
+    private final AtomicInteger work = new AtomicInteger();
+    private long demand;
+    private boolean cancelled;
+    private boolean completed;
+    private Throwable error;
+
+    private ChangeSubscription(@NonNull Flow.Subscriber<? super ChangeEvent<V>> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    /**
+     * Buffers a change according to the configured overflow strategy.
+     */
+    private void offer(@NonNull ChangeEvent<V> event) {
+      this.lock.lock();
+
+      try {
+        if (this.cancelled || this.completed) {
+          return;
+        }
+
+        if (this.buffer.size() >= ObservablePublisher.this.bufferSize) {
+          switch (ObservablePublisher.this.strategy) {
+            case DROP_OLDEST:
+              this.buffer.pollFirst();
+              break;
+            case CONFLATE:
+              event = this.buffer.pollLast().merge(event);
+              break;
+            case BLOCK:
+              while (this.buffer.size() >= ObservablePublisher.this.bufferSize
+                  && !this.cancelled) {
+                try {
+                  this.notFull.await();
+                } catch (InterruptedException ex) {
+                  // we cannot relay the interruption to the caller through the listener contract
+                  // and thus discard the change while restoring the interruption flag instead
+                  Thread.currentThread().interrupt();
+                  return;
+                }
+              }
+
+              if (this.cancelled) {
+                return;
+              }
+              break;
+            default:
+              throw new IllegalStateException("Unsupported strategy: "
+                  + ObservablePublisher.this.strategy);
+          }
+        }
+
+        this.buffer.addLast(event);
+      } finally {
+        this.lock.unlock();
+      }
+
+      this.schedule();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void request(long n) {
+      this.lock.lock();
+
+      try {
+        if (this.cancelled) {
+          return;
+        }
+
+        if (n <= 0) {
+          this.error = new IllegalArgumentException("Requested amount must be positive: " + n);
+        } else {
+          this.demand += n;
+
+          // demand is capped at Long.MAX_VALUE which is treated as unbounded as permitted by the
+          // specification
+          if (this.demand < 0) {
+            this.demand = Long.MAX_VALUE;
+          }
+        }
+      } finally {
+        this.lock.unlock();
+      }
+
+      this.schedule();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cancel() {
+      this.lock.lock();
+
+      try {
+        this.cancelled = true;
+        this.buffer.clear();
+        this.notFull.signalAll();
+      } finally {
+        this.lock.unlock();
+      }
+
+      ObservablePublisher.this.remove(this);
+    }
+
+    /**
+     * Marks this subscription as complete once all buffered changes have been delivered.
+     */
+    private void complete() {
+      this.lock.lock();
+
+      try {
+        this.completed = true;
+      } finally {
+        this.lock.unlock();
+      }
+
+      this.schedule();
+    }
+
+    /**
+     * Schedules the delivery of buffered signals unless a delivery is already in progress.
+     */
+    private void schedule() {
+      if (this.work.getAndIncrement() == 0) {
+        ObservablePublisher.this.executor.execute(this);
+      }
+    }
+
+    /**
+     * Delivers buffered signals until no further work has been scheduled.
+     */
+    @Override
+    public void run() {
+      int missed = 1;
+
+      do {
+        while (true) {
+          ChangeEvent<V> event;
+          Throwable error;
+          boolean terminate = false;
+
+          this.lock.lock();
+
+          try {
+            if (this.cancelled) {
+              return;
+            }
+
+            error = this.error;
+
+            if (error != null) {
+              this.cancelled = true;
+              this.notFull.signalAll();
+              event = null;
+            } else if (this.demand > 0 && !this.buffer.isEmpty()) {
+              event = this.buffer.pollFirst();
+
+              if (this.demand != Long.MAX_VALUE) {
+                --this.demand;
+              }
+
+              this.notFull.signal();
+            } else {
+              event = null;
+
+              if (this.completed && this.buffer.isEmpty()) {
+                this.cancelled = true;
+                terminate = true;
+              }
+            }
+          } finally {
+            this.lock.unlock();
+          }
+
+          if (error != null) {
+            ObservablePublisher.this.remove(this);
+            this.subscriber.onError(error);
+            return;
+          }
+
+          if (terminate) {
+            ObservablePublisher.this.remove(this);
+            this.subscriber.onComplete();
+            return;
+          }
+
+          if (event == null) {
+            break;
+          }
+
+          try {
+            this.subscriber.onNext(event);
+          } catch (Throwable ex) {
+            // subscribers which violate the specification by throwing are cancelled in order to
+            // prevent them from stalling delivery indefinitely
+            this.cancel();
+            throw ex;
+          }
+        }
+
+        missed = this.work.addAndGet(-missed);
+      } while (missed != 0);
+    }
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.concurrent;
+
+import com.torchmind.observable.Observable;
+import java.util.concurrent.Flow;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * <p>Drives an observable from a reactive stream by passing every received item to
+ * {@link Observable#set(Object)}.</p>
+ *
+ * <p>The subscriber requests items in batches of the configured size and replenishes its demand
+ * once half of a batch has been consumed. As items are applied on the thread which delivers them,
+ * thread safe observables should be used unless the publisher guarantees delivery on a single
+ * thread.</p>
+ *
+ * <p>Note that this type is only available on Java 9 and newer.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ * @see ObservablePublisher for the reverse direction.
+ */
+public class ObservableSubscriber<V> implements Flow.Subscriber<V> {
+
+  private final Observable<? super V> observable;
+  private final int batchSize;
+  private volatile Flow.Subscription subscription;
+  private int received;
+  private volatile boolean done;
+  private volatile Throwable error;
+
+  public ObservableSubscriber(@NonNull Observable<? super V> observable, int batchSize) {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+    }
+
+    this.observable = observable;
+    this.batchSize = batchSize;
+  }
+
+  public ObservableSubscriber(@NonNull Observable<? super V> observable) {
+    this(observable, Flow.defaultBufferSize());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void onSubscribe(@NonNull Flow.Subscription subscription) {
+    if (this.subscription != null) {
+      subscription.cancel();
+      return;
+    }
+
+    this.subscription = subscription;
+    subscription.request(this.batchSize);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void onNext(V item) {
+    try {
+      this.observable.set(item);
+    } catch (RuntimeException ex) {
+      // the observable rejected the value (e.g. due to a binding or validation) and thus we
+      // cannot continue to mirror the stream
+      this.subscription.cancel();
+      this.onError(ex);
+      return;
+    }
+
+    if (++this.received >= Math.max(1, this.batchSize / 2)) {
+      this.subscription.request(this.received);
+      this.received = 0;
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void onError(@NonNull Throwable throwable) {
+    this.error = throwable;
+    this.done = true;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void onComplete() {
+    this.done = true;
+  }
+
+  /**
+   * Cancels the subscription (if any) and thus stops updating the observable.
+   */
+  public void cancel() {
+    Flow.Subscription subscription = this.subscription;
+
+    if (subscription != null) {
+      subscription.cancel();
+    }
+
+    this.done = true;
+  }
+
+  /**
+   * Evaluates whether the stream has terminated (either through completion, an error or
+   * cancellation).
+   */
+  public boolean isDone() {
+    return this.done;
+  }
+
+  /**
+   * Retrieves the error which terminated the stream (if any).
+   */
+  @Nullable
+  public Throwable getError() {
+    return this.error;
+  }
+}
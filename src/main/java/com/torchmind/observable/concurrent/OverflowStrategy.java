@@ -0,0 +1,47 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.concurrent;
+
+/**
+ * Defines how publishers behave when a subscriber does not keep up with the rate at which values
+ * change.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public enum OverflowStrategy {
+
+  /**
+   * Discards the oldest buffered change in favor of the new change.
+   */
+  DROP_OLDEST,
+
+  /**
+   * Merges the new change with the most recently buffered change (e.g. the subscriber will
+   * receive the old value of the buffered change and the new value of the latest change).
+   */
+  CONFLATE,
+
+  /**
+   * <p>Blocks the thread which changed the observable until the subscriber has requested further
+   * changes.</p>
+   *
+   * <p>This strategy is not supported for observables which notify their listeners while holding
+   * a lock (such as {@link AbstractBlockingObservable}).</p>
+   */
+  BLOCK
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.concurrent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Provides a logical clock which orders the modifications of a group of versioned
+ * observables.</p>
+ *
+ * <p>Every modification (or group of modifications performed through
+ * {@link #update(Runnable)}) is assigned a new version. A modification only becomes visible once
+ * the clock advances to its version. As such, all modifications within a group become visible at
+ * the same instant. Modifications are serialized by the clock while values are retrieved without
+ * acquiring any locks.</p>
+ *
+ * <p>Readers which need to retrieve the values of multiple observables as of the same instant
+ * acquire a {@link Snapshot}. Observables retain all values which may still be retrieved through
+ * an open snapshot and discard outdated values as they are modified.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ * @see VersionedObservable
+ */
+public final class VersionClock {
+
+  private static final VersionClock DEFAULT = new VersionClock();
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final AtomicLong sequence = new AtomicLong();
+  private final ConcurrentSkipListSet<Snapshot> snapshots = new ConcurrentSkipListSet<>();
+  private final List<Update<?>> updates = new ArrayList<>();
+  private volatile long version;
+  private long pending;
+
+  /**
+   * Retrieves the clock which is used by versioned observables unless specified otherwise.
+   */
+  @NonNull
+  public static VersionClock getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * Retrieves the version of the most recently completed modification.
+   */
+  public long getVersion() {
+    return this.version;
+  }
+
+  /**
+   * <p>Acquires a snapshot of all observables which are associated with this clock.</p>
+   *
+   * <p>Snapshots retain the values they refer to and are thus expected to be closed as soon as
+   * they are no longer needed.</p>
+   */
+  @NonNull
+  public Snapshot snapshot() {
+    long id = this.sequence.incrementAndGet();
+
+    while (true) {
+      Snapshot snapshot = new Snapshot(this, this.version, id);
+      this.snapshots.add(snapshot);
+
+      // modifications which complete before the snapshot has been registered may have discarded
+      // the values it refers to and thus require another attempt
+      if (this.version == snapshot.version) {
+        return snapshot;
+      }
+
+      this.snapshots.remove(snapshot);
+    }
+  }
+
+  /**
+   * <p>Executes the passed action and makes all modifications it performs on observables of this
+   * clock visible at the same instant.</p>
+   *
+   * <p>Listeners are notified once all modifications have become visible. When the action fails,
+   * the modifications it performed before failing become visible nonetheless. Calls which are
+   * nested within another update are considered part of the outer update.</p>
+   */
+  public void update(@NonNull Runnable action) {
+    if (this.lock.isHeldByCurrentThread()) {
+      action.run();
+      return;
+    }
+
+    List<Update<?>> updates = Collections.emptyList();
+
+    try {
+      this.lock.lock();
+
+      try {
+        this.pending = this.version + 1;
+        action.run();
+      } finally {
+        updates = this.commit();
+        this.lock.unlock();
+      }
+    } finally {
+      updates.forEach(Update::publish);
+    }
+  }
+
+  /**
+   * Evaluates whether the calling thread is currently performing an update.
+   */
+  boolean isUpdating() {
+    return this.lock.isHeldByCurrentThread();
+  }
+
+  /**
+   * Records a modification of an observable as part of the current update.
+   */
+  <V> void stage(@NonNull VersionedObservable<V> observable, V oldValue, V newValue) {
+    if (!this.lock.isHeldByCurrentThread()) {
+      this.update(() -> this.stage(observable, oldValue, newValue));
+      return;
+    }
+
+    observable.append(newValue, this.pending);
+    this.updates.add(new Update<>(observable, oldValue, newValue));
+  }
+
+  /**
+   * Makes all modifications of the current update visible and discards values which can no
+   * longer be retrieved.
+   *
+   * @return the modifications which have been committed.
+   */
+  @NonNull
+  private List<Update<?>> commit() {
+    if (this.updates.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    List<Update<?>> updates = new ArrayList<>(this.updates);
+    this.updates.clear();
+    this.version = this.pending;
+
+    long horizon = this.version;
+    try {
+      horizon = Math.min(horizon, this.snapshots.first().version);
+    } catch (NoSuchElementException ignore) {
+    }
+
+    Set<VersionedObservable<?>> observables =
+        Collections.newSetFromMap(new IdentityHashMap<>());
+    for (Update<?> update : updates) {
+      if (observables.add(update.observable)) {
+        update.observable.prune(horizon);
+      }
+    }
+
+    return updates;
+  }
+
+  /**
+   * <p>Represents a consistent view of all observables which are associated with a clock.</p>
+   *
+   * <p>Snapshots may be shared between threads.</p>
+   */
+  public static final class Snapshot implements AutoCloseable, Comparable<Snapshot> {
+
+    private final VersionClock clock;
+    private final long version;
+    private final long id;
+    private volatile boolean closed;
+
+    private Snapshot(@NonNull VersionClock clock, long version, long id) {
+      this.clock = clock;
+      this.version = version;
+      this.id = id;
+    }
+
+    /**
+     * Retrieves the value of the passed observable as of the instant this snapshot has been
+     * acquired.
+     *
+     * @throws IllegalArgumentException when the observable is associated with another clock.
+     * @throws IllegalStateException when this snapshot has been closed.
+     */
+    public <V> V get(@NonNull VersionedObservable<V> observable) {
+      if (observable.getClock() != this.clock) {
+        throw new IllegalArgumentException(
+            "Cannot retrieve value: Observable is associated with another clock");
+      }
+
+      if (this.closed) {
+        throw new IllegalStateException("Cannot retrieve value: Snapshot has been closed");
+      }
+
+      return observable.get(this.version);
+    }
+
+    /**
+     * Retrieves the version of the clock at the instant this snapshot has been acquired.
+     */
+    public long getVersion() {
+      return this.version;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+      this.closed = true;
+      this.clock.snapshots.remove(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int compareTo(@NonNull Snapshot snapshot) {
+      int result = Long.compare(this.version, snapshot.version);
+
+      if (result == 0) {
+        result = Long.compare(this.id, snapshot.id);
+      }
+
+      return result;
+    }
+  }
+
+  /**
+   * Represents a modification which is published to the listeners of its observable once it has
+   * become visible.
+   */
+  private static final class Update<V> {
+
+    private final VersionedObservable<V> observable;
+    private final V oldValue;
+    private final V newValue;
+
+    private Update(@NonNull VersionedObservable<V> observable, V oldValue, V newValue) {
+      this.observable = observable;
+      this.oldValue = oldValue;
+      this.newValue = newValue;
+    }
+
+    /**
+     * Notifies the listeners of the observable.
+     */
+    private void publish() {
+      this.observable.publish(this.oldValue, this.newValue);
+    }
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.concurrent;
+
+import com.torchmind.observable.Observable;
+import com.torchmind.observable.ReadOnlyObservable;
+import com.torchmind.observable.listener.ValidationListener;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * <p>Provides an observable which retains past values so that multiple observables may be read
+ * as of the same instant.</p>
+ *
+ * <p>Each modification is stamped with a version of the {@link VersionClock} this observable is
+ * associated with and only becomes visible once the clock advances to its version. Values are
+ * retrieved without acquiring any locks. Past values are retained for as long as they may be
+ * retrieved through an open {@link VersionClock.Snapshot}.</p>
+ *
+ * <p>Listeners are notified once a modification has become visible (e.g. after all modifications
+ * which are performed through {@link VersionClock#update(Runnable)} have been applied).</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class VersionedObservable<V> extends AbstractBlockingObservable<V> {
+
+  private final VersionClock clock;
+  private volatile Node<V> head;
+
+  public VersionedObservable(@NonNull VersionClock clock,
+      @Nullable ValidationListener<V> validationListener, V value, boolean fair) {
+    super(validationListener, value, fair);
+    this.clock = clock;
+    this.head = new Node<>(value, 0);
+  }
+
+  public VersionedObservable(@NonNull VersionClock clock,
+      @Nullable ValidationListener<V> validationListener, V value) {
+    this(clock, validationListener, value, false);
+  }
+
+  public VersionedObservable(@NonNull VersionClock clock, V value) {
+    this(clock, null, value);
+  }
+
+  public VersionedObservable(V value) {
+    this(VersionClock.getDefault(), value);
+  }
+
+  public VersionedObservable() {
+    this(null);
+  }
+
+  /**
+   * <p>{@inheritDoc}</p>
+   *
+   * <p>Retrieves the most recent value which has become visible (or the most recent value when
+   * called as part of an update on the calling thread).</p>
+   */
+  @Override
+  public V get() {
+    if (this.clock.isUpdating()) {
+      return this.head.value;
+    }
+
+    while (true) {
+      // values may be discarded when the clock advances while searching and thus require another
+      // attempt with the updated version
+      Node<V> node = this.find(this.clock.getVersion());
+
+      if (node != null) {
+        return node.value;
+      }
+    }
+  }
+
+  /**
+   * Retrieves the value of this observable as of the passed version.
+   */
+  V get(long version) {
+    Node<V> node = this.find(version);
+
+    if (node == null) {
+      throw new IllegalStateException("Cannot retrieve value: Version has been discarded");
+    }
+
+    return node.value;
+  }
+
+  /**
+   * Retrieves the clock this observable is associated with.
+   */
+  @NonNull
+  public VersionClock getClock() {
+    return this.clock;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void setInternal(V value) {
+    // the clock is acquired before the lock of this observable as modifications of multiple
+    // observables would otherwise acquire their locks in opposing order
+    this.clock.update(() -> super.setInternal(value));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void bindTo(@NonNull ReadOnlyObservable<? extends V> observable) {
+    this.clock.update(() -> super.bindTo(observable));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void bindBidirectionallyTo(@NonNull Observable<V> observable) {
+    this.clock.update(() -> super.bindBidirectionallyTo(observable));
+  }
+
+  /**
+   * <p>{@inheritDoc}</p>
+   *
+   * <p>Changes are recorded with the current update of the clock and are published once they have
+   * become visible.</p>
+   */
+  @Override
+  protected void publishChange(V oldValue, V newValue) {
+    this.clock.stage(this, oldValue, newValue);
+  }
+
+  /**
+   * Publishes a change which has become visible.
+   */
+  void publish(V oldValue, V newValue) {
+    super.publishChange(oldValue, newValue);
+  }
+
+  /**
+   * Records a new value for the passed (not yet visible) version.
+   */
+  void append(V value, long version) {
+    Node<V> node = new Node<>(value, version);
+    node.previous = this.head;
+    this.head = node;
+  }
+
+  /**
+   * Discards all values which have been superseded at the passed version.
+   */
+  void prune(long version) {
+    Node<V> node = this.find(version);
+
+    if (node != null) {
+      node.previous = null;
+    }
+  }
+
+  /**
+   * Locates the most recent value which has been recorded at or before the passed version.
+   */
+  @Nullable
+  private Node<V> find(long version) {
+    Node<V> node = this.head;
+
+    while (node != null && node.version > version) {
+      node = node.previous;
+    }
+
+    return node;
+  }
+
+  /**
+   * Represents a value along with the version it has been recorded for.
+   */
+  private static final class Node<V> {
+
+    private final V value;
+    private final long version;
+    private volatile Node<V> previous;
+
+    private Node(V value, long version) {
+      this.value = value;
+      this.version = version;
+    }
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.observable.config;
+
+import java.util.Set;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Provides a listener which is notified once all observables of a configuration source have
+ * been updated as part of a reload.</p>
+ *
+ * <p>Unlike the listeners of individual observables (which are notified as each observable is
+ * updated), configuration listeners are only notified of successful reloads and thus always
+ * observe a consistent configuration.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@FunctionalInterface
+public interface ConfigurationListener {
+
+  /**
+   * Contains custom logic which is invoked when a reload of the source, to which this listener is
+   * attached, has changed the values of the passed keys.
+   */
+  void onReload(@NonNull ConfigurationSource source, @NonNull Set<String> keys);
+}
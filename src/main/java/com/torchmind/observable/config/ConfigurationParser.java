@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.config;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Converts the contents of a configuration file into a flat map of keys and their respective
+ * string representations.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@FunctionalInterface
+public interface ConfigurationParser {
+
+  /**
+   * Provides a parser which reads standard Java properties files.
+   */
+  @NonNull
+  static ConfigurationParser properties() {
+    return (reader) -> {
+      Properties properties = new Properties();
+      properties.load(reader);
+
+      Map<String, String> values = new LinkedHashMap<>();
+      properties.stringPropertyNames().forEach((k) -> values.put(k, properties.getProperty(k)));
+      return values;
+    };
+  }
+
+  /**
+   * <p>Provides a parser which reads JSON documents.</p>
+   *
+   * <p>Nested objects and arrays are flattened into dot separated keys (for instance
+   * {@code {"server": {"ports": [80, 443]}}} results in the keys {@code server.ports.0} and
+   * {@code server.ports.1}). Null values are omitted entirely.</p>
+   */
+  @NonNull
+  static ConfigurationParser json() {
+    return (reader) -> new JsonFlattener(reader).parse();
+  }
+
+  /**
+   * Parses the passed document.
+   *
+   * @throws IOException when reading or parsing the document fails.
+   */
+  @NonNull
+  Map<String, String> parse(@NonNull Reader reader) throws IOException;
+}
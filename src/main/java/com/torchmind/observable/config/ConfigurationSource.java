@@ -0,0 +1,422 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.config;
+
+import com.torchmind.observable.Observable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Populates observables with the values of a configuration file and updates them whenever the
+ * file changes.</p>
+ *
+ * <p>Upon every reload, the newly parsed file contents are compared against the previously known
+ * contents. Only observables which are mapped to keys whose values actually changed are updated
+ * and thus only their listeners are notified. All values are converted and validated by their
+ * respective observables (see {@link Observable#validate(Object)}) before the first observable is
+ * updated. As such, a malformed or rejected value prevents the entire reload without notifying
+ * any listeners and the previously loaded contents are retained. Should an update fail
+ * regardless (for instance because a listener throws), the reload is aborted and all observables
+ * which have already been updated (including the failed one) are reverted.</p>
+ *
+ * <p>Note that observables are updated one at a time and notify their listeners as they are
+ * updated. As such, listeners of individual observables may observe a mix of old and new values
+ * when they access other mapped observables during a reload (as well as the reverted values of a
+ * failed reload). Only listeners which are registered with the source itself observe reloads
+ * atomically: They are notified once per successful reload (after all observables have been
+ * updated) along with the complete set of changed keys and should thus be preferred when
+ * multiple keys need to be evaluated together.</p>
+ *
+ * <p>When {@link #watch(long, TimeUnit)} is invoked, the file is watched through a
+ * {@link WatchService} on a dedicated daemon thread. As editors often write files in multiple
+ * steps, reloads are deferred until the file has not been modified for the configured debounce
+ * interval. Note that updates are performed on the watcher thread and thus thread safe
+ * observables should be used in this case.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class ConfigurationSource implements Closeable {
+
+  private final Path file;
+  private final ConfigurationParser parser;
+  private final Map<String, List<Mapping<?>>> mappings = new HashMap<>();
+  private final Set<ConfigurationListener> listeners = new CopyOnWriteArraySet<>();
+  private Map<String, String> values = Collections.emptyMap();
+  private WatchService watchService;
+  private Thread watcher;
+
+  public ConfigurationSource(@NonNull Path file, @NonNull ConfigurationParser parser)
+      throws IOException {
+    this.file = file.toAbsolutePath();
+    this.parser = parser;
+
+    this.reload();
+  }
+
+  public ConfigurationSource(@NonNull Path file) throws IOException {
+    this(file, ConfigurationParser.properties());
+  }
+
+  /**
+   * Maps a configuration key to the passed observable and immediately applies its current value.
+   */
+  public void map(@NonNull String key, @NonNull Observable<String> observable) {
+    this.map(key, observable, Function.identity());
+  }
+
+  /**
+   * <p>Maps a configuration key to the passed observable using the supplied converter and
+   * immediately applies its current value.</p>
+   *
+   * <p>The converter is never passed null values. When a key is absent from the configuration
+   * file, null is passed to the observable instead.</p>
+   *
+   * @throws RuntimeException when the converter rejects the current value.
+   */
+  public synchronized <V> void map(@NonNull String key, @NonNull Observable<V> observable,
+      @NonNull Function<String, ? extends V> converter) {
+    Mapping<V> mapping = new Mapping<>(observable, converter);
+
+    mapping.prepare(this.values.get(key)).apply();
+    this.mappings.computeIfAbsent(key, (k) -> new ArrayList<>()).add(mapping);
+  }
+
+  /**
+   * Retrieves the raw value of a key as it is present within the most recently loaded version of
+   * the file.
+   */
+  public synchronized String get(@NonNull String key) {
+    return this.values.get(key);
+  }
+
+  /**
+   * <p>Re-reads the configuration file and updates all observables which are mapped to changed
+   * keys.</p>
+   *
+   * <p>When the file does not exist, all keys are considered absent. Observables are updated (and
+   * notify their listeners) one at a time while {@link ConfigurationListener configuration
+   * listeners} are notified once all observables have been updated.</p>
+   *
+   * @return the set of keys whose values have changed.
+   * @throws IOException when reading or parsing the file fails.
+   * @throws RuntimeException when a value is rejected by its converter or observable (further
+   * rejections are attached as suppressed exceptions) or when a listener fails while the
+   * observables are updated (failures while reverting are attached as suppressed exceptions).
+   */
+  @NonNull
+  public synchronized Set<String> reload() throws IOException {
+    Map<String, String> values;
+
+    if (Files.exists(this.file)) {
+      try (Reader reader = Files.newBufferedReader(this.file, StandardCharsets.UTF_8)) {
+        values = this.parser.parse(reader);
+      }
+    } else {
+      values = Collections.emptyMap();
+    }
+
+    Set<String> changed = new LinkedHashSet<>();
+
+    for (Map.Entry<String, String> entry : values.entrySet()) {
+      if (!Objects.equals(entry.getValue(), this.values.get(entry.getKey()))) {
+        changed.add(entry.getKey());
+      }
+    }
+    for (String key : this.values.keySet()) {
+      if (!values.containsKey(key)) {
+        changed.add(key);
+      }
+    }
+
+    // convert and validate all values ahead of time so that a single malformed or rejected value
+    // prevents the entire update before any listener observes a partially updated configuration
+    List<Update<?>> updates = new ArrayList<>();
+    RuntimeException failure = null;
+
+    for (String key : changed) {
+      List<Mapping<?>> mappings = this.mappings.get(key);
+
+      if (mappings == null) {
+        continue;
+      }
+
+      String value = values.get(key);
+
+      for (Mapping<?> mapping : mappings) {
+        try {
+          Update<?> update = mapping.prepare(value);
+          update.validate();
+          updates.add(update);
+        } catch (RuntimeException ex) {
+          failure = collect(failure, ex);
+        }
+      }
+    }
+
+    if (failure != null) {
+      throw failure;
+    }
+
+    // listeners may still fail while their observables are updated in which case the update is
+    // aborted and all observables which have already been updated (including the failed one) are
+    // reverted in reverse order
+    for (int i = 0; i < updates.size(); ++i) {
+      try {
+        updates.get(i).apply();
+      } catch (RuntimeException ex) {
+        for (int j = i; j >= 0; --j) {
+          try {
+            updates.get(j).revert();
+          } catch (RuntimeException suppressed) {
+            ex.addSuppressed(suppressed);
+          }
+        }
+
+        throw ex;
+      }
+    }
+
+    this.values = values;
+
+    if (!changed.isEmpty()) {
+      Set<String> keys = Collections.unmodifiableSet(changed);
+      this.listeners.forEach((l) -> l.onReload(this, keys));
+    }
+
+    return changed;
+  }
+
+  /**
+   * Records a failure (subsequent failures are attached to the first failure).
+   */
+  @NonNull
+  private static RuntimeException collect(RuntimeException failure,
+      @NonNull RuntimeException ex) {
+    if (failure == null) {
+      return ex;
+    }
+
+    failure.addSuppressed(ex);
+    return failure;
+  }
+
+  /**
+   * Registers a listener which is notified once per reload which changed at least one key.
+   */
+  public void registerListener(@NonNull ConfigurationListener listener) {
+    this.listeners.add(listener);
+  }
+
+  /**
+   * Removes a previously registered reload listener.
+   */
+  public void removeListener(@NonNull ConfigurationListener listener) {
+    this.listeners.remove(listener);
+  }
+
+  /**
+   * Starts watching the configuration file for changes.
+   *
+   * @param debounce the amount of time in which no further modifications may occur before the
+   * file is reloaded.
+   * @throws IllegalStateException when the file is already being watched.
+   * @throws IOException when registering with the file system watch service fails.
+   */
+  public synchronized void watch(long debounce, @NonNull TimeUnit unit) throws IOException {
+    if (this.watchService != null) {
+      throw new IllegalStateException("Cannot watch file: File is already being watched");
+    }
+
+    Path directory = this.file.getParent();
+    WatchService watchService = directory.getFileSystem().newWatchService();
+
+    directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+
+    this.watchService = watchService;
+    this.watcher = new Thread(() -> this.watch(watchService, unit.toNanos(debounce)),
+        "ConfigurationSource-Watcher");
+    this.watcher.setDaemon(true);
+    this.watcher.start();
+  }
+
+  /**
+   * Processes the events of a watch service until it is closed.
+   */
+  private void watch(@NonNull WatchService watchService, long debounce) {
+    long deadline = 0;
+    boolean pending = false;
+
+    try {
+      while (true) {
+        WatchKey key;
+
+        if (pending) {
+          key = watchService.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } else {
+          key = watchService.take();
+        }
+
+        if (key == null) {
+          // no further events have been received within the debounce interval
+          pending = false;
+          this.reloadQuietly();
+          continue;
+        }
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+          if (event.kind() == StandardWatchEventKinds.OVERFLOW
+              || this.file.getFileName().equals(event.context())) {
+            pending = true;
+            deadline = System.nanoTime() + debounce;
+          }
+        }
+
+        key.reset();
+      }
+    } catch (ClosedWatchServiceException | InterruptedException ignore) {
+      // the source has been closed
+    }
+  }
+
+  /**
+   * Reloads the file and relays any errors to the uncaught exception handler of the calling
+   * thread as there is no caller to report them to.
+   */
+  private void reloadQuietly() {
+    try {
+      this.reload();
+    } catch (IOException | RuntimeException ex) {
+      Thread thread = Thread.currentThread();
+      thread.getUncaughtExceptionHandler().uncaughtException(thread, ex);
+    }
+  }
+
+  /**
+   * Stops watching the configuration file (if watched).
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    if (this.watchService == null) {
+      return;
+    }
+
+    this.watchService.close();
+    this.watchService = null;
+    this.watcher = null;
+  }
+
+  /**
+   * Represents the association between a key and an observable.
+   */
+  private static final class Mapping<V> {
+
+    private final Observable<V> observable;
+    private final Function<String, ? extends V> converter;
+
+    private Mapping(@NonNull Observable<V> observable,
+        @NonNull Function<String, ? extends V> converter) {
+      this.observable = observable;
+      this.converter = converter;
+    }
+
+    /**
+     * Converts a raw value.
+     */
+    private V convert(String value) {
+      if (value == null) {
+        return null;
+      }
+
+      return this.converter.apply(value);
+    }
+
+    /**
+     * Converts a raw value and returns an update which applies it to the observable.
+     */
+    @NonNull
+    private Update<V> prepare(String value) {
+      return new Update<>(this.observable, this.convert(value));
+    }
+  }
+
+  /**
+   * Represents a pending update of a single observable.
+   */
+  private static final class Update<V> {
+
+    private final Observable<V> observable;
+    private final V value;
+    private V previous;
+    private boolean applied;
+
+    private Update(@NonNull Observable<V> observable, V value) {
+      this.observable = observable;
+      this.value = value;
+    }
+
+    /**
+     * Evaluates whether the observable accepts the new value.
+     */
+    private void validate() {
+      this.observable.validate(this.value);
+    }
+
+    /**
+     * Passes the new value to the observable.
+     */
+    private void apply() {
+      // the update is considered applied before the observable is changed as its listeners may
+      // fail after the new value has already been stored
+      this.previous = this.observable.get();
+      this.applied = true;
+      this.observable.set(this.value);
+    }
+
+    /**
+     * Restores the previous value of the observable (if it has been updated).
+     */
+    private void revert() {
+      if (this.applied) {
+        this.observable.set(this.previous);
+        this.applied = false;
+      }
+    }
+  }
+}
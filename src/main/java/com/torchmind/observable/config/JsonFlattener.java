@@ -0,0 +1,307 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.config;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Provides a minimal JSON parser which flattens documents into a map of dot separated keys.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+final class JsonFlattener {
+
+  private final Reader reader;
+  private final Map<String, String> values = new LinkedHashMap<>();
+  private int current;
+  private int position;
+
+  JsonFlattener(@NonNull Reader reader) {
+    this.reader = reader;
+  }
+
+  /**
+   * Parses the entire document.
+   *
+   * @throws IOException when reading fails or the document is malformed.
+   */
+  @NonNull
+  Map<String, String> parse() throws IOException {
+    this.advance();
+    this.skipWhitespace();
+
+    if (this.current == -1) {
+      return this.values;
+    }
+
+    this.parseValue("");
+    this.skipWhitespace();
+
+    if (this.current != -1) {
+      throw this.error("Unexpected trailing content");
+    }
+
+    return this.values;
+  }
+
+  /**
+   * Parses an arbitrary value and stores it (or its children) using the passed key.
+   */
+  private void parseValue(@NonNull String key) throws IOException {
+    this.skipWhitespace();
+
+    switch (this.current) {
+      case '{':
+        this.parseObject(key);
+        break;
+      case '[':
+        this.parseArray(key);
+        break;
+      case '"':
+        this.store(key, this.parseString());
+        break;
+      case 'n':
+        this.expect("null");
+        break;
+      case 't':
+        this.expect("true");
+        this.store(key, "true");
+        break;
+      case 'f':
+        this.expect("false");
+        this.store(key, "false");
+        break;
+      default:
+        this.store(key, this.parseNumber());
+    }
+  }
+
+  /**
+   * Parses an object and stores its members as children of the passed key.
+   */
+  private void parseObject(@NonNull String key) throws IOException {
+    this.advance();
+    this.skipWhitespace();
+
+    if (this.current == '}') {
+      this.advance();
+      return;
+    }
+
+    while (true) {
+      this.skipWhitespace();
+
+      if (this.current != '"') {
+        throw this.error("Expected member name");
+      }
+
+      String name = this.parseString();
+      this.skipWhitespace();
+
+      if (this.current != ':') {
+        throw this.error("Expected ':'");
+      }
+
+      this.advance();
+      this.parseValue(key.isEmpty() ? name : key + "." + name);
+      this.skipWhitespace();
+
+      if (this.current == ',') {
+        this.advance();
+        continue;
+      }
+
+      if (this.current == '}') {
+        this.advance();
+        return;
+      }
+
+      throw this.error("Expected ',' or '}'");
+    }
+  }
+
+  /**
+   * Parses an array and stores its elements as indexed children of the passed key.
+   */
+  private void parseArray(@NonNull String key) throws IOException {
+    this.advance();
+    this.skipWhitespace();
+
+    if (this.current == ']') {
+      this.advance();
+      return;
+    }
+
+    for (int i = 0; ; ++i) {
+      this.parseValue(key.isEmpty() ? Integer.toString(i) : key + "." + i);
+      this.skipWhitespace();
+
+      if (this.current == ',') {
+        this.advance();
+        continue;
+      }
+
+      if (this.current == ']') {
+        this.advance();
+        return;
+      }
+
+      throw this.error("Expected ',' or ']'");
+    }
+  }
+
+  /**
+   * Parses a quoted string including its escape sequences.
+   */
+  @NonNull
+  private String parseString() throws IOException {
+    StringBuilder builder = new StringBuilder();
+    this.advance();
+
+    while (this.current != '"') {
+      if (this.current == -1) {
+        throw this.error("Unterminated string");
+      }
+
+      if (this.current != '\\') {
+        builder.append((char) this.current);
+        this.advance();
+        continue;
+      }
+
+      this.advance();
+
+      switch (this.current) {
+        case 'b':
+          builder.append('\b');
+          break;
+        case 'f':
+          builder.append('\f');
+          break;
+        case 'n':
+          builder.append('\n');
+          break;
+        case 'r':
+          builder.append('\r');
+          break;
+        case 't':
+          builder.append('\t');
+          break;
+        case 'u':
+          int codePoint = 0;
+
+          for (int i = 0; i < 4; ++i) {
+            this.advance();
+            int digit = Character.digit(this.current, 16);
+
+            if (digit == -1) {
+              throw this.error("Illegal unicode escape");
+            }
+
+            codePoint = (codePoint << 4) | digit;
+          }
+
+          builder.append((char) codePoint);
+          break;
+        case '"':
+        case '\\':
+        case '/':
+          builder.append((char) this.current);
+          break;
+        default:
+          throw this.error("Illegal escape sequence");
+      }
+
+      this.advance();
+    }
+
+    this.advance();
+    return builder.toString();
+  }
+
+  /**
+   * Parses a number and returns its literal representation.
+   */
+  @NonNull
+  private String parseNumber() throws IOException {
+    StringBuilder builder = new StringBuilder();
+
+    while (this.current == '-' || this.current == '+' || this.current == '.'
+        || this.current == 'e' || this.current == 'E'
+        || (this.current >= '0' && this.current <= '9')) {
+      builder.append((char) this.current);
+      this.advance();
+    }
+
+    if (builder.length() == 0) {
+      throw this.error("Unexpected character");
+    }
+
+    return builder.toString();
+  }
+
+  /**
+   * Consumes the passed literal.
+   */
+  private void expect(@NonNull String literal) throws IOException {
+    for (int i = 0; i < literal.length(); ++i) {
+      if (this.current != literal.charAt(i)) {
+        throw this.error("Expected " + literal);
+      }
+
+      this.advance();
+    }
+  }
+
+  /**
+   * Stores a primitive value.
+   */
+  private void store(@NonNull String key, @NonNull String value) {
+    this.values.put(key, value);
+  }
+
+  /**
+   * Skips all whitespace characters at the current position.
+   */
+  private void skipWhitespace() throws IOException {
+    while (this.current == ' ' || this.current == '\t' || this.current == '\n'
+        || this.current == '\r') {
+      this.advance();
+    }
+  }
+
+  /**
+   * Reads the next character.
+   */
+  private void advance() throws IOException {
+    this.current = this.reader.read();
+    ++this.position;
+  }
+
+  /**
+   * Creates an exception which describes a parser error at the current position.
+   */
+  @NonNull
+  private IOException error(@NonNull String message) {
+    return new IOException("Malformed JSON document at position " + this.position + ": " + message);
+  }
+}
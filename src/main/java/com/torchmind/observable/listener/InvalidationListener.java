@@ -0,0 +1,47 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.listener;
+
+import com.torchmind.observable.ReadOnlyObservable;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Provides a base to listeners which only wish to be notified when an observed value may have
+ * changed without retrieving the value itself.</p>
+ *
+ * <p>Invalidation listeners are notified once whenever an observable turns from a valid into an
+ * invalid state. Observables which store their values (such as
+ * {@link com.torchmind.observable.SimpleObservable}) are invalidated along with every change while
+ * bindings remain invalid (and do not notify their invalidation listeners again) until their value
+ * is retrieved.</p>
+ *
+ * <p>As with change listeners, exceptions which are thrown by invalidation listeners halt the
+ * process of notifying other listeners and "bubble up" to the caller which caused the
+ * invalidation.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@FunctionalInterface
+public interface InvalidationListener {
+
+  /**
+   * Contains custom logic which is invoked when the observable, to which this listener is attached,
+   * has been invalidated.
+   */
+  void onInvalidation(@NonNull ReadOnlyObservable<?> observable);
+}
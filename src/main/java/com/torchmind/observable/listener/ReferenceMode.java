@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.listener;
+
+/**
+ * Defines how observables retain the listeners which are registered with them.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public enum ReferenceMode {
+
+  /**
+   * Retains the listener until it is explicitly removed (e.g. the listener is never released as a
+   * result of garbage collection).
+   */
+  STRONG,
+
+  /**
+   * Releases the listener once it is no longer referenced outside of the observable.
+   */
+  WEAK,
+
+  /**
+   * Releases the listener once it is no longer referenced outside of the observable and the
+   * virtual machine requires memory.
+   */
+  SOFT
+}
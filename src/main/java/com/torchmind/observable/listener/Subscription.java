@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.listener;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Represents a single listener registration which has been created through
+ * {@link com.torchmind.observable.ReadOnlyObservable#subscribe(ChangeListener)}.</p>
+ *
+ * <p>Closing a subscription removes exactly the registration it represents without looking up
+ * the listener within the observable. Subscriptions may be closed any amount of times (e.g.
+ * subsequent calls are ignored).</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public interface Subscription extends AutoCloseable {
+
+  /**
+   * Creates a subscription which executes the passed action when it is closed for the first
+   * time.
+   */
+  @NonNull
+  static Subscription of(@NonNull Runnable action) {
+    return new Subscription() {
+      private boolean active = true;
+
+      @Override
+      public void close() {
+        if (this.active) {
+          this.active = false;
+          action.run();
+        }
+      }
+
+      @Override
+      public boolean isActive() {
+        return this.active;
+      }
+    };
+  }
+
+  /**
+   * Removes this registration from its observable and thus prevents its listener from receiving
+   * future updates.
+   */
+  @Override
+  void close();
+
+  /**
+   * Evaluates whether this registration is still present (e.g. it has been neither closed nor
+   * released as a result of its listener being collected).
+   */
+  boolean isActive();
+}
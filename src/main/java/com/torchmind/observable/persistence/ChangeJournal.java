@@ -0,0 +1,333 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.persistence;
+
+import com.torchmind.observable.ReadOnlyObservable;
+import com.torchmind.observable.listener.ChangeListener;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Provides an append-only journal which durably records every change to a set of tracked
+ * observables.</p>
+ *
+ * <p>Records are written directly into memory mapped segment files of fixed size. Once a segment
+ * is exhausted, the journal rolls over to a new segment within the same directory. When a journal
+ * is opened on a directory which already contains segments, new records are appended to the
+ * existing log.</p>
+ *
+ * <p>Apart from the allocations performed by the respective {@link ValueCodec}, appending a
+ * record does not allocate any memory. The frequency at which records are forced to the storage
+ * device is controlled through a {@link SyncPolicy}.</p>
+ *
+ * <p>This implementation is thread safe.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ * @see JournalReader for replaying previously written journals.
+ */
+public class ChangeJournal implements Closeable {
+
+  /**
+   * Defines the default size of a single segment (64 MiB).
+   */
+  public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+  private final Path directory;
+  private final int segmentSize;
+  private final SyncPolicy policy;
+  private final Map<ReadOnlyObservable<?>, ChangeListener<?>> listeners = new IdentityHashMap<>();
+
+  private FileChannel channel;
+  private MappedByteBuffer segment;
+  private long segmentIndex;
+  private long sequence;
+  private int pending;
+  private long lastForce = System.nanoTime();
+  private boolean closed;
+
+  public ChangeJournal(@NonNull Path directory, int segmentSize, @NonNull SyncPolicy policy)
+      throws IOException {
+    if (segmentSize <= JournalFormat.HEADER_SIZE) {
+      throw new IllegalArgumentException("Segment size is too small: " + segmentSize);
+    }
+
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+    this.policy = policy;
+
+    Files.createDirectories(directory);
+    List<Path> segments = JournalFormat.segments(directory);
+
+    if (segments.isEmpty()) {
+      this.open(0);
+      return;
+    }
+
+    // when we are resuming an existing journal, we'll locate the end of the last segment (as
+    // indicated by a zero length record) and continue from there
+    this.open(JournalFormat.index(segments.get(segments.size() - 1)));
+    this.sequence = scan(this.segment);
+
+    // the last segment remains empty when we crashed right after rolling over in which case the
+    // sequence is recovered from its predecessors (readers skip records with lower sequences)
+    for (int i = segments.size() - 2; this.sequence == 0 && i >= 0; --i) {
+      try (FileChannel channel = FileChannel.open(segments.get(i), StandardOpenOption.READ)) {
+        this.sequence = scan(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+      }
+    }
+  }
+
+  public ChangeJournal(@NonNull Path directory, @NonNull SyncPolicy policy) throws IOException {
+    this(directory, DEFAULT_SEGMENT_SIZE, policy);
+  }
+
+  public ChangeJournal(@NonNull Path directory) throws IOException {
+    this(directory, SyncPolicy.none());
+  }
+
+  /**
+   * Advances the passed segment to the end of its last complete record.
+   *
+   * @return the sequence number of the last record (or zero when the segment is empty).
+   */
+  private static long scan(@NonNull ByteBuffer segment) {
+    long sequence = 0;
+
+    while (segment.remaining() >= JournalFormat.HEADER_SIZE) {
+      int position = segment.position();
+      int length = segment.getInt(position);
+
+      if (length < JournalFormat.HEADER_SIZE || length > segment.remaining()) {
+        break;
+      }
+
+      sequence = segment.getLong(position + 8);
+      segment.position(position + length);
+    }
+
+    return sequence;
+  }
+
+  /**
+   * Maps the segment with the passed index.
+   */
+  private void open(long index) throws IOException {
+    this.segmentIndex = index;
+    this.channel = FileChannel
+        .open(JournalFormat.segment(this.directory, index), StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+    this.segment = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, this.segmentSize);
+  }
+
+  /**
+   * <p>Starts recording all changes of the passed observable using the supplied identifier.</p>
+   *
+   * <p>The journal retains a strong reference to its listener until the observable is untracked
+   * or the journal is closed. When the observable is already tracked, its previous registration
+   * is replaced.</p>
+   *
+   * <p>Note that errors which occur while writing records are relayed to the code which changed
+   * the observable in the form of an {@link UncheckedIOException}.</p>
+   */
+  public synchronized <V> void track(int identifier, @NonNull ReadOnlyObservable<V> observable,
+      @NonNull ValueCodec<V> codec) {
+    this.untrack(observable);
+
+    ChangeListener<V> listener = (property, oldValue, newValue) -> {
+      try {
+        this.append(identifier, codec, oldValue, newValue);
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    };
+
+    this.listeners.put(observable, listener);
+    observable.registerListener(listener);
+  }
+
+  /**
+   * Stops recording the changes of the passed observable.
+   */
+  @SuppressWarnings("unchecked")
+  public synchronized void untrack(@NonNull ReadOnlyObservable<?> observable) {
+    ChangeListener<?> listener = this.listeners.remove(observable);
+
+    if (listener != null) {
+      ((ReadOnlyObservable<Object>) observable).removeListener((ChangeListener<Object>) listener);
+    }
+  }
+
+  /**
+   * Appends a change record to this journal.
+   *
+   * @return the sequence number which has been assigned to the record.
+   * @throws IllegalArgumentException when the record exceeds the segment size.
+   * @throws IllegalStateException when the journal has been closed.
+   * @throws IOException when rolling over to a new segment fails.
+   * @throws RuntimeException when the codec fails to encode a value (in which case no record is
+   * written).
+   */
+  public synchronized <V> long append(int identifier, @NonNull ValueCodec<V> codec, V oldValue,
+      V newValue) throws IOException {
+    if (this.closed) {
+      throw new IllegalStateException("Cannot append to journal: Journal has been closed");
+    }
+
+    int oldSize = oldValue == null ? 0 : codec.size(oldValue);
+    int newSize = newValue == null ? 0 : codec.size(newValue);
+    long required = (long) JournalFormat.HEADER_SIZE + oldSize + newSize;
+
+    if (required > this.segmentSize) {
+      throw new IllegalArgumentException(
+          "Cannot append to journal: Record of " + required + " bytes exceeds segment size");
+    }
+
+    if (this.segment.remaining() < required) {
+      this.roll();
+    }
+
+    MappedByteBuffer segment = this.segment;
+    int start = segment.position();
+    byte flags = 0;
+
+    if (oldValue == null) {
+      flags |= JournalFormat.FLAG_OLD_NULL;
+    }
+    if (newValue == null) {
+      flags |= JournalFormat.FLAG_NEW_NULL;
+    }
+
+    // the record length is written last in order to ensure that readers never encounter a record
+    // which has only partially been written
+    long sequence = this.sequence + 1;
+
+    try {
+      segment.position(start + 4);
+      segment.putInt(identifier);
+      segment.putLong(sequence);
+      segment.putLong(System.currentTimeMillis());
+      segment.put(flags);
+      segment.putInt(0);
+
+      if (oldValue != null) {
+        codec.write(segment, oldValue);
+        segment.putInt(start + JournalFormat.HEADER_SIZE - 4,
+            segment.position() - start - JournalFormat.HEADER_SIZE);
+      }
+      if (newValue != null) {
+        codec.write(segment, newValue);
+      }
+    } catch (RuntimeException | Error ex) {
+      // discard the partially written record so that its space is reused by the next record and
+      // no stale bytes remain behind the record which takes its place
+      int end = Math.max(segment.position(), (int) Math.min(segment.limit(), start + required));
+
+      for (int i = start; i < end; ++i) {
+        segment.put(i, (byte) 0);
+      }
+
+      segment.position(start);
+      throw ex;
+    }
+
+    segment.putInt(start, segment.position() - start);
+    this.sequence = sequence;
+
+    ++this.pending;
+    long now = System.nanoTime();
+
+    if (this.policy.isDue(this.pending, now - this.lastForce)) {
+      this.force(now);
+    }
+
+    return this.sequence;
+  }
+
+  /**
+   * Forces all pending records to the storage device.
+   */
+  private void force(long now) {
+    this.segment.force();
+    this.pending = 0;
+    this.lastForce = now;
+  }
+
+  /**
+   * Completes the current segment and maps its successor.
+   */
+  private void roll() throws IOException {
+    // as segments are zero filled upon creation, the remaining space implicitly marks the end of
+    // the segment and thus does not need to be written explicitly
+    if (this.policy.isEnabled()) {
+      this.force(System.nanoTime());
+    }
+
+    this.channel.close();
+    this.open(this.segmentIndex + 1);
+  }
+
+  /**
+   * Retrieves the sequence number of the last record which has been written to this journal.
+   */
+  public synchronized long getSequence() {
+    return this.sequence;
+  }
+
+  /**
+   * Forces all pending records to the storage device regardless of the configured policy.
+   */
+  public synchronized void flush() {
+    if (this.closed) {
+      return;
+    }
+
+    this.force(System.nanoTime());
+  }
+
+  /**
+   * Stops tracking all observables, forces all pending records and releases the current
+   * segment.
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    if (this.closed) {
+      return;
+    }
+
+    for (ReadOnlyObservable<?> observable : this.listeners.keySet()
+        .toArray(new ReadOnlyObservable<?>[0])) {
+      this.untrack(observable);
+    }
+
+    this.force(System.nanoTime());
+    this.closed = true;
+    this.segment = null;
+    this.channel.close();
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.persistence;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Describes the on-disk layout of change journals.</p>
+ *
+ * <p>Journals consist of a sequence of segment files of fixed size. Each segment contains a
+ * sequence of records which are laid out as follows:</p>
+ *
+ * <pre>
+ * int   length    (total record length; zero marks the end of a segment)
+ * int   identifier
+ * long  sequence
+ * long  timestamp (milliseconds since the epoch)
+ * byte  flags     (0x01 = old value is null, 0x02 = new value is null)
+ * int   old value length
+ * byte[] old value
+ * byte[] new value
+ * </pre>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+final class JournalFormat {
+
+  static final int HEADER_SIZE = 29;
+  static final byte FLAG_OLD_NULL = 0x01;
+  static final byte FLAG_NEW_NULL = 0x02;
+
+  private static final String SEGMENT_PREFIX = "segment-";
+  private static final String SEGMENT_SUFFIX = ".journal";
+
+  private JournalFormat() {
+  }
+
+  /**
+   * Resolves the path of the segment with the passed index.
+   */
+  @NonNull
+  static Path segment(@NonNull Path directory, long index) {
+    return directory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+  }
+
+  /**
+   * Extracts the index of a segment from its file name.
+   */
+  static long index(@NonNull Path segment) {
+    String name = segment.getFileName().toString();
+
+    return Long.parseLong(
+        name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+  }
+
+  /**
+   * Lists all segments within the passed directory in the order they have been written.
+   */
+  @NonNull
+  static List<Path> segments(@NonNull Path directory) throws IOException {
+    List<Path> segments = new ArrayList<>();
+
+    if (!Files.isDirectory(directory)) {
+      return segments;
+    }
+
+    try (DirectoryStream<Path> stream = Files
+        .newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+      stream.forEach(segments::add);
+    }
+
+    // segment indices are zero padded and thus their natural order matches their numeric order
+    Collections.sort(segments);
+    return segments;
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.persistence;
+
+import com.torchmind.observable.Observable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Replays the records of a previously written {@link ChangeJournal} into a set of
+ * observables.</p>
+ *
+ * <p>Observables are associated with their records using the identifier which has been passed to
+ * {@link ChangeJournal#track(int, com.torchmind.observable.ReadOnlyObservable, ValueCodec)}.
+ * Records of identifiers which have not been registered with the reader are skipped.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class JournalReader {
+
+  private final Map<Integer, Target<?>> targets = new HashMap<>();
+
+  /**
+   * Registers an observable which is to receive the values of all records with the passed
+   * identifier.
+   */
+  public <V> void register(int identifier, @NonNull Observable<V> observable,
+      @NonNull ValueCodec<V> codec) {
+    this.targets.put(identifier, new Target<>(observable, codec));
+  }
+
+  /**
+   * Replays all records within the passed journal directory.
+   *
+   * @return the sequence number of the last record within the journal (or zero when the journal
+   * is empty).
+   * @throws IOException when reading the journal fails or a record is malformed.
+   */
+  public long replay(@NonNull Path directory) throws IOException {
+    return this.replay(directory, 0);
+  }
+
+  /**
+   * <p>Replays all records within the passed journal directory which have been assigned a sequence
+   * number greater than the passed sequence number.</p>
+   *
+   * <p>Each record is replayed by passing its new value to the respective observable. As such,
+   * the observables will end up in the state they have been in when the last record was
+   * written.</p>
+   *
+   * @return the sequence number of the last record within the journal (or the passed sequence
+   * number when no newer records exist).
+   * @throws IOException when reading the journal fails or a record is malformed.
+   */
+  public long replay(@NonNull Path directory, long sequence) throws IOException {
+    long last = sequence;
+
+    for (Path path : JournalFormat.segments(directory)) {
+      try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+        ByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+        while (segment.remaining() >= JournalFormat.HEADER_SIZE) {
+          int position = segment.position();
+          int length = segment.getInt(position);
+
+          if (length == 0) {
+            break;
+          }
+
+          if (length < JournalFormat.HEADER_SIZE || length > segment.remaining()) {
+            throw new IOException(
+                "Malformed journal record at offset " + position + " of segment " + path);
+          }
+
+          long recordSequence = segment.getLong(position + 8);
+
+          if (recordSequence > last) {
+            last = recordSequence;
+            this.apply(segment, position, length);
+          }
+
+          segment.position(position + length);
+        }
+      }
+    }
+
+    return last;
+  }
+
+  /**
+   * Applies the new value of a single record to its respective observable (if any).
+   */
+  private void apply(@NonNull ByteBuffer segment, int position, int length) throws IOException {
+    Target<?> target = this.targets.get(segment.getInt(position + 4));
+
+    if (target == null) {
+      return;
+    }
+
+    byte flags = segment.get(position + 24);
+
+    if ((flags & JournalFormat.FLAG_NEW_NULL) != 0) {
+      target.observable.set(null);
+      return;
+    }
+
+    int oldLength = segment.getInt(position + 25);
+    int offset = JournalFormat.HEADER_SIZE + oldLength;
+
+    if (oldLength < 0 || offset > length) {
+      throw new IOException("Malformed journal record at offset " + position);
+    }
+
+    ByteBuffer value = segment.duplicate();
+    value.position(position + offset);
+    value.limit(position + length);
+
+    target.apply(value.slice());
+  }
+
+  /**
+   * Represents an observable which receives the values of a given identifier.
+   */
+  private static final class Target<V> {
+
+    private final Observable<V> observable;
+    private final ValueCodec<V> codec;
+
+    private Target(@NonNull Observable<V> observable, @NonNull ValueCodec<V> codec) {
+      this.observable = observable;
+      this.codec = codec;
+    }
+
+    /**
+     * Decodes a value and passes it to the observable.
+     */
+    private void apply(@NonNull ByteBuffer buffer) {
+      this.observable.set(this.codec.read(buffer));
+    }
+  }
+}
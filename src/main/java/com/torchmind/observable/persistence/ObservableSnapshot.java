@@ -0,0 +1,500 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.persistence;
+
+import com.torchmind.observable.Observable;
+import com.torchmind.observable.ReadOnlyObservable;
+import com.torchmind.observable.primitive.BooleanObservable;
+import com.torchmind.observable.primitive.ByteObservable;
+import com.torchmind.observable.primitive.CharacterObservable;
+import com.torchmind.observable.primitive.DoubleObservable;
+import com.torchmind.observable.primitive.FloatObservable;
+import com.torchmind.observable.primitive.IntegerObservable;
+import com.torchmind.observable.primitive.LongObservable;
+import com.torchmind.observable.primitive.ShortObservable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Captures the values of a set of observables as well as the uni- and bidirectional bindings
+ * between them in a compact binary file and restores them in a single streaming pass.</p>
+ *
+ * <p>Observables are identified by the order in which they have been registered with a snapshot.
+ * As such, the snapshot which is used to restore a file is expected to register its (usually
+ * freshly constructed) observables in the exact same order as the snapshot which originally wrote
+ * the file.</p>
+ *
+ * <p>Primitive observables (e.g. {@link IntegerObservable}) are stored using their raw binary
+ * representation while all other observables require a {@link ValueCodec} to be passed upon
+ * registration. Bindings which refer to observables outside of the snapshot are not persisted.
+ * Since primitive values are retrieved through their primitive accessors, primitive observables
+ * which hold null are restored with their fallback value instead.</p>
+ *
+ * <p>Note that this implementation is not thread safe and thus must not be modified while it is
+ * being written or restored.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class ObservableSnapshot {
+
+  private static final int MAGIC = 0x4F425353;
+  private static final short VERSION = 1;
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private static final byte FLAG_NULL = 0x01;
+  private static final byte EDGE_UNIDIRECTIONAL = 0;
+  private static final byte EDGE_BIDIRECTIONAL = 1;
+
+  private final List<Entry<?>> entries = new ArrayList<>();
+  private final Map<ReadOnlyObservable<?>, Integer> identifiers = new IdentityHashMap<>();
+
+  /**
+   * <p>Registers a primitive observable with this snapshot.</p>
+   *
+   * <p>When the passed observable is already part of this snapshot, its previously assigned
+   * identifier is returned instead.</p>
+   *
+   * @return the identifier of the observable within this snapshot.
+   * @throws IllegalArgumentException when the passed observable is not of a primitive type.
+   */
+  public int register(@NonNull Observable<?> observable) {
+    ValueKind kind = ValueKind.of(observable);
+
+    if (kind == ValueKind.OBJECT) {
+      throw new IllegalArgumentException(
+          "Cannot register observable of type " + observable.getClass().getName()
+              + ": Non-primitive observables require a codec");
+    }
+
+    return this.register(new Entry<>(observable, kind, null));
+  }
+
+  /**
+   * <p>Registers an arbitrary observable with this snapshot using the passed codec in order to
+   * encode its value.</p>
+   *
+   * <p>When the passed observable is already part of this snapshot, its previously assigned
+   * identifier is returned instead.</p>
+   *
+   * @return the identifier of the observable within this snapshot.
+   */
+  public <V> int register(@NonNull Observable<V> observable, @NonNull ValueCodec<V> codec) {
+    return this.register(new Entry<>(observable, ValueKind.OBJECT, codec));
+  }
+
+  /**
+   * Appends an entry to this snapshot unless its observable has already been registered.
+   */
+  private int register(@NonNull Entry<?> entry) {
+    Integer identifier = this.identifiers.get(entry.observable);
+
+    if (identifier != null) {
+      return identifier;
+    }
+
+    identifier = this.entries.size();
+    this.entries.add(entry);
+    this.identifiers.put(entry.observable, identifier);
+
+    return identifier;
+  }
+
+  /**
+   * Retrieves the total amount of observables within this snapshot.
+   */
+  public int size() {
+    return this.entries.size();
+  }
+
+  /**
+   * Writes the current values of all registered observables as well as the bindings between them
+   * to the specified file (replacing its contents if it already exists).
+   *
+   * @throws IOException when writing to the file fails.
+   */
+  public void write(@NonNull Path path) throws IOException {
+    try (FileChannel channel = FileChannel
+        .open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      Output output = new Output(channel);
+
+      output.require(10);
+      output.buffer.putInt(MAGIC);
+      output.buffer.putShort(VERSION);
+      output.buffer.putInt(this.entries.size());
+
+      for (Entry<?> entry : this.entries) {
+        this.writeValue(output, entry);
+      }
+
+      // bindings are collected ahead of time as their total amount precedes them within the file
+      List<int[]> edges = new ArrayList<>();
+
+      for (int i = 0; i < this.entries.size(); ++i) {
+        Observable<?> observable = this.entries.get(i).observable;
+
+        Integer target = observable.getBinding().map(this.identifiers::get).orElse(null);
+
+        if (target != null) {
+          edges.add(new int[]{i, target, EDGE_UNIDIRECTIONAL});
+        }
+
+        // bidirectional relations are always registered on both sides and thus only need to be
+        // stored once
+        for (Observable<?> peer : observable.getBidirectionalBindings()) {
+          target = this.identifiers.get(peer);
+
+          if (target != null && target > i) {
+            edges.add(new int[]{i, target, EDGE_BIDIRECTIONAL});
+          }
+        }
+      }
+
+      output.require(4);
+      output.buffer.putInt(edges.size());
+
+      for (int[] edge : edges) {
+        output.require(9);
+        output.buffer.putInt(edge[0]);
+        output.buffer.putInt(edge[1]);
+        output.buffer.put((byte) edge[2]);
+      }
+
+      output.flush();
+    }
+  }
+
+  /**
+   * Writes the value of a single entry to the passed output.
+   */
+  private <V> void writeValue(@NonNull Output output, @NonNull Entry<V> entry) throws IOException {
+    ByteBuffer buffer;
+
+    if (entry.kind != ValueKind.OBJECT) {
+      buffer = output.require(2 + entry.kind.getSize());
+      buffer.put(entry.kind.getTag());
+      buffer.put((byte) 0);
+
+      // primitive values are retrieved through their respective primitive accessors in order to
+      // permit implementations to skip boxing entirely
+      Observable<V> observable = entry.observable;
+      switch (entry.kind) {
+        case BOOLEAN:
+          buffer.put(((BooleanObservable) observable).getValue() ? (byte) 1 : (byte) 0);
+          break;
+        case BYTE:
+          buffer.put(((ByteObservable) observable).getValue());
+          break;
+        case SHORT:
+          buffer.putShort(((ShortObservable) observable).getValue());
+          break;
+        case CHARACTER:
+          buffer.putChar(((CharacterObservable) observable).getValue());
+          break;
+        case INTEGER:
+          buffer.putInt(((IntegerObservable) observable).getValue());
+          break;
+        case LONG:
+          buffer.putLong(((LongObservable) observable).getValue());
+          break;
+        case FLOAT:
+          buffer.putFloat(((FloatObservable) observable).getValue());
+          break;
+        case DOUBLE:
+          buffer.putDouble(((DoubleObservable) observable).getValue());
+          break;
+        default:
+          throw new IllegalStateException("Unsupported kind: " + entry.kind);
+      }
+
+      return;
+    }
+
+    V value = entry.observable.get();
+
+    if (value == null) {
+      output.require(2);
+      output.buffer.put(entry.kind.getTag());
+      output.buffer.put(FLAG_NULL);
+      return;
+    }
+
+    int size = entry.codec.size(value);
+
+    buffer = output.require(6 + size);
+    buffer.put(entry.kind.getTag());
+    buffer.put((byte) 0);
+
+    // the codec size merely acts as an upper bound and thus the actual length is patched in once
+    // the value has been encoded
+    int lengthPosition = buffer.position();
+    buffer.putInt(0);
+    entry.codec.write(buffer, value);
+    buffer.putInt(lengthPosition, buffer.position() - lengthPosition - 4);
+
+    output.release(buffer);
+  }
+
+  /**
+   * <p>Restores the values of all registered observables as well as the bindings between them
+   * from the specified file.</p>
+   *
+   * <p>The file is memory mapped and processed in a single sequential pass. As such, snapshots
+   * are limited to a total size of 2 GiB.</p>
+   *
+   * @throws IOException when reading the file fails or its contents do not match the observables
+   * which have been registered with this snapshot.
+   * @throws IllegalStateException when one of the registered observables is already bound to
+   * another observable.
+   * @throws IllegalArgumentException when a restored value is rejected by the validation listener
+   * of its observable.
+   */
+  public void restore(@NonNull Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+
+      if (size > Integer.MAX_VALUE) {
+        throw new IOException("Cannot restore snapshot: File exceeds maximum mappable size");
+      }
+
+      ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+      try {
+        if (buffer.getInt() != MAGIC) {
+          throw new IOException("Cannot restore snapshot: Illegal file signature");
+        }
+
+        short version = buffer.getShort();
+        if (version != VERSION) {
+          throw new IOException("Cannot restore snapshot: Unsupported version " + version);
+        }
+
+        int count = buffer.getInt();
+        if (count != this.entries.size()) {
+          throw new IOException(
+              "Cannot restore snapshot: Expected " + this.entries.size() + " observables but got "
+                  + count);
+        }
+
+        for (int i = 0; i < count; ++i) {
+          this.readValue(buffer, i, this.entries.get(i));
+        }
+
+        int edges = buffer.getInt();
+
+        for (int i = 0; i < edges; ++i) {
+          int source = buffer.getInt();
+          int target = buffer.getInt();
+          byte type = buffer.get();
+
+          if (source < 0 || source >= count || target < 0 || target >= count) {
+            throw new IOException("Cannot restore snapshot: Illegal binding " + source + " -> "
+                + target);
+          }
+
+          this.restoreBinding(this.entries.get(source).observable,
+              this.entries.get(target).observable, type);
+        }
+      } catch (BufferUnderflowException ex) {
+        throw new IOException("Cannot restore snapshot: Malformed file", ex);
+      }
+    }
+  }
+
+  /**
+   * Reads the value of a single entry from the passed buffer and applies it to its observable.
+   */
+  private <V> void readValue(@NonNull ByteBuffer buffer, int identifier, @NonNull Entry<V> entry)
+      throws IOException {
+    byte tag = buffer.get();
+    byte flags = buffer.get();
+
+    if (tag != entry.kind.getTag()) {
+      throw new IOException(
+          "Cannot restore snapshot: Observable #" + identifier + " is of kind " + entry.kind
+              + " but file contains tag " + tag);
+    }
+
+    Observable<V> observable = entry.observable;
+
+    if ((flags & FLAG_NULL) != 0) {
+      observable.set(null);
+      return;
+    }
+
+    switch (entry.kind) {
+      case BOOLEAN:
+        ((BooleanObservable) observable).setValue(buffer.get() != 0);
+        break;
+      case BYTE:
+        ((ByteObservable) observable).setValue(buffer.get());
+        break;
+      case SHORT:
+        ((ShortObservable) observable).setValue(buffer.getShort());
+        break;
+      case CHARACTER:
+        ((CharacterObservable) observable).setValue(buffer.getChar());
+        break;
+      case INTEGER:
+        ((IntegerObservable) observable).setValue(buffer.getInt());
+        break;
+      case LONG:
+        ((LongObservable) observable).setValue(buffer.getLong());
+        break;
+      case FLOAT:
+        ((FloatObservable) observable).setValue(buffer.getFloat());
+        break;
+      case DOUBLE:
+        ((DoubleObservable) observable).setValue(buffer.getDouble());
+        break;
+      case OBJECT:
+        int length = buffer.getInt();
+
+        if (length < 0 || length > buffer.remaining()) {
+          throw new IOException(
+              "Cannot restore snapshot: Illegal value length for observable #" + identifier);
+        }
+
+        // codecs are handed a slice of the value in order to prevent them from accidentally
+        // consuming data which belongs to the next entry
+        ByteBuffer slice = buffer.slice();
+        slice.limit(length);
+        buffer.position(buffer.position() + length);
+
+        // values which are rejected by the validation listener of an observable are reported
+        // as-is while codec failures indicate a malformed file
+        V value;
+        try {
+          value = entry.codec.read(slice);
+        } catch (BufferUnderflowException | IllegalArgumentException ex) {
+          throw new IOException(
+              "Cannot restore snapshot: Malformed value for observable #" + identifier, ex);
+        }
+
+        observable.set(value);
+        break;
+      default:
+        throw new IllegalStateException("Unsupported kind: " + entry.kind);
+    }
+  }
+
+  /**
+   * Re-creates a binding relationship between two observables.
+   */
+  @SuppressWarnings("unchecked")
+  private void restoreBinding(@NonNull Observable<?> source, @NonNull Observable<?> target,
+      byte type) throws IOException {
+    switch (type) {
+      case EDGE_UNIDIRECTIONAL:
+        ((Observable<Object>) source).bindTo(target);
+        break;
+      case EDGE_BIDIRECTIONAL:
+        ((Observable<Object>) source).bindBidirectionallyTo((Observable<Object>) target);
+        break;
+      default:
+        throw new IOException("Cannot restore snapshot: Illegal binding type " + type);
+    }
+  }
+
+  /**
+   * Represents a single observable within a snapshot.
+   */
+  private static final class Entry<V> {
+
+    private final Observable<V> observable;
+    private final ValueKind kind;
+    private final ValueCodec<V> codec;
+
+    private Entry(@NonNull Observable<V> observable, @NonNull ValueKind kind,
+        ValueCodec<V> codec) {
+      this.observable = observable;
+      this.kind = kind;
+      this.codec = codec;
+    }
+  }
+
+  /**
+   * Provides a buffered output which writes its contents to a file channel.
+   */
+  private static final class Output {
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    private Output(@NonNull FileChannel channel) {
+      this.channel = channel;
+    }
+
+    /**
+     * <p>Ensures that the requested amount of bytes may be written to the returned buffer.</p>
+     *
+     * <p>When the amount exceeds the capacity of the shared buffer, a temporary buffer is returned
+     * instead which has to be passed to {@link #release(ByteBuffer)} once it has been
+     * populated.</p>
+     */
+    @NonNull
+    private ByteBuffer require(int bytes) throws IOException {
+      if (this.buffer.remaining() < bytes) {
+        this.flush();
+      }
+
+      if (bytes > this.buffer.capacity()) {
+        return ByteBuffer.allocate(bytes);
+      }
+
+      return this.buffer;
+    }
+
+    /**
+     * Writes a temporary buffer (as returned by {@link #require(int)}) to the channel.
+     */
+    private void release(@NonNull ByteBuffer buffer) throws IOException {
+      if (buffer == this.buffer) {
+        return;
+      }
+
+      buffer.flip();
+
+      while (buffer.hasRemaining()) {
+        this.channel.write(buffer);
+      }
+    }
+
+    /**
+     * Writes all buffered data to the channel.
+     */
+    private void flush() throws IOException {
+      this.buffer.flip();
+
+      while (this.buffer.hasRemaining()) {
+        this.channel.write(this.buffer);
+      }
+
+      this.buffer.clear();
+    }
+  }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.persistence;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Provides the standard set of codecs.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+final class StandardCodecs {
+
+  static final ValueCodec<Boolean> BOOLEAN = new FixedCodec<Boolean>(1) {
+    @Override
+    public void write(@NonNull ByteBuffer buffer, @NonNull Boolean value) {
+      buffer.put(value ? (byte) 1 : (byte) 0);
+    }
+
+    @NonNull
+    @Override
+    public Boolean read(@NonNull ByteBuffer buffer) {
+      return buffer.get() != 0;
+    }
+  };
+  static final ValueCodec<Byte> BYTE = new FixedCodec<Byte>(1) {
+    @Override
+    public void write(@NonNull ByteBuffer buffer, @NonNull Byte value) {
+      buffer.put(value);
+    }
+
+    @NonNull
+    @Override
+    public Byte read(@NonNull ByteBuffer buffer) {
+      return buffer.get();
+    }
+  };
+  static final ValueCodec<Short> SHORT = new FixedCodec<Short>(2) {
+    @Override
+    public void write(@NonNull ByteBuffer buffer, @NonNull Short value) {
+      buffer.putShort(value);
+    }
+
+    @NonNull
+    @Override
+    public Short read(@NonNull ByteBuffer buffer) {
+      return buffer.getShort();
+    }
+  };
+  static final ValueCodec<Character> CHARACTER = new FixedCodec<Character>(2) {
+    @Override
+    public void write(@NonNull ByteBuffer buffer, @NonNull Character value) {
+      buffer.putChar(value);
+    }
+
+    @NonNull
+    @Override
+    public Character read(@NonNull ByteBuffer buffer) {
+      return buffer.getChar();
+    }
+  };
+  static final ValueCodec<Integer> INTEGER = new FixedCodec<Integer>(4) {
+    @Override
+    public void write(@NonNull ByteBuffer buffer, @NonNull Integer value) {
+      buffer.putInt(value);
+    }
+
+    @NonNull
+    @Override
+    public Integer read(@NonNull ByteBuffer buffer) {
+      return buffer.getInt();
+    }
+  };
+  static final ValueCodec<Long> LONG = new FixedCodec<Long>(8) {
+    @Override
+    public void write(@NonNull ByteBuffer buffer, @NonNull Long value) {
+      buffer.putLong(value);
+    }
+
+    @NonNull
+    @Override
+    public Long read(@NonNull ByteBuffer buffer) {
+      return buffer.getLong();
+    }
+  };
+  static final ValueCodec<Float> FLOAT = new FixedCodec<Float>(4) {
+    @Override
+    public void write(@NonNull ByteBuffer buffer, @NonNull Float value) {
+      buffer.putFloat(value);
+    }
+
+    @NonNull
+    @Override
+    public Float read(@NonNull ByteBuffer buffer) {
+      return buffer.getFloat();
+    }
+  };
+  static final ValueCodec<Double> DOUBLE = new FixedCodec<Double>(8) {
+    @Override
+    public void write(@NonNull ByteBuffer buffer, @NonNull Double value) {
+      buffer.putDouble(value);
+    }
+
+    @NonNull
+    @Override
+    public Double read(@NonNull ByteBuffer buffer) {
+      return buffer.getDouble();
+    }
+  };
+  static final ValueCodec<String> STRING = new ValueCodec<String>() {
+    @Override
+    public int size(@NonNull String value) {
+      // UTF-8 encodes every UTF-16 code unit using at most three bytes which permits us to
+      // compute an upper bound without encoding the value twice
+      return 4 + value.length() * 3;
+    }
+
+    @Override
+    public void write(@NonNull ByteBuffer buffer, @NonNull String value) {
+      byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+
+      buffer.putInt(encoded.length);
+      buffer.put(encoded);
+    }
+
+    @NonNull
+    @Override
+    public String read(@NonNull ByteBuffer buffer) {
+      int length = buffer.getInt();
+
+      if (length < 0 || length > buffer.remaining()) {
+        throw new IllegalArgumentException("Illegal string length: " + length);
+      }
+
+      byte[] encoded = new byte[length];
+      buffer.get(encoded);
+
+      return new String(encoded, StandardCharsets.UTF_8);
+    }
+  };
+
+  private StandardCodecs() {
+  }
+
+  /**
+   * Provides a base to codecs which encode their values using a fixed amount of bytes.
+   */
+  private abstract static class FixedCodec<V> implements ValueCodec<V> {
+
+    private final int size;
+
+    FixedCodec(int size) {
+      this.size = size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size(@NonNull V value) {
+      return this.size;
+    }
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.persistence;
+
+import java.util.concurrent.TimeUnit;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Defines when a {@link ChangeJournal} explicitly forces its written records to the underlying
+ * storage device.</p>
+ *
+ * <p>Policies trade durability against throughput: Forcing every record guarantees that no record
+ * is lost when the host crashes, while leaving all synchronization to the operating system yields
+ * the highest throughput. Group commits force a batch of records at once.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class SyncPolicy {
+
+  private static final SyncPolicy NONE = new SyncPolicy(0, 0);
+  private static final SyncPolicy ALWAYS = new SyncPolicy(1, 0);
+
+  private final int records;
+  private final long interval;
+
+  private SyncPolicy(int records, long interval) {
+    this.records = records;
+    this.interval = interval;
+  }
+
+  /**
+   * Creates a policy which leaves synchronization to the operating system (records are only
+   * forced when the journal is flushed or closed explicitly).
+   */
+  @NonNull
+  public static SyncPolicy none() {
+    return NONE;
+  }
+
+  /**
+   * Creates a policy which forces every record to the storage device before the change is
+   * passed on to other listeners.
+   */
+  @NonNull
+  public static SyncPolicy always() {
+    return ALWAYS;
+  }
+
+  /**
+   * <p>Creates a policy which forces pending records as soon as the specified amount of records
+   * has been written or the specified interval has elapsed since the last force (whichever comes
+   * first).</p>
+   *
+   * <p>Note that intervals are evaluated when records are appended. As such, the last records
+   * before a period of inactivity will remain pending until the journal is flushed
+   * explicitly.</p>
+   *
+   * @throws IllegalArgumentException when the record threshold or interval is not positive.
+   */
+  @NonNull
+  public static SyncPolicy group(int records, long interval, @NonNull TimeUnit unit) {
+    if (records <= 0) {
+      throw new IllegalArgumentException("Record threshold must be positive: " + records);
+    }
+    if (interval <= 0) {
+      throw new IllegalArgumentException("Interval must be positive: " + interval);
+    }
+
+    return new SyncPolicy(records, unit.toNanos(interval));
+  }
+
+  /**
+   * Evaluates whether pending records need to be forced.
+   *
+   * @param pending the amount of records written since the last force.
+   * @param elapsed the amount of nanoseconds elapsed since the last force.
+   */
+  boolean isDue(int pending, long elapsed) {
+    if (this.records == 0 || pending == 0) {
+      return false;
+    }
+
+    return pending >= this.records || (this.interval != 0 && elapsed >= this.interval);
+  }
+
+  /**
+   * Evaluates whether this policy forces records at all.
+   */
+  boolean isEnabled() {
+    return this.records != 0;
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.persistence;
+
+import java.nio.ByteBuffer;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Encodes and decodes values of a given type to and from their binary representation.</p>
+ *
+ * <p>Codecs are never passed null values as the presence of a value is tracked by the respective
+ * container format instead.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public interface ValueCodec<V> {
+
+  /**
+   * Provides a codec which encodes boolean values as a single byte.
+   */
+  @NonNull
+  static ValueCodec<Boolean> bool() {
+    return StandardCodecs.BOOLEAN;
+  }
+
+  /**
+   * Provides a codec which encodes byte values.
+   */
+  @NonNull
+  static ValueCodec<Byte> byteValue() {
+    return StandardCodecs.BYTE;
+  }
+
+  /**
+   * Provides a codec which encodes short values.
+   */
+  @NonNull
+  static ValueCodec<Short> shortValue() {
+    return StandardCodecs.SHORT;
+  }
+
+  /**
+   * Provides a codec which encodes char values.
+   */
+  @NonNull
+  static ValueCodec<Character> character() {
+    return StandardCodecs.CHARACTER;
+  }
+
+  /**
+   * Provides a codec which encodes int values.
+   */
+  @NonNull
+  static ValueCodec<Integer> integer() {
+    return StandardCodecs.INTEGER;
+  }
+
+  /**
+   * Provides a codec which encodes long values.
+   */
+  @NonNull
+  static ValueCodec<Long> longValue() {
+    return StandardCodecs.LONG;
+  }
+
+  /**
+   * Provides a codec which encodes float values.
+   */
+  @NonNull
+  static ValueCodec<Float> floatValue() {
+    return StandardCodecs.FLOAT;
+  }
+
+  /**
+   * Provides a codec which encodes double values.
+   */
+  @NonNull
+  static ValueCodec<Double> doubleValue() {
+    return StandardCodecs.DOUBLE;
+  }
+
+  /**
+   * Provides a codec which encodes strings using their length prefixed UTF-8 representation.
+   */
+  @NonNull
+  static ValueCodec<String> string() {
+    return StandardCodecs.STRING;
+  }
+
+  /**
+   * <p>Provides a codec which encodes enum constants using their ordinal.</p>
+   *
+   * <p>Note that re-ordering the constants of the passed enum will invalidate any data which has
+   * previously been encoded using the returned codec.</p>
+   */
+  @NonNull
+  static <E extends Enum<E>> ValueCodec<E> enumeration(@NonNull Class<E> type) {
+    E[] constants = type.getEnumConstants();
+
+    return new ValueCodec<E>() {
+      @Override
+      public int size(@NonNull E value) {
+        return 4;
+      }
+
+      @Override
+      public void write(@NonNull ByteBuffer buffer, @NonNull E value) {
+        buffer.putInt(value.ordinal());
+      }
+
+      @NonNull
+      @Override
+      public E read(@NonNull ByteBuffer buffer) {
+        int ordinal = buffer.getInt();
+
+        if (ordinal < 0 || ordinal >= constants.length) {
+          throw new IllegalArgumentException(
+              "Illegal ordinal for enum " + type.getName() + ": " + ordinal);
+        }
+
+        return constants[ordinal];
+      }
+    };
+  }
+
+  /**
+   * Computes the amount of bytes required to encode the passed value.
+   */
+  int size(@NonNull V value);
+
+  /**
+   * <p>Writes the binary representation of the passed value into the supplied buffer.</p>
+   *
+   * <p>Callers are responsible for ensuring that at least {@link #size(Object)} bytes are remaining
+   * within the passed buffer.</p>
+   */
+  void write(@NonNull ByteBuffer buffer, @NonNull V value);
+
+  /**
+   * Reads a previously encoded value from the supplied buffer.
+   *
+   * @throws IllegalArgumentException when the buffer contains an illegal representation.
+   */
+  @NonNull
+  V read(@NonNull ByteBuffer buffer);
+}
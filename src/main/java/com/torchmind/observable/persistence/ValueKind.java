@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.persistence;
+
+import com.torchmind.observable.Observable;
+import com.torchmind.observable.ReadOnlyObservable;
+import com.torchmind.observable.primitive.BooleanObservable;
+import com.torchmind.observable.primitive.ByteObservable;
+import com.torchmind.observable.primitive.CharacterObservable;
+import com.torchmind.observable.primitive.DoubleObservable;
+import com.torchmind.observable.primitive.FloatObservable;
+import com.torchmind.observable.primitive.IntegerObservable;
+import com.torchmind.observable.primitive.LongObservable;
+import com.torchmind.observable.primitive.ShortObservable;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Identifies the binary representation of an observable value within persisted data.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+enum ValueKind {
+  BOOLEAN(1, BooleanObservable.class),
+  BYTE(2, ByteObservable.class),
+  SHORT(3, ShortObservable.class),
+  CHARACTER(4, CharacterObservable.class),
+  INTEGER(5, IntegerObservable.class),
+  LONG(6, LongObservable.class),
+  FLOAT(7, FloatObservable.class),
+  DOUBLE(8, DoubleObservable.class),
+  OBJECT(9, Observable.class);
+
+  private final byte tag;
+  private final Class<?> type;
+
+  ValueKind(int tag, @NonNull Class<?> type) {
+    this.tag = (byte) tag;
+    this.type = type;
+  }
+
+  /**
+   * Resolves the kind which is responsible for encoding the values of the passed observable.
+   */
+  @NonNull
+  static ValueKind of(@NonNull ReadOnlyObservable<?> observable) {
+    for (ValueKind kind : values()) {
+      if (kind.type.isInstance(observable)) {
+        return kind;
+      }
+    }
+
+    return OBJECT;
+  }
+
+  /**
+   * Retrieves the tag which identifies this kind within persisted data.
+   */
+  byte getTag() {
+    return this.tag;
+  }
+
+  /**
+   * Retrieves the amount of bytes required to store a primitive value of this kind.
+   *
+   * @throws IllegalStateException when this kind does not describe a primitive value.
+   */
+  int getSize() {
+    switch (this) {
+      case BOOLEAN:
+      case BYTE:
+        return 1;
+      case SHORT:
+      case CHARACTER:
+        return 2;
+      case INTEGER:
+      case FLOAT:
+        return 4;
+      case LONG:
+      case DOUBLE:
+        return 8;
+      default:
+        throw new IllegalStateException("Kind " + this + " is not of fixed size");
+    }
+  }
+}
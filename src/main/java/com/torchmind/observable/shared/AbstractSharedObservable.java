@@ -0,0 +1,192 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.shared;
+
+import com.torchmind.observable.concurrent.AbstractBlockingObservable;
+import com.torchmind.observable.listener.ValidationListener;
+import java.util.concurrent.locks.Lock;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * <p>Provides a base to observables which store their value within a slot of a
+ * {@link SharedMemoryRegion}.</p>
+ *
+ * <p>Local changes are written to the shared slot before they are published to local listeners
+ * while changes which originate from other processes are published from the polling thread of
+ * the region.</p>
+ *
+ * <p>Observables adopt the value of their slot when they are created. Slots which have never been
+ * written evaluate to the representation of zero (or false).</p>
+ *
+ * <p>Note that shared slots are incapable of representing null. As such, null values are retained
+ * locally but are never propagated to other processes. The primitive accessors of observables
+ * which locally hold null evaluate to the representation of zero (or false).</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public abstract class AbstractSharedObservable<V> extends AbstractBlockingObservable<V> {
+
+  private final SharedMemoryRegion region;
+  private final int slot;
+  // slot sequences are never negative and thus the initial synchronization always adopts the
+  // value of the slot (even when it has never been written)
+  private volatile long sequence = -1;
+  // indicates that the change which is currently being applied has been adopted from the slot and
+  // thus must not be written back (guarded by the write lock)
+  private boolean adopting;
+
+  public AbstractSharedObservable(@Nullable ValidationListener<V> validationListener,
+      @NonNull SharedMemoryRegion region, int slot) {
+    super(validationListener, null);
+    this.region = region;
+    this.slot = slot;
+
+    // adopt the value which is currently stored within the slot as it may have been written by
+    // another process long before this observable was created (synchronization is retried while
+    // other writers are updating the slot and fails when a writer terminates mid-update)
+    while (this.sequence < 0) {
+      this.synchronize(true);
+    }
+    region.register(this);
+  }
+
+  /**
+   * Converts a value into its 64-bit representation.
+   */
+  protected abstract long encode(@NonNull V value);
+
+  /**
+   * Converts a 64-bit representation back into its original value.
+   */
+  @NonNull
+  protected abstract V decode(long value);
+
+  /**
+   * <p>Reads the value which is currently stored within the shared slot.</p>
+   *
+   * <p>Unlike {@link #get()}, this method bypasses the polling thread of the region and thus
+   * observes the changes of other processes immediately. As such, both methods may disagree until
+   * a change has been adopted by this observable (and published to its listeners).</p>
+   */
+  @NonNull
+  public V readShared() {
+    return this.decode(this.region.read(this.slot));
+  }
+
+  /**
+   * Retrieves the region in which this observable stores its value.
+   */
+  @NonNull
+  public SharedMemoryRegion getRegion() {
+    return this.region;
+  }
+
+  /**
+   * Retrieves the slot in which this observable stores its value.
+   */
+  public int getSlot() {
+    return this.slot;
+  }
+
+  /**
+   * Adopts the value of the shared slot when it has been changed by another party since the last
+   * synchronization.
+   *
+   * @return true if a change has been observed, false otherwise.
+   */
+  boolean synchronize() {
+    return this.synchronize(false);
+  }
+
+  /**
+   * <p>Adopts the value of the shared slot when it has been changed by another party since the
+   * last synchronization.</p>
+   *
+   * <p>The slot is read while the write lock of this observable is held. As such, local writes
+   * cannot interleave between reading the slot and adopting its value (which would otherwise
+   * replace their value with an outdated copy).</p>
+   *
+   * @param wait indicates whether a write which is currently in progress shall be awaited.
+   * @return true if a change has been observed, false otherwise.
+   * @throws IllegalStateException when the writer of the slot terminates mid-update.
+   */
+  private boolean synchronize(boolean wait) {
+    Lock lock = this.getLock().writeLock();
+    lock.lock();
+
+    try {
+      long sequence = this.region.sequence(this.slot);
+
+      if (sequence == this.sequence) {
+        return false;
+      }
+
+      if ((sequence & 1) != 0) {
+        if (wait) {
+          this.region.read(this.slot);
+        }
+
+        return false;
+      }
+
+      long encoded = this.region.read(this.slot);
+
+      // the value may belong to a later write when the slot has been updated while reading and
+      // is thus only adopted along with the sequence it has been read at
+      if (this.region.sequence(this.slot) != sequence) {
+        return false;
+      }
+
+      this.sequence = sequence;
+      V value = this.decode(encoded);
+
+      if (value.equals(super.get())) {
+        return false;
+      }
+
+      this.adopting = true;
+
+      try {
+        this.setInternal(value);
+      } finally {
+        this.adopting = false;
+      }
+
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void publishChange(V oldValue, V newValue) {
+    // the flag is reset before listeners are invoked as they may write to this observable again
+    // (in which case their values need to be propagated as usual)
+    if (this.adopting) {
+      this.adopting = false;
+    } else if (newValue != null) {
+      this.sequence = this.region.write(this.slot, this.encode(newValue));
+    }
+
+    super.publishChange(oldValue, newValue);
+  }
+}
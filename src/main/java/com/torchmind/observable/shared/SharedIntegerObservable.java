@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.shared;
+
+import com.torchmind.observable.listener.ValidationListener;
+import com.torchmind.observable.primitive.IntegerObservable;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Provides a observable implementation which shares its int value with other processes.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class SharedIntegerObservable extends AbstractSharedObservable<Integer> implements
+    IntegerObservable {
+
+  public SharedIntegerObservable(
+      @Nullable ValidationListener<Integer> validationListener,
+      @NonNull SharedMemoryRegion region, int slot) {
+    super(validationListener, region, slot);
+  }
+
+  public SharedIntegerObservable(@NonNull SharedMemoryRegion region, int slot) {
+    this(null, region, slot);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected long encode(@NonNull Integer value) {
+    return value;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  protected Integer decode(long value) {
+    return (int) value;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getValue() {
+    Integer value = this.get();
+
+    if (value == null) {
+      return 0;
+    }
+
+    return value;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void setValue(int value) {
+    this.set(value);
+  }
+}
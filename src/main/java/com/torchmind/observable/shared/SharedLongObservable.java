@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.shared;
+
+import com.torchmind.observable.listener.ValidationListener;
+import com.torchmind.observable.primitive.LongObservable;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Provides a observable implementation which shares its long value with other processes.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class SharedLongObservable extends AbstractSharedObservable<Long> implements
+    LongObservable {
+
+  public SharedLongObservable(
+      @Nullable ValidationListener<Long> validationListener,
+      @NonNull SharedMemoryRegion region, int slot) {
+    super(validationListener, region, slot);
+  }
+
+  public SharedLongObservable(@NonNull SharedMemoryRegion region, int slot) {
+    this(null, region, slot);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected long encode(@NonNull Long value) {
+    return value;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  protected Long decode(long value) {
+    return value;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getValue() {
+    Long value = this.get();
+
+    if (value == null) {
+      return 0;
+    }
+
+    return value;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void setValue(long value) {
+    this.set(value);
+  }
+}
@@ -0,0 +1,500 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.shared;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Represents a memory mapped file which is split into a fixed amount of slots, each of which
+ * stores a single 64-bit value which may be shared between processes on the same host.</p>
+ *
+ * <p>Every slot is guarded by a sequence lock: Writers increment the sequence of a slot before and
+ * after they update its value while readers retry until they observe the same even sequence
+ * before and after reading the value. As such, reads never block. Writers of the same slot are
+ * serialized through a file lock which also excludes writers in other processes. Processes which
+ * write frequently may open a {@link WriterSession} which acquires the file lock once for the
+ * entire region and thus permits writes to skip the acquisition of a lock per write.</p>
+ *
+ * <p>Accesses to the mapped memory are ordered through explicit memory fences as the memory
+ * model does not extend to memory mapped files. As Java 8 provides neither variable handles nor
+ * public fences, the fences of {@code sun.misc.Unsafe} are invoked through constant method
+ * handles (which are inlined by the compiler).</p>
+ *
+ * <p>Readers which observe the same odd sequence for a prolonged period of time check whether the
+ * writer of the slot is still alive by attempting to acquire its file lock (which is released
+ * by the operating system when the process holding it terminates). Reads fail with an
+ * {@link IllegalStateException} when the writer has terminated mid-update or does not complete
+ * its update within {@link #WRITER_TIMEOUT} seconds.</p>
+ *
+ * <p>Changes which originate from other processes are discovered by a daemon thread which polls
+ * the sequences of all slots which are in use by local observables. The thread backs off
+ * gradually (up to the configured maximum interval) while no changes are observed.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class SharedMemoryRegion implements Closeable {
+
+  /**
+   * Defines the amount of bytes occupied by a single slot (a sequence and a value).
+   */
+  static final int SLOT_SIZE = 16;
+
+  private static final int SPIN_ITERATIONS = 100;
+  private static final int YIELD_ITERATIONS = 100;
+  private static final long MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+
+  /**
+   * Defines the maximum amount of seconds readers wait for a writer to complete its update.
+   */
+  public static final long WRITER_TIMEOUT = 10;
+  private static final long WRITER_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(WRITER_TIMEOUT);
+
+  /**
+   * File locks are held on behalf of the entire virtual machine and thus writers within the same
+   * process need to be serialized before acquiring them. Guards are removed once all regions of
+   * their file have been closed.
+   */
+  private static final ConcurrentMap<Path, WriteGuard> WRITE_GUARDS = new ConcurrentHashMap<>();
+
+  private static final MethodHandle LOAD_FENCE;
+  private static final MethodHandle STORE_FENCE;
+  private static final MethodHandle FULL_FENCE;
+
+  static {
+    try {
+      Class<?> type = Class.forName("sun.misc.Unsafe");
+      Field field = type.getDeclaredField("theUnsafe");
+      field.setAccessible(true);
+      Object unsafe = field.get(null);
+
+      MethodHandles.Lookup lookup = MethodHandles.lookup();
+      MethodType fence = MethodType.methodType(void.class);
+      LOAD_FENCE = lookup.findVirtual(type, "loadFence", fence).bindTo(unsafe);
+      STORE_FENCE = lookup.findVirtual(type, "storeFence", fence).bindTo(unsafe);
+      FULL_FENCE = lookup.findVirtual(type, "fullFence", fence).bindTo(unsafe);
+    } catch (ReflectiveOperationException ex) {
+      throw new ExceptionInInitializerError(ex);
+    }
+  }
+
+  private final Path path;
+  private final FileChannel channel;
+  private final MappedByteBuffer buffer;
+  private final int capacity;
+  private final long maxPollInterval;
+  private final WriteGuard writeGuard;
+  private final List<WeakReference<AbstractSharedObservable<?>>> observables = new CopyOnWriteArrayList<>();
+  private Thread poller;
+  private volatile boolean closed;
+
+  public SharedMemoryRegion(@NonNull Path path, int capacity, long maxPollInterval,
+      @NonNull TimeUnit unit) throws IOException {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+    }
+
+    this.capacity = capacity;
+    this.maxPollInterval = Math.max(MIN_PARK_NANOS, unit.toNanos(maxPollInterval));
+    this.channel = FileChannel
+        .open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * SLOT_SIZE);
+    this.path = path.toRealPath();
+    this.writeGuard = WRITE_GUARDS.compute(this.path, (p, guard) -> {
+      if (guard == null) {
+        guard = new WriteGuard();
+      }
+
+      ++guard.regions;
+      return guard;
+    });
+  }
+
+  public SharedMemoryRegion(@NonNull Path path, int capacity) throws IOException {
+    this(path, capacity, 1, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Prevents the compiler and processor from re-ordering memory accesses across the passed
+   * fence.
+   */
+  private static void fence(@NonNull MethodHandle fence) {
+    try {
+      fence.invokeExact();
+    } catch (Throwable ex) {
+      // fences never fail
+      throw new IllegalStateException("Failed to issue memory fence", ex);
+    }
+  }
+
+  /**
+   * Retrieves the total amount of slots within this region.
+   */
+  public int getCapacity() {
+    return this.capacity;
+  }
+
+  /**
+   * Computes the offset of the passed slot within the mapped file.
+   *
+   * @throws IndexOutOfBoundsException when the slot is outside of the bounds of this region.
+   */
+  private int offset(int slot) {
+    if (slot < 0 || slot >= this.capacity) {
+      throw new IndexOutOfBoundsException(
+          "Slot " + slot + " is out of bounds for region of capacity " + this.capacity);
+    }
+
+    return slot * SLOT_SIZE;
+  }
+
+  /**
+   * Retrieves the current sequence of the passed slot.
+   */
+  long sequence(int slot) {
+    long sequence = this.buffer.getLong(this.offset(slot));
+    fence(LOAD_FENCE);
+    return sequence;
+  }
+
+  /**
+   * Retrieves a consistent copy of the value within the passed slot.
+   *
+   * @throws IllegalStateException when the writer of the slot terminates mid-update or does not
+   * complete its update in time.
+   */
+  long read(int slot) {
+    int offset = this.offset(slot);
+    long start = 0;
+
+    for (int attempt = 1; ; ++attempt) {
+      long before = this.buffer.getLong(offset);
+      fence(LOAD_FENCE);
+      long value = this.buffer.getLong(offset + 8);
+      // prevents the value from being read after the sequence is checked again
+      fence(LOAD_FENCE);
+      long after = this.buffer.getLong(offset);
+
+      if (before == after && (before & 1) == 0) {
+        return value;
+      }
+
+      Thread.yield();
+
+      if (attempt % SPIN_ITERATIONS != 0) {
+        continue;
+      }
+
+      if (start == 0) {
+        start = System.nanoTime();
+      } else if (System.nanoTime() - start > WRITER_TIMEOUT_NANOS) {
+        throw new IllegalStateException(
+            "Cannot read slot " + slot + ": Writer did not complete its update in time");
+      }
+
+      this.checkWriter(slot, offset);
+    }
+  }
+
+  /**
+   * <p>Verifies whether the writer which is currently updating the passed slot is still alive.</p>
+   *
+   * <p>Writers hold a file lock for the slot (or the entire region) while its sequence is odd.
+   * As such, an odd sequence which persists while the lock can be acquired indicates that the
+   * writer has terminated mid-update.</p>
+   *
+   * @throws IllegalStateException when the writer has terminated mid-update.
+   */
+  private void checkWriter(int slot, int offset) {
+    FileLock lock;
+
+    try {
+      lock = this.channel.tryLock(offset, SLOT_SIZE, true);
+    } catch (OverlappingFileLockException ex) {
+      // the lock is held by a writer within this process which is alive by definition
+      return;
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+
+    if (lock == null) {
+      return;
+    }
+
+    try {
+      if ((this.buffer.getLong(offset) & 1) != 0) {
+        throw new IllegalStateException(
+            "Cannot read slot " + slot + ": Writer terminated while updating the slot");
+      }
+    } finally {
+      try {
+        lock.release();
+      } catch (IOException ex) {
+        // the lock is released along with the channel at the latest
+        Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, ex);
+      }
+    }
+  }
+
+  /**
+   * Replaces the value within the passed slot and notifies other processes of the change.
+   *
+   * @return the sequence of the slot after the value has been written.
+   * @throws UncheckedIOException when acquiring the file lock fails.
+   */
+  long write(int slot, long value) {
+    int offset = this.offset(slot);
+
+    synchronized (this.writeGuard) {
+      if (this.writeGuard.isHeld()) {
+        return this.store(offset, value);
+      }
+
+      FileLock lock;
+      try {
+        lock = this.channel.lock(offset, SLOT_SIZE, false);
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+
+      try {
+        return this.store(offset, value);
+      } finally {
+        try {
+          lock.release();
+        } catch (IOException ex) {
+          // the lock is released along with the channel at the latest
+          Thread thread = Thread.currentThread();
+          thread.getUncaughtExceptionHandler().uncaughtException(thread, ex);
+        }
+      }
+    }
+  }
+
+  /**
+   * Stores a value within the slot at the passed offset while the file lock is held.
+   */
+  private long store(int offset, long value) {
+    long sequence = this.buffer.getLong(offset);
+
+    this.buffer.putLong(offset, sequence + 1);
+    fence(STORE_FENCE);
+    this.buffer.putLong(offset + 8, value);
+    fence(STORE_FENCE);
+    this.buffer.putLong(offset, sequence + 2);
+    fence(FULL_FENCE);
+
+    return sequence + 2;
+  }
+
+  /**
+   * <p>Opens a writer session which acquires the file lock for the entire region until it is
+   * closed.</p>
+   *
+   * <p>While at least one session is open within this process, writes of all observables which
+   * share the file do not acquire a file lock of their own. Sessions exclude writers in other
+   * processes for their entire duration and should thus be kept open only for as long as the
+   * process writes to the region.</p>
+   *
+   * @throws IOException when acquiring the file lock fails.
+   */
+  @NonNull
+  public WriterSession openWriterSession() throws IOException {
+    synchronized (this.writeGuard) {
+      if (this.closed) {
+        throw new IllegalStateException("Cannot open session: Region has been closed");
+      }
+
+      if (!this.writeGuard.isHeld()) {
+        this.writeGuard.lock = this.channel.lock(0, Long.MAX_VALUE, false);
+        this.writeGuard.sessions = 0;
+      }
+
+      ++this.writeGuard.sessions;
+      return new WriterSession(this.writeGuard);
+    }
+  }
+
+  /**
+   * Registers an observable with the polling thread of this region.
+   */
+  synchronized void register(@NonNull AbstractSharedObservable<?> observable) {
+    if (this.closed) {
+      throw new IllegalStateException("Cannot register observable: Region has been closed");
+    }
+
+    this.observables.add(new WeakReference<>(observable));
+
+    if (this.poller == null) {
+      this.poller = new Thread(this::poll, "SharedMemoryRegion-Poller");
+      this.poller.setDaemon(true);
+      this.poller.start();
+    }
+  }
+
+  /**
+   * Continuously polls the slots of all registered observables for changes which originate from
+   * other processes.
+   */
+  private void poll() {
+    int idle = 0;
+
+    while (!this.closed) {
+      boolean changed = false;
+
+      for (WeakReference<AbstractSharedObservable<?>> reference : this.observables) {
+        AbstractSharedObservable<?> observable = reference.get();
+
+        if (observable == null) {
+          this.observables.remove(reference);
+          continue;
+        }
+
+        try {
+          changed |= observable.synchronize();
+        } catch (RuntimeException ex) {
+          // listeners are not permitted to terminate the poller as this would silently disable
+          // the propagation of changes for all other observables
+          Thread thread = Thread.currentThread();
+          thread.getUncaughtExceptionHandler().uncaughtException(thread, ex);
+        }
+      }
+
+      if (changed) {
+        idle = 0;
+        continue;
+      }
+
+      ++idle;
+
+      // back off gradually when no changes occur in order to keep propagation latency low during
+      // bursts without wasting an entire core while the region is idle
+      if (idle <= SPIN_ITERATIONS) {
+        continue;
+      }
+
+      if (idle <= SPIN_ITERATIONS + YIELD_ITERATIONS) {
+        Thread.yield();
+        continue;
+      }
+
+      int shift = Math.min(idle - SPIN_ITERATIONS - YIELD_ITERATIONS, 30);
+      LockSupport.parkNanos(Math.min(this.maxPollInterval, MIN_PARK_NANOS << shift));
+    }
+  }
+
+  /**
+   * Stops the polling thread and releases the mapped file (as well as the write guard of the file
+   * once no other regions of the same file remain open within this process).
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    if (this.closed) {
+      return;
+    }
+
+    this.closed = true;
+
+    if (this.poller != null) {
+      LockSupport.unpark(this.poller);
+    }
+
+    this.observables.clear();
+    this.channel.close();
+
+    WRITE_GUARDS.computeIfPresent(this.path, (p, guard) -> --guard.regions == 0 ? null : guard);
+  }
+
+  /**
+   * Serializes the writers of a file within this process and tracks the writer sessions which
+   * are currently open for the file.
+   */
+  private static final class WriteGuard {
+
+    private FileLock lock;
+    private int sessions;
+    // guarded by the map of guards
+    private int regions;
+
+    /**
+     * Evaluates whether a writer session currently holds the file lock.
+     */
+    private boolean isHeld() {
+      // locks are implicitly released when the region which acquired them is closed
+      return this.lock != null && this.lock.isValid();
+    }
+  }
+
+  /**
+   * Represents a period during which the file lock of a region is held by this process.
+   */
+  public static final class WriterSession implements Closeable {
+
+    private final WriteGuard guard;
+    private boolean closed;
+
+    private WriterSession(@NonNull WriteGuard guard) {
+      this.guard = guard;
+    }
+
+    /**
+     * Ends this session and releases the file lock once no other sessions remain open.
+     *
+     * @throws IOException when releasing the file lock fails.
+     */
+    @Override
+    public void close() throws IOException {
+      synchronized (this.guard) {
+        if (this.closed) {
+          return;
+        }
+
+        this.closed = true;
+
+        if (--this.guard.sessions == 0 && this.guard.lock != null) {
+          FileLock lock = this.guard.lock;
+          this.guard.lock = null;
+
+          if (lock.isValid()) {
+            lock.release();
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * <p>Provides primitive observables which share their values with other processes on the same
+ * host through memory mapped files.</p>
+ *
+ * <p>Changes which originate from other processes are discovered by a polling thread and relayed
+ * to local listeners from said thread. As such, all implementations within this package are
+ * based on the thread safe implementations of the {@link com.torchmind.observable.concurrent}
+ * package.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+package com.torchmind.observable.shared;
@@ -0,0 +1,376 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.utility;
+
+import com.torchmind.observable.listener.ReferenceMode;
+import com.torchmind.observable.listener.Subscription;
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Stores the listeners of an observable in registration order.</p>
+ *
+ * <p>Listeners are retained according to the {@link ReferenceMode} of their registration.
+ * Weakly and softly referenced listeners are released automatically once they have been
+ * collected while strongly referenced listeners are stored without an intermediate reference
+ * object and are never inspected for collection.</p>
+ *
+ * <p>Each registration is represented by a {@link Subscription} which removes itself in constant
+ * time when closed: Closed registrations are merely marked and are purged from the backing array
+ * once they make up half of its entries.</p>
+ *
+ * <p>This implementation is thread safe. Notifications iterate over an immutable snapshot of the
+ * registrations without acquiring any locks while modifications are serialized.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class ListenerRegistry<L> {
+
+  private static final int MINIMUM_CAPACITY = 4;
+
+  private final Object lock = new Object();
+  private final Map<L, Registration<L>> strongIndex = new HashMap<>();
+  private final Map<L, Registration<L>> index = new WeakHashMap<>();
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private volatile Snapshot<L> snapshot = new Snapshot<>(new Registration[MINIMUM_CAPACITY], 0);
+  private int garbage;
+
+  /**
+   * Registers a listener unless an equal listener has previously been registered through this
+   * method (regardless of its reference mode).
+   *
+   * @return true if the listener has been added, false otherwise.
+   */
+  public boolean register(@NonNull L listener, @NonNull ReferenceMode mode) {
+    synchronized (this.lock) {
+      if (this.strongIndex.containsKey(listener) || this.index.containsKey(listener)) {
+        return false;
+      }
+
+      Registration<L> registration = this.append(listener, mode, true);
+      (mode == ReferenceMode.STRONG ? this.strongIndex : this.index).put(listener, registration);
+      return true;
+    }
+  }
+
+  /**
+   * Removes a listener which has previously been registered through
+   * {@link #register(Object, ReferenceMode)}.
+   *
+   * @return true if the listener has been removed, false otherwise.
+   */
+  public boolean remove(@NonNull Object listener) {
+    Registration<L> registration;
+
+    synchronized (this.lock) {
+      registration = this.strongIndex.remove(listener);
+
+      if (registration == null) {
+        registration = this.index.remove(listener);
+      }
+    }
+
+    if (registration == null) {
+      return false;
+    }
+
+    registration.close();
+    return true;
+  }
+
+  /**
+   * <p>Registers a listener and returns a handle which removes exactly this registration.</p>
+   *
+   * <p>Note that this method does not check for equal listeners. Every call creates a separate
+   * registration.</p>
+   */
+  @NonNull
+  public Subscription subscribe(@NonNull L listener, @NonNull ReferenceMode mode) {
+    synchronized (this.lock) {
+      return this.append(listener, mode, false);
+    }
+  }
+
+  /**
+   * Passes every listener which is registered at the time of the call to the passed action.
+   */
+  public void forEach(@NonNull Consumer<? super L> action) {
+    Snapshot<L> snapshot = this.snapshot;
+
+    for (int i = 0; i < snapshot.size; ++i) {
+      Registration<L> registration = snapshot.registrations[i];
+
+      if (!registration.active) {
+        continue;
+      }
+
+      L listener = registration.get();
+
+      if (listener == null) {
+        registration.close();
+        continue;
+      }
+
+      action.accept(listener);
+    }
+  }
+
+  /**
+   * <p>Retrieves an iterator over every listener which is registered at the time of the
+   * call.</p>
+   *
+   * <p>Listeners which are removed while iterating are skipped while the returned iterator does
+   * not support removal itself.</p>
+   */
+  @NonNull
+  public Iterator<L> iterator() {
+    return new Cursor<>(this.snapshot);
+  }
+
+  /**
+   * Evaluates whether no listeners are currently registered.
+   */
+  public boolean isEmpty() {
+    Snapshot<L> snapshot = this.snapshot;
+
+    for (int i = 0; i < snapshot.size; ++i) {
+      if (snapshot.registrations[i].isActive()) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Appends a new registration to the backing array.
+   */
+  @NonNull
+  private Registration<L> append(@NonNull L listener, @NonNull ReferenceMode mode,
+      boolean indexed) {
+    Snapshot<L> snapshot = this.snapshot;
+
+    if (snapshot.size == snapshot.registrations.length) {
+      snapshot = this.compact(snapshot);
+    }
+
+    // slots beyond the size of a published snapshot are never read and may thus be populated
+    // without copying the array
+    Registration<L> registration = new Registration<>(this, listener, mode, indexed);
+    snapshot.registrations[snapshot.size] = registration;
+    this.snapshot = new Snapshot<>(snapshot.registrations, snapshot.size + 1);
+    return registration;
+  }
+
+  /**
+   * Accounts for a closed registration and purges the backing array once closed registrations
+   * make up half of its entries.
+   */
+  private void release(@NonNull Registration<L> registration) {
+    if (registration.indexed) {
+      L listener = registration.get();
+
+      if (listener != null) {
+        Map<L, Registration<L>> index =
+            registration.strong ? this.strongIndex : this.index;
+
+        if (index.get(listener) == registration) {
+          index.remove(listener);
+        }
+      }
+    }
+
+    Snapshot<L> snapshot = this.snapshot;
+
+    if (++this.garbage * 2 >= snapshot.size) {
+      this.snapshot = this.compact(snapshot);
+    }
+  }
+
+  /**
+   * Copies all active registrations of a snapshot into a new array which provides room for as
+   * many additional registrations.
+   */
+  @NonNull
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private Snapshot<L> compact(@NonNull Snapshot<L> snapshot) {
+    int size = 0;
+
+    for (int i = 0; i < snapshot.size; ++i) {
+      if (snapshot.registrations[i].active) {
+        ++size;
+      }
+    }
+
+    Registration<L>[] registrations = new Registration[Math.max(MINIMUM_CAPACITY, size * 2)];
+    size = 0;
+
+    for (int i = 0; i < snapshot.size; ++i) {
+      if (snapshot.registrations[i].active) {
+        registrations[size++] = snapshot.registrations[i];
+      }
+    }
+
+    this.garbage = 0;
+    return new Snapshot<>(registrations, size);
+  }
+
+  /**
+   * Iterates over the active registrations of a snapshot.
+   */
+  private static final class Cursor<L> implements Iterator<L> {
+
+    private final Snapshot<L> snapshot;
+    private int index;
+    private L next;
+
+    private Cursor(@NonNull Snapshot<L> snapshot) {
+      this.snapshot = snapshot;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasNext() {
+      while (this.next == null && this.index < this.snapshot.size) {
+        Registration<L> registration = this.snapshot.registrations[this.index++];
+
+        if (!registration.active) {
+          continue;
+        }
+
+        this.next = registration.get();
+
+        if (this.next == null) {
+          registration.close();
+        }
+      }
+
+      return this.next != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public L next() {
+      if (!this.hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      L listener = this.next;
+      this.next = null;
+      return listener;
+    }
+  }
+
+  /**
+   * Represents an immutable view of the backing array.
+   */
+  private static final class Snapshot<L> {
+
+    private final Registration<L>[] registrations;
+    private final int size;
+
+    private Snapshot(@NonNull Registration<L>[] registrations, int size) {
+      this.registrations = registrations;
+      this.size = size;
+    }
+  }
+
+  /**
+   * Represents a single registration of a listener.
+   */
+  private static final class Registration<L> implements Subscription {
+
+    private final ListenerRegistry<L> registry;
+    private final boolean strong;
+    private final boolean indexed;
+    private volatile Object referent;
+    private volatile boolean active = true;
+
+    private Registration(@NonNull ListenerRegistry<L> registry, @NonNull L listener,
+        @NonNull ReferenceMode mode, boolean indexed) {
+      this.registry = registry;
+      this.strong = mode == ReferenceMode.STRONG;
+      this.indexed = indexed;
+
+      switch (mode) {
+        case STRONG:
+          this.referent = listener;
+          break;
+        case WEAK:
+          this.referent = new WeakReference<>(listener);
+          break;
+        case SOFT:
+          this.referent = new SoftReference<>(listener);
+          break;
+        default:
+          throw new IllegalArgumentException("Unsupported reference mode: " + mode);
+      }
+    }
+
+    /**
+     * Retrieves the listener of this registration (or null if it has been collected or this
+     * registration has been closed).
+     */
+    @SuppressWarnings("unchecked")
+    private L get() {
+      Object referent = this.referent;
+
+      if (this.strong || referent == null) {
+        return (L) referent;
+      }
+
+      return ((Reference<L>) referent).get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+      synchronized (this.registry.lock) {
+        if (!this.active) {
+          return;
+        }
+
+        this.active = false;
+        this.registry.release(this);
+        this.referent = null;
+      }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isActive() {
+      return this.active && this.get() != null;
+    }
+  }
+}
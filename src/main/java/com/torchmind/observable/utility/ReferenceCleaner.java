@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.utility;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Executes cleanup actions once their respective objects become phantom reachable.</p>
+ *
+ * <p>This implementation mirrors the contract of {@code java.lang.ref.Cleaner} (which is not
+ * available on Java 8): Actions are executed on a single shared daemon thread and must not refer
+ * to the object they are registered for as it would otherwise never become phantom reachable.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class ReferenceCleaner {
+
+  private static final ReferenceCleaner DEFAULT = new ReferenceCleaner();
+
+  private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+  private final Set<CleanableReference> references = ConcurrentHashMap.newKeySet();
+
+  private ReferenceCleaner() {
+    Thread thread = new Thread(this::run, "ReferenceCleaner");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Retrieves the cleaner which is shared by all components of this library.
+   */
+  @NonNull
+  public static ReferenceCleaner getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * Registers an action which is executed once the passed object becomes phantom reachable or
+   * the returned cleanable is invoked explicitly (whichever occurs first).
+   */
+  @NonNull
+  public Cleanable register(@NonNull Object object, @NonNull Runnable action) {
+    CleanableReference reference = new CleanableReference(object, this, action);
+    this.references.add(reference);
+    return reference;
+  }
+
+  /**
+   * Processes enqueued references.
+   */
+  private void run() {
+    while (true) {
+      try {
+        ((CleanableReference) this.queue.remove()).clean();
+      } catch (InterruptedException ignore) {
+        // the cleaner thread is never terminated
+      } catch (Throwable ex) {
+        Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, ex);
+      }
+    }
+  }
+
+  /**
+   * Represents a registered cleanup action.
+   */
+  @FunctionalInterface
+  public interface Cleanable {
+
+    /**
+     * Unregisters this action and executes it unless it has already been executed.
+     */
+    void clean();
+  }
+
+  /**
+   * Keeps track of a registered object and its respective action.
+   */
+  private static final class CleanableReference extends PhantomReference<Object> implements
+      Cleanable {
+
+    private final ReferenceCleaner cleaner;
+    private final Runnable action;
+
+    private CleanableReference(@NonNull Object referent, @NonNull ReferenceCleaner cleaner,
+        @NonNull Runnable action) {
+      super(referent, cleaner.queue);
+      this.cleaner = cleaner;
+      this.action = action;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clean() {
+      if (this.cleaner.references.remove(this)) {
+        this.clear();
+        this.action.run();
+      }
+    }
+  }
+}
@@ -0,0 +1,328 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.utility;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * <p>Provides a hashed timer wheel which executes large amounts of delayed tasks using a single
+ * thread.</p>
+ *
+ * <p>Scheduling and cancelling tasks are constant time operations. In exchange, tasks are executed
+ * with a precision of a single tick (e.g. a task may be executed up to one tick duration after its
+ * deadline). Tasks are executed on the timer thread and are thus expected to complete quickly.</p>
+ *
+ * <p>The timer thread is started lazily when the first task is scheduled and parks while no tasks
+ * are pending.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class TimerWheel {
+
+  private static final TimerWheel DEFAULT = new TimerWheel(1, TimeUnit.MILLISECONDS, 1024);
+
+  private final long tickDuration;
+  private final Bucket[] wheel;
+  private final int mask;
+  private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger size = new AtomicInteger();
+  private final long origin = System.nanoTime();
+  private volatile Thread worker;
+  private volatile boolean stopped;
+  private long tick;
+
+  /**
+   * Creates a new timer wheel.
+   *
+   * @param tickDuration the duration of a single tick (and thus the precision of the timer).
+   * @param wheelSize the amount of buckets (rounded up to the next power of two).
+   */
+  public TimerWheel(long tickDuration, @NonNull TimeUnit unit, int wheelSize) {
+    if (tickDuration <= 0) {
+      throw new IllegalArgumentException("Tick duration must be positive: " + tickDuration);
+    }
+    if (wheelSize <= 0 || wheelSize > (1 << 30)) {
+      throw new IllegalArgumentException("Illegal wheel size: " + wheelSize);
+    }
+
+    int buckets = Integer.highestOneBit(wheelSize);
+    if (buckets < wheelSize) {
+      buckets <<= 1;
+    }
+
+    this.tickDuration = unit.toNanos(tickDuration);
+    this.wheel = new Bucket[buckets];
+    this.mask = buckets - 1;
+
+    for (int i = 0; i < buckets; ++i) {
+      this.wheel[i] = new Bucket();
+    }
+  }
+
+  /**
+   * <p>Retrieves the timer wheel which is shared by all timed bindings within this library.</p>
+   *
+   * <p>The shared timer cannot be stopped as this would disable all timed bindings of the
+   * application.</p>
+   */
+  @NonNull
+  public static TimerWheel getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * Schedules a task for execution after the specified delay.
+   *
+   * @throws IllegalStateException when the timer has been stopped.
+   */
+  @NonNull
+  public Timeout schedule(@NonNull Runnable task, long delay, @NonNull TimeUnit unit) {
+    if (this.stopped) {
+      throw new IllegalStateException("Cannot schedule task: Timer has been stopped");
+    }
+
+    Timeout timeout = new Timeout(task, System.nanoTime() + Math.max(0, unit.toNanos(delay)));
+    this.pending.add(timeout);
+
+    if (this.size.getAndIncrement() == 0 || this.worker == null) {
+      this.wake();
+    }
+
+    return timeout;
+  }
+
+  /**
+   * Starts or unparks the timer thread.
+   */
+  private void wake() {
+    Thread worker = this.worker;
+
+    if (worker == null) {
+      synchronized (this) {
+        worker = this.worker;
+
+        if (worker == null) {
+          worker = new Thread(this::run, "TimerWheel-Worker");
+          worker.setDaemon(true);
+          this.worker = worker;
+          worker.start();
+          return;
+        }
+      }
+    }
+
+    LockSupport.unpark(worker);
+  }
+
+  /**
+   * Stops the timer thread and discards all pending tasks.
+   *
+   * @throws IllegalStateException when invoked on the shared timer.
+   */
+  public void stop() {
+    if (this == DEFAULT) {
+      throw new IllegalStateException("Cannot stop timer: Timer is shared by all timed bindings");
+    }
+
+    this.stopped = true;
+
+    Thread worker = this.worker;
+    if (worker != null) {
+      LockSupport.unpark(worker);
+    }
+  }
+
+  /**
+   * Retrieves the amount of tasks which are currently pending.
+   */
+  public int size() {
+    return this.size.get();
+  }
+
+  /**
+   * Executes the timer loop.
+   */
+  private void run() {
+    while (!this.stopped) {
+      if (this.size.get() == 0) {
+        LockSupport.park(this);
+
+        // skip all ticks which have passed while the timer was idle as there are no tasks which
+        // could have been due within them
+        this.tick = (System.nanoTime() - this.origin) / this.tickDuration;
+        continue;
+      }
+
+      long deadline = this.origin + (this.tick + 1) * this.tickDuration;
+      long remaining = deadline - System.nanoTime();
+
+      if (remaining > 0) {
+        LockSupport.parkNanos(this, remaining);
+        continue;
+      }
+
+      this.transfer();
+      this.wheel[(int) (this.tick & this.mask)].expire(this);
+      ++this.tick;
+    }
+  }
+
+  /**
+   * Moves newly scheduled timeouts into their respective buckets.
+   */
+  private void transfer() {
+    Timeout timeout;
+
+    while ((timeout = this.pending.poll()) != null) {
+      if (timeout.state.get() != Timeout.STATE_PENDING) {
+        this.size.decrementAndGet();
+        continue;
+      }
+
+      long ticks = Math.max(this.tick, (timeout.deadline - this.origin) / this.tickDuration);
+      timeout.rounds = (ticks - this.tick) / this.wheel.length;
+      this.wheel[(int) (ticks & this.mask)].add(timeout);
+    }
+  }
+
+  /**
+   * Represents a scheduled task.
+   */
+  public static final class Timeout {
+
+    private static final int STATE_PENDING = 0;
+    private static final int STATE_CANCELLED = 1;
+    private static final int STATE_EXPIRED = 2;
+
+    private final Runnable task;
+    private final long deadline;
+    private final AtomicInteger state = new AtomicInteger();
+    private long rounds;
+    private Timeout previous;
+    private Timeout next;
+
+    private Timeout(@NonNull Runnable task, long deadline) {
+      this.task = task;
+      this.deadline = deadline;
+    }
+
+    /**
+     * Cancels this task unless it has already been executed.
+     *
+     * @return true if the task has been cancelled, false otherwise.
+     */
+    public boolean cancel() {
+      return this.state.compareAndSet(STATE_PENDING, STATE_CANCELLED);
+    }
+
+    /**
+     * Evaluates whether this task has been cancelled.
+     */
+    public boolean isCancelled() {
+      return this.state.get() == STATE_CANCELLED;
+    }
+
+    /**
+     * Evaluates whether this task has been executed.
+     */
+    public boolean isExpired() {
+      return this.state.get() == STATE_EXPIRED;
+    }
+  }
+
+  /**
+   * Represents a single slot of the wheel in the form of a doubly linked list.
+   */
+  private static final class Bucket {
+
+    private Timeout head;
+    private Timeout tail;
+
+    /**
+     * Appends a timeout to this bucket.
+     */
+    private void add(@NonNull Timeout timeout) {
+      if (this.head == null) {
+        this.head = this.tail = timeout;
+        return;
+      }
+
+      this.tail.next = timeout;
+      timeout.previous = this.tail;
+      this.tail = timeout;
+    }
+
+    /**
+     * Removes a timeout from this bucket.
+     */
+    private void remove(@NonNull Timeout timeout) {
+      if (timeout.previous != null) {
+        timeout.previous.next = timeout.next;
+      } else {
+        this.head = timeout.next;
+      }
+
+      if (timeout.next != null) {
+        timeout.next.previous = timeout.previous;
+      } else {
+        this.tail = timeout.previous;
+      }
+
+      timeout.previous = timeout.next = null;
+    }
+
+    /**
+     * Executes all timeouts within this bucket which are due within the current round.
+     */
+    private void expire(@NonNull TimerWheel timer) {
+      Timeout timeout = this.head;
+
+      while (timeout != null) {
+        Timeout next = timeout.next;
+
+        if (timeout.state.get() == Timeout.STATE_CANCELLED) {
+          this.remove(timeout);
+          timer.size.decrementAndGet();
+        } else if (timeout.rounds <= 0) {
+          this.remove(timeout);
+          timer.size.decrementAndGet();
+
+          if (timeout.state.compareAndSet(Timeout.STATE_PENDING, Timeout.STATE_EXPIRED)) {
+            try {
+              timeout.task.run();
+            } catch (Throwable ex) {
+              // tasks are not permitted to terminate the timer thread as this would silently
+              // prevent the execution of all other tasks
+              Thread thread = Thread.currentThread();
+              thread.getUncaughtExceptionHandler().uncaughtException(thread, ex);
+            }
+          }
+        } else {
+          --timeout.rounds;
+        }
+
+        timeout = next;
+      }
+    }
+  }
+}
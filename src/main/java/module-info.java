@@ -24,11 +24,16 @@
 module com.torchmind.observable {
   exports com.torchmind.observable;
   exports com.torchmind.observable.binding;
+  exports com.torchmind.observable.collection;
   exports com.torchmind.observable.concurrent;
   exports com.torchmind.observable.concurrent.primitive;
+  exports com.torchmind.observable.config;
   exports com.torchmind.observable.listener;
+  exports com.torchmind.observable.persistence;
   exports com.torchmind.observable.primitive;
+  exports com.torchmind.observable.shared;
   exports com.torchmind.observable.utility;
 
+  requires jdk.unsupported;
   requires static com.github.spotbugs.annotations;
 }
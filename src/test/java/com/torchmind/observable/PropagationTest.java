@@ -0,0 +1,243 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable;
+
+import com.torchmind.observable.binding.Binding;
+import com.torchmind.observable.concurrent.BlockingObservable;
+import com.torchmind.observable.listener.InvalidationListener;
+import com.torchmind.observable.listener.ReferenceMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Evaluates whether changes are propagated through deep chains without exhausting the stack.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class PropagationTest {
+
+  private static final int DEPTH = 100_000;
+
+  /**
+   * Evaluates whether a chain of unidirectional bindings relays every change to its end.
+   */
+  @Test(timeout = 30000)
+  public void testDeepChain() {
+    SimpleObservable<Integer> source = new SimpleObservable<>(0);
+    List<SimpleObservable<Integer>> chain = new ArrayList<>(DEPTH);
+    ReadOnlyObservable<Integer> previous = source;
+
+    for (int i = 0; i < DEPTH; ++i) {
+      SimpleObservable<Integer> observable = new SimpleObservable<>();
+      observable.bindTo(previous);
+
+      chain.add(observable);
+      previous = observable;
+    }
+
+    for (int i = 1; i <= 10; ++i) {
+      source.set(i);
+      Assert.assertEquals(i, (int) chain.get(DEPTH - 1).get());
+    }
+  }
+
+  /**
+   * Evaluates whether a chain of bindings is invalidated through to its end.
+   */
+  @Test(timeout = 30000)
+  public void testDeepInvalidation() {
+    SimpleObservable<Integer> source = new SimpleObservable<>(0);
+    List<Binding<Integer>> chain = new ArrayList<>(DEPTH);
+    ReadOnlyObservable<Integer> previous = source;
+
+    for (int i = 0; i < DEPTH; ++i) {
+      ReadOnlyObservable<Integer> dependency = previous;
+      Binding<Integer> binding = Binding.create(dependency::get, dependency);
+
+      chain.add(binding);
+      previous = binding;
+    }
+
+    // dependencies reference bindings weakly and thus the chain is retained until the end
+    AtomicInteger invalidations = new AtomicInteger();
+    InvalidationListener listener = (o) -> invalidations.incrementAndGet();
+    chain.get(DEPTH - 1).registerListener(listener, ReferenceMode.STRONG);
+
+    source.set(1);
+    Assert.assertEquals(1, invalidations.get());
+    Assert.assertEquals(DEPTH, chain.size());
+  }
+
+  /**
+   * Evaluates whether listeners are notified in depth-first order.
+   */
+  @Test
+  public void testOrder() {
+    SimpleObservable<Integer> source = new SimpleObservable<>(0);
+    SimpleObservable<Integer> first = new SimpleObservable<>();
+    SimpleObservable<Integer> second = new SimpleObservable<>();
+    List<String> notifications = new ArrayList<>();
+
+    first.bindTo(source);
+    first.registerListener((property, oldValue, newValue) -> notifications.add("first-child"),
+        ReferenceMode.STRONG);
+    second.bindTo(source);
+    second.registerListener((property, oldValue, newValue) -> notifications.add("second-child"),
+        ReferenceMode.STRONG);
+
+    source.set(1);
+    Assert.assertEquals(2, notifications.size());
+    Assert.assertEquals("first-child", notifications.get(0));
+    Assert.assertEquals("second-child", notifications.get(1));
+  }
+
+  /**
+   * Evaluates whether bidirectional bindings with other observable implementations terminate
+   * when they are updated by a listener (e.g. while a propagation is already being delivered)
+   * and neither side suppresses equal values.
+   */
+  @Test(timeout = 10000)
+  public void testNestedBidirectionalUpdate() {
+    SimpleObservable<Integer> trigger = new SimpleObservable<>(0);
+    SimpleObservable<Integer> local = new SimpleObservable<>(0);
+    BlockingObservable<Integer> foreign = new BlockingObservable<>(0);
+    AtomicInteger localChanges = new AtomicInteger();
+    AtomicInteger foreignChanges = new AtomicInteger();
+
+    local.setEqualityStrategy(EqualityStrategy.never());
+    foreign.setEqualityStrategy(EqualityStrategy.never());
+    local.bindBidirectionallyTo(foreign);
+    local.registerListener((property, oldValue, newValue) -> localChanges.incrementAndGet(),
+        ReferenceMode.STRONG);
+    foreign.registerListener((property, oldValue, newValue) -> foreignChanges.incrementAndGet(),
+        ReferenceMode.STRONG);
+    trigger.registerListener((property, oldValue, newValue) -> local.set(newValue),
+        ReferenceMode.STRONG);
+
+    trigger.set(1);
+    Assert.assertEquals(1, (int) local.get());
+    Assert.assertEquals(1, (int) foreign.get());
+    Assert.assertEquals(1, localChanges.get());
+    Assert.assertEquals(1, foreignChanges.get());
+
+    // the guard is released once the propagation has been delivered
+    foreign.set(2);
+    Assert.assertEquals(2, (int) local.get());
+    Assert.assertEquals(2, (int) foreign.get());
+    Assert.assertEquals(2, localChanges.get());
+  }
+
+  /**
+   * Evaluates whether the members of a bidirectionally bound group are notified in the same order
+   * regardless of whether the group is updated directly or by a listener.
+   */
+  @Test
+  public void testNestedGroupOrder() {
+    SimpleObservable<Integer> trigger = new SimpleObservable<>(0);
+    List<SimpleObservable<Integer>> members = new ArrayList<>();
+    List<Integer> notifications = new ArrayList<>();
+
+    for (int i = 0; i < 4; ++i) {
+      SimpleObservable<Integer> member = new SimpleObservable<>(0);
+      int index = i;
+      member.registerListener((property, oldValue, newValue) -> notifications.add(index),
+          ReferenceMode.STRONG);
+
+      if (!members.isEmpty()) {
+        member.bindBidirectionallyTo(members.get(i - 1));
+      }
+      members.add(member);
+    }
+
+    trigger.registerListener((property, oldValue, newValue) -> members.get(2).set(newValue),
+        ReferenceMode.STRONG);
+
+    notifications.clear();
+    members.get(2).set(1);
+    List<Integer> expected = new ArrayList<>(notifications);
+    Assert.assertEquals(4, expected.size());
+    Assert.assertEquals(2, (int) expected.get(0));
+
+    notifications.clear();
+    trigger.set(2);
+    Assert.assertEquals(expected, notifications);
+  }
+
+  /**
+   * Evaluates whether observables which are changed by a listener have updated their dependents
+   * by the time their setter returns.
+   */
+  @Test
+  public void testReadAfterNestedSet() {
+    SimpleObservable<Integer> trigger = new SimpleObservable<>(0);
+    SimpleObservable<Integer> source = new SimpleObservable<>(0);
+    SimpleObservable<Integer> bound = new SimpleObservable<>();
+    Binding<Integer> doubled = Binding.create(() -> source.get() * 2, source);
+    List<Integer> observed = new ArrayList<>();
+
+    bound.bindTo(source);
+    doubled.invalidate();
+    trigger.registerListener((property, oldValue, newValue) -> {
+      source.set(newValue);
+      observed.add(bound.get());
+      observed.add(doubled.get());
+    }, ReferenceMode.STRONG);
+
+    trigger.set(7);
+    Assert.assertEquals(2, observed.size());
+    Assert.assertEquals(7, (int) observed.get(0));
+    Assert.assertEquals(14, (int) observed.get(1));
+  }
+
+  /**
+   * Evaluates whether failing listeners are relayed to the setter of the observable they are
+   * registered with when it is changed by another listener.
+   */
+  @Test
+  public void testNestedException() {
+    SimpleObservable<Integer> trigger = new SimpleObservable<>(0);
+    SimpleObservable<Integer> nested = new SimpleObservable<>(0);
+    List<String> events = new ArrayList<>();
+
+    nested.registerListener((property, oldValue, newValue) -> {
+      throw new IllegalStateException("boom");
+    }, ReferenceMode.STRONG);
+    trigger.registerListener((property, oldValue, newValue) -> {
+      try {
+        nested.set(newValue);
+        events.add("nested returned");
+      } catch (IllegalStateException ex) {
+        events.add("nested caught " + ex.getMessage());
+      }
+    }, ReferenceMode.STRONG);
+    trigger.registerListener((property, oldValue, newValue) -> events.add("second listener"),
+        ReferenceMode.STRONG);
+
+    trigger.set(1);
+    Assert.assertEquals(2, events.size());
+    Assert.assertEquals("nested caught boom", events.get(0));
+    Assert.assertEquals("second listener", events.get(1));
+    Assert.assertEquals(1, (int) nested.get());
+
+    // the guard of the failed update has been released
+    Assert.assertTrue(nested.isValid());
+  }
+}
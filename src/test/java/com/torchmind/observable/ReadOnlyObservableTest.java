@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable;
+
+import com.torchmind.observable.listener.ChangeListener;
+import com.torchmind.observable.listener.InvalidationListener;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Evaluates the default implementations of the read only observable specification.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class ReadOnlyObservableTest {
+
+  /**
+   * Evaluates whether invalidation listeners are adapted to change listeners by implementations
+   * which only maintain change listeners.
+   */
+  @Test
+  public void testInvalidationListenerAdapter() {
+    ExternalObservable observable = new ExternalObservable();
+    AtomicInteger invalidations = new AtomicInteger();
+    InvalidationListener listener = (o) -> {
+      Assert.assertSame(observable, o);
+      invalidations.incrementAndGet();
+    };
+
+    observable.registerListener(listener);
+    observable.registerListener(listener);
+    Assert.assertEquals(1, observable.listeners.size());
+
+    observable.set("a");
+    observable.set("b");
+    Assert.assertEquals(2, invalidations.get());
+
+    observable.removeListener(listener);
+    Assert.assertTrue(observable.listeners.isEmpty());
+
+    observable.set("c");
+    Assert.assertEquals(2, invalidations.get());
+
+    observable.subscribe(listener).close();
+    Assert.assertTrue(observable.listeners.isEmpty());
+  }
+
+  /**
+   * Represents a third party implementation which maintains change listeners only.
+   */
+  private static final class ExternalObservable implements ReadOnlyObservable<String> {
+
+    private final Set<ChangeListener<? super String>> listeners = new LinkedHashSet<>();
+    private String value;
+
+    void set(String value) {
+      String oldValue = this.value;
+      this.value = value;
+      this.listeners.forEach((l) -> l.onChange(this, oldValue, value));
+    }
+
+    @Override
+    public String get() {
+      return this.value;
+    }
+
+    @Override
+    public void registerListener(ChangeListener<? super String> listener) {
+      this.listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(ChangeListener<? super String> listener) {
+      this.listeners.remove(listener);
+    }
+  }
+}
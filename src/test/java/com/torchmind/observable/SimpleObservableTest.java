@@ -18,8 +18,12 @@
 package com.torchmind.observable;
 
 import com.torchmind.observable.listener.ChangeListener;
+import com.torchmind.observable.listener.ReferenceMode;
+import com.torchmind.observable.listener.Subscription;
 import com.torchmind.observable.listener.ValidationListener;
+import com.torchmind.observable.primitive.SimpleDoubleObservable;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 import junit.framework.AssertionFailedError;
 import org.junit.Assert;
 import org.junit.Test;
@@ -598,6 +602,46 @@ public class SimpleObservableTest {
     observable1.set("Test");
   }
 
+  /**
+   * Evaluates whether groups of bidirectionally bound observables share their value until the
+   * last path between them is removed.
+   */
+  @Test
+  public void testBidirectionalMesh() {
+    SimpleObservable<String> observable1 = new SimpleObservable<>(null, "Test1");
+    SimpleObservable<String> observable2 = new SimpleObservable<>(null, "Test2");
+    SimpleObservable<String> observable3 = new SimpleObservable<>(null, "Test3");
+
+    observable1.bindBidirectionallyTo(observable2);
+    observable2.bindBidirectionallyTo(observable3);
+    observable3.bindBidirectionallyTo(observable1);
+
+    Assert.assertEquals("Test3", observable1.get());
+    Assert.assertEquals("Test3", observable2.get());
+    Assert.assertEquals("Test3", observable3.get());
+
+    observable1.unbindBidirectional(observable2);
+    observable2.set("Test4");
+
+    Assert.assertEquals("Test4", observable1.get());
+    Assert.assertEquals("Test4", observable3.get());
+    Assert.assertFalse(observable1.isBoundBidirectionallyTo(observable2));
+    Assert.assertFalse(observable2.isBoundBidirectionallyTo(observable1));
+
+    observable3.unbindBidirectional(observable1);
+    observable1.set("Test5");
+
+    Assert.assertEquals("Test5", observable1.get());
+    Assert.assertEquals("Test4", observable2.get());
+    Assert.assertEquals("Test4", observable3.get());
+    Assert.assertFalse(observable1.isBound());
+
+    observable3.set("Test6");
+
+    Assert.assertEquals("Test5", observable1.get());
+    Assert.assertEquals("Test6", observable2.get());
+  }
+
   /**
    * Tests automatic unbinding of all bindings present on an observable.
    */
@@ -675,6 +719,101 @@ public class SimpleObservableTest {
     Assert.assertEquals("Test2", observable2.get());
   }
 
+  /**
+   * Evaluates whether equality strategies decide which updates are published.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testEqualityStrategies() {
+    SimpleObservable<EqualityTestObject> observable1 = new SimpleObservable<>();
+    SimpleDoubleObservable observable2 = new SimpleDoubleObservable(0.0);
+
+    observable1.setEqualityStrategy(EqualityStrategy.identity());
+    observable2.setEqualityStrategy(EqualityStrategy.tolerance(0.5));
+
+    {
+      ChangeListener<EqualityTestObject> listener = Mockito.mock(ChangeListener.class);
+      observable1.registerListener(listener);
+
+      EqualityTestObject value = new EqualityTestObject(0);
+      observable1.set(value);
+      observable1.set(value);
+      observable1.set(new EqualityTestObject(0));
+
+      Mockito.verify(listener, Mockito.times(2)).onChange(Mockito.eq(observable1), Mockito.any(),
+          Mockito.any());
+    }
+
+    {
+      ChangeListener<Double> listener = Mockito.mock(ChangeListener.class);
+      observable2.registerListener(listener);
+
+      observable2.setValue(0.25);
+      observable2.setValue(0.5);
+      observable2.setValue(1.5);
+
+      Mockito.verify(listener, Mockito.never()).onChange(observable2, 0.0, 0.25);
+      Mockito.verify(listener, Mockito.never()).onChange(observable2, 0.25, 0.5);
+      Mockito.verify(listener, Mockito.times(1)).onChange(observable2, 0.5, 1.5);
+      Assert.assertEquals(1.5, observable2.getValue(), 0);
+    }
+  }
+
+  /**
+   * Evaluates whether subscriptions remove exactly their own registration.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testSubscriptions() {
+    SimpleObservable<String> observable = new SimpleObservable<>();
+    ChangeListener<String> listener = Mockito.mock(ChangeListener.class);
+
+    Subscription subscription1 = observable.subscribe(listener);
+    Subscription subscription2 = observable.subscribe(listener);
+
+    observable.set("Test");
+    Mockito.verify(listener, Mockito.times(2)).onChange(observable, null, "Test");
+
+    subscription1.close();
+    subscription1.close();
+
+    Assert.assertFalse(subscription1.isActive());
+    Assert.assertTrue(subscription2.isActive());
+
+    observable.set("Test2");
+    Mockito.verify(listener, Mockito.times(1)).onChange(observable, "Test", "Test2");
+
+    subscription2.close();
+
+    observable.set("Test3");
+    Mockito.verify(listener, Mockito.never()).onChange(observable, "Test2", "Test3");
+  }
+
+  /**
+   * Evaluates whether strongly referenced listeners are retained until they are removed.
+   */
+  @Test
+  public void testStrongListeners() {
+    SimpleObservable<String> observable = new SimpleObservable<>();
+    AtomicInteger changes = new AtomicInteger();
+
+    observable.registerListener((property, oldValue, newValue) -> changes.incrementAndGet(),
+        ReferenceMode.STRONG);
+    Subscription subscription = observable
+        .subscribe((property, oldValue, newValue) -> changes.incrementAndGet(),
+            ReferenceMode.STRONG);
+
+    System.gc();
+    observable.set("Test");
+
+    Assert.assertEquals(2, changes.get());
+
+    subscription.close();
+    observable.set("Test2");
+
+    Assert.assertEquals(3, changes.get());
+  }
+
   /**
    * Provides a test object which relies on equality to distinguish whether its internal value
    * changed.
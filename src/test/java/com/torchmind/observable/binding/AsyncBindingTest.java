@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.binding;
+
+import com.torchmind.observable.concurrent.BlockingObservable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Evaluates whether asynchronous bindings discard superseded computations.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class AsyncBindingTest {
+
+  /**
+   * Evaluates whether only the most recent result is published.
+   */
+  @Test(timeout = 5000)
+  public void testSupersede() throws InterruptedException {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    try {
+      CountDownLatch started = new CountDownLatch(1);
+      CountDownLatch release = new CountDownLatch(1);
+      List<String> computed = new CopyOnWriteArrayList<>();
+
+      BlockingObservable<Integer> observable = new BlockingObservable<>(1);
+      AsyncBinding<String> binding = AsyncBinding.map((value) -> {
+        computed.add("computing " + value);
+
+        if (value == 2) {
+          started.countDown();
+
+          try {
+            release.await();
+          } catch (InterruptedException ex) {
+            throw new RuntimeException(ex);
+          }
+        }
+
+        return "value " + value;
+      }, observable, executor);
+
+      CountDownLatch published = new CountDownLatch(1);
+      List<String> values = new CopyOnWriteArrayList<>();
+      binding.registerListener((property, oldValue, newValue) -> {
+        values.add(newValue);
+
+        if ("value 4".equals(newValue)) {
+          published.countDown();
+        }
+      });
+
+      observable.set(2);
+      started.await();
+      Assert.assertTrue(binding.isComputing());
+
+      // 3 is superseded before it starts while 2 is superseded while it is running
+      observable.set(3);
+      observable.set(4);
+      release.countDown();
+      published.await();
+
+      Assert.assertEquals("value 4", binding.get());
+      Assert.assertFalse(binding.isComputing());
+      Assert.assertFalse(computed.contains("computing 3"));
+      Assert.assertFalse(values.contains("value 2"));
+      Assert.assertFalse(values.contains("value 3"));
+    } finally {
+      executor.shutdownNow();
+      executor.awaitTermination(1, TimeUnit.SECONDS);
+    }
+  }
+
+  /**
+   * Evaluates whether direct computations schedule a new computation rather than blocking the
+   * caller.
+   */
+  @Test
+  public void testCompute() {
+    List<Runnable> tasks = new ArrayList<>();
+    BlockingObservable<Integer> observable = new BlockingObservable<>(1);
+    AbstractAsyncBinding<Integer> binding = (AbstractAsyncBinding<Integer>) AsyncBinding
+        .map((value) -> value * 2, observable, tasks::add);
+
+    Assert.assertEquals(1, tasks.size());
+    tasks.remove(0).run();
+    Assert.assertEquals(2, (int) binding.get());
+
+    observable.set(2);
+    Assert.assertEquals(2, (int) binding.compute());
+    Assert.assertTrue(binding.isComputing());
+    Assert.assertEquals(2, tasks.size());
+
+    // only the most recent computation is published
+    tasks.forEach(Runnable::run);
+    Assert.assertEquals(4, (int) binding.get());
+    Assert.assertFalse(binding.isComputing());
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.binding;
+
+import com.torchmind.observable.SimpleObservable;
+import com.torchmind.observable.listener.InvalidationListener;
+import com.torchmind.observable.listener.Subscription;
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Evaluates whether bindings stop reacting to changes once released.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class BindingDisposalTest {
+
+  /**
+   * Evaluates whether disposed bindings stop re-computing their value.
+   */
+  @Test
+  public void testDispose() {
+    SimpleObservable<Integer> observable = new SimpleObservable<>(1);
+    AtomicInteger computations = new AtomicInteger();
+    Binding<Integer> binding = Binding.create(() -> {
+      computations.incrementAndGet();
+      return observable.get() * 2;
+    }, observable);
+
+    observable.set(2);
+    Assert.assertEquals(4, (int) binding.get());
+    Assert.assertEquals(1, binding.getDependencies().size());
+    int count = computations.get();
+
+    binding.dispose();
+    Assert.assertTrue(binding.isDisposed());
+    Assert.assertTrue(binding.getDependencies().isEmpty());
+
+    observable.set(3);
+    binding.invalidate();
+    Assert.assertEquals(count, computations.get());
+    Assert.assertEquals(4, (int) binding.get());
+  }
+
+  /**
+   * Evaluates whether the registrations of unreachable bindings are closed once they have been
+   * collected and whether they stop re-computing their value.
+   */
+  @Test(timeout = 10000)
+  public void testCollect() throws InterruptedException {
+    List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    AtomicInteger closed = new AtomicInteger();
+    SimpleObservable<Integer> observable = new SimpleObservable<Integer>(1) {
+      @NonNull
+      @Override
+      public Subscription subscribe(@NonNull InvalidationListener listener) {
+        Subscription subscription = super.subscribe(listener);
+        subscriptions.add(subscription);
+
+        return Subscription.of(() -> {
+          closed.incrementAndGet();
+          subscription.close();
+        });
+      }
+    };
+    AtomicInteger computations = new AtomicInteger();
+    WeakReference<Binding<Integer>> reference = new WeakReference<>(Binding.create(() -> {
+      computations.incrementAndGet();
+      return observable.get();
+    }, observable));
+
+    Assert.assertEquals(1, subscriptions.size());
+    Assert.assertTrue(subscriptions.get(0).isActive());
+
+    while (reference.get() != null) {
+      System.gc();
+      Thread.sleep(10);
+    }
+
+    // registrations are released asynchronously by the shared reference cleaner
+    while (closed.get() == 0) {
+      System.gc();
+      Thread.sleep(10);
+    }
+
+    Assert.assertEquals(1, closed.get());
+    Assert.assertFalse(subscriptions.get(0).isActive());
+
+    int count = computations.get();
+    observable.set(2);
+    Assert.assertEquals(count, computations.get());
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.binding;
+
+import com.torchmind.observable.SimpleObservable;
+import com.torchmind.observable.listener.ChangeListener;
+import com.torchmind.observable.listener.InvalidationListener;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Evaluates whether bindings are invalidated lazily.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class InvalidationTest {
+
+  /**
+   * Evaluates whether invalidation listeners are notified once per invalidation without
+   * computing the binding.
+   */
+  @Test
+  public void testInvalidationListener() {
+    SimpleObservable<Integer> observable = new SimpleObservable<>(1);
+    AtomicInteger computations = new AtomicInteger();
+    AtomicInteger invalidations = new AtomicInteger();
+    Binding<Integer> binding1 = Binding.create(() -> {
+      computations.incrementAndGet();
+      return observable.get() * 2;
+    }, observable);
+    Binding<Integer> binding2 = Binding.create(() -> {
+      computations.incrementAndGet();
+      return binding1.get() + 1;
+    }, binding1);
+
+    InvalidationListener listener = (o) -> invalidations.incrementAndGet();
+    binding2.registerListener(listener);
+
+    observable.set(2);
+    observable.set(3);
+    Assert.assertEquals(1, invalidations.get());
+    Assert.assertEquals(0, computations.get());
+
+    Assert.assertEquals(7, (int) binding2.get());
+    Assert.assertEquals(2, computations.get());
+
+    observable.set(4);
+    Assert.assertEquals(2, invalidations.get());
+    Assert.assertEquals(2, computations.get());
+  }
+
+  /**
+   * Evaluates whether change listeners force bindings to be evaluated eagerly.
+   */
+  @Test
+  public void testChangeListener() {
+    SimpleObservable<Integer> observable = new SimpleObservable<>(1);
+    AtomicInteger changes = new AtomicInteger();
+    Binding<Integer> binding = Binding.create(() -> observable.get() * 2, observable);
+
+    observable.set(2);
+
+    ChangeListener<Integer> listener = (property, oldValue, newValue) -> {
+      Assert.assertEquals(4, (int) oldValue);
+      Assert.assertEquals(6, (int) newValue);
+      changes.incrementAndGet();
+    };
+    binding.registerListener(listener);
+
+    observable.set(3);
+    Assert.assertEquals(1, changes.get());
+  }
+}
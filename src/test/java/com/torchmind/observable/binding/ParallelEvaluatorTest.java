@@ -0,0 +1,163 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.binding;
+
+import com.torchmind.observable.SimpleObservable;
+import com.torchmind.observable.concurrent.BlockingObservable;
+import com.torchmind.observable.listener.ReferenceMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Evaluates whether parallel evaluators compute independent bindings concurrently.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class ParallelEvaluatorTest {
+
+  /**
+   * Evaluates whether independent bindings are computed on the pool and publish their values in
+   * the order of their invalidation before their dependents are evaluated.
+   */
+  @Test
+  public void testPropagation() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    ParallelEvaluator evaluator = new ParallelEvaluator(pool);
+    BlockingObservable<Integer> input = new BlockingObservable<>(1);
+    Set<Thread> threads = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    AtomicInteger evaluations = new AtomicInteger();
+    List<String> published = new ArrayList<>();
+
+    List<Binding<Integer>> bindings = new ArrayList<>();
+    for (int i = 0; i < 8; ++i) {
+      int factor = i + 1;
+      Binding<Integer> binding = evaluator.enroll(Binding.create(() -> {
+        threads.add(Thread.currentThread());
+        return input.get() * factor;
+      }, input));
+
+      binding.registerListener((o, ov, nv) -> published.add(factor + "=" + nv),
+          ReferenceMode.STRONG);
+      bindings.add(binding);
+    }
+
+    Binding<Integer> sum = evaluator.enroll(Binding.create(() -> {
+      evaluations.incrementAndGet();
+      return bindings.stream().mapToInt(Binding::get).sum();
+    }, bindings.toArray(new Binding<?>[0])));
+    sum.registerListener((o, ov, nv) -> published.add("sum=" + nv), ReferenceMode.STRONG);
+
+    threads.clear();
+    evaluations.set(0);
+    evaluator.propagate(() -> input.set(2));
+
+    Assert.assertEquals(Arrays.asList("1=2", "2=4", "3=6", "4=8", "5=10", "6=12", "7=14", "8=16",
+        "sum=72"), published);
+    Assert.assertEquals(1, evaluations.get());
+    Assert.assertFalse(threads.contains(Thread.currentThread()));
+
+    // outside of a propagation, bindings are evaluated sequentially
+    threads.clear();
+    input.set(3);
+    Assert.assertEquals(Collections.singleton(Thread.currentThread()), threads);
+    Assert.assertEquals(108, (int) sum.get());
+
+    // withdrawn bindings are evaluated as their dependencies publish their values
+    evaluator.withdraw(sum);
+    evaluator.propagate(() -> input.set(4));
+    Assert.assertEquals(144, (int) sum.get());
+    Assert.assertTrue(published.contains("sum=144"));
+
+    pool.shutdown();
+  }
+
+  /**
+   * Evaluates whether a failing binding is only relayed to the propagating thread once all other
+   * bindings of its round have been computed.
+   */
+  @Test(timeout = 10000)
+  public void testFailure() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    ParallelEvaluator evaluator = new ParallelEvaluator(pool);
+    BlockingObservable<Integer> input = new BlockingObservable<>(1);
+    AtomicBoolean completed = new AtomicBoolean();
+
+    Binding<Integer> failing = evaluator.enroll(Binding.create(() -> {
+      if (input.get() == 2) {
+        throw new IllegalStateException("Evaluation failure");
+      }
+
+      return input.get();
+    }, input));
+    Binding<Integer> slow = evaluator.enroll(Binding.create(() -> {
+      if (input.get() == 2) {
+        try {
+          Thread.sleep(200);
+        } catch (InterruptedException ex) {
+          throw new IllegalStateException(ex);
+        }
+
+        completed.set(true);
+      }
+
+      return input.get();
+    }, input));
+
+    failing.registerListener((o, ov, nv) -> {
+    }, ReferenceMode.STRONG);
+    slow.registerListener((o, ov, nv) -> {
+    }, ReferenceMode.STRONG);
+
+    try {
+      evaluator.propagate(() -> input.set(2));
+      Assert.fail("Expected evaluation failure to be propagated");
+    } catch (IllegalStateException ignore) {
+    }
+
+    Assert.assertTrue(completed.get());
+    pool.shutdown();
+  }
+
+  /**
+   * Evaluates whether bindings which depend on observables that are not thread-safe are rejected.
+   */
+  @Test
+  public void testThreadSafety() {
+    ParallelEvaluator evaluator = new ParallelEvaluator();
+    SimpleObservable<Integer> input = new SimpleObservable<>(1);
+    Binding<Integer> binding = Binding.create(() -> input.get() + 1, input);
+
+    try {
+      evaluator.enroll(Binding.create(() -> binding.get() * 2, binding));
+      Assert.fail("Expected binding to be rejected");
+    } catch (IllegalArgumentException ignore) {
+    }
+
+    BlockingObservable<Integer> blocking = new BlockingObservable<>(1);
+    evaluator.enroll(Binding.create(() -> blocking.get() * 2, blocking));
+  }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.binding;
+
+import com.torchmind.observable.SimpleObservable;
+import com.torchmind.observable.listener.ReferenceMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Evaluates whether spreadsheets recalculate their cells in topological order.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class SpreadsheetTest {
+
+  /**
+   * Evaluates whether dependents observe a fully recalculated sheet and whether cells which
+   * retain their value do not cause their dependents to be recalculated.
+   */
+  @Test
+  public void testRecalculation() {
+    Spreadsheet sheet = new Spreadsheet();
+    SimpleObservable<Integer> input = new SimpleObservable<>(1);
+    AtomicInteger evaluations = new AtomicInteger();
+
+    Spreadsheet.Cell<Integer> a = sheet.cell(() -> input.get() * 2, input);
+    Spreadsheet.Cell<Boolean> positive = sheet.cell(() -> a.get() > 0, a);
+    Spreadsheet.Cell<Integer> b = sheet.cell(() -> a.get() + 1, a);
+    Spreadsheet.Cell<String> c = sheet.cell(() -> {
+      evaluations.incrementAndGet();
+      return a.get() + "/" + b.get() + "/" + positive.get();
+    }, a, b, positive);
+
+    Assert.assertEquals(0, a.getLevel());
+    Assert.assertEquals(1, b.getLevel());
+    Assert.assertEquals(2, c.getLevel());
+    Assert.assertEquals("2/3/true", c.get());
+
+    List<String> values = new ArrayList<>();
+    c.registerListener((o, ov, nv) -> values.add(nv + " " + b.get()), ReferenceMode.STRONG);
+
+    input.set(5);
+    Assert.assertEquals(1, values.size());
+    Assert.assertEquals("10/11/true 11", values.get(0));
+    Assert.assertEquals(2, evaluations.get());
+
+    Spreadsheet.Cell<Integer> d = sheet.cell(() -> positive.get() ? 1 : 0, positive);
+    int before = evaluations.get();
+    input.set(6);
+    Assert.assertEquals(before + 1, evaluations.get());
+    Assert.assertEquals(1, (int) d.get());
+  }
+
+  /**
+   * Evaluates whether definitions which would form a cycle are rejected without altering the
+   * sheet.
+   */
+  @Test
+  public void testCycle() {
+    Spreadsheet sheet = new Spreadsheet();
+    Spreadsheet.Cell<Integer> a = sheet.cell();
+    Spreadsheet.Cell<Integer> b = sheet.cell(() -> a.get() == null ? 0 : a.get() + 1, a);
+    Spreadsheet.Cell<Integer> c = sheet.cell(() -> b.get() + 1, b);
+
+    try {
+      a.define(c::get, c);
+      Assert.fail("Expected cycle to be rejected");
+    } catch (IllegalArgumentException ignore) {
+    }
+
+    // bindings which depend on a cell are part of the graph as well
+    Binding<Integer> binding = Binding.create(c::get, c);
+    try {
+      a.define(binding::get, binding);
+      Assert.fail("Expected cycle to be rejected");
+    } catch (IllegalArgumentException ignore) {
+    }
+
+    a.define(() -> 10);
+    Assert.assertEquals(12, (int) c.get());
+    Assert.assertEquals(2, c.getLevel());
+  }
+
+  /**
+   * Evaluates whether manual recalculation defers updates and whether large levels are
+   * evaluated in parallel with the same result.
+   */
+  @Test
+  public void testManualRecalculation() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+
+    try {
+      Spreadsheet sheet = new Spreadsheet(pool);
+      SimpleObservable<Integer> input = new SimpleObservable<>(0);
+      List<Spreadsheet.Cell<Integer>> cells = new ArrayList<>();
+
+      for (int i = 0; i < 5000; ++i) {
+        int offset = i;
+        cells.add(sheet.cell(() -> input.get() + offset, input));
+      }
+      Spreadsheet.Cell<Integer> sum = sheet.cell();
+      sum.define(() -> cells.stream().mapToInt(Spreadsheet.Cell::get).sum(),
+          cells.toArray(new Spreadsheet.Cell<?>[0]));
+
+      sheet.setAutomatic(false);
+      input.set(1);
+      Assert.assertEquals(12497500, (int) sum.get());
+
+      sheet.recalculate();
+      Assert.assertEquals(12502500, (int) sum.get());
+      Assert.assertEquals(1, sum.getLevel());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Evaluates whether cells which depend on other cells through bindings are evaluated on a
+   * higher level and observe the values of the same recalculation.
+   */
+  @Test
+  public void testBindingDependency() {
+    Spreadsheet sheet = new Spreadsheet();
+    SimpleObservable<Integer> input = new SimpleObservable<>(1);
+    Spreadsheet.Cell<Integer> a = sheet.cell(() -> input.get() * 2, input);
+    Binding<Integer> doubled = Binding.create(() -> a.get() * 2, a);
+    Binding<Integer> incremented = Binding.create(() -> doubled.get() + 1, doubled);
+    doubled.invalidate();
+    incremented.invalidate();
+
+    Spreadsheet.Cell<Integer> b = sheet.cell(incremented::get, incremented);
+    Assert.assertEquals(0, a.getLevel());
+    Assert.assertEquals(1, b.getLevel());
+    Assert.assertEquals(5, (int) b.get());
+
+    List<Integer> values = new ArrayList<>();
+    b.registerListener((o, ov, nv) -> values.add(nv), ReferenceMode.STRONG);
+
+    input.set(2);
+    Assert.assertEquals(1, values.size());
+    Assert.assertEquals(9, (int) values.get(0));
+
+    // redefining the source cell moves its indirect dependents as well
+    Spreadsheet.Cell<Integer> c = sheet.cell(() -> input.get() + 1, input);
+    a.define(() -> c.get() * 2, c);
+    Assert.assertEquals(2, b.getLevel());
+    Assert.assertEquals(13, (int) b.get());
+  }
+
+  /**
+   * Evaluates whether cells which have been evaluated before a formula of the same level failed
+   * publish their values and whether their dependents are recalculated later on.
+   */
+  @Test
+  public void testFailure() {
+    Spreadsheet sheet = new Spreadsheet();
+    SimpleObservable<Integer> input = new SimpleObservable<>(1);
+    SimpleObservable<Boolean> fail = new SimpleObservable<>(false);
+
+    Spreadsheet.Cell<Integer> a = sheet.cell(() -> input.get() * 2, input);
+    Spreadsheet.Cell<Integer> failing = sheet.cell(() -> {
+      if (fail.get()) {
+        throw new IllegalStateException("Expected failure");
+      }
+
+      return input.get();
+    }, input, fail);
+    Spreadsheet.Cell<Integer> b = sheet.cell(() -> a.get() + 1, a);
+    Assert.assertEquals(3, (int) b.get());
+
+    List<Integer> values = new ArrayList<>();
+    a.registerListener((o, ov, nv) -> values.add(nv), ReferenceMode.STRONG);
+
+    // cells are evaluated in the order in which they have been marked dirty
+    sheet.setAutomatic(false);
+    input.set(5);
+    fail.set(true);
+
+    try {
+      sheet.recalculate();
+      Assert.fail("Expected recalculation to fail");
+    } catch (IllegalStateException ignore) {
+    }
+
+    Assert.assertEquals(1, values.size());
+    Assert.assertEquals(10, (int) a.get());
+    Assert.assertEquals(3, (int) b.get());
+
+    fail.set(false);
+    sheet.recalculate();
+    Assert.assertEquals(5, (int) failing.get());
+    Assert.assertEquals(11, (int) b.get());
+    Assert.assertEquals(1, values.size());
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.binding;
+
+import com.torchmind.observable.primitive.SimpleDoubleObservable;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Evaluates whether windowed statistics bindings match a brute force computation.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class StatisticBindingTest {
+
+  /**
+   * Evaluates whether count based windows produce the same results as a recomputation of the
+   * respective statistic over the most recent values.
+   */
+  @Test
+  public void testCountWindow() {
+    SimpleDoubleObservable observable = new SimpleDoubleObservable(0d);
+    Window window = Window.ofCount(25);
+
+    DoubleBinding mean = DoubleBinding.mean(observable, window);
+    DoubleBinding variance = DoubleBinding.variance(observable, window);
+    DoubleBinding min = DoubleBinding.min(observable, window);
+    DoubleBinding max = DoubleBinding.max(observable, window);
+    DoubleBinding median = DoubleBinding.quantile(observable, 0.5, window);
+    DoubleBinding p90 = DoubleBinding.quantile(observable, 0.9, window);
+
+    Random random = new Random(42);
+    double[] history = new double[1000];
+    history[0] = 0;
+
+    for (int i = 1; i < history.length; ++i) {
+      history[i] = Math.floor(random.nextGaussian() * 1000) / 10;
+      observable.set(history[i]);
+
+      double[] expected = Arrays.copyOfRange(history, Math.max(0, i - 24), i + 1);
+      Assert.assertEquals(mean(expected), mean.getValue(), 1e-6);
+      Assert.assertEquals(variance(expected), variance.getValue(), 1e-6);
+      Assert.assertEquals(Arrays.stream(expected).min().getAsDouble(), min.getValue(), 0);
+      Assert.assertEquals(Arrays.stream(expected).max().getAsDouble(), max.getValue(), 0);
+      Assert.assertEquals(quantile(expected, 0.5), median.getValue(), 0);
+      Assert.assertEquals(quantile(expected, 0.9), p90.getValue(), 0);
+    }
+  }
+
+  /**
+   * Evaluates whether time based windows evict expired samples.
+   */
+  @Test
+  public void testTimeWindow() throws InterruptedException {
+    SimpleDoubleObservable observable = new SimpleDoubleObservable(1d);
+    DoubleBinding max = DoubleBinding.max(observable, Window.ofTime(50, TimeUnit.MILLISECONDS));
+
+    observable.set(10d);
+    observable.set(5d);
+    Assert.assertEquals(10, max.getValue(), 0);
+
+    Thread.sleep(100);
+    observable.set(2d);
+    Assert.assertEquals(2, max.getValue(), 0);
+  }
+
+  /**
+   * Evaluates whether the moving average converges as expected.
+   */
+  @Test
+  public void testExponentialAverage() {
+    SimpleDoubleObservable observable = new SimpleDoubleObservable(10d);
+    DoubleBinding average = DoubleBinding.ewma(observable, 0.5);
+
+    Assert.assertEquals(10, average.getValue(), 0);
+    observable.set(20d);
+    Assert.assertEquals(15, average.getValue(), 0);
+    observable.set(15.5);
+    Assert.assertEquals(15.25, average.getValue(), 0);
+  }
+
+  private static double mean(double[] values) {
+    return Arrays.stream(values).sum() / values.length;
+  }
+
+  private static double variance(double[] values) {
+    if (values.length < 2) {
+      return 0;
+    }
+
+    double mean = mean(values);
+    return Arrays.stream(values).map((v) -> (v - mean) * (v - mean)).sum() / (values.length - 1);
+  }
+
+  private static double quantile(double[] values, double quantile) {
+    double[] sorted = values.clone();
+    Arrays.sort(sorted);
+    return sorted[Math.max(1, (int) Math.ceil(quantile * sorted.length)) - 1];
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.binding;
+
+import com.torchmind.observable.concurrent.BlockingObservable;
+import com.torchmind.observable.utility.TimerWheel;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Evaluates whether timed bindings delay and drop updates as designed.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class TimedBindingTest {
+
+  /**
+   * Evaluates whether debounced bindings only adopt the final value of a burst.
+   */
+  @Test(timeout = 5000)
+  public void testDebounce() throws InterruptedException {
+    BlockingObservable<Integer> observable = new BlockingObservable<>(0);
+    Binding<Integer> binding = Binding.debounce(observable, 50, TimeUnit.MILLISECONDS);
+    List<Integer> values = new CopyOnWriteArrayList<>();
+    CountDownLatch latch = new CountDownLatch(1);
+
+    binding.registerListener((property, oldValue, newValue) -> {
+      values.add(newValue);
+      latch.countDown();
+    });
+
+    Assert.assertEquals(0, (int) binding.get());
+
+    for (int i = 1; i <= 100; ++i) {
+      observable.set(i);
+    }
+
+    Assert.assertEquals(0, (int) binding.get());
+    latch.await();
+    Thread.sleep(100);
+
+    Assert.assertEquals(1, values.size());
+    Assert.assertEquals(100, (int) values.get(0));
+    Assert.assertEquals(100, (int) binding.get());
+  }
+
+  /**
+   * Evaluates whether debounced bindings keep postponing their update when their source is a lazy
+   * binding (which only notifies its dependents once until it is evaluated again).
+   */
+  @Test(timeout = 5000)
+  public void testDebounceLazySource() throws InterruptedException {
+    BlockingObservable<Integer> observable = new BlockingObservable<>(0);
+    Binding<Integer> source = Binding.create(observable::get, observable);
+    Binding<Integer> binding = Binding.debounce(source, 300, TimeUnit.MILLISECONDS);
+    List<Integer> values = new CopyOnWriteArrayList<>();
+    CountDownLatch latch = new CountDownLatch(1);
+
+    binding.registerListener((property, oldValue, newValue) -> {
+      values.add(newValue);
+      latch.countDown();
+    });
+
+    observable.set(1);
+    Thread.sleep(200);
+    observable.set(2);
+    Thread.sleep(200);
+
+    // the second change pushes the deadline back beyond the original deadline
+    Assert.assertTrue(values.isEmpty());
+    latch.await();
+
+    Assert.assertEquals(1, values.size());
+    Assert.assertEquals(2, (int) values.get(0));
+  }
+
+  /**
+   * Evaluates whether throttled bindings adopt a limited amount of values per interval followed by
+   * the latest value.
+   */
+  @Test(timeout = 5000)
+  public void testThrottle() throws InterruptedException {
+    BlockingObservable<Integer> observable = new BlockingObservable<>(0);
+    Binding<Integer> binding = Binding.throttle(observable, 2, 10, TimeUnit.SECONDS);
+    List<Integer> values = new CopyOnWriteArrayList<>();
+    List<Thread> threads = new CopyOnWriteArrayList<>();
+
+    binding.registerListener((property, oldValue, newValue) -> {
+      threads.add(Thread.currentThread());
+      values.add(newValue);
+    });
+
+    for (int i = 1; i <= 100; ++i) {
+      observable.set(i);
+    }
+
+    // values which are adopted immediately are published on the timer thread as well
+    while (values.size() < 2) {
+      Thread.sleep(1);
+    }
+
+    Assert.assertEquals(2, values.size());
+    Assert.assertEquals(1, (int) values.get(0));
+    Assert.assertEquals(2, (int) values.get(1));
+    Assert.assertEquals(2, (int) binding.get());
+    Assert.assertFalse(threads.contains(Thread.currentThread()));
+  }
+
+  /**
+   * Evaluates whether sampled bindings adopt the latest value once per period.
+   */
+  @Test(timeout = 5000)
+  public void testSample() throws InterruptedException {
+    BlockingObservable<Integer> observable = new BlockingObservable<>(0);
+    Binding<Integer> binding = Binding.sample(observable, 50, TimeUnit.MILLISECONDS);
+    CountDownLatch latch = new CountDownLatch(1);
+
+    binding.registerListener((property, oldValue, newValue) -> latch.countDown());
+
+    for (int i = 1; i <= 100; ++i) {
+      observable.set(i);
+    }
+
+    latch.await();
+    Assert.assertEquals(100, (int) binding.get());
+  }
+
+  /**
+   * Evaluates whether the timer which is shared by all timed bindings refuses to be stopped.
+   */
+  @Test
+  public void testSharedTimer() {
+    try {
+      TimerWheel.getDefault().stop();
+      Assert.fail("Expected shared timer to refuse being stopped");
+    } catch (IllegalStateException ignore) {
+    }
+
+    TimerWheel timer = new TimerWheel(1, TimeUnit.MILLISECONDS, 16);
+    timer.stop();
+
+    try {
+      timer.schedule(() -> {
+      }, 1, TimeUnit.MILLISECONDS);
+      Assert.fail("Expected stopped timer to reject tasks");
+    } catch (IllegalStateException ignore) {
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import com.torchmind.observable.listener.ReferenceMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Evaluates whether grouped and joined maps follow their source collections.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class ObservableAggregationTest {
+
+  /**
+   * Evaluates whether groups are updated individually and published once per modification.
+   */
+  @Test
+  public void testGroupBy() {
+    SimpleObservableList<String> list =
+        new SimpleObservableList<>(Arrays.asList("a", "bb", "cc", "ddd"));
+    ObservableMap<Integer, Integer> counts = list.groupBy(String::length, Aggregator.counting());
+    List<MapChange<? extends Integer, ? extends Integer>> changes = new ArrayList<>();
+    counts.registerListener((m, c) -> changes.add(c), ReferenceMode.STRONG);
+
+    Assert.assertEquals(1, (int) counts.get(1));
+    Assert.assertEquals(2, (int) counts.get(2));
+    Assert.assertEquals(1, (int) counts.get(3));
+
+    list.addAll(Arrays.asList("ee", "ff"));
+    Assert.assertEquals(4, (int) counts.get(2));
+    Assert.assertEquals(1, changes.size());
+    Assert.assertEquals(2, (int) changes.get(0).getRemoved());
+
+    list.remove("a");
+    Assert.assertFalse(counts.containsKey(1));
+    Assert.assertEquals(2, changes.size());
+    Assert.assertFalse(changes.get(1).wasAdded());
+
+    // replacing an element within the same group does not alter its aggregate
+    list.set(0, "gg");
+    Assert.assertEquals(2, changes.size());
+
+    try {
+      counts.put(5, 1);
+      Assert.fail("Expected map to reject modifications");
+    } catch (UnsupportedOperationException ignore) {
+    }
+  }
+
+  /**
+   * Evaluates whether elements which are modified in-place are removed from the group they have
+   * originally been added to.
+   */
+  @Test
+  public void testGroupByUpdate() {
+    int[] a = {1, 10};
+    int[] b = {1, 20};
+    SimpleObservableList<int[]> list = new SimpleObservableList<>(Arrays.asList(a, b));
+    ObservableMap<Integer, Long> sums =
+        list.groupBy((e) -> e[0], Aggregator.summingLong((e) -> e[1]));
+
+    Assert.assertEquals(30L, (long) sums.get(1));
+
+    a[0] = 2;
+    a[1] = 5;
+    list.update(0, 1);
+    Assert.assertEquals(20L, (long) sums.get(1));
+    Assert.assertEquals(5L, (long) sums.get(2));
+  }
+
+  /**
+   * Evaluates whether joined keys are only present while both collections contain a matching
+   * element.
+   */
+  @Test
+  public void testJoin() {
+    SimpleObservableSet<String> users = new SimpleObservableSet<>(Arrays.asList("alice", "bob"));
+    SimpleObservableSet<String> orders = new SimpleObservableSet<>();
+    ObservableMap<Character, Integer> joined = users.join(orders, (u) -> u.charAt(0),
+        (o) -> o.charAt(0), (u, o) -> u.size() * o.size());
+    List<MapChange<? extends Character, ? extends Integer>> changes = new ArrayList<>();
+    joined.registerListener((m, c) -> changes.add(c), ReferenceMode.STRONG);
+
+    Assert.assertTrue(joined.isEmpty());
+
+    orders.addAll(Arrays.asList("a1", "a2", "c1"));
+    Assert.assertEquals(1, joined.size());
+    Assert.assertEquals(2, (int) joined.get('a'));
+    Assert.assertEquals(1, changes.size());
+
+    users.add("carol");
+    Assert.assertEquals(1, (int) joined.get('c'));
+    Assert.assertEquals(2, changes.size());
+
+    orders.remove("b1");
+    orders.remove("a1");
+    Assert.assertEquals(1, (int) joined.get('a'));
+    Assert.assertEquals(3, changes.size());
+
+    users.remove("alice");
+    Assert.assertFalse(joined.containsKey('a'));
+    Assert.assertEquals(4, changes.size());
+    Assert.assertTrue(changes.get(3).wasRemoved());
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import com.torchmind.observable.binding.DoubleBinding;
+import com.torchmind.observable.binding.IntegerBinding;
+import com.torchmind.observable.binding.LongBinding;
+import com.torchmind.observable.listener.ReferenceMode;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Evaluates whether primitive observable arrays publish their modifications as ranges.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class ObservableArrayTest {
+
+  /**
+   * Evaluates whether modifications are published as the smallest range of differing elements.
+   */
+  @Test
+  public void testRanges() {
+    SimpleObservableIntegerArray array = new SimpleObservableIntegerArray(new int[]{1, 2, 3, 4});
+    List<int[]> changes = new ArrayList<>();
+    array.registerListener((a, from, to, removed) -> {
+      changes.add(new int[]{from, to});
+      changes.add(removed);
+    }, ReferenceMode.STRONG);
+
+    array.set(0, 1);
+    Assert.assertTrue(changes.isEmpty());
+    array.set(0, 5);
+    Assert.assertArrayEquals(new int[]{0, 1}, changes.get(0));
+    Assert.assertArrayEquals(new int[]{1}, changes.get(1));
+
+    array.copyFrom(new int[]{9, 2, 7, 8, 4, 9}, 1, 0, 4);
+    Assert.assertArrayEquals(new int[]{2, 7, 8, 4}, array.toArray());
+    Assert.assertArrayEquals(new int[]{0, 3}, changes.get(2));
+    Assert.assertArrayEquals(new int[]{5, 2, 3}, changes.get(3));
+
+    array.setAll(new int[]{2, 7, 8, 4});
+    Assert.assertEquals(4, changes.size());
+
+    array.setAll(new int[]{1, 2});
+    Assert.assertEquals(2, array.size());
+    Assert.assertArrayEquals(new int[]{0, 2}, changes.get(4));
+    Assert.assertArrayEquals(new int[]{2, 7, 8, 4}, changes.get(5));
+  }
+
+  /**
+   * Evaluates whether views reflect modifications without copying.
+   */
+  @Test
+  public void testView() {
+    SimpleObservableIntegerArray array = new SimpleObservableIntegerArray(3);
+    IntBuffer view = array.view();
+
+    Assert.assertTrue(view.isReadOnly());
+    array.set(1, 42);
+    Assert.assertEquals(42, view.get(1));
+    array.copyFrom(new int[]{7, 8}, 0, 1, 2);
+    Assert.assertEquals(8, view.get(2));
+  }
+
+  /**
+   * Evaluates whether range bindings follow modifications of their array.
+   */
+  @Test
+  public void testBindings() {
+    SimpleObservableIntegerArray array =
+        new SimpleObservableIntegerArray(new int[]{5, 1, 4, 2, 8, 3});
+    IntegerBinding sum = IntegerBinding.sum(array, 1, 5);
+    IntegerBinding min = IntegerBinding.min(array, 1, 5);
+    IntegerBinding max = IntegerBinding.max(array);
+
+    Assert.assertEquals(15, sum.getValue());
+    Assert.assertEquals(1, min.getValue());
+    Assert.assertEquals(8, max.getValue());
+
+    array.set(0, 100);
+    Assert.assertEquals(15, sum.getValue());
+    Assert.assertEquals(100, max.getValue());
+
+    array.set(1, 6);
+    Assert.assertEquals(20, sum.getValue());
+    Assert.assertEquals(2, min.getValue());
+
+    array.copyFrom(new int[]{0, -1}, 0, 3, 2);
+    Assert.assertEquals(9, sum.getValue());
+    Assert.assertEquals(-1, min.getValue());
+
+    array.setAll(new int[]{3, 4});
+    Assert.assertEquals(4, sum.getValue());
+    Assert.assertEquals(4, min.getValue());
+    Assert.assertEquals(4, max.getValue());
+
+    SimpleObservableLongArray longs = new SimpleObservableLongArray(new long[]{1, 2, 3});
+    LongBinding longSum = LongBinding.sum(longs);
+    longs.set(2, Long.MAX_VALUE);
+    Assert.assertEquals(Long.MAX_VALUE + 3, longSum.getValue());
+
+    SimpleObservableDoubleArray doubles = new SimpleObservableDoubleArray(new double[]{0.5, 1.5});
+    DoubleBinding doubleSum = DoubleBinding.sum(doubles);
+    DoubleBinding doubleMax = DoubleBinding.max(doubles, 2, 4);
+    Assert.assertEquals(2, doubleSum.getValue(), 0);
+    Assert.assertTrue(Double.isNaN(doubleMax.getValue()));
+    doubles.set(0, 2.5);
+    Assert.assertEquals(4, doubleSum.getValue(), 0);
+  }
+}
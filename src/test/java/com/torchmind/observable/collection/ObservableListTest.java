@@ -0,0 +1,171 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import com.torchmind.observable.binding.Binding;
+import com.torchmind.observable.listener.ReferenceMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Evaluates whether observable lists publish their modifications as ranges.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class ObservableListTest {
+
+  /**
+   * Evaluates whether single element modifications are published as single entries.
+   */
+  @Test
+  public void testElementChanges() {
+    SimpleObservableList<String> list = new SimpleObservableList<>();
+    List<ListChange<? extends String>> changes = new ArrayList<>();
+    list.registerListener((l, c) -> changes.add(c), ReferenceMode.STRONG);
+
+    list.add("a");
+    list.add("b");
+    list.set(0, "c");
+    list.remove(1);
+
+    Assert.assertEquals(Arrays.asList("c"), list);
+    Assert.assertEquals(4, changes.size());
+
+    ListChange.Entry<? extends String> entry = changes.get(1).getEntries().get(0);
+    Assert.assertTrue(entry.wasAdded());
+    Assert.assertFalse(entry.wasRemoved());
+    Assert.assertEquals(1, entry.getFrom());
+    Assert.assertEquals(2, entry.getTo());
+
+    entry = changes.get(2).getEntries().get(0);
+    Assert.assertTrue(entry.wasReplaced());
+    Assert.assertEquals(Collections.singletonList("a"), entry.getRemoved());
+
+    entry = changes.get(3).getEntries().get(0);
+    Assert.assertFalse(entry.wasAdded());
+    Assert.assertEquals(1, entry.getFrom());
+    Assert.assertEquals(Collections.singletonList("b"), entry.getRemoved());
+  }
+
+  /**
+   * Evaluates whether bulk operations are published as a single change.
+   */
+  @Test
+  public void testBulkChanges() {
+    SimpleObservableList<Integer> list = new SimpleObservableList<>(Arrays.asList(1, 2, 3));
+    List<ListChange<? extends Integer>> changes = new ArrayList<>();
+    list.registerListener((l, c) -> changes.add(c), ReferenceMode.STRONG);
+
+    Assert.assertFalse(list.addAll(Collections.emptyList()));
+    Assert.assertTrue(list.addAll(1, Arrays.asList(4, 5, 6)));
+    Assert.assertEquals(1, changes.size());
+    Assert.assertEquals(1, changes.get(0).getEntries().get(0).getFrom());
+    Assert.assertEquals(4, changes.get(0).getEntries().get(0).getTo());
+
+    list.subList(1, 4).clear();
+    Assert.assertEquals(Arrays.asList(1, 2, 3), list);
+    Assert.assertEquals(2, changes.size());
+    Assert.assertEquals(Arrays.asList(4, 5, 6), changes.get(1).getEntries().get(0).getRemoved());
+
+    Assert.assertTrue(list.setAll(Arrays.asList(7, 8)));
+    Assert.assertEquals(3, changes.size());
+    ListChange.Entry<? extends Integer> entry = changes.get(2).getEntries().get(0);
+    Assert.assertTrue(entry.wasReplaced());
+    Assert.assertEquals(Arrays.asList(1, 2, 3), entry.getRemoved());
+    Assert.assertEquals(2, entry.getAddedSize());
+
+    list.clear();
+    list.clear();
+    Assert.assertEquals(4, changes.size());
+    Assert.assertEquals(Arrays.asList(7, 8), changes.get(3).getEntries().get(0).getRemoved());
+  }
+
+  /**
+   * Evaluates whether filtered removals are published as one entry per removed range.
+   */
+  @Test
+  public void testRemoveIf() {
+    SimpleObservableList<Integer> list =
+        new SimpleObservableList<>(Arrays.asList(1, 2, 3, 4, 6, 7, 8));
+    List<ListChange<? extends Integer>> changes = new ArrayList<>();
+    list.registerListener((l, c) -> changes.add(c), ReferenceMode.STRONG);
+
+    Assert.assertTrue(list.removeIf((e) -> e % 2 == 0));
+    Assert.assertFalse(list.removeIf((e) -> e > 10));
+    Assert.assertEquals(Arrays.asList(1, 3, 7), list);
+    Assert.assertEquals(1, changes.size());
+
+    // replaying the entries on a copy of the original list must yield the same result
+    List<Integer> replay = new ArrayList<>(Arrays.asList(1, 2, 3, 4, 6, 7, 8));
+    List<? extends ListChange.Entry<? extends Integer>> entries = changes.get(0).getEntries();
+    Assert.assertEquals(3, entries.size());
+    for (ListChange.Entry<? extends Integer> entry : entries) {
+      Assert.assertEquals(entry.getRemoved(),
+          replay.subList(entry.getFrom(), entry.getFrom() + entry.getRemovedSize()));
+      replay.subList(entry.getFrom(), entry.getFrom() + entry.getRemovedSize()).clear();
+    }
+    Assert.assertEquals(list, replay);
+  }
+
+  /**
+   * Evaluates whether sorting is published as a permutation of the affected range.
+   */
+  @Test
+  public void testSort() {
+    SimpleObservableList<Integer> list =
+        new SimpleObservableList<>(Arrays.asList(1, 5, 3, 4, 2, 6));
+    List<ListChange<? extends Integer>> changes = new ArrayList<>();
+    list.registerListener((l, c) -> changes.add(c), ReferenceMode.STRONG);
+
+    list.sort(null);
+    Assert.assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6), list);
+    Assert.assertEquals(1, changes.size());
+
+    ListChange.Entry<? extends Integer> entry = changes.get(0).getEntries().get(0);
+    Assert.assertTrue(entry.wasPermuted());
+    Assert.assertFalse(entry.wasAdded());
+    Assert.assertEquals(1, entry.getFrom());
+    Assert.assertEquals(5, entry.getTo());
+    Assert.assertEquals(4, entry.getPermutation(1));
+    Assert.assertEquals(2, entry.getPermutation(2));
+    Assert.assertEquals(1, entry.getPermutation(4));
+
+    list.sort(null);
+    Assert.assertEquals(1, changes.size());
+  }
+
+  /**
+   * Evaluates whether lists may be used as dependencies of bindings.
+   */
+  @Test
+  public void testBinding() {
+    SimpleObservableList<Integer> list = new SimpleObservableList<>(Arrays.asList(1, 2));
+    Binding<Integer> binding =
+        Binding.create(() -> list.stream().mapToInt(Integer::intValue).sum(), list);
+
+    list.add(3);
+    Assert.assertEquals(6, (int) binding.get());
+    list.update(0, 1);
+    list.removeIf((e) -> e < 3);
+    Assert.assertEquals(3, (int) binding.get());
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import com.torchmind.observable.SimpleObservable;
+import com.torchmind.observable.listener.ReferenceMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Evaluates whether filtered, sorted and mapped views follow their source lists.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class ObservableListViewTest {
+
+  /**
+   * Applies all entries of the passed change to the passed copy of a list.
+   */
+  private static <E> void replay(List<E> copy, ObservableList<? extends E> list,
+      ListChange<? extends E> change) {
+    for (ListChange.Entry<? extends E> entry : change.getEntries()) {
+      if (entry.wasPermuted() || entry.wasUpdated()) {
+        for (int i = entry.getFrom(); i < entry.getTo(); ++i) {
+          copy.set(i, list.get(i));
+        }
+        continue;
+      }
+
+      copy.subList(entry.getFrom(), entry.getFrom() + entry.getRemovedSize()).clear();
+      copy.addAll(entry.getFrom(), list.subList(entry.getFrom(), entry.getTo()));
+    }
+  }
+
+  /**
+   * Evaluates whether filtered views publish only the affected positions.
+   */
+  @Test
+  public void testFiltered() {
+    SimpleObservableList<Integer> list = new SimpleObservableList<>(Arrays.asList(1, 2, 3, 4));
+    SimpleObservable<Integer> threshold = new SimpleObservable<>(3);
+    ObservableList<Integer> view = list.filtered((e) -> e < threshold.get(), threshold);
+    List<ListChange<? extends Integer>> changes = new ArrayList<>();
+    view.registerListener((l, c) -> changes.add(c), ReferenceMode.STRONG);
+
+    Assert.assertEquals(Arrays.asList(1, 2), view);
+
+    list.add(5);
+    Assert.assertTrue(changes.isEmpty());
+
+    list.add(0, 0);
+    Assert.assertEquals(Arrays.asList(0, 1, 2), view);
+    Assert.assertEquals(1, changes.size());
+    Assert.assertEquals(0, changes.get(0).getEntries().get(0).getFrom());
+    Assert.assertEquals(1, changes.get(0).getEntries().get(0).getTo());
+
+    list.remove(Integer.valueOf(2));
+    Assert.assertEquals(Arrays.asList(0, 1), view);
+    Assert.assertEquals(Collections.singletonList(2),
+        changes.get(1).getEntries().get(0).getRemoved());
+
+    List<Integer> copy = new ArrayList<>(view);
+    threshold.set(5);
+    Assert.assertEquals(Arrays.asList(0, 1, 3, 4), view);
+    replay(copy, view, changes.get(2));
+    Assert.assertEquals(view, copy);
+
+    try {
+      view.add(6);
+      Assert.fail("Expected view to reject modifications");
+    } catch (UnsupportedOperationException ignore) {
+    }
+  }
+
+  /**
+   * Evaluates whether filtered views observe the conditions of individual elements.
+   */
+  @Test
+  public void testFilteredBy() {
+    SimpleObservable<Boolean> a = new SimpleObservable<>(true);
+    SimpleObservable<Boolean> b = new SimpleObservable<>(false);
+    SimpleObservable<Boolean> c = new SimpleObservable<>(true);
+    SimpleObservableList<SimpleObservable<Boolean>> list =
+        new SimpleObservableList<>(Arrays.asList(a, b, c));
+    ObservableList<SimpleObservable<Boolean>> view = list.filteredBy((e) -> e);
+    List<ListChange<? extends SimpleObservable<Boolean>>> changes = new ArrayList<>();
+    view.registerListener((l, ch) -> changes.add(ch), ReferenceMode.STRONG);
+
+    Assert.assertEquals(Arrays.asList(a, c), view);
+
+    b.set(true);
+    Assert.assertEquals(Arrays.asList(a, b, c), view);
+    Assert.assertEquals(1, changes.size());
+    Assert.assertEquals(1, changes.get(0).getEntries().get(0).getFrom());
+    Assert.assertEquals(2, changes.get(0).getEntries().get(0).getTo());
+
+    a.set(false);
+    Assert.assertEquals(Arrays.asList(b, c), view);
+    Assert.assertEquals(2, changes.size());
+
+    // conditions of removed elements are no longer observed
+    list.remove(c);
+    c.set(false);
+    c.set(true);
+    Assert.assertEquals(Collections.singletonList(b), view);
+    Assert.assertEquals(3, changes.size());
+  }
+
+  /**
+   * Evaluates whether sorted views insert elements at their sorted position and relocate
+   * elements which have been updated in-place.
+   */
+  @Test
+  public void testSorted() {
+    SimpleObservableList<int[]> list = new SimpleObservableList<>(
+        Arrays.asList(new int[]{3}, new int[]{1}, new int[]{2}));
+    ObservableList<int[]> view = list.sorted(Comparator.comparingInt((e) -> e[0]));
+    List<ListChange<? extends int[]>> changes = new ArrayList<>();
+    view.registerListener((l, c) -> changes.add(c), ReferenceMode.STRONG);
+
+    Assert.assertEquals(1, view.get(0)[0]);
+    Assert.assertEquals(3, view.get(2)[0]);
+
+    list.add(new int[]{0});
+    Assert.assertEquals(0, view.get(0)[0]);
+    Assert.assertEquals(0, changes.get(0).getEntries().get(0).getFrom());
+
+    // in-place modifications which retain the order are published as updates
+    list.get(0)[0] = 4;
+    list.update(0, 1);
+    Assert.assertEquals(2, changes.size());
+    Assert.assertTrue(changes.get(1).getEntries().get(0).wasUpdated());
+    Assert.assertEquals(3, changes.get(1).getEntries().get(0).getFrom());
+
+    List<int[]> copy = new ArrayList<>(view);
+    list.get(1)[0] = 5;
+    list.update(1, 2);
+    Assert.assertEquals(5, view.get(3)[0]);
+    Assert.assertEquals(4, view.get(2)[0]);
+    replay(copy, view, changes.get(2));
+    Assert.assertEquals(view, copy);
+
+    // reordering the source does not affect the view
+    list.sort(Comparator.comparingInt((e) -> -e[0]));
+    Assert.assertEquals(3, changes.size());
+  }
+
+  /**
+   * Evaluates whether mapped views forward the changes of their source.
+   */
+  @Test
+  public void testMapped() {
+    SimpleObservableList<String> list = new SimpleObservableList<>(Arrays.asList("a", "bb"));
+    ObservableList<Integer> view = list.mapped(String::length);
+    List<ListChange<? extends Integer>> changes = new ArrayList<>();
+    view.registerListener((l, c) -> changes.add(c), ReferenceMode.STRONG);
+
+    Assert.assertEquals(Arrays.asList(1, 2), view);
+
+    list.set(0, "ccc");
+    Assert.assertEquals(Arrays.asList(3, 2), view);
+    Assert.assertEquals(1, changes.size());
+    Assert.assertEquals(Collections.singletonList(1),
+        changes.get(0).getEntries().get(0).getRemoved());
+
+    ObservableList<Integer> sorted = view.filtered((e) -> e > 1).sorted(null);
+    list.add("dddd");
+    Assert.assertEquals(Arrays.asList(2, 3, 4), sorted);
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import com.torchmind.observable.listener.ReferenceMode;
+import com.torchmind.observable.listener.Subscription;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Evaluates whether observable maps notify their map and key listeners as designed.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class ObservableMapTest {
+
+  /**
+   * Evaluates whether map listeners are notified of every modification.
+   */
+  @Test
+  public void testMapListener() {
+    SimpleObservableMap<String, Integer> map = new SimpleObservableMap<>();
+    List<MapChange<? extends String, ? extends Integer>> changes = new ArrayList<>();
+    map.registerListener((m, c) -> changes.add(c), ReferenceMode.STRONG);
+
+    map.put("a", 1);
+    map.put("a", 1);
+    map.put("a", 2);
+    map.remove("a");
+    map.remove("a");
+    Assert.assertEquals(3, changes.size());
+
+    Assert.assertTrue(changes.get(0).wasAdded());
+    Assert.assertFalse(changes.get(0).wasRemoved());
+    Assert.assertTrue(changes.get(1).wasReplaced());
+    Assert.assertEquals(1, (int) changes.get(1).getRemoved());
+    Assert.assertEquals(2, (int) changes.get(1).getAdded());
+    Assert.assertFalse(changes.get(2).wasAdded());
+    Assert.assertTrue(changes.get(2).wasRemoved());
+
+    map.put("b", null);
+    map.put("b", null);
+    Assert.assertEquals(4, changes.size());
+    map.put("c", 3);
+    map.merge("c", 1, Integer::sum);
+    Assert.assertEquals(4, (int) map.get("c"));
+    Assert.assertEquals(6, changes.size());
+
+    Iterator<Map.Entry<String, Integer>> iterator = map.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<String, Integer> entry = iterator.next();
+      if ("c".equals(entry.getKey())) {
+        entry.setValue(5);
+        iterator.remove();
+      }
+    }
+    Assert.assertEquals(8, changes.size());
+
+    map.clear();
+    Assert.assertEquals(9, changes.size());
+    Assert.assertTrue(map.isEmpty());
+  }
+
+  /**
+   * Evaluates whether key listeners are only notified of modifications to their key.
+   */
+  @Test
+  public void testKeyListener() {
+    SimpleObservableMap<String, Integer> map = new SimpleObservableMap<>();
+    AtomicInteger changes = new AtomicInteger();
+    MapChangeListener<String, Integer> listener = (m, c) -> {
+      Assert.assertEquals("a", c.getKey());
+      changes.incrementAndGet();
+    };
+
+    map.registerKeyListener("a", listener, ReferenceMode.STRONG);
+    Subscription subscription = map.subscribeKey("a", listener, ReferenceMode.STRONG);
+
+    map.put("a", 1);
+    map.put("b", 2);
+    Assert.assertEquals(2, changes.get());
+
+    subscription.close();
+    map.put("a", 3);
+    Assert.assertEquals(3, changes.get());
+
+    map.removeKeyListener("a", listener);
+    map.put("a", 4);
+    Assert.assertEquals(3, changes.get());
+  }
+
+  /**
+   * Evaluates whether concurrent maps publish the modifications of a key in order.
+   */
+  @Test(timeout = 10000)
+  public void testConcurrentMap() throws InterruptedException {
+    ConcurrentObservableMap<Integer, Integer> map = new ConcurrentObservableMap<>();
+    AtomicInteger violations = new AtomicInteger();
+    AtomicInteger changes = new AtomicInteger();
+    int[] last = new int[8];
+
+    for (int i = 0; i < last.length; ++i) {
+      map.registerKeyListener(i, (m, c) -> {
+        changes.incrementAndGet();
+        if (c.getRemoved() != null && c.getRemoved() != last[c.getKey()]) {
+          violations.incrementAndGet();
+        }
+        last[c.getKey()] = c.getAdded();
+      }, ReferenceMode.STRONG);
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    for (int i = 0; i < 4; ++i) {
+      executor.execute(() -> {
+        for (int j = 0; j < 1000; ++j) {
+          map.merge(j % last.length, 1, Integer::sum);
+        }
+      });
+    }
+    executor.shutdown();
+    Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+    Assert.assertEquals(0, violations.get());
+    Assert.assertEquals(4000, changes.get());
+    for (int i = 0; i < last.length; ++i) {
+      Assert.assertEquals(500, (int) map.get(i));
+      Assert.assertEquals(500, last[i]);
+    }
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.collection;
+
+import com.torchmind.observable.binding.BooleanBinding;
+import com.torchmind.observable.listener.ReferenceMode;
+import com.torchmind.observable.listener.Subscription;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Evaluates whether observable sets publish bulk modifications as a single change.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class ObservableSetTest {
+
+  /**
+   * Evaluates whether single element modifications are only published when they alter the set.
+   */
+  @Test
+  public void testElementChanges() {
+    SimpleObservableSet<String> set = new SimpleObservableSet<>();
+    List<SetChange<? extends String>> changes = new ArrayList<>();
+    set.registerListener((s, c) -> changes.add(c), ReferenceMode.STRONG);
+
+    Assert.assertTrue(set.add("a"));
+    Assert.assertFalse(set.add("a"));
+    Assert.assertTrue(set.add(null));
+    Assert.assertTrue(set.contains(null));
+    Assert.assertTrue(set.remove("a"));
+    Assert.assertFalse(set.remove("a"));
+    Assert.assertEquals(3, changes.size());
+
+    Assert.assertEquals(Collections.singletonList("a"), new ArrayList<>(changes.get(0).getAdded()));
+    Assert.assertFalse(changes.get(0).wasRemoved());
+    Assert.assertEquals(Collections.singletonList("a"),
+        new ArrayList<>(changes.get(2).getRemoved()));
+    Assert.assertFalse(changes.get(2).wasAdded());
+  }
+
+  /**
+   * Evaluates whether bulk operations are published as a single change which solely contains
+   * the elements that have actually been added or removed.
+   */
+  @Test
+  public void testBulkChanges() {
+    SimpleObservableSet<Integer> set = new SimpleObservableSet<>(Arrays.asList(1, 2, 3));
+    List<SetChange<? extends Integer>> changes = new ArrayList<>();
+    set.registerListener((s, c) -> changes.add(c), ReferenceMode.STRONG);
+
+    Assert.assertTrue(set.addAll(Arrays.asList(3, 4, 5)));
+    Assert.assertFalse(set.addAll(Arrays.asList(1, 2)));
+    Assert.assertEquals(1, changes.size());
+    Assert.assertEquals(new HashSet<>(Arrays.asList(4, 5)),
+        new HashSet<>(changes.get(0).getAdded()));
+
+    Assert.assertTrue(set.removeAll(Arrays.asList(1, 5, 6)));
+    Assert.assertEquals(2, changes.size());
+    Assert.assertEquals(new HashSet<>(Arrays.asList(1, 5)),
+        new HashSet<>(changes.get(1).getRemoved()));
+
+    Assert.assertTrue(set.retainAll(Collections.singleton(3)));
+    Assert.assertFalse(set.retainAll(Collections.singleton(3)));
+    Assert.assertEquals(3, changes.size());
+    Assert.assertEquals(new HashSet<>(Arrays.asList(2, 4)),
+        new HashSet<>(changes.get(2).getRemoved()));
+
+    set.clear();
+    set.clear();
+    Assert.assertEquals(4, changes.size());
+    Assert.assertTrue(set.isEmpty());
+  }
+
+  /**
+   * Evaluates whether elements are retained as the table grows and shrinks and whether the
+   * iterator visits every element exactly once while elements are removed.
+   */
+  @Test
+  public void testTable() {
+    SimpleObservableSet<Integer> set = new SimpleObservableSet<>();
+    for (int i = 0; i < 1000; ++i) {
+      // multiples of 64 share their preferred slot and form a single long cluster
+      set.add(i * 64);
+    }
+    Assert.assertEquals(1000, set.size());
+
+    List<Integer> visited = new ArrayList<>();
+    Iterator<Integer> iterator = set.iterator();
+    while (iterator.hasNext()) {
+      int element = iterator.next();
+      visited.add(element);
+
+      if (element % 128 == 0) {
+        iterator.remove();
+      }
+    }
+
+    Assert.assertEquals(1000, visited.size());
+    Assert.assertEquals(1000, new HashSet<>(visited).size());
+    Assert.assertEquals(500, set.size());
+    for (int i = 0; i < 1000; ++i) {
+      Assert.assertEquals(i % 2 != 0, set.contains(i * 64));
+    }
+  }
+
+  /**
+   * Evaluates whether element listeners and membership bindings are only notified of changes to
+   * their element.
+   */
+  @Test
+  public void testElementListener() {
+    SimpleObservableSet<String> set = new SimpleObservableSet<>();
+    List<SetChange<? extends String>> changes = new ArrayList<>();
+    Subscription subscription =
+        set.subscribeElement("a", (s, c) -> changes.add(c), ReferenceMode.STRONG);
+    BooleanBinding binding = BooleanBinding.contains(set, "a");
+    AtomicInteger invalidations = new AtomicInteger();
+    binding.registerListener((o) -> invalidations.incrementAndGet(), ReferenceMode.STRONG);
+
+    Assert.assertFalse(binding.getValue());
+    set.addAll(Arrays.asList("a", "b", "c"));
+    Assert.assertTrue(binding.getValue());
+    Assert.assertEquals(1, changes.size());
+    Assert.assertEquals(Collections.singletonList("a"), new ArrayList<>(changes.get(0).getAdded()));
+
+    set.remove("b");
+    Assert.assertEquals(1, changes.size());
+    Assert.assertEquals(1, invalidations.get());
+
+    set.retainAll(Collections.singleton("c"));
+    Assert.assertFalse(binding.getValue());
+    Assert.assertEquals(2, changes.size());
+    Assert.assertTrue(changes.get(1).wasRemoved());
+
+    subscription.close();
+    set.add("a");
+    Assert.assertEquals(2, changes.size());
+    Assert.assertTrue(binding.getValue());
+  }
+}
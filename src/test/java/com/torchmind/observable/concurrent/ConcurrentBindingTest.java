@@ -0,0 +1,168 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.concurrent;
+
+import com.torchmind.observable.binding.IntegerBinding;
+import com.torchmind.observable.binding.LongBinding;
+import com.torchmind.observable.concurrent.primitive.BlockingIntegerObservable;
+import com.torchmind.observable.listener.ReferenceMode;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Evaluates whether concurrent bindings coalesce invalidations and publish consistent values.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class ConcurrentBindingTest {
+
+  /**
+   * Evaluates whether bindings are evaluated lazily and notify their invalidation listeners once
+   * when they turn stale.
+   */
+  @Test
+  public void testLazyEvaluation() {
+    BlockingIntegerObservable a = new BlockingIntegerObservable(1);
+    BlockingIntegerObservable b = new BlockingIntegerObservable(2);
+    AtomicInteger evaluations = new AtomicInteger();
+    AtomicInteger invalidations = new AtomicInteger();
+    IntegerBinding binding = IntegerBinding.createConcurrent(() -> {
+      evaluations.incrementAndGet();
+      return a.getValue() + b.getValue();
+    }, a, b);
+    binding.registerListener((o) -> invalidations.incrementAndGet(), ReferenceMode.STRONG);
+
+    Assert.assertEquals(3, binding.getValue());
+    Assert.assertEquals(3, binding.getValue());
+    Assert.assertEquals(1, evaluations.get());
+
+    a.set(2);
+    b.set(3);
+    Assert.assertEquals(1, invalidations.get());
+    Assert.assertEquals(1, evaluations.get());
+
+    Assert.assertEquals(5, binding.getValue());
+    Assert.assertEquals(2, evaluations.get());
+
+    binding.dispose();
+    a.set(5);
+    Assert.assertEquals(5, binding.getValue());
+    Assert.assertEquals(1, invalidations.get());
+  }
+
+  /**
+   * Evaluates whether invalidations which occur while a binding is being re-computed are
+   * coalesced into a single additional computation.
+   */
+  @Test
+  public void testCoalescing() throws InterruptedException {
+    BlockingIntegerObservable a = new BlockingIntegerObservable(0);
+    BlockingIntegerObservable b = new BlockingIntegerObservable(0);
+    AtomicBoolean blocking = new AtomicBoolean();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger evaluations = new AtomicInteger();
+    AtomicReference<Integer> published = new AtomicReference<>();
+
+    IntegerBinding binding = IntegerBinding.createConcurrent(() -> {
+      evaluations.incrementAndGet();
+
+      if (blocking.compareAndSet(true, false)) {
+        started.countDown();
+
+        try {
+          release.await();
+        } catch (InterruptedException ex) {
+          throw new IllegalStateException(ex);
+        }
+      }
+
+      return a.getValue() + b.getValue();
+    }, a, b);
+    binding.registerListener((o, ov, nv) -> published.set(nv), ReferenceMode.STRONG);
+    Assert.assertEquals(1, evaluations.get());
+
+    blocking.set(true);
+    Thread thread = new Thread(() -> a.set(1));
+    thread.start();
+    started.await();
+
+    for (int i = 1; i <= 10; ++i) {
+      b.set(i);
+    }
+
+    release.countDown();
+    thread.join();
+
+    Assert.assertEquals(3, evaluations.get());
+    Assert.assertEquals(11, (int) published.get());
+    Assert.assertEquals(11, binding.getValue());
+  }
+
+  /**
+   * Evaluates whether published values never combine outdated and updated dependency values.
+   */
+  @Test
+  public void testConsistency() throws InterruptedException {
+    BlockingIntegerObservable a = new BlockingIntegerObservable(0);
+    BlockingIntegerObservable b = new BlockingIntegerObservable(0);
+    AtomicBoolean consistent = new AtomicBoolean(true);
+
+    // a is always updated before b and as such, b never exceeds a unless a is read before the
+    // update of a and b is read after the update of b
+    LongBinding binding = LongBinding.createConcurrent(() -> {
+      int first = a.getValue();
+      Thread.yield();
+      int second = b.getValue();
+      return ((long) first << 32) | second;
+    }, a, b);
+    binding.registerListener((o, ov, nv) -> {
+      if ((int) (nv >>> 32) < (int) (long) nv) {
+        consistent.set(false);
+      }
+    }, ReferenceMode.STRONG);
+
+    Thread writer = new Thread(() -> {
+      for (int i = 1; i <= 2000; ++i) {
+        a.set(i);
+        b.set(i);
+      }
+    });
+    Thread reader = new Thread(() -> {
+      for (int i = 0; i < 2000; ++i) {
+        long value = binding.getValue();
+
+        if ((int) (value >>> 32) < (int) value) {
+          consistent.set(false);
+        }
+      }
+    });
+
+    writer.start();
+    reader.start();
+    writer.join();
+    reader.join();
+
+    Assert.assertTrue(consistent.get());
+    Assert.assertEquals((2000L << 32) | 2000, binding.getValue());
+  }
+}
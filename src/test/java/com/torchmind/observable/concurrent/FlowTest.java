@@ -0,0 +1,320 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.torchmind.observable.concurrent;
+
+import com.torchmind.observable.SimpleObservable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Evaluates whether the reactive stream adapters honor demand, cancellation and termination.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class FlowTest {
+
+  /**
+   * Evaluates whether changes are only delivered once they have been requested.
+   */
+  @Test
+  public void testDemand() {
+    SimpleObservable<Integer> observable = new SimpleObservable<>(0);
+    ObservablePublisher<Integer> publisher = new ObservablePublisher<>(observable, 16,
+        OverflowStrategy.DROP_OLDEST, Runnable::run);
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber);
+
+    observable.set(1);
+    observable.set(2);
+    observable.set(3);
+    Assert.assertTrue(subscriber.events.isEmpty());
+
+    subscriber.subscription.request(2);
+    Assert.assertEquals("[0 -> 1, 1 -> 2]", subscriber.events.toString());
+
+    subscriber.subscription.request(2);
+    Assert.assertEquals("[0 -> 1, 1 -> 2, 2 -> 3]", subscriber.events.toString());
+
+    // outstanding demand is consumed by subsequent changes immediately
+    observable.set(4);
+    Assert.assertEquals("[0 -> 1, 1 -> 2, 2 -> 3, 3 -> 4]", subscriber.events.toString());
+  }
+
+  /**
+   * Evaluates whether cancelled subscribers no longer receive changes and whether the publisher
+   * stops listening to its observable once no subscribers remain.
+   */
+  @Test
+  public void testCancel() {
+    SimpleObservable<Integer> observable = new SimpleObservable<>(0);
+    ObservablePublisher<Integer> publisher = new ObservablePublisher<>(observable, 16,
+        OverflowStrategy.DROP_OLDEST, Runnable::run);
+    RecordingSubscriber subscriber1 = new RecordingSubscriber();
+    RecordingSubscriber subscriber2 = new RecordingSubscriber();
+    publisher.subscribe(subscriber1);
+    publisher.subscribe(subscriber2);
+    subscriber1.subscription.request(Long.MAX_VALUE);
+    subscriber2.subscription.request(Long.MAX_VALUE);
+    Assert.assertEquals(2, publisher.getSubscriberCount());
+
+    observable.set(1);
+    subscriber1.subscription.cancel();
+    observable.set(2);
+
+    Assert.assertEquals("[0 -> 1]", subscriber1.events.toString());
+    Assert.assertEquals("[0 -> 1, 1 -> 2]", subscriber2.events.toString());
+    Assert.assertEquals(1, publisher.getSubscriberCount());
+
+    subscriber2.subscription.cancel();
+    Assert.assertEquals(0, publisher.getSubscriberCount());
+    Assert.assertFalse(subscriber1.completed || subscriber2.completed);
+  }
+
+  /**
+   * Evaluates whether closing a publisher completes its subscribers once their buffered changes
+   * have been delivered.
+   */
+  @Test
+  public void testComplete() {
+    SimpleObservable<Integer> observable = new SimpleObservable<>(0);
+    ObservablePublisher<Integer> publisher = new ObservablePublisher<>(observable, 16,
+        OverflowStrategy.DROP_OLDEST, Runnable::run);
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber);
+
+    observable.set(1);
+    publisher.close();
+    observable.set(2);
+    Assert.assertFalse(subscriber.completed);
+
+    subscriber.subscription.request(1);
+    Assert.assertEquals("[0 -> 1]", subscriber.events.toString());
+    Assert.assertTrue(subscriber.completed);
+    Assert.assertEquals(0, publisher.getSubscriberCount());
+
+    // late subscribers are completed immediately
+    RecordingSubscriber late = new RecordingSubscriber();
+    publisher.subscribe(late);
+    Assert.assertTrue(late.completed);
+    Assert.assertTrue(late.events.isEmpty());
+  }
+
+  /**
+   * Evaluates whether invalid requests terminate the subscription with an error.
+   */
+  @Test
+  public void testError() {
+    SimpleObservable<Integer> observable = new SimpleObservable<>(0);
+    ObservablePublisher<Integer> publisher = new ObservablePublisher<>(observable, 16,
+        OverflowStrategy.DROP_OLDEST, Runnable::run);
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber);
+
+    subscriber.subscription.request(0);
+    Assert.assertTrue(subscriber.error instanceof IllegalArgumentException);
+    Assert.assertEquals(0, publisher.getSubscriberCount());
+
+    observable.set(1);
+    subscriber.subscription.request(1);
+    Assert.assertTrue(subscriber.events.isEmpty());
+    Assert.assertFalse(subscriber.completed);
+  }
+
+  /**
+   * Evaluates whether each overflow strategy limits the buffer of slow subscribers.
+   */
+  @Test(timeout = 10000)
+  public void testBackpressure() throws InterruptedException {
+    Assert.assertEquals("[2 -> 3, 3 -> 4]", this.overflow(OverflowStrategy.DROP_OLDEST));
+    Assert.assertEquals("[0 -> 1, 1 -> 4]", this.overflow(OverflowStrategy.CONFLATE));
+
+    // blocking observables notify their listeners while holding their write lock
+    try {
+      new ObservablePublisher<>(new BlockingObservable<>(0), 1, OverflowStrategy.BLOCK,
+          Runnable::run);
+      Assert.fail("Expected blocking observable to be rejected");
+    } catch (IllegalArgumentException ignore) {
+    }
+
+    // the source is only ever changed by the writer thread
+    SimpleObservable<Integer> source = new SimpleObservable<>(0);
+    ObservablePublisher<Integer> publisher = new ObservablePublisher<>(source, 1,
+        OverflowStrategy.BLOCK, Runnable::run);
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber);
+
+    Thread writer = new Thread(() -> {
+      source.set(1);
+      source.set(2);
+    });
+    writer.start();
+
+    // the second change cannot be buffered until the first change has been requested
+    while (writer.getState() != Thread.State.WAITING) {
+      Thread.sleep(1);
+    }
+    Assert.assertTrue(writer.isAlive());
+    Assert.assertTrue(subscriber.events().isEmpty());
+
+    subscriber.subscription.request(2);
+    writer.join();
+    Assert.assertEquals("[0 -> 1, 1 -> 2]", subscriber.events().toString());
+  }
+
+  /**
+   * Publishes four changes to a subscriber without demand and a buffer of two elements.
+   */
+  private String overflow(OverflowStrategy strategy) {
+    SimpleObservable<Integer> observable = new SimpleObservable<>(0);
+    ObservablePublisher<Integer> publisher = new ObservablePublisher<>(observable, 2, strategy,
+        Runnable::run);
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber);
+
+    for (int i = 1; i <= 4; ++i) {
+      observable.set(i);
+    }
+
+    subscriber.subscription.request(Long.MAX_VALUE);
+    return subscriber.events.toString();
+  }
+
+  /**
+   * Evaluates whether subscribers mirror a stream into an observable while replenishing their
+   * demand and whether they terminate with their publisher.
+   */
+  @Test
+  public void testSubscriber() {
+    SimpleObservable<Integer> source = new SimpleObservable<>(0);
+    SimpleObservable<Integer> target = new SimpleObservable<>(0);
+    ObservablePublisher<Integer> publisher = new ObservablePublisher<>(source, 16,
+        OverflowStrategy.BLOCK, Runnable::run);
+    ObservableSubscriber<Integer> mirror = new ObservableSubscriber<>(target, 2);
+
+    publisher.subscribe(new Flow.Subscriber<ChangeEvent<Integer>>() {
+      @Override
+      public void onSubscribe(Flow.Subscription subscription) {
+        mirror.onSubscribe(subscription);
+      }
+
+      @Override
+      public void onNext(ChangeEvent<Integer> item) {
+        mirror.onNext(item.getNewValue());
+      }
+
+      @Override
+      public void onError(Throwable throwable) {
+        mirror.onError(throwable);
+      }
+
+      @Override
+      public void onComplete() {
+        mirror.onComplete();
+      }
+    });
+
+    // more changes than a single batch permits are only delivered when demand is replenished
+    for (int i = 1; i <= 10; ++i) {
+      source.set(i);
+      Assert.assertEquals(i, (int) target.get());
+    }
+
+    Assert.assertFalse(mirror.isDone());
+    publisher.close();
+    Assert.assertTrue(mirror.isDone());
+    Assert.assertNull(mirror.getError());
+  }
+
+  /**
+   * Evaluates whether subscribers cancel their subscription when their observable rejects an
+   * item.
+   */
+  @Test
+  public void testSubscriberRejection() {
+    SimpleObservable<Integer> target = new SimpleObservable<>((o, v) -> {
+      if (v < 0) {
+        throw new IllegalArgumentException("Negative value: " + v);
+      }
+    }, 0);
+    ObservableSubscriber<Integer> subscriber = new ObservableSubscriber<>(target, 4);
+    boolean[] cancelled = new boolean[1];
+    List<Long> requests = new ArrayList<>();
+
+    subscriber.onSubscribe(new Flow.Subscription() {
+      @Override
+      public void request(long n) {
+        requests.add(n);
+      }
+
+      @Override
+      public void cancel() {
+        cancelled[0] = true;
+      }
+    });
+    Assert.assertEquals("[4]", requests.toString());
+
+    subscriber.onNext(1);
+    subscriber.onNext(2);
+    Assert.assertEquals("[4, 2]", requests.toString());
+
+    subscriber.onNext(-1);
+    Assert.assertTrue(cancelled[0]);
+    Assert.assertTrue(subscriber.isDone());
+    Assert.assertTrue(subscriber.getError() instanceof IllegalArgumentException);
+    Assert.assertEquals(2, (int) target.get());
+  }
+
+  /**
+   * Records all signals which are delivered to a subscriber without requesting any items on its
+   * own.
+   */
+  private static final class RecordingSubscriber implements
+      Flow.Subscriber<ChangeEvent<Integer>> {
+
+    private final List<String> events = new ArrayList<>();
+    private volatile Flow.Subscription subscription;
+    private volatile boolean completed;
+    private volatile Throwable error;
+
+    private synchronized List<String> events() {
+      return new ArrayList<>(this.events);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+    }
+
+    @Override
+    public synchronized void onNext(ChangeEvent<Integer> item) {
+      this.events.add(item.getOldValue() + " -> " + item.getNewValue());
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      this.error = throwable;
+    }
+
+    @Override
+    public void onComplete() {
+      this.completed = true;
+    }
+  }
+}
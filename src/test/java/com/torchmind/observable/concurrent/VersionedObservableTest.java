@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.concurrent;
+
+import com.torchmind.observable.listener.ReferenceMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Evaluates whether versioned observables provide consistent snapshots.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class VersionedObservableTest {
+
+  /**
+   * Evaluates whether snapshots retain the values which were visible when they were acquired.
+   */
+  @Test
+  public void testSnapshot() {
+    VersionClock clock = new VersionClock();
+    VersionedObservable<Integer> a = new VersionedObservable<>(clock, 0);
+    VersionedObservable<Integer> b = new VersionedObservable<>(clock, 0);
+
+    try (VersionClock.Snapshot snapshot = clock.snapshot()) {
+      for (int i = 1; i <= 100; ++i) {
+        int value = i;
+        clock.update(() -> {
+          a.set(value);
+          b.set(value);
+        });
+      }
+
+      Assert.assertEquals(0, (int) snapshot.get(a));
+      Assert.assertEquals(0, (int) snapshot.get(b));
+      Assert.assertEquals(100, (int) a.get());
+      Assert.assertEquals(100, clock.getVersion());
+
+      try (VersionClock.Snapshot current = clock.snapshot()) {
+        Assert.assertEquals(100, (int) current.get(a));
+        Assert.assertEquals(100, (int) current.get(b));
+      }
+    }
+
+    try {
+      new VersionClock().snapshot().get(a);
+      Assert.fail("Expected observable of another clock to be rejected");
+    } catch (IllegalArgumentException ignore) {
+    }
+  }
+
+  /**
+   * Evaluates whether modifications within an update become visible at once and notify their
+   * listeners afterwards.
+   */
+  @Test
+  public void testUpdate() throws InterruptedException {
+    VersionClock clock = new VersionClock();
+    VersionedObservable<String> a = new VersionedObservable<>(clock, "a");
+    VersionedObservable<String> b = new VersionedObservable<>(clock, "b");
+    List<String> published = new ArrayList<>();
+    a.registerListener((o, ov, nv) -> published.add(nv + b.get()), ReferenceMode.STRONG);
+    AtomicReference<String> concurrent = new AtomicReference<>();
+
+    clock.update(() -> {
+      a.set("c");
+
+      // modifications are visible to the updating thread only
+      Thread thread = new Thread(() -> concurrent.set(a.get()));
+      thread.start();
+
+      try {
+        thread.join();
+      } catch (InterruptedException ex) {
+        throw new IllegalStateException(ex);
+      }
+
+      Assert.assertEquals("c", a.get());
+      Assert.assertTrue(published.isEmpty());
+      b.set("d");
+    });
+
+    Assert.assertEquals("a", concurrent.get());
+    Assert.assertEquals(Arrays.asList("cd"), published);
+    Assert.assertEquals(1, clock.getVersion());
+  }
+
+  /**
+   * Evaluates whether concurrent readers never observe a partially applied update.
+   */
+  @Test
+  public void testConsistency() throws InterruptedException {
+    VersionClock clock = new VersionClock();
+    VersionedObservable<Integer> a = new VersionedObservable<>(clock, 0);
+    VersionedObservable<Integer> b = new VersionedObservable<>(clock, 0);
+    AtomicBoolean consistent = new AtomicBoolean(true);
+
+    Thread writer = new Thread(() -> {
+      for (int i = 1; i <= 5000; ++i) {
+        int value = i;
+        clock.update(() -> {
+          a.set(value);
+          Thread.yield();
+          b.set(value);
+        });
+      }
+    });
+    Thread reader = new Thread(() -> {
+      for (int i = 0; i < 5000; ++i) {
+        try (VersionClock.Snapshot snapshot = clock.snapshot()) {
+          int first = snapshot.get(a);
+          Thread.yield();
+
+          if (first != snapshot.get(b)) {
+            consistent.set(false);
+          }
+        }
+      }
+    });
+
+    writer.start();
+    reader.start();
+    writer.join();
+    reader.join();
+
+    Assert.assertTrue(consistent.get());
+    Assert.assertEquals(5000, (int) b.get());
+  }
+}
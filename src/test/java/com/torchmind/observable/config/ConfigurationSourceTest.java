@@ -0,0 +1,241 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.config;
+
+import com.torchmind.observable.SimpleObservable;
+import com.torchmind.observable.concurrent.BlockingObservable;
+import com.torchmind.observable.listener.ReferenceMode;
+import com.torchmind.observable.primitive.SimpleIntegerObservable;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Evaluates whether configuration sources update exactly those observables whose values changed.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class ConfigurationSourceTest {
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  /**
+   * Evaluates whether JSON documents are flattened as documented.
+   */
+  @Test
+  public void testJson() throws IOException {
+    Map<String, String> values = ConfigurationParser.json().parse(new StringReader(
+        "{\"server\": {\"host\": \"local\\u0068ost\", \"ports\": [80, 443], \"tls\": true},"
+            + " \"timeout\": -1.5e3, \"proxy\": null}"));
+
+    Assert.assertEquals("localhost", values.get("server.host"));
+    Assert.assertEquals("80", values.get("server.ports.0"));
+    Assert.assertEquals("443", values.get("server.ports.1"));
+    Assert.assertEquals("true", values.get("server.tls"));
+    Assert.assertEquals("-1.5e3", values.get("timeout"));
+    Assert.assertFalse(values.containsKey("proxy"));
+  }
+
+  /**
+   * Evaluates whether reloads only notify observables of changed keys.
+   */
+  @Test
+  public void testReload() throws IOException {
+    Path file = this.folder.newFile("test.properties").toPath();
+    this.write(file, "name=Test\nport=80\n");
+
+    SimpleObservable<String> name = new SimpleObservable<>();
+    SimpleIntegerObservable port = new SimpleIntegerObservable();
+    AtomicInteger nameChanges = new AtomicInteger();
+
+    ConfigurationSource source = new ConfigurationSource(file);
+    source.map("name", name);
+    source.map("port", port, Integer::valueOf);
+
+    Assert.assertEquals("Test", name.get());
+    Assert.assertEquals(80, port.getValue());
+
+    name.registerListener((property, oldValue, newValue) -> nameChanges.incrementAndGet());
+
+    this.write(file, "name=Test\nport=8080\nunused=true\n");
+    Assert.assertEquals(new HashSet<>(Arrays.asList("port", "unused")), source.reload());
+    Assert.assertEquals(0, nameChanges.get());
+    Assert.assertEquals(8080, port.getValue());
+
+    // malformed values must not leave the configuration in a partially updated state
+    this.write(file, "name=Changed\nport=invalid\n");
+
+    try {
+      source.reload();
+      Assert.fail("Expected malformed value to be rejected");
+    } catch (NumberFormatException ignore) {
+    }
+
+    Assert.assertEquals("Test", name.get());
+
+    this.write(file, "port=8080\n");
+    Assert.assertEquals(new HashSet<>(Arrays.asList("name", "unused")), source.reload());
+    Assert.assertNull(name.get());
+    Assert.assertEquals(1, nameChanges.get());
+  }
+
+  /**
+   * Evaluates whether rejected values prevent the entire update without notifying any listeners
+   * and leave the previously loaded contents in place.
+   */
+  @Test
+  public void testRejection() throws IOException {
+    Path file = this.folder.newFile("test.properties").toPath();
+    this.write(file, "host=localhost\nport=80\n");
+
+    SimpleObservable<String> host = new SimpleObservable<>();
+    SimpleObservable<Integer> port = new SimpleObservable<>((o, v) -> {
+      if (v != null && v < 0) {
+        throw new IllegalArgumentException("Port must not be negative: " + v);
+      }
+    }, null);
+    List<Set<String>> reloads = new ArrayList<>();
+
+    ConfigurationSource source = new ConfigurationSource(file);
+    source.map("host", host);
+    source.map("port", port, Integer::valueOf);
+    source.registerListener((s, keys) -> reloads.add(keys));
+
+    List<String> hostChanges = new ArrayList<>();
+    host.subscribe((o, oldValue, newValue) -> hostChanges.add(newValue), ReferenceMode.STRONG);
+
+    this.write(file, "host=example.org\nport=-1\n");
+
+    try {
+      source.reload();
+      Assert.fail("Expected negative port to be rejected");
+    } catch (IllegalArgumentException ignore) {
+    }
+
+    Assert.assertEquals("localhost", host.get());
+    Assert.assertEquals(80, (int) port.get());
+    Assert.assertEquals("localhost", source.get("host"));
+    Assert.assertTrue(reloads.isEmpty());
+    Assert.assertTrue(hostChanges.isEmpty());
+
+    this.write(file, "host=example.org\nport=8080\n");
+    Assert.assertEquals(new HashSet<>(Arrays.asList("host", "port")), source.reload());
+    Assert.assertEquals("example.org", host.get());
+    Assert.assertEquals(8080, (int) port.get());
+    Assert.assertEquals(Collections.singletonList("example.org"), hostChanges);
+    Assert.assertEquals(Collections.singletonList(new HashSet<>(Arrays.asList("host", "port"))),
+        reloads);
+  }
+
+  /**
+   * Evaluates whether a failing listener aborts the update and reverts all observables which have
+   * been updated (including the observable whose listener failed) without touching the rest.
+   */
+  @Test
+  public void testListenerFailure() throws IOException {
+    Path file = this.folder.newFile("test.properties").toPath();
+    this.write(file, "name=first\n");
+
+    SimpleObservable<String> a = new SimpleObservable<>();
+    SimpleObservable<String> b = new SimpleObservable<>();
+    SimpleObservable<String> c = new SimpleObservable<>();
+    List<Set<String>> reloads = new ArrayList<>();
+
+    ConfigurationSource source = new ConfigurationSource(file);
+    source.map("name", a);
+    source.map("name", b);
+    source.map("name", c);
+    source.registerListener((s, keys) -> reloads.add(keys));
+
+    List<String> aChanges = new ArrayList<>();
+    List<String> cChanges = new ArrayList<>();
+    a.subscribe((o, oldValue, newValue) -> aChanges.add(newValue), ReferenceMode.STRONG);
+    b.subscribe((o, oldValue, newValue) -> {
+      if ("second".equals(newValue)) {
+        throw new IllegalStateException("Listener failure");
+      }
+    }, ReferenceMode.STRONG);
+    c.subscribe((o, oldValue, newValue) -> cChanges.add(newValue), ReferenceMode.STRONG);
+
+    this.write(file, "name=second\n");
+
+    try {
+      source.reload();
+      Assert.fail("Expected listener failure to be propagated");
+    } catch (IllegalStateException ignore) {
+    }
+
+    Assert.assertEquals("first", a.get());
+    Assert.assertEquals("first", b.get());
+    Assert.assertEquals("first", c.get());
+    Assert.assertEquals(Arrays.asList("second", "first"), aChanges);
+    Assert.assertTrue(cChanges.isEmpty());
+    Assert.assertEquals("first", source.get("name"));
+    Assert.assertTrue(reloads.isEmpty());
+  }
+
+  /**
+   * Evaluates whether watched files are reloaded automatically.
+   */
+  @Test(timeout = 30000)
+  public void testWatch() throws IOException, InterruptedException {
+    Path file = this.folder.newFile("test.properties").toPath();
+    this.write(file, "name=Test\n");
+
+    BlockingObservable<String> name = new BlockingObservable<>();
+    CountDownLatch latch = new CountDownLatch(1);
+
+    try (ConfigurationSource source = new ConfigurationSource(file)) {
+      source.map("name", name);
+      source.watch(50, TimeUnit.MILLISECONDS);
+
+      name.registerListener((property, oldValue, newValue) -> {
+        if ("Changed".equals(newValue)) {
+          latch.countDown();
+        }
+      });
+
+      this.write(file, "name=Changed\n");
+      Assert.assertTrue(latch.await(25, TimeUnit.SECONDS));
+    }
+  }
+
+  /**
+   * Replaces the contents of a file.
+   */
+  private void write(Path file, String contents) throws IOException {
+    Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.persistence;
+
+import com.torchmind.observable.SimpleObservable;
+import com.torchmind.observable.primitive.SimpleIntegerObservable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Evaluates whether change journals record and replay changes as expected.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class ChangeJournalTest {
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  /**
+   * Evaluates whether changes are replayed across multiple segments and journal sessions.
+   */
+  @Test
+  public void testReplay() throws IOException {
+    Path directory = this.folder.newFolder().toPath();
+
+    SimpleIntegerObservable counter = new SimpleIntegerObservable(0);
+    SimpleObservable<String> name = new SimpleObservable<>();
+
+    try (ChangeJournal journal = new ChangeJournal(directory, 128, SyncPolicy.always())) {
+      journal.track(1, counter, ValueCodec.integer());
+      journal.track(2, name, ValueCodec.string());
+
+      for (int i = 1; i <= 100; ++i) {
+        counter.setValue(i);
+      }
+
+      name.set("Test");
+      name.set(null);
+
+      Assert.assertEquals(102, journal.getSequence());
+    }
+
+    Assert.assertTrue(JournalFormat.segments(directory).size() > 1);
+
+    // changes after a journal has been closed are not recorded
+    counter.setValue(-1);
+
+    try (ChangeJournal journal = new ChangeJournal(directory, 128,
+        SyncPolicy.group(16, 1, TimeUnit.SECONDS))) {
+      Assert.assertEquals(102, journal.getSequence());
+
+      journal.track(2, name, ValueCodec.string());
+      name.set("Resumed");
+
+      Assert.assertEquals(103, journal.getSequence());
+    }
+
+    SimpleIntegerObservable restoredCounter = new SimpleIntegerObservable();
+    SimpleObservable<String> restoredName = new SimpleObservable<>();
+
+    JournalReader reader = new JournalReader();
+    reader.register(1, restoredCounter, ValueCodec.integer());
+    reader.register(2, restoredName, ValueCodec.string());
+
+    Assert.assertEquals(103, reader.replay(directory));
+    Assert.assertEquals(100, restoredCounter.getValue());
+    Assert.assertEquals("Resumed", restoredName.get());
+
+    restoredName.set(null);
+    Assert.assertEquals(103, reader.replay(directory, 102));
+    Assert.assertEquals("Resumed", restoredName.get());
+  }
+
+  /**
+   * Evaluates whether the sequence is recovered from preceding segments when a journal is resumed
+   * on an empty trailing segment (e.g. after a crash right after rolling over).
+   */
+  @Test
+  public void testResumeEmptySegment() throws IOException {
+    Path directory = this.folder.newFolder().toPath();
+    SimpleIntegerObservable counter = new SimpleIntegerObservable(0);
+
+    try (ChangeJournal journal = new ChangeJournal(directory, 128, SyncPolicy.none())) {
+      journal.track(1, counter, ValueCodec.integer());
+
+      for (int i = 1; i <= 10; ++i) {
+        counter.setValue(i);
+      }
+    }
+
+    List<Path> segments = JournalFormat.segments(directory);
+    long index = JournalFormat.index(segments.get(segments.size() - 1));
+    Files.createFile(JournalFormat.segment(directory, index + 1));
+
+    try (ChangeJournal journal = new ChangeJournal(directory, 128, SyncPolicy.none())) {
+      Assert.assertEquals(10, journal.getSequence());
+
+      journal.track(1, counter, ValueCodec.integer());
+      counter.setValue(42);
+
+      Assert.assertEquals(11, journal.getSequence());
+    }
+
+    SimpleIntegerObservable restoredCounter = new SimpleIntegerObservable();
+
+    JournalReader reader = new JournalReader();
+    reader.register(1, restoredCounter, ValueCodec.integer());
+
+    Assert.assertEquals(11, reader.replay(directory));
+    Assert.assertEquals(42, restoredCounter.getValue());
+  }
+
+  /**
+   * Evaluates whether a failing codec leaves no partially written record behind which would hide
+   * subsequent records from readers.
+   */
+  @Test
+  public void testCodecFailure() throws IOException {
+    Path directory = this.folder.newFolder().toPath();
+
+    ValueCodec<String> failing = new ValueCodec<String>() {
+      @Override
+      public int size(@NonNull String value) {
+        return 4;
+      }
+
+      @Override
+      public void write(@NonNull ByteBuffer buffer, @NonNull String value) {
+        buffer.putShort((short) 0x7F7F);
+        throw new IllegalStateException("Cannot encode value: " + value);
+      }
+
+      @NonNull
+      @Override
+      public String read(@NonNull ByteBuffer buffer) {
+        throw new UnsupportedOperationException();
+      }
+    };
+
+    try (ChangeJournal journal = new ChangeJournal(directory, 128, SyncPolicy.none())) {
+      Assert.assertEquals(1, journal.append(1, ValueCodec.integer(), null, 1));
+
+      try {
+        journal.append(2, failing, null, "Test");
+        Assert.fail("Expected codec failure to be propagated");
+      } catch (IllegalStateException ignore) {
+      }
+
+      Assert.assertEquals(1, journal.getSequence());
+      Assert.assertEquals(2, journal.append(1, ValueCodec.integer(), 1, 2));
+    }
+
+    SimpleIntegerObservable restoredCounter = new SimpleIntegerObservable();
+
+    JournalReader reader = new JournalReader();
+    reader.register(1, restoredCounter, ValueCodec.integer());
+
+    Assert.assertEquals(2, reader.replay(directory));
+    Assert.assertEquals(2, restoredCounter.getValue());
+  }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.persistence;
+
+import com.torchmind.observable.SimpleEnumObservable;
+import com.torchmind.observable.SimpleObservable;
+import com.torchmind.observable.primitive.SimpleBooleanObservable;
+import com.torchmind.observable.primitive.SimpleDoubleObservable;
+import com.torchmind.observable.primitive.SimpleIntegerObservable;
+import com.torchmind.observable.primitive.SimpleLongObservable;
+import java.io.IOException;
+import java.lang.annotation.RetentionPolicy;
+import java.nio.file.Path;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Evaluates whether snapshots restore values and bindings as they have been written.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class ObservableSnapshotTest {
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  /**
+   * Evaluates whether primitive and codec based values survive a round trip.
+   */
+  @Test
+  public void testValues() throws IOException {
+    Path path = this.folder.newFile().toPath();
+
+    {
+      ObservableSnapshot snapshot = new ObservableSnapshot();
+      snapshot.register(new SimpleIntegerObservable(42));
+      snapshot.register(new SimpleDoubleObservable(Math.PI));
+      snapshot.register(new SimpleLongObservable());
+      snapshot.register(new SimpleBooleanObservable(true));
+      snapshot.register(new SimpleObservable<>("Test äöü"), ValueCodec.string());
+      snapshot.register(new SimpleEnumObservable<>(RetentionPolicy.CLASS),
+          ValueCodec.enumeration(RetentionPolicy.class));
+      snapshot.write(path);
+    }
+
+    SimpleIntegerObservable integer = new SimpleIntegerObservable();
+    SimpleDoubleObservable number = new SimpleDoubleObservable();
+    SimpleLongObservable empty = new SimpleLongObservable(21L);
+    SimpleBooleanObservable bool = new SimpleBooleanObservable();
+    SimpleObservable<String> string = new SimpleObservable<>();
+    SimpleEnumObservable<RetentionPolicy> enumeration = new SimpleEnumObservable<>();
+
+    ObservableSnapshot snapshot = new ObservableSnapshot();
+    snapshot.register(integer);
+    snapshot.register(number);
+    snapshot.register(empty);
+    snapshot.register(bool);
+    snapshot.register(string, ValueCodec.string());
+    snapshot.register(enumeration, ValueCodec.enumeration(RetentionPolicy.class));
+    snapshot.restore(path);
+
+    Assert.assertEquals(42, integer.getValue());
+    Assert.assertEquals(Math.PI, number.getValue(), 0);
+    // primitive observables are written through their primitive accessors and thus persist their
+    // fallback value in place of null
+    Assert.assertEquals(0L, empty.getValue());
+    Assert.assertTrue(bool.getValue());
+    Assert.assertEquals("Test äöü", string.get());
+    Assert.assertEquals(RetentionPolicy.CLASS, enumeration.get());
+  }
+
+  /**
+   * Evaluates whether bindings between registered observables are re-created.
+   */
+  @Test
+  public void testBindings() throws IOException {
+    Path path = this.folder.newFile().toPath();
+
+    {
+      SimpleIntegerObservable source = new SimpleIntegerObservable(1);
+      SimpleIntegerObservable heir = new SimpleIntegerObservable();
+      SimpleIntegerObservable shared1 = new SimpleIntegerObservable(2);
+      SimpleIntegerObservable shared2 = new SimpleIntegerObservable();
+
+      heir.bindTo(source);
+      shared2.bindBidirectionallyTo(shared1);
+
+      ObservableSnapshot snapshot = new ObservableSnapshot();
+      snapshot.register(source);
+      snapshot.register(heir);
+      snapshot.register(shared1);
+      snapshot.register(shared2);
+      snapshot.write(path);
+    }
+
+    SimpleIntegerObservable source = new SimpleIntegerObservable();
+    SimpleIntegerObservable heir = new SimpleIntegerObservable();
+    SimpleIntegerObservable shared1 = new SimpleIntegerObservable();
+    SimpleIntegerObservable shared2 = new SimpleIntegerObservable();
+
+    ObservableSnapshot snapshot = new ObservableSnapshot();
+    snapshot.register(source);
+    snapshot.register(heir);
+    snapshot.register(shared1);
+    snapshot.register(shared2);
+    snapshot.restore(path);
+
+    Assert.assertTrue(heir.isBoundTo(source));
+    Assert.assertTrue(shared1.isBoundBidirectionallyTo(shared2));
+    Assert.assertTrue(shared2.isBoundBidirectionallyTo(shared1));
+    Assert.assertEquals(1, heir.getValue());
+    Assert.assertEquals(2, shared2.getValue());
+
+    source.setValue(3);
+    shared2.setValue(4);
+
+    Assert.assertEquals(3, heir.getValue());
+    Assert.assertEquals(4, shared1.getValue());
+  }
+
+  /**
+   * Evaluates whether values which are rejected by a validation listener are not reported as
+   * malformed files.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testValidation() throws IOException {
+    Path path = this.folder.newFile().toPath();
+
+    ObservableSnapshot snapshot = new ObservableSnapshot();
+    snapshot.register(new SimpleObservable<>("invalid"), ValueCodec.string());
+    snapshot.write(path);
+
+    snapshot = new ObservableSnapshot();
+    snapshot.register(new SimpleObservable<String>((o, v) -> {
+      if ("invalid".equals(v)) {
+        throw new IllegalArgumentException("Illegal value: " + v);
+      }
+    }, null), ValueCodec.string());
+    snapshot.restore(path);
+  }
+
+  /**
+   * Evaluates whether mismatching observable registrations are rejected.
+   */
+  @Test(expected = IOException.class)
+  public void testMismatch() throws IOException {
+    Path path = this.folder.newFile().toPath();
+
+    ObservableSnapshot snapshot = new ObservableSnapshot();
+    snapshot.register(new SimpleIntegerObservable(42));
+    snapshot.write(path);
+
+    snapshot = new ObservableSnapshot();
+    snapshot.register(new SimpleDoubleObservable());
+    snapshot.restore(path);
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2017 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.torchmind.observable.shared;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Evaluates whether shared observables propagate their values between independent mappings of
+ * the same file (as they would between processes).
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class SharedObservableTest {
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  /**
+   * Evaluates whether changes are relayed to the listeners of the other mapping.
+   */
+  @Test(timeout = 10000)
+  public void testPropagation() throws IOException, InterruptedException {
+    Path path = this.folder.newFile().toPath();
+
+    try (SharedMemoryRegion region1 = new SharedMemoryRegion(path, 4);
+        SharedMemoryRegion region2 = new SharedMemoryRegion(path, 4)) {
+      SharedDoubleObservable writer = new SharedDoubleObservable(region1, 2);
+      SharedDoubleObservable reader = new SharedDoubleObservable(region2, 2);
+      SharedIntegerObservable unrelated = new SharedIntegerObservable(region2, 3);
+
+      CountDownLatch latch = new CountDownLatch(1);
+      AtomicReference<Double> received = new AtomicReference<>();
+
+      reader.registerListener((property, oldValue, newValue) -> {
+        received.set(newValue);
+        latch.countDown();
+      });
+
+      writer.setValue(Math.E);
+
+      // reads bypass the poller entirely and thus observe the change immediately
+      Assert.assertEquals(Math.E, reader.readShared(), 0);
+      Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+      Assert.assertEquals(Math.E, received.get(), 0);
+      Assert.assertEquals(Math.E, reader.get(), 0);
+      Assert.assertEquals(Math.E, reader.getValue(), 0);
+      Assert.assertEquals(0, (int) unrelated.get());
+      Assert.assertEquals(0, (int) unrelated.readShared());
+
+      // observables which are created later adopt the current value of their slot
+      SharedDoubleObservable late = new SharedDoubleObservable(region2, 2);
+      Assert.assertEquals(Math.E, late.get(), 0);
+    }
+  }
+
+  /**
+   * Evaluates whether writes within a writer session are relayed to the other mapping.
+   */
+  @Test(timeout = 10000)
+  public void testWriterSession() throws IOException, InterruptedException {
+    Path path = this.folder.newFile().toPath();
+
+    try (SharedMemoryRegion region1 = new SharedMemoryRegion(path, 2);
+        SharedMemoryRegion region2 = new SharedMemoryRegion(path, 2)) {
+      SharedLongObservable writer = new SharedLongObservable(region1, 1);
+      SharedLongObservable reader = new SharedLongObservable(region2, 1);
+      Assert.assertEquals(0, (long) reader.get());
+
+      SharedMemoryRegion.WriterSession session = region1.openWriterSession();
+      SharedMemoryRegion.WriterSession nested = region1.openWriterSession();
+
+      try {
+        for (long i = 1; i <= 100; ++i) {
+          writer.setValue(i);
+          Assert.assertEquals(i, (long) reader.readShared());
+        }
+      } finally {
+        nested.close();
+        session.close();
+      }
+
+      // writes outside of a session acquire the file lock on their own
+      writer.setValue(-1);
+      Assert.assertEquals(-1, (long) reader.readShared());
+
+      while (reader.get() != -1) {
+        Thread.sleep(1);
+      }
+    }
+  }
+
+  /**
+   * Evaluates whether values which have been adopted from the slot are never written back (and
+   * thus never replace the values of later writes).
+   */
+  @Test(timeout = 10000)
+  public void testAdoption() throws IOException, InterruptedException {
+    Path path = this.folder.newFile().toPath();
+
+    try (SharedMemoryRegion region1 = new SharedMemoryRegion(path, 1);
+        SharedMemoryRegion region2 = new SharedMemoryRegion(path, 1)) {
+      SharedIntegerObservable writer = new SharedIntegerObservable(region1, 0);
+      SharedIntegerObservable reader = new SharedIntegerObservable(region2, 0);
+
+      for (int i = 1; i <= 100; ++i) {
+        writer.setValue(i);
+        long sequence = region1.sequence(0);
+
+        while (reader.get() != i) {
+          Thread.sleep(1);
+        }
+
+        Assert.assertEquals(sequence, region2.sequence(0));
+      }
+
+      // listeners which write during the adoption of a value propagate their value as usual
+      reader.registerListener((property, oldValue, newValue) -> {
+        if (newValue == 1000) {
+          reader.setValue(-1000);
+        }
+      });
+      writer.setValue(1000);
+
+      while (writer.get() != -1000) {
+        Thread.sleep(1);
+      }
+
+      Assert.assertEquals(-1000, (int) reader.get());
+      Assert.assertEquals(-1000, (int) writer.readShared());
+    }
+  }
+
+  /**
+   * Evaluates whether readers fail when the writer of a slot has terminated mid-update.
+   */
+  @Test(timeout = 10000)
+  public void testTerminatedWriter() throws IOException {
+    Path path = this.folder.newFile().toPath();
+
+    try (SharedMemoryRegion region = new SharedMemoryRegion(path, 2);
+        FileChannel channel = FileChannel
+            .open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      // simulates a writer which has terminated after incrementing the sequence of the slot
+      MappedByteBuffer buffer = channel
+          .map(FileChannel.MapMode.READ_WRITE, 0, 2 * SharedMemoryRegion.SLOT_SIZE);
+      buffer.putLong(SharedMemoryRegion.SLOT_SIZE, 1);
+      buffer.force();
+
+      Assert.assertEquals(0, region.read(0));
+
+      try {
+        region.read(1);
+        Assert.fail("Expected read of abandoned slot to fail");
+      } catch (IllegalStateException ignore) {
+      }
+
+      try {
+        new SharedLongObservable(region, 1);
+        Assert.fail("Expected observable of abandoned slot to fail");
+      } catch (IllegalStateException ignore) {
+      }
+    }
+  }
+}